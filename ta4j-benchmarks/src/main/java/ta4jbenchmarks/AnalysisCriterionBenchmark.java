@@ -0,0 +1,125 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TimeSeriesManager;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.criteria.AverageProfitCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.AverageProfitableTradesCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.BuyAndHoldCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.LinearTransactionCostCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.MaximumDrawdownCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.NumberOfTicksCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.NumberOfTradesCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.RewardRiskRatioCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.SharpeRatioCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.UlcerIndexCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.VersusBuyAndHoldCriterion;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluation of every {@link AnalysisCriterion} on the trading record of an example strategy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AnalysisCriterionBenchmark {
+
+    @Param({ "ASML", "APPLE", "RANDOM_100000" })
+    private String dataSet;
+
+    @Param({ "AVERAGE_PROFIT", "AVERAGE_PROFITABLE_TRADES", "BUY_AND_HOLD", "LINEAR_TRANSACTION_COST",
+            "MAXIMUM_DRAWDOWN", "NUMBER_OF_TICKS", "NUMBER_OF_TRADES", "REWARD_RISK_RATIO", "SHARPE_RATIO",
+            "TOTAL_PROFIT", "ULCER_INDEX", "VERSUS_BUY_AND_HOLD" })
+    private String criterion;
+
+    private TimeSeries series;
+
+    private TradingRecord tradingRecord;
+
+    private AnalysisCriterion analysisCriterion;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkSeries.load(dataSet);
+        tradingRecord = new TimeSeriesManager(series).run(StrategyBenchmark.build("MOVING_MOMENTUM", series));
+        analysisCriterion = build(criterion);
+    }
+
+    @Benchmark
+    public double calculate() {
+        return analysisCriterion.calculate(series, tradingRecord);
+    }
+
+    /**
+     * @param name the name of the criterion
+     * @return the analysis criterion
+     */
+    static AnalysisCriterion build(String name) {
+        switch (name) {
+            case "AVERAGE_PROFIT":
+                return new AverageProfitCriterion();
+            case "AVERAGE_PROFITABLE_TRADES":
+                return new AverageProfitableTradesCriterion();
+            case "BUY_AND_HOLD":
+                return new BuyAndHoldCriterion();
+            case "LINEAR_TRANSACTION_COST":
+                return new LinearTransactionCostCriterion(1000, 0.005, 0.2);
+            case "MAXIMUM_DRAWDOWN":
+                return new MaximumDrawdownCriterion();
+            case "NUMBER_OF_TICKS":
+                return new NumberOfTicksCriterion();
+            case "NUMBER_OF_TRADES":
+                return new NumberOfTradesCriterion();
+            case "REWARD_RISK_RATIO":
+                return new RewardRiskRatioCriterion();
+            case "SHARPE_RATIO":
+                return new SharpeRatioCriterion();
+            case "TOTAL_PROFIT":
+                return new TotalProfitCriterion();
+            case "ULCER_INDEX":
+                return new UlcerIndexCriterion();
+            case "VERSUS_BUY_AND_HOLD":
+                return new VersusBuyAndHoldCriterion(new TotalProfitCriterion());
+            default:
+                throw new IllegalArgumentException("Unknown criterion: " + name);
+        }
+    }
+}
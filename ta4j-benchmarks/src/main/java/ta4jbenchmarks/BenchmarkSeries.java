@@ -0,0 +1,143 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.BaseTick;
+import eu.verdelhan.ta4j.BaseTimeSeries;
+import eu.verdelhan.ta4j.ColumnarTimeSeries;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import ta4jexamples.loaders.CsvTicksLoader;
+import ta4jexamples.loaders.CsvTicksLoaderDownloaded;
+
+/**
+ * Builds the time series used by the benchmarks.
+ * <p>
+ * Data sets (see {@link #load(String)}):
+ * <ul>
+ * <li>{@code ASML}: the bundled 4 years of ASML daily ticks
+ * <li>{@code APPLE}: the bundled Apple Inc. daily ticks
+ * <li>{@code RANDOM_<n>}: a synthetic random walk of n 1-minute ticks (e.g. {@code RANDOM_10000000})
+ * </ul>
+ */
+public final class BenchmarkSeries {
+
+    /** Seed of the random walks (benchmarks must always run on the same data) */
+    private static final long SEED = 42L;
+
+    /** End time of the first tick */
+    private static final ZonedDateTime START_TIME = ZonedDateTime.of(2010, 1, 4, 9, 1, 0, 0, ZoneId.of("UTC"));
+
+    private BenchmarkSeries() {
+    }
+
+    /** Prefix of the synthetic data sets */
+    private static final String RANDOM_DATA_SET = "RANDOM_";
+
+    /**
+     * Loads a data set.
+     * @param dataSet the name of the data set (ASML, APPLE or RANDOM_n)
+     * @return the time series of the data set
+     */
+    public static TimeSeries load(String dataSet) {
+        switch (dataSet) {
+            case "ASML":
+                return CsvTicksLoaderDownloaded.loadASMLIncSeries("ASML", 4);
+            case "APPLE":
+                return CsvTicksLoader.loadAppleIncSeries();
+            default:
+                if (dataSet.startsWith(RANDOM_DATA_SET)) {
+                    return randomWalkColumns(Integer.parseInt(dataSet.substring(RANDOM_DATA_SET.length())), Decimal.Backend.BIG_DECIMAL);
+                }
+                throw new IllegalArgumentException("Unknown data set: " + dataSet);
+        }
+    }
+
+    /**
+     * Builds a synthetic 1-minute time series following a random walk, stored in columns.
+     * <p>
+     * Suited to big series (e.g. 10^7 ticks): no tick object is kept.
+     * @param tickCount the number of ticks
+     * @param backend the numeric backend of the tick values
+     * @return a synthetic time series
+     */
+    public static ColumnarTimeSeries randomWalkColumns(int tickCount, Decimal.Backend backend) {
+        ColumnarTimeSeries series = new ColumnarTimeSeries("random_walk_" + tickCount, backend, tickCount);
+        Random random = new Random(SEED);
+        Duration period = Duration.ofMinutes(1);
+        long startTime = START_TIME.toInstant().toEpochMilli();
+        double close = 100;
+        for (int i = 0; i < tickCount; i++) {
+            double open = close;
+            close = Math.max(1, open * (1 + random.nextGaussian() * 0.002));
+            double high = Math.max(open, close) * (1 + random.nextDouble() * 0.001);
+            double low = Math.min(open, close) * (1 - random.nextDouble() * 0.001);
+            double volume = 1000 + random.nextInt(10000);
+            series.addTick(period, startTime + period.toMillis() * i, open, high, low, close, volume, 0, 0);
+        }
+        return series;
+    }
+
+    /**
+     * Builds a synthetic 1-minute time series following a random walk.
+     * @param tickCount the number of ticks
+     * @param backend the numeric backend of the tick values
+     * @return a synthetic time series
+     */
+    public static TimeSeries randomWalk(int tickCount, Decimal.Backend backend) {
+        List<Tick> ticks = new ArrayList<>(tickCount);
+        for (Tick tick : randomWalkTicks(tickCount, backend)) {
+            ticks.add(tick);
+        }
+        return new BaseTimeSeries("random_walk_" + tickCount, ticks);
+    }
+
+    /**
+     * Builds the ticks of a synthetic 1-minute random walk.
+     * @param tickCount the number of ticks
+     * @param backend the numeric backend of the tick values
+     * @return the ticks of the random walk
+     */
+    public static List<Tick> randomWalkTicks(int tickCount, Decimal.Backend backend) {
+        Random random = new Random(SEED);
+        Duration period = Duration.ofMinutes(1);
+        List<Tick> ticks = new ArrayList<>(tickCount);
+        double close = 100;
+        for (int i = 0; i < tickCount; i++) {
+            double open = close;
+            close = Math.max(1, open * (1 + random.nextGaussian() * 0.002));
+            double high = Math.max(open, close) * (1 + random.nextDouble() * 0.001);
+            double low = Math.min(open, close) * (1 - random.nextDouble() * 0.001);
+            double volume = 1000 + random.nextInt(10000);
+            ticks.add(new BaseTick(period, START_TIME.plusMinutes(i), open, high, low, close, volume, backend));
+        }
+        return ticks;
+    }
+}
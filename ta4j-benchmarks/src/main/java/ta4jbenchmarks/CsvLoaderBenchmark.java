@@ -0,0 +1,244 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import com.opencsv.CSVReader;
+import eu.verdelhan.ta4j.BaseTick;
+import eu.verdelhan.ta4j.BaseTimeSeries;
+import eu.verdelhan.ta4j.ColumnarTimeSeries;
+import eu.verdelhan.ta4j.CsvTickLoader;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading of the bundled CSV files, scaled up (the ticks are repeated after the last one):
+ * OpenCSV + String parsing as done by the example loaders vs {@link CsvTickLoader}.
+ * <p>
+ * The ASML file is written in the downloaded format (MMM dd yyyy dates, K/M volumes, newest first),
+ * the Apple one in the ISO format (oldest first).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvLoaderBenchmark {
+
+    private static final DateTimeFormatter ASML_DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy", Locale.ENGLISH);
+
+    private static final DateTimeFormatter APPLE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @Param({ "ASML", "APPLE" })
+    private String dataSet;
+
+    /** Number of times the ticks of the data set are repeated */
+    @Param({ "1", "100", "1000" })
+    private int scale;
+
+    private Path file;
+
+    private CsvTickLoader loader;
+
+    @Setup
+    public void setUp() throws IOException {
+        TimeSeries series = BenchmarkSeries.load(dataSet);
+        file = Files.createTempFile("ta4j-" + dataSet + "-" + scale, ".csv");
+        if ("ASML".equals(dataSet)) {
+            writeAsml(series, scale, file);
+            loader = new CsvTickLoader()
+                    .withColumns(0, 2, 3, 4, 1, 5)
+                    .withDateFormat(CsvTickLoader.DateFormat.MONTH_DAY_YEAR);
+        } else {
+            writeApple(series, scale, file);
+            loader = new CsvTickLoader();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public TimeSeries openCsv() throws IOException {
+        return "ASML".equals(dataSet) ? loadAsmlWithOpenCsv(file) : loadAppleWithOpenCsv(file);
+    }
+
+    @Benchmark
+    public TimeSeries csvTickLoader() throws IOException {
+        TimeSeries series = new BaseTimeSeries(dataSet);
+        loader.load(file, series);
+        return series;
+    }
+
+    @Benchmark
+    public TimeSeries csvTickLoaderColumnar() throws IOException {
+        TimeSeries series = new ColumnarTimeSeries(dataSet);
+        loader.load(file, series);
+        return series;
+    }
+
+    /**
+     * Same parsing as {@link ta4jexamples.loaders.CsvTicksLoaderDownloaded} used to do.
+     */
+    private static TimeSeries loadAsmlWithOpenCsv(Path file) throws IOException {
+        List<Tick> ticks = new ArrayList<>();
+        try (CSVReader csvReader = new CSVReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), ',', '"', 1)) {
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                ZonedDateTime date = LocalDate.parse(line[0], ASML_DATE_FORMAT).atStartOfDay(ZoneId.systemDefault());
+                double close = Double.parseDouble(line[1]);
+                double open = Double.parseDouble(line[2]);
+                double high = Double.parseDouble(line[3]);
+                double low = Double.parseDouble(line[4]);
+                String volume = line[5];
+                double multiplier = volume.endsWith("K") ? 1000 : 1000000;
+                ticks.add(new BaseTick(date, open, high, low, close,
+                        Double.parseDouble(volume.substring(0, volume.length() - 1)) * multiplier));
+            }
+        }
+        Collections.reverse(ticks);
+        return new BaseTimeSeries("ASML", ticks);
+    }
+
+    /**
+     * Same parsing as {@link ta4jexamples.loaders.CsvTicksLoader} used to do.
+     */
+    private static TimeSeries loadAppleWithOpenCsv(Path file) throws IOException {
+        List<Tick> ticks = new ArrayList<>();
+        try (CSVReader csvReader = new CSVReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), ',', '"', 1)) {
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                ZonedDateTime date = LocalDate.parse(line[0], APPLE_DATE_FORMAT).atStartOfDay(ZoneId.systemDefault());
+                ticks.add(new BaseTick(date, Double.parseDouble(line[1]), Double.parseDouble(line[2]),
+                        Double.parseDouble(line[3]), Double.parseDouble(line[4]), Double.parseDouble(line[5])));
+            }
+        }
+        return new BaseTimeSeries("APPLE", ticks);
+    }
+
+    /**
+     * @param series a series of daily ticks
+     * @param copy the index of the copy of the series
+     * @param index the index of the tick
+     * @return the date of the tick, shifted after the previous copies
+     */
+    private static LocalDate shiftedDate(TimeSeries series, int copy, int index) {
+        LocalDate first = series.getFirstTick().getEndTime().toLocalDate();
+        long span = ChronoUnit.DAYS.between(first, series.getLastTick().getEndTime().toLocalDate()) + 1;
+        return series.getTick(index).getEndTime().toLocalDate().plusDays(span * copy);
+    }
+
+    private static void writeAsml(TimeSeries series, int scale, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("﻿Date,Price,Open,High,Low,Vol.,Change %\n");
+            for (int copy = scale - 1; copy >= 0; copy--) {
+                for (int i = series.getEndIndex(); i >= series.getBeginIndex(); i--) {
+                    Tick tick = series.getTick(i);
+                    double volume = tick.getVolume().toDouble();
+                    writer.write(String.format(Locale.ENGLISH, "%s,%.2f,%.2f,%.2f,%.2f,%s,0.00%%\n",
+                            shiftedDate(series, copy, i).format(ASML_DATE_FORMAT),
+                            tick.getClosePrice().toDouble(), tick.getOpenPrice().toDouble(),
+                            tick.getMaxPrice().toDouble(), tick.getMinPrice().toDouble(),
+                            volume < 1000000 ? String.format(Locale.ENGLISH, "%.2fK", volume / 1000)
+                                    : String.format(Locale.ENGLISH, "%.2fM", volume / 1000000)));
+                }
+            }
+        }
+    }
+
+    private static void writeApple(TimeSeries series, int scale, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("date,open,high,low,close,volume\n");
+            for (int copy = 0; copy < scale; copy++) {
+                for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+                    Tick tick = series.getTick(i);
+                    writer.write(String.format(Locale.ENGLISH, "%s,%s,%s,%s,%s,%s\n",
+                            shiftedDate(series, copy, i).format(APPLE_DATE_FORMAT),
+                            tick.getOpenPrice(), tick.getMaxPrice(), tick.getMinPrice(), tick.getClosePrice(),
+                            tick.getVolume()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that both loaders build the same series (run before benchmarking).
+     * @param args unused
+     * @throws IOException if the temporary files cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        for (String dataSet : new String[] { "ASML", "APPLE" }) {
+            CsvLoaderBenchmark benchmark = new CsvLoaderBenchmark();
+            benchmark.dataSet = dataSet;
+            benchmark.scale = 10;
+            benchmark.setUp();
+            try {
+                TimeSeries expected = benchmark.openCsv();
+                TimeSeries actual = benchmark.csvTickLoader();
+                for (int i = 0; i < expected.getTickCount(); i++) {
+                    Tick expectedTick = expected.getTick(i);
+                    Tick actualTick = actual.getTick(i);
+                    if (!expectedTick.getEndTime().equals(actualTick.getEndTime())
+                            || !expectedTick.getClosePrice().equals(actualTick.getClosePrice())
+                            || !expectedTick.getVolume().equals(actualTick.getVolume())) {
+                        throw new IllegalStateException(dataSet + ": tick " + i + " differs");
+                    }
+                }
+                System.out.println(dataSet + ": " + actual.getTickCount() + " identical ticks");
+            } finally {
+                benchmark.tearDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.AverageDirectionalMovementIndicator;
+import eu.verdelhan.ta4j.indicators.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.MACDIndicator;
+import eu.verdelhan.ta4j.indicators.ParabolicSarIndicator;
+import eu.verdelhan.ta4j.indicators.RSIIndicator;
+import eu.verdelhan.ta4j.indicators.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.bollinger.BollingerBandWidthIndicator;
+import eu.verdelhan.ta4j.indicators.bollinger.BollingerBandsLowerIndicator;
+import eu.verdelhan.ta4j.indicators.bollinger.BollingerBandsMiddleIndicator;
+import eu.verdelhan.ta4j.indicators.bollinger.BollingerBandsUpperIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.ichimoku.IchimokuChikouSpanIndicator;
+import eu.verdelhan.ta4j.indicators.ichimoku.IchimokuKijunSenIndicator;
+import eu.verdelhan.ta4j.indicators.ichimoku.IchimokuSenkouSpanAIndicator;
+import eu.verdelhan.ta4j.indicators.ichimoku.IchimokuSenkouSpanBIndicator;
+import eu.verdelhan.ta4j.indicators.ichimoku.IchimokuTenkanSenIndicator;
+import eu.verdelhan.ta4j.indicators.statistics.StandardDeviationIndicator;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Full-series evaluation of indicators.
+ * <p>
+ * Each invocation builds a fresh indicator (i.e. with empty caches) and evaluates it over the whole series.<br>
+ * Bigger synthetic series can be run with e.g. {@code -p dataSet=RANDOM_10000000}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class IndicatorBenchmark {
+
+    @Param({ "ASML", "APPLE", "RANDOM_100000", "RANDOM_1000000" })
+    private String dataSet;
+
+    @Param({ "SMA", "EMA", "RSI", "MACD", "BOLLINGER", "ADX", "ICHIMOKU", "PARABOLIC_SAR" })
+    private String indicator;
+
+    private TimeSeries series;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkSeries.load(dataSet);
+    }
+
+    @Benchmark
+    public void fullSeries(Blackhole blackhole) {
+        for (Indicator<?> evaluated : build(indicator, series)) {
+            for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+                blackhole.consume(evaluated.getValue(i));
+            }
+        }
+    }
+
+    /**
+     * @param name the name of the indicator
+     * @param series the time series
+     * @return the indicator(s) to be evaluated (e.g. the lines of the Ichimoku cloud)
+     */
+    static List<Indicator<Decimal>> build(String name, TimeSeries series) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        switch (name) {
+            case "SMA":
+                return Arrays.asList(new SMAIndicator(closePrice, 50));
+            case "EMA":
+                return Arrays.asList(new EMAIndicator(closePrice, 50));
+            case "RSI":
+                return Arrays.asList(new RSIIndicator(closePrice, 14));
+            case "MACD":
+                MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
+                return Arrays.asList(macd, new EMAIndicator(macd, 9));
+            case "BOLLINGER":
+                BollingerBandsMiddleIndicator middle = new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, 20));
+                StandardDeviationIndicator deviation = new StandardDeviationIndicator(closePrice, 20);
+                BollingerBandsUpperIndicator upper = new BollingerBandsUpperIndicator(middle, deviation);
+                BollingerBandsLowerIndicator lower = new BollingerBandsLowerIndicator(middle, deviation);
+                return Arrays.asList(upper, lower, new BollingerBandWidthIndicator(upper, middle, lower));
+            case "ADX":
+                return Arrays.asList(new AverageDirectionalMovementIndicator(series, 14));
+            case "ICHIMOKU":
+                IchimokuTenkanSenIndicator conversionLine = new IchimokuTenkanSenIndicator(series);
+                IchimokuKijunSenIndicator baseLine = new IchimokuKijunSenIndicator(series);
+                return Arrays.asList(conversionLine, baseLine,
+                        new IchimokuSenkouSpanAIndicator(series, conversionLine, baseLine),
+                        new IchimokuSenkouSpanBIndicator(series),
+                        new IchimokuChikouSpanIndicator(series));
+            case "PARABOLIC_SAR":
+                return Arrays.asList(new ParabolicSarIndicator(series, 14));
+            default:
+                throw new IllegalArgumentException("Unknown indicator: " + name);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.BaseTick;
+import eu.verdelhan.ta4j.BaseTimeSeries;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.MovingTimeSeries;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Live trading: appends a single tick to a series limited by {@link TimeSeries#setMaximumTickCount(int)}
+ * and evaluates indicators on it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LiveTickBenchmark {
+
+    @Param({ "BASE", "MOVING" })
+    private String seriesType;
+
+    @Param({ "500", "5000" })
+    private int maximumTickCount;
+
+    @Param({ "SMA", "EMA", "RSI", "MACD", "BOLLINGER", "ADX", "ICHIMOKU", "PARABOLIC_SAR" })
+    private String indicator;
+
+    private TimeSeries series;
+
+    private List<Indicator<Decimal>> indicators;
+
+    private Random random;
+
+    private ZonedDateTime endTime;
+
+    private double close;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        List<Tick> ticks = BenchmarkSeries.randomWalkTicks(maximumTickCount, Decimal.Backend.BIG_DECIMAL);
+        if ("MOVING".equals(seriesType)) {
+            series = new MovingTimeSeries("live", maximumTickCount);
+            for (Tick tick : ticks) {
+                series.addTick(tick);
+            }
+        } else {
+            series = new BaseTimeSeries("live", ticks);
+            series.setMaximumTickCount(maximumTickCount);
+        }
+        indicators = IndicatorBenchmark.build(indicator, series);
+        // Warm caches, as a live bot would
+        for (Indicator<Decimal> evaluated : indicators) {
+            for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+                evaluated.getValue(i);
+            }
+        }
+        random = new Random(42);
+        endTime = series.getLastTick().getEndTime();
+        close = series.getLastTick().getClosePrice().toDouble();
+    }
+
+    @Benchmark
+    public void appendTick(Blackhole blackhole) {
+        double open = close;
+        close = Math.max(1, open * (1 + random.nextGaussian() * 0.002));
+        endTime = endTime.plusMinutes(1);
+        series.addTick(new BaseTick(Duration.ofMinutes(1), endTime, open, Math.max(open, close), Math.min(open, close), close, 1000, Decimal.Backend.BIG_DECIMAL));
+        final int endIndex = series.getEndIndex();
+        for (Indicator<Decimal> evaluated : indicators) {
+            blackhole.consume(evaluated.getValue(endIndex));
+        }
+    }
+}
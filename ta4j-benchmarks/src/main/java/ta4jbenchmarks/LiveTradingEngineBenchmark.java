@@ -0,0 +1,97 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.BaseTick;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.LiveTradingEngine;
+import eu.verdelhan.ta4j.MovingTimeSeries;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Live trading: tick-to-signal latency of the example strategies run by a {@link LiveTradingEngine}
+ * on a {@link MovingTimeSeries} (sampled, to get the latency percentiles).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LiveTradingEngineBenchmark {
+
+    @Param({ "CCI_CORRECTION", "MOVING_MOMENTUM", "RSI2", "STOCHASTIC_OSCILLATOR" })
+    private String strategy;
+
+    @Param({ "BIG_DECIMAL", "DOUBLE" })
+    private Decimal.Backend backend;
+
+    /** Maximum tick count of the moving series */
+    private static final int MAXIMUM_TICK_COUNT = 1000;
+
+    private LiveTradingEngine engine;
+
+    private Random random;
+
+    private ZonedDateTime endTime;
+
+    private double close;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        TimeSeries series = new MovingTimeSeries("live", MAXIMUM_TICK_COUNT);
+        engine = new LiveTradingEngine(series, StrategyBenchmark.build(strategy, series));
+        for (Tick tick : BenchmarkSeries.randomWalkTicks(MAXIMUM_TICK_COUNT, backend)) {
+            engine.accept(tick);
+        }
+        random = new Random(42);
+        endTime = series.getLastTick().getEndTime();
+        close = series.getLastTick().getClosePrice().toDouble();
+    }
+
+    @Benchmark
+    public LiveTradingEngine onTick() {
+        double open = close;
+        close = Math.max(1, open * (1 + random.nextGaussian() * 0.002));
+        endTime = endTime.plusMinutes(1);
+        engine.accept(new BaseTick(Duration.ofMinutes(1), endTime, open, Math.max(open, close), Math.min(open, close), close, 1000, backend));
+        return engine;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.RSIIndicator;
+import eu.verdelhan.ta4j.indicators.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the {@link Decimal.Backend numeric backends} on SMA/EMA/RSI chains.
+ * <p>
+ * Each invocation builds a fresh indicator chain (i.e. with empty caches) and evaluates it over the whole series.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumericBackendBenchmark {
+
+    @Param({ "BIG_DECIMAL", "DOUBLE" })
+    private Decimal.Backend backend;
+
+    @Param({ "10000" })
+    private int tickCount;
+
+    private TimeSeries series;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkSeries.randomWalk(tickCount, backend);
+    }
+
+    @Benchmark
+    public void smaChain(Blackhole blackhole) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        evaluate(new SMAIndicator(new SMAIndicator(closePrice, 20), 50), blackhole);
+    }
+
+    @Benchmark
+    public void emaChain(Blackhole blackhole) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        evaluate(new EMAIndicator(new EMAIndicator(closePrice, 12), 26), blackhole);
+    }
+
+    @Benchmark
+    public void rsiChain(Blackhole blackhole) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        evaluate(new SMAIndicator(new RSIIndicator(closePrice, 14), 9), blackhole);
+    }
+
+    private void evaluate(Indicator<Decimal> indicator, Blackhole blackhole) {
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            blackhole.consume(indicator.getValue(i));
+        }
+    }
+}
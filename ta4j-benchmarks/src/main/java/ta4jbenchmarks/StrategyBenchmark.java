@@ -0,0 +1,102 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TimeSeriesManager;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ta4jexamples.strategies.CCICorrectionStrategy;
+import ta4jexamples.strategies.GlobalExtremaStrategy;
+import ta4jexamples.strategies.MovingMomentumStrategy;
+import ta4jexamples.strategies.RSI2Strategy;
+import ta4jexamples.strategies.SOStrategy;
+
+/**
+ * Backtests of the example strategies with {@link TimeSeriesManager#run(Strategy)}.
+ * <p>
+ * Each invocation builds a fresh strategy (i.e. with empty indicator caches).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class StrategyBenchmark {
+
+    @Param({ "ASML", "APPLE", "RANDOM_100000" })
+    private String dataSet;
+
+    @Param({ "CCI_CORRECTION", "GLOBAL_EXTREMA", "MOVING_MOMENTUM", "RSI2", "STOCHASTIC_OSCILLATOR" })
+    private String strategy;
+
+    private TimeSeries series;
+
+    private TimeSeriesManager seriesManager;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkSeries.load(dataSet);
+        seriesManager = new TimeSeriesManager(series);
+    }
+
+    @Benchmark
+    public void run(Blackhole blackhole) {
+        blackhole.consume(seriesManager.run(build(strategy, series)));
+    }
+
+    /**
+     * @param name the name of the example strategy
+     * @param series the time series
+     * @return the example strategy
+     */
+    static Strategy build(String name, TimeSeries series) {
+        switch (name) {
+            case "CCI_CORRECTION":
+                return CCICorrectionStrategy.buildStrategy(series);
+            case "GLOBAL_EXTREMA":
+                return GlobalExtremaStrategy.buildStrategy(series);
+            case "MOVING_MOMENTUM":
+                return MovingMomentumStrategy.buildStrategy(series);
+            case "RSI2":
+                return RSI2Strategy.buildStrategy(series);
+            case "STOCHASTIC_OSCILLATOR":
+                return SOStrategy.buildStrategy(series, 34, 3, 3, 67);
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+}
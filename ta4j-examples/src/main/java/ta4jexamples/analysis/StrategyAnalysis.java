@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.Strategy;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.TimeSeriesManager;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
 import eu.verdelhan.ta4j.analysis.criteria.AverageProfitCriterion;
 import eu.verdelhan.ta4j.analysis.criteria.AverageProfitableTradesCriterion;
 import eu.verdelhan.ta4j.analysis.criteria.BuyAndHoldCriterion;
@@ -34,7 +35,9 @@ import eu.verdelhan.ta4j.analysis.criteria.MaximumDrawdownCriterion;
 import eu.verdelhan.ta4j.analysis.criteria.NumberOfTicksCriterion;
 import eu.verdelhan.ta4j.analysis.criteria.NumberOfTradesCriterion;
 import eu.verdelhan.ta4j.analysis.criteria.RewardRiskRatioCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.SharpeRatioCriterion;
 import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.UlcerIndexCriterion;
 import eu.verdelhan.ta4j.analysis.criteria.VersusBuyAndHoldCriterion;
 import ta4jexamples.loaders.CsvTradesLoader;
 import ta4jexamples.strategies.MovingMomentumStrategy;
@@ -56,28 +59,34 @@ public class StrategyAnalysis {
 
         /**
          * Analysis criteria
+         * (calculated from the metrics of the trading record, accumulated once for all the criteria)
          */
+        TradingMetrics metrics = TradingMetrics.of(series, tradingRecord);
 
         // Total profit
         TotalProfitCriterion totalProfit = new TotalProfitCriterion();
-        System.out.println("Total profit: " + totalProfit.calculate(series, tradingRecord));
+        System.out.println("Total profit: " + totalProfit.calculate(metrics));
         // Number of ticks
-        System.out.println("Number of ticks: " + new NumberOfTicksCriterion().calculate(series, tradingRecord));
+        System.out.println("Number of ticks: " + new NumberOfTicksCriterion().calculate(metrics));
         // Average profit (per tick)
-        System.out.println("Average profit (per tick): " + new AverageProfitCriterion().calculate(series, tradingRecord));
+        System.out.println("Average profit (per tick): " + new AverageProfitCriterion().calculate(metrics));
         // Number of trades
-        System.out.println("Number of trades: " + new NumberOfTradesCriterion().calculate(series, tradingRecord));
+        System.out.println("Number of trades: " + new NumberOfTradesCriterion().calculate(metrics));
         // Profitable trades ratio
-        System.out.println("Profitable trades ratio: " + new AverageProfitableTradesCriterion().calculate(series, tradingRecord));
+        System.out.println("Profitable trades ratio: " + new AverageProfitableTradesCriterion().calculate(metrics));
         // Maximum drawdown
-        System.out.println("Maximum drawdown: " + new MaximumDrawdownCriterion().calculate(series, tradingRecord));
+        System.out.println("Maximum drawdown: " + new MaximumDrawdownCriterion().calculate(metrics));
         // Reward-risk ratio
-        System.out.println("Reward-risk ratio: " + new RewardRiskRatioCriterion().calculate(series, tradingRecord));
+        System.out.println("Reward-risk ratio: " + new RewardRiskRatioCriterion().calculate(metrics));
+        // Sharpe ratio (per tick)
+        System.out.println("Sharpe ratio (per tick): " + new SharpeRatioCriterion().calculate(metrics));
+        // Ulcer index
+        System.out.println("Ulcer index: " + new UlcerIndexCriterion().calculate(metrics));
         // Total transaction cost
-        System.out.println("Total transaction cost (from $1000): " + new LinearTransactionCostCriterion(1000, 0.005).calculate(series, tradingRecord));
+        System.out.println("Total transaction cost (from $1000): " + new LinearTransactionCostCriterion(1000, 0.005).calculate(metrics));
         // Buy-and-hold
-        System.out.println("Buy-and-hold: " + new BuyAndHoldCriterion().calculate(series, tradingRecord));
+        System.out.println("Buy-and-hold: " + new BuyAndHoldCriterion().calculate(metrics));
         // Total profit vs buy-and-hold
-        System.out.println("Custom strategy profit vs buy-and-hold strategy profit: " + new VersusBuyAndHoldCriterion(totalProfit).calculate(series, tradingRecord));
+        System.out.println("Custom strategy profit vs buy-and-hold strategy profit: " + new VersusBuyAndHoldCriterion(totalProfit).calculate(metrics));
     }
 }
@@ -28,11 +28,10 @@ import eu.verdelhan.ta4j.BaseStrategy;
 import eu.verdelhan.ta4j.BaseTick;
 import eu.verdelhan.ta4j.BaseTradingRecord;
 import eu.verdelhan.ta4j.Decimal;
-import eu.verdelhan.ta4j.Order;
+import eu.verdelhan.ta4j.LiveTradingEngine;
 import eu.verdelhan.ta4j.Strategy;
 import eu.verdelhan.ta4j.Tick;
 import eu.verdelhan.ta4j.TimeSeries;
-import eu.verdelhan.ta4j.TradingRecord;
 import eu.verdelhan.ta4j.indicators.SMAIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
 import eu.verdelhan.ta4j.trading.rules.OverIndicatorRule;
@@ -122,8 +121,14 @@ public class TradingBotOnMovingTimeSeries {
         // Building the trading strategy
         Strategy strategy = buildStrategy(series);
         
-        // Initializing the trading history
-        TradingRecord tradingRecord = new BaseTradingRecord();
+        // Initializing the engine (pushing the signals of the strategy)
+        LiveTradingEngine engine = new LiveTradingEngine(series, strategy, new BaseTradingRecord(), Decimal.TEN)
+                .onEntry(entry -> System.out.println("Entered on " + entry.getIndex()
+                        + " (price=" + entry.getPrice().toDouble()
+                        + ", amount=" + entry.getAmount().toDouble() + ")"))
+                .onExit(exit -> System.out.println("Exited on " + exit.getIndex()
+                        + " (price=" + exit.getPrice().toDouble()
+                        + ", amount=" + exit.getAmount().toDouble() + ")"));
         System.out.println("************************************************************");
         
         /**
@@ -136,30 +141,9 @@ public class TradingBotOnMovingTimeSeries {
             Tick newTick = generateRandomTick();
             System.out.println("------------------------------------------------------\n"
                     + "Tick "+i+" added, close price = " + newTick.getClosePrice().toDouble());
-            series.addTick(newTick);
-            
-            int endIndex = series.getEndIndex();
-            if (strategy.shouldEnter(endIndex)) {
-                // Our strategy should enter
-                System.out.println("Strategy should ENTER on " + endIndex);
-                boolean entered = tradingRecord.enter(endIndex, newTick.getClosePrice(), Decimal.TEN, newTick.getEndTime());
-                if (entered) {
-                    Order entry = tradingRecord.getLastEntry();
-                    System.out.println("Entered on " + entry.getIndex()
-                            + " (price=" + entry.getPrice().toDouble()
-                            + ", amount=" + entry.getAmount().toDouble() + ")");
-                }
-            } else if (strategy.shouldExit(endIndex)) {
-                // Our strategy should exit
-                System.out.println("Strategy should EXIT on " + endIndex);
-                boolean exited = tradingRecord.exit(endIndex, newTick.getClosePrice(), Decimal.TEN, newTick.getEndTime());
-                if (exited) {
-                    Order exit = tradingRecord.getLastExit();
-                    System.out.println("Exited on " + exit.getIndex()
-                            + " (price=" + exit.getPrice().toDouble()
-                            + ", amount=" + exit.getAmount().toDouble() + ")");
-                }
-            }
+            engine.accept(newTick);
         }
+        System.out.println("Tick-to-signal latency: mean " + (long) engine.getMeanLatencyNanos() / 1000
+                + " us, max " + engine.getMaxLatencyNanos() / 1000 + " us");
     }
 }
@@ -87,9 +87,10 @@ public class CandlestickChart {
         ClosePriceIndicator indicator = new ClosePriceIndicator(series);
         TimeSeriesCollection dataset = new TimeSeriesCollection();
         org.jfree.data.time.TimeSeries chartTimeSeries = new org.jfree.data.time.TimeSeries("Btc price");
+        double[] values = indicator.getValues(0, series.getTickCount() - 1);
         for (int i = 0; i < series.getTickCount(); i++) {
             Tick tick = series.getTick(i);
-            chartTimeSeries.add(new Second(new Date(tick.getEndTime().toEpochSecond() * 1000)), indicator.getValue(i).toDouble());
+            chartTimeSeries.add(new Second(new Date(tick.getEndTime().toEpochSecond() * 1000)), values[i]);
         }
         dataset.addSeries(chartTimeSeries);
         return dataset;
@@ -61,9 +61,10 @@ public class IndicatorsToChart {
     private static org.jfree.data.time.TimeSeries buildChartTimeSeries(TimeSeries tickSeries, Indicator<Decimal> indicator, String name) {
         org.jfree.data.time.TimeSeries chartTimeSeries = new org.jfree.data.time.TimeSeries(name);
 
+        double[] values = indicator.getValues(0, tickSeries.getTickCount() - 1);
         for (int i = 0; i < tickSeries.getTickCount(); i++) {
             Tick tick = tickSeries.getTick(i);
-            chartTimeSeries.add(new Day(Date.from(tick.getEndTime().toInstant())), indicator.getValue(i).toDouble());
+            chartTimeSeries.add(new Day(Date.from(tick.getEndTime().toInstant())), values[i]);
         }
         return chartTimeSeries;
     }
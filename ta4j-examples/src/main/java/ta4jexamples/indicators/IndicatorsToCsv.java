@@ -22,6 +22,8 @@
  */
 package ta4jexamples.indicators;
 
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.helpers.AverageTrueRangeIndicator;
 import eu.verdelhan.ta4j.indicators.statistics.StandardDeviationIndicator;
@@ -37,6 +39,9 @@ import eu.verdelhan.ta4j.indicators.WilliamsRIndicator;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import ta4jexamples.loaders.CsvTradesLoader;
@@ -90,21 +95,18 @@ public class IndicatorsToCsv {
          * Adding indicators values
          */
         final int nbTicks = series.getTickCount();
+        List<double[]> columns = new ArrayList<>();
+        for (Indicator<Decimal> indicator : Arrays.<Indicator<Decimal>>asList(closePrice, typicalPrice, priceVariation,
+                shortSma, longSma, shortEma, longEma, ppo, roc, rsi, williamsR, atr, sd)) {
+            // Each column evaluated at once
+            columns.add(indicator.getValues(0, nbTicks - 1));
+        }
         for (int i = 0; i < nbTicks; i++) {
-            sb.append(series.getTick(i).getEndTime()).append(',')
-            .append(closePrice.getValue(i)).append(',')
-            .append(typicalPrice.getValue(i)).append(',')
-            .append(priceVariation.getValue(i)).append(',')
-            .append(shortSma.getValue(i)).append(',')
-            .append(longSma.getValue(i)).append(',')
-            .append(shortEma.getValue(i)).append(',')
-            .append(longEma.getValue(i)).append(',')
-            .append(ppo.getValue(i)).append(',')
-            .append(roc.getValue(i)).append(',')
-            .append(rsi.getValue(i)).append(',')
-            .append(williamsR.getValue(i)).append(',')
-            .append(atr.getValue(i)).append(',')
-            .append(sd.getValue(i)).append('\n');
+            sb.append(series.getTick(i).getEndTime());
+            for (double[] column : columns) {
+                sb.append(',').append(column[i]);
+            }
+            sb.append('\n');
         }
 
         /**
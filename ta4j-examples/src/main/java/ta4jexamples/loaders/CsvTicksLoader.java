@@ -22,32 +22,19 @@
  */
 package ta4jexamples.loaders;
 
-import eu.verdelhan.ta4j.TimeSeries;
-import eu.verdelhan.ta4j.BaseTick;
 import eu.verdelhan.ta4j.BaseTimeSeries;
-import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.CsvTickLoader;
+import eu.verdelhan.ta4j.TimeSeries;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import com.opencsv.CSVReader;
-import java.time.ZonedDateTime;
-import java.time.ZoneId;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-
 /**
  * This class build a Ta4j time series from a CSV file containing ticks.
  */
 public class CsvTicksLoader {
 
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
     /**
      * @return a time series from Apple Inc. ticks.
      */
@@ -55,28 +42,16 @@ public class CsvTicksLoader {
 
         InputStream stream = CsvTicksLoader.class.getClassLoader().getResourceAsStream("appleinc_ticks_from_20130101_usd.csv");
 
-        List<Tick> ticks = new ArrayList<>();
-
-        CSVReader csvReader = new CSVReader(new InputStreamReader(stream, Charset.forName("UTF-8")), ',', '"', 1);
+        TimeSeries series = new BaseTimeSeries("apple_ticks");
         try {
-            String[] line;
-            while ((line = csvReader.readNext()) != null) {
-                ZonedDateTime date = LocalDate.parse(line[0], DATE_FORMAT).atStartOfDay(ZoneId.systemDefault());
-                double open = Double.parseDouble(line[1]);
-                double high = Double.parseDouble(line[2]);
-                double low = Double.parseDouble(line[3]);
-                double close = Double.parseDouble(line[4]);
-                double volume = Double.parseDouble(line[5]);
-
-                ticks.add(new BaseTick(date, open, high, low, close, volume));
-            }
+            new CsvTickLoader().load(stream, series);
         } catch (IOException ioe) {
             Logger.getLogger(CsvTicksLoader.class.getName()).log(Level.SEVERE, "Unable to load ticks from CSV", ioe);
-        } catch (NumberFormatException nfe) {
-            Logger.getLogger(CsvTicksLoader.class.getName()).log(Level.SEVERE, "Error while parsing value", nfe);
+        } catch (IllegalArgumentException iae) {
+            Logger.getLogger(CsvTicksLoader.class.getName()).log(Level.SEVERE, "Error while parsing value", iae);
         }
 
-        return new BaseTimeSeries("apple_ticks", ticks);
+        return series;
     }
 
     public static void main(String[] args) {
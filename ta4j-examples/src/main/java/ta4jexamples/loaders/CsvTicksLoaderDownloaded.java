@@ -24,24 +24,11 @@ package ta4jexamples.loaders;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.Charset;
-import java.time.LocalDate;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
-import com.opencsv.CSVReader;
-import eu.verdelhan.ta4j.BaseTick;
 import eu.verdelhan.ta4j.BaseTimeSeries;
-import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.CsvTickLoader;
 import eu.verdelhan.ta4j.TimeSeries;
 
 /**
@@ -49,9 +36,10 @@ import eu.verdelhan.ta4j.TimeSeries;
  */
 public class CsvTicksLoaderDownloaded {
 
-    
-    //Sep 06, 2019
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    /** Date,Price,Open,High,Low,Vol.,Change % (e.g. Sep 06 2019,217.30,214.25,217.30,214.15,954.76K,1.02%), newest first */
+    private static final CsvTickLoader LOADER = new CsvTickLoader()
+            .withColumns(0, 2, 3, 4, 1, 5)
+            .withDateFormat(CsvTickLoader.DateFormat.MONTH_DAY_YEAR);
 
     /**
      * @return a time series from ASML Inc. ticks.
@@ -60,47 +48,18 @@ public class CsvTicksLoaderDownloaded {
 
         InputStream stream = CsvTicksLoaderDownloaded.class.getClassLoader().getResourceAsStream(fundName + "-" + years + "-years.csv");
 
-        List<Tick> ticks = new ArrayList<>();
-
-        CSVReader csvReader = new CSVReader(new InputStreamReader(stream, Charset.forName("UTF-8")), ',', '"', 1);
+        TimeSeries series = new BaseTimeSeries("ASML_ticks");
         try {
-            String[] line;
-            while ((line = csvReader.readNext()) != null) {
-                ZonedDateTime date = LocalDate.parse(line[0], DATE_FORMAT).atStartOfDay(ZoneId.systemDefault());
-                double close = Double.parseDouble(line[1]);
-                double open = Double.parseDouble(line[2]);
-                double high = Double.parseDouble(line[3]);
-                double low = Double.parseDouble(line[4]);
-                double volume = volumeToDouble(line[5]);
-
-                ticks.add(new BaseTick(date, open, high, low, close, volume));
-            }
+            LOADER.load(stream, series);
         } catch (IOException ioe) {
             Logger.getLogger(CsvTicksLoaderDownloaded.class.getName()).log(Level.SEVERE, "Unable to load ticks from CSV", ioe);
-        } catch (NumberFormatException nfe) {
-            Logger.getLogger(CsvTicksLoaderDownloaded.class.getName()).log(Level.SEVERE, "Error while parsing value", nfe);
+        } catch (IllegalArgumentException iae) {
+            Logger.getLogger(CsvTicksLoaderDownloaded.class.getName()).log(Level.SEVERE, "Error while parsing value", iae);
         }
 
-        return new BaseTimeSeries("ASML_ticks", reverse(ticks.stream()).collect(Collectors.toList()));
-    }
-
-    static <T> Stream<T> reverse(Stream<T> input) {
-        Object[] temp = input.toArray();
-        return (Stream<T>) IntStream.range(0, temp.length)
-                .mapToObj(i -> temp[temp.length - i - 1]);
+        return series;
     }
 
-    private static double volumeToDouble(String input) {
-        String value = input.substring(0, input.length() - 1);
-        String indicator = input.substring(input.length() - 1);
-        double returnValue = Double.parseDouble(value);
-        if (indicator.equals("K")) {
-            returnValue = returnValue * 1000;
-        } else {
-            returnValue = returnValue * 1000000;
-        }
-        return returnValue;
-    }
     public static void main(String[] args) {
         TimeSeries series = CsvTicksLoaderDownloaded.loadASMLIncSeries("ASML", 3);
 
@@ -22,26 +22,20 @@
  */
 package ta4jexamples.loaders;
 
-import eu.verdelhan.ta4j.BaseTick;
 import eu.verdelhan.ta4j.BaseTimeSeries;
-import eu.verdelhan.ta4j.Tick;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradeAggregator;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 
 import com.opencsv.CSVReader;
 import java.time.Duration;
-import java.time.Instant;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 
 /**
  * This class build a Ta4j time series from a CSV file containing trades.
@@ -53,14 +47,27 @@ public class CsvTradesLoader {
      */
     public static TimeSeries loadBitstampSeries() {
 
-        // Reading all lines of the CSV file
+        // Reading the trades of the CSV file (timestamp in seconds, price, amount)
         InputStream stream = CsvTradesLoader.class.getClassLoader().getResourceAsStream("bitstamp_trades_from_20131125_usd.csv");
         CSVReader csvReader = null;
-        List<String[]> lines = null;
+        long[] timestamps = new long[1024];
+        double[] prices = new double[1024];
+        double[] amounts = new double[1024];
+        int tradeCount = 0;
         try {
-            csvReader = new CSVReader(new InputStreamReader(stream, Charset.forName("UTF-8")), ',');
-            lines = csvReader.readAll();
-            lines.remove(0); // Removing header line
+            csvReader = new CSVReader(new InputStreamReader(stream, Charset.forName("UTF-8")), ',', '"', 1);
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                if (tradeCount == timestamps.length) {
+                    timestamps = Arrays.copyOf(timestamps, tradeCount * 2);
+                    prices = Arrays.copyOf(prices, tradeCount * 2);
+                    amounts = Arrays.copyOf(amounts, tradeCount * 2);
+                }
+                timestamps[tradeCount] = Long.parseLong(line[0]) * 1000;
+                prices[tradeCount] = Double.parseDouble(line[1]);
+                amounts[tradeCount] = Double.parseDouble(line[2]);
+                tradeCount++;
+            }
         } catch (IOException ioe) {
             Logger.getLogger(CsvTradesLoader.class.getName()).log(Level.SEVERE, "Unable to load trades from CSV", ioe);
         } finally {
@@ -72,71 +79,18 @@ public class CsvTradesLoader {
             }
         }
 
-        List<Tick> ticks = null;
-        if ((lines != null) && !lines.isEmpty()) {
-
-            // Getting the first and last trades timestamps
-            ZonedDateTime beginTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(lines.get(0)[0]) * 1000), ZoneId.systemDefault());
-            ZonedDateTime endTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(lines.get(lines.size() - 1)[0]) * 1000), ZoneId.systemDefault());
-            if (beginTime.isAfter(endTime)) {
-                Instant beginInstant = beginTime.toInstant();
-                Instant endInstant = endTime.toInstant();
-                beginTime = ZonedDateTime.ofInstant(endInstant, ZoneId.systemDefault());
-                endTime = ZonedDateTime.ofInstant(beginInstant, ZoneId.systemDefault());
-                // Since the CSV file has the most recent trades at the top of the file, we'll reverse the list to feed the List<Tick> correctly.
-                Collections.reverse(lines);
-            }
-            // Building the empty ticks (every 300 seconds, yeah welcome in Bitcoin world)
-            ticks = buildEmptyTicks(beginTime, endTime, 300);
-            // Filling the ticks with trades
-            for (String[] tradeLine : lines) {
-                ZonedDateTime tradeTimestamp = ZonedDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(tradeLine[0]) * 1000), ZoneId.systemDefault());
-                for (Tick tick : ticks) {
-                    if (tick.inPeriod(tradeTimestamp)) {
-                        double tradePrice = Double.parseDouble(tradeLine[1]);
-                        double tradeAmount = Double.parseDouble(tradeLine[2]);
-                        tick.addTrade(tradeAmount, tradePrice);
-                    }
-                }
-            }
-            // Removing still empty ticks
-            removeEmptyTicks(ticks);
+        // Aggregating the trades into ticks (every 300 seconds, yeah welcome in Bitcoin world)
+        TimeSeries series = new BaseTimeSeries("bitstamp_trades");
+        TradeAggregator aggregator = TradeAggregator.byTime(Duration.ofSeconds(300), series::addTick);
+        // Since the CSV file has the most recent trades at the top of the file, the trades are read backwards in that case
+        boolean newestFirst = tradeCount > 1 && timestamps[0] > timestamps[tradeCount - 1];
+        for (int i = 0; i < tradeCount; i++) {
+            int tradeIndex = newestFirst ? tradeCount - 1 - i : i;
+            aggregator.addTrade(timestamps[tradeIndex], prices[tradeIndex], amounts[tradeIndex]);
         }
+        aggregator.flush();
 
-        return new BaseTimeSeries("bitstamp_trades", ticks);
-    }
-
-    /**
-     * Builds a list of empty ticks.
-     * @param beginTime the begin time of the whole period
-     * @param endTime the end time of the whole period
-     * @param duration the tick duration (in seconds)
-     * @return the list of empty ticks
-     */
-    private static List<Tick> buildEmptyTicks(ZonedDateTime beginTime, ZonedDateTime endTime, int duration) {
-
-        List<Tick> emptyTicks = new ArrayList<>();
-
-        Duration tickDuration = Duration.ofSeconds(duration);
-        ZonedDateTime tickEndTime = beginTime;
-        do {
-            tickEndTime = tickEndTime.plus(tickDuration);
-            emptyTicks.add(new BaseTick(tickDuration, tickEndTime));
-        } while (tickEndTime.isBefore(endTime));
-
-        return emptyTicks;
-    }
-
-    /**
-     * Removes all empty (i.e. with no trade) ticks of the list.
-     * @param ticks a list of ticks
-     */
-    private static void removeEmptyTicks(List<Tick> ticks) {
-        for (int i = ticks.size() - 1; i >= 0; i--) {
-            if (ticks.get(i).getTrades() == 0) {
-                ticks.remove(i);
-            }
-        }
+        return series;
     }
 
     public static void main(String[] args) {
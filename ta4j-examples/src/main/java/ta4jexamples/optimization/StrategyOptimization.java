@@ -0,0 +1,79 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jexamples.optimization;
+
+import eu.verdelhan.ta4j.StopCondition;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.optimization.OptimizationResult;
+import eu.verdelhan.ta4j.optimization.ParameterSpace;
+import eu.verdelhan.ta4j.optimization.StrategyOptimizer;
+import java.util.List;
+import ta4jexamples.loaders.CsvTicksLoaderDownloaded;
+import ta4jexamples.loaders.CsvTradesLoader;
+import ta4jexamples.strategies.GlobalExtremaStrategy;
+import ta4jexamples.strategies.RSI2Strategy;
+
+/**
+ * Strategy parameters optimization example.
+ */
+public class StrategyOptimization {
+
+    public static void main(String[] args) {
+
+        // Optimizing the RSI time frame and thresholds of the RSI2 strategy
+        TimeSeries asmlSeries = CsvTicksLoaderDownloaded.loadASMLIncSeries("ASML", 3);
+        StrategyOptimizer rsiOptimizer = new StrategyOptimizer(asmlSeries,
+                (registry, parameters) -> RSI2Strategy.buildStrategy(registry, parameters.getInt("rsiTimeFrame"),
+                        parameters.getDecimal("entryThreshold"), parameters.getDecimal("exitThreshold")),
+                new TotalProfitCriterion());
+        ParameterSpace rsiSpace = new ParameterSpace()
+                .withRange("rsiTimeFrame", 2, 6, 1)
+                .withRange("entryThreshold", 5, 30, 5)
+                .withRange("exitThreshold", 70, 95, 5);
+        print("RSI2 (grid)", rsiOptimizer.grid(rsiSpace, 5));
+        print("RSI2 (successive halving)", rsiOptimizer.successiveHalving(rsiSpace, 3, 250, 5));
+        // Aborting the backtests exceeding a drawdown of 30%
+        rsiOptimizer.setStopCondition(StopCondition.maximumDrawdown(0.3));
+        print("RSI2 (grid, maximum drawdown of 30%)", rsiOptimizer.grid(rsiSpace, 5));
+        System.out.println(rsiOptimizer.getIndicatorRegistry());
+
+        // Optimizing the multipliers of the global extrema strategy
+        TimeSeries bitstampSeries = CsvTradesLoader.loadBitstampSeries();
+        StrategyOptimizer extremaOptimizer = new StrategyOptimizer(bitstampSeries,
+                (registry, parameters) -> GlobalExtremaStrategy.buildStrategy(registry,
+                        parameters.getDecimal("buyingMultiplier"), parameters.getDecimal("sellingMultiplier")),
+                new TotalProfitCriterion());
+        ParameterSpace extremaSpace = new ParameterSpace()
+                .withRange("buyingMultiplier", 1.0, 1.01, 0.001)
+                .withRange("sellingMultiplier", 0.99, 1.0, 0.001);
+        print("Global extrema (random)", extremaOptimizer.random(extremaSpace, 40, 42, 5));
+    }
+
+    private static void print(String title, List<OptimizationResult> results) {
+        System.out.println(title + ":");
+        for (OptimizationResult result : results) {
+            System.out.println("\t" + result);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import eu.verdelhan.ta4j.TimeSeriesManager;
 import eu.verdelhan.ta4j.TradingRecord;
 import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
 import eu.verdelhan.ta4j.indicators.CCIIndicator;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
 import eu.verdelhan.ta4j.trading.rules.OverIndicatorRule;
 import eu.verdelhan.ta4j.trading.rules.UnderIndicatorRule;
 import ta4jexamples.loaders.CsvTradesLoader;
@@ -50,9 +51,20 @@ public class CCICorrectionStrategy {
         if (series == null) {
             throw new IllegalArgumentException("Series cannot be null");
         }
+        return buildStrategy(new IndicatorRegistry(series));
+    }
+
+    /**
+     * @param registry the indicator registry of a time series (sharing the indicators between strategies)
+     * @return a CCI correction strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry cannot be null");
+        }
 
-        CCIIndicator longCci = new CCIIndicator(series, 200);
-        CCIIndicator shortCci = new CCIIndicator(series, 5);
+        CCIIndicator longCci = registry.get(CCIIndicator.class, 200);
+        CCIIndicator shortCci = registry.get(CCIIndicator.class, 5);
         Decimal plus100 = Decimal.HUNDRED;
         Decimal minus100 = Decimal.valueOf(-100);
         
@@ -30,6 +30,7 @@ import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.TimeSeriesManager;
 import eu.verdelhan.ta4j.TradingRecord;
 import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
 import eu.verdelhan.ta4j.indicators.helpers.HighestValueIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.LowestValueIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
@@ -56,22 +57,35 @@ public class GlobalExtremaStrategy {
         if (series == null) {
             throw new IllegalArgumentException("Series cannot be null");
         }
+        return buildStrategy(new IndicatorRegistry(series), Decimal.valueOf("1.004"), Decimal.valueOf("0.996"));
+    }
+
+    /**
+     * @param registry the indicator registry of a time series (sharing the indicators between strategies)
+     * @param buyingMultiplier the multiplier of the week min price under which the strategy buys (e.g. 1.004)
+     * @param sellingMultiplier the multiplier of the week max price over which the strategy sells (e.g. 0.996)
+     * @return a global extrema strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry, Decimal buyingMultiplier, Decimal sellingMultiplier) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry cannot be null");
+        }
 
-        ClosePriceIndicator closePrices = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrices = registry.get(ClosePriceIndicator.class);
 
         // Getting the max price over the past week
-        MaxPriceIndicator maxPrices = new MaxPriceIndicator(series);
-        HighestValueIndicator weekMaxPrice = new HighestValueIndicator(maxPrices, NB_TICKS_PER_WEEK);
+        MaxPriceIndicator maxPrices = registry.get(MaxPriceIndicator.class);
+        HighestValueIndicator weekMaxPrice = registry.get(HighestValueIndicator.class, maxPrices, NB_TICKS_PER_WEEK);
         // Getting the min price over the past week
-        MinPriceIndicator minPrices = new MinPriceIndicator(series);
-        LowestValueIndicator weekMinPrice = new LowestValueIndicator(minPrices, NB_TICKS_PER_WEEK);
+        MinPriceIndicator minPrices = registry.get(MinPriceIndicator.class);
+        LowestValueIndicator weekMinPrice = registry.get(LowestValueIndicator.class, minPrices, NB_TICKS_PER_WEEK);
 
         // Going long if the close price goes below the min price
-        MultiplierIndicator downWeek = new MultiplierIndicator(weekMinPrice, Decimal.valueOf("1.004"));
+        MultiplierIndicator downWeek = registry.get(MultiplierIndicator.class, weekMinPrice, buyingMultiplier);
         Rule buyingRule = new UnderIndicatorRule(closePrices, downWeek);
 
         // Going short if the close price goes above the max price
-        MultiplierIndicator upWeek = new MultiplierIndicator(weekMaxPrice, Decimal.valueOf("0.996"));
+        MultiplierIndicator upWeek = registry.get(MultiplierIndicator.class, weekMaxPrice, sellingMultiplier);
         Rule sellingRule = new OverIndicatorRule(closePrices, upWeek);
 
         return new BaseStrategy(buyingRule, sellingRule);
@@ -9,6 +9,7 @@ import eu.verdelhan.ta4j.TimeSeriesManager;
 import eu.verdelhan.ta4j.TradingRecord;
 import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
 import eu.verdelhan.ta4j.indicators.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
 import eu.verdelhan.ta4j.indicators.MACDIndicator;
 import eu.verdelhan.ta4j.indicators.StochasticOscillatorKIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
@@ -33,18 +34,29 @@ public class MovingMomentumStrategy {
         if (series == null) {
             throw new IllegalArgumentException("Series cannot be null");
         }
+        return buildStrategy(new IndicatorRegistry(series));
+    }
+
+    /**
+     * @param registry the indicator registry of a time series (sharing the indicators between strategies)
+     * @return a moving momentum strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry cannot be null");
+        }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class);
         
         // The bias is bullish when the shorter-moving average moves above the longer moving average.
         // The bias is bearish when the shorter-moving average moves below the longer moving average.
-        EMAIndicator shortEma = new EMAIndicator(closePrice, 9);
-        EMAIndicator longEma = new EMAIndicator(closePrice, 26);
+        EMAIndicator shortEma = registry.get(EMAIndicator.class, closePrice, 9);
+        EMAIndicator longEma = registry.get(EMAIndicator.class, closePrice, 26);
 
-        StochasticOscillatorKIndicator stochasticOscillK = new StochasticOscillatorKIndicator(series, 14);
+        StochasticOscillatorKIndicator stochasticOscillK = registry.get(StochasticOscillatorKIndicator.class, 14);
 
-        MACDIndicator macd = new MACDIndicator(closePrice, 9, 26);
-        EMAIndicator emaMacd = new EMAIndicator(macd, 18);
+        MACDIndicator macd = registry.get(MACDIndicator.class, closePrice, 9, 26);
+        EMAIndicator emaMacd = registry.get(EMAIndicator.class, macd, 18);
         
         // Entry rule
         Rule entryRule = new OverIndicatorRule(shortEma, longEma) // Trend
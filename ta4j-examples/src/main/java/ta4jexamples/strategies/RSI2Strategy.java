@@ -30,6 +30,7 @@ import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.TimeSeriesManager;
 import eu.verdelhan.ta4j.TradingRecord;
 import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
 import eu.verdelhan.ta4j.indicators.RSIIndicator;
 import eu.verdelhan.ta4j.indicators.SMAIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
@@ -54,25 +55,47 @@ public class RSI2Strategy {
         if (series == null) {
             throw new IllegalArgumentException("Series cannot be null");
         }
+        return buildStrategy(new IndicatorRegistry(series));
+    }
+
+    /**
+     * @param registry the indicator registry of a time series (sharing the indicators between strategies)
+     * @return a 2-period RSI strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry) {
+        return buildStrategy(registry, 2, Decimal.valueOf(5), Decimal.valueOf(95));
+    }
+
+    /**
+     * @param registry the indicator registry of a time series (sharing the indicators between strategies)
+     * @param rsiTimeFrame the time frame of the RSI (e.g. 2)
+     * @param entryThreshold the RSI value under which the strategy enters (e.g. 5)
+     * @param exitThreshold the RSI value over which the strategy exits (e.g. 95)
+     * @return an RSI strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry, int rsiTimeFrame, Decimal entryThreshold, Decimal exitThreshold) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry cannot be null");
+        }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator shortSma = new SMAIndicator(closePrice, 5);
-        SMAIndicator longSma = new SMAIndicator(closePrice, 200);
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class);
+        SMAIndicator shortSma = registry.get(SMAIndicator.class, closePrice, 5);
+        SMAIndicator longSma = registry.get(SMAIndicator.class, closePrice, 200);
 
         // We use a 2-period RSI indicator to identify buying
         // or selling opportunities within the bigger trend.
-        RSIIndicator rsi = new RSIIndicator(closePrice, 2);
+        RSIIndicator rsi = registry.get(RSIIndicator.class, closePrice, rsiTimeFrame);
         
         // Entry rule
         // The long-term trend is up when a security is above its 200-period SMA.
         Rule entryRule = new OverIndicatorRule(shortSma, longSma) // Trend
-                .and(new CrossedDownIndicatorRule(rsi, Decimal.valueOf(5))) // Signal 1
+                .and(new CrossedDownIndicatorRule(rsi, entryThreshold)) // Signal 1
                 .and(new OverIndicatorRule(shortSma, closePrice)); // Signal 2
         
         // Exit rule
         // The long-term trend is down when a security is below its 200-period SMA.
         Rule exitRule = new UnderIndicatorRule(shortSma, longSma) // Trend
-                .and(new CrossedUpIndicatorRule(rsi, Decimal.valueOf(95))) // Signal 1
+                .and(new CrossedUpIndicatorRule(rsi, exitThreshold)) // Signal 1
                 .and(new UnderIndicatorRule(shortSma, closePrice)); // Signal 2
         
         // TODO: Finalize the strategy
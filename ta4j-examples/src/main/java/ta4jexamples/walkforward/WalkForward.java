@@ -24,11 +24,17 @@ package ta4jexamples.walkforward;
 
 import eu.verdelhan.ta4j.AnalysisCriterion;
 import eu.verdelhan.ta4j.BaseTimeSeries;
+import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.Strategy;
 import eu.verdelhan.ta4j.TimeSeries;
-import eu.verdelhan.ta4j.TimeSeriesManager;
-import eu.verdelhan.ta4j.TradingRecord;
 import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
+import eu.verdelhan.ta4j.optimization.OptimizationResult;
+import eu.verdelhan.ta4j.optimization.ParameterSpace;
+import eu.verdelhan.ta4j.optimization.Parameters;
+import eu.verdelhan.ta4j.optimization.WalkForwardFold;
+import eu.verdelhan.ta4j.optimization.WalkForwardOptimizer;
+import eu.verdelhan.ta4j.optimization.WalkForwardResult;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -157,32 +163,53 @@ public class WalkForward {
         return strategies;
     }
 
+    /**
+     * @param registry the indicator registry of the time series
+     * @param parameters the parameters (the "strategy" one being the name of the strategy)
+     * @return the named trading strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry, Parameters parameters) {
+        String name = (String) parameters.get("strategy");
+        switch (name) {
+            case "CCI Correction":
+                return CCICorrectionStrategy.buildStrategy(registry);
+            case "Global Extrema":
+                return GlobalExtremaStrategy.buildStrategy(registry, Decimal.valueOf("1.004"), Decimal.valueOf("0.996"));
+            case "Moving Momentum":
+                return MovingMomentumStrategy.buildStrategy(registry);
+            case "RSI-2":
+                return RSI2Strategy.buildStrategy(registry);
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+
     public static void main(String[] args) {
-        // Splitting the series into slices
         TimeSeries series = CsvTradesLoader.loadBitstampSeries();
-        List<TimeSeries> subseries = splitSeries(series, Duration.ofHours(6), Duration.ofDays(7));
 
-        // Building the map of strategies
-        Map<Strategy, String> strategies = buildStrategiesMap(series);
+        // The strategy is chosen over 7 days, then traded during the next 6 hours
+        List<WalkForwardFold> folds = WalkForwardFold.rolling(series, Duration.ofDays(7), Duration.ofHours(6));
+        ParameterSpace strategies = new ParameterSpace()
+                .withValues("strategy", "CCI Correction", "Global Extrema", "Moving Momentum", "RSI-2");
 
         // The analysis criterion
         AnalysisCriterion profitCriterion = new TotalProfitCriterion();
 
-        for (TimeSeries slice : subseries) {
-            // For each sub-series...
-            System.out.println("Sub-series: " + slice.getSeriesPeriodDescription());
-            TimeSeriesManager sliceManager = new TimeSeriesManager(slice);
-            for (Map.Entry<Strategy, String> entry : strategies.entrySet()) {
-                Strategy strategy = entry.getKey();
-                String name = entry.getValue();
+        // Running all the folds in parallel (the indicators being shared by the folds)
+        WalkForwardOptimizer optimizer = new WalkForwardOptimizer(series, WalkForward::buildStrategy, profitCriterion);
+        WalkForwardResult result = optimizer.run(strategies.grid(), folds, strategies.grid().size());
+        for (int i = 0; i < folds.size(); i++) {
+            // For each fold...
+            WalkForwardFold fold = folds.get(i);
+            System.out.println("In-sample: " + new BaseTimeSeries(series, fold.getInSampleBeginIndex(), fold.getInSampleEndIndex()).getSeriesPeriodDescription());
+            for (OptimizationResult inSample : result.getInSampleResults(i)) {
                 // For each strategy...
-                TradingRecord tradingRecord = sliceManager.run(strategy);
-                double profit = profitCriterion.calculate(slice, tradingRecord);
-                System.out.println("\tProfit for " + name + ": " + profit);
+                System.out.println("\tProfit for " + inSample.getParameters().get("strategy") + ": " + inSample.getCriterionValue());
             }
-            Strategy bestStrategy = profitCriterion.chooseBest(sliceManager, new ArrayList<Strategy>(strategies.keySet()));
-            System.out.println("\t\t--> Best strategy: " + strategies.get(bestStrategy) + "\n");
+            System.out.println("\t\t--> Best strategy: " + result.getBestParameters(i).get("strategy")
+                    + ", out-of-sample profit: " + result.getOutOfSampleResult(i).getCriterionValue() + "\n");
         }
+        System.out.println("Out-of-sample profit: " + result.getOutOfSampleCriterionValue(profitCriterion));
     }
-    
+
 }
@@ -22,6 +22,7 @@
  */
 package eu.verdelhan.ta4j;
 
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
 import java.util.List;
 
 /**
@@ -49,6 +50,18 @@ public interface AnalysisCriterion {
      */
     double calculate(TimeSeries series, TradingRecord tradingRecord);
 
+    /**
+     * Calculates the criterion from the (single-pass) metrics of a trading record.
+     * <p>
+     * Criteria which can be derived from the {@link TradingMetrics trading metrics} should override this
+     * method, so that a set of criteria is calculated with a single pass over the trading record.
+     * @param metrics the trading metrics of a trading record
+     * @return the criterion value for the trades
+     */
+    default double calculate(TradingMetrics metrics) {
+        return calculate(metrics.getTimeSeries(), metrics.getTradingRecord());
+    }
+
     /**
      * @param manager the time series manager
      * @param strategies a list of strategies
@@ -0,0 +1,325 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An executor of batches of backtests.
+ * <p>
+ * Runs several {@link Strategy strategies} over the same {@link TimeSeries time series} in parallel (on a
+ * {@link ForkJoinPool} with a bounded parallelism), and evaluates analysis criteria on the resulting
+ * {@link TradingRecord trading records}.
+ * <p>
+ * The time series is shared by all the runs: it must not be modified during a batch. Strategies may share
+ * cached indicators (e.g. through an {@link eu.verdelhan.ta4j.indicators.IndicatorRegistry indicator registry}),
+ * whose values are then calculated once for the whole batch. The simplest way to run strategies built
+ * independently is to provide strategy factories (e.g. {@code MyStrategy::buildStrategy}), each strategy being
+ * then built in the thread it runs in.
+ */
+public class BacktestExecutor {
+
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    /** The manager of the shared time series */
+    private final TimeSeriesManager manager;
+
+    /** The maximum number of backtests running at the same time */
+    private final int parallelism;
+
+    /** The stop condition of the runs (null for none) */
+    private StopCondition stopCondition;
+
+    /**
+     * Constructor.
+     * <p>
+     * Runs as many backtests at the same time as there are available processors.
+     * @param timeSeries the time series to run the strategies over
+     */
+    public BacktestExecutor(TimeSeries timeSeries) {
+        this(timeSeries, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param timeSeries the time series to run the strategies over
+     * @param parallelism the maximum number of backtests running at the same time
+     */
+    public BacktestExecutor(TimeSeries timeSeries, int parallelism) {
+        if (timeSeries == null) {
+            throw new IllegalArgumentException("Time series cannot be null");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be strictly positive");
+        }
+        this.manager = new TimeSeriesManager(timeSeries);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return the time series the strategies are run over
+     */
+    public TimeSeries getTimeSeries() {
+        return manager.getTimeSeries();
+    }
+
+    /**
+     * @return the maximum number of backtests running at the same time
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return the stop condition of the runs (null for none)
+     */
+    public StopCondition getStopCondition() {
+        return stopCondition;
+    }
+
+    /**
+     * Sets a stop condition for the runs of the next batches.
+     * <p>
+     * A run stopped by the condition is aborted: its criterion values are NaN and its result is
+     * {@link BacktestResult#isStopped() stopped}.
+     * @param stopCondition the stop condition of the runs (null for none)
+     */
+    public void setStopCondition(StopCondition stopCondition) {
+        this.stopCondition = stopCondition;
+    }
+
+    /**
+     * Builds and runs strategies over the time series.
+     * <p>
+     * Opens the trades with {@link OrderType#BUY} orders.
+     * @param strategyFactories the factories of the strategies (called in the thread running the strategy)
+     * @param criteria the analysis criteria to be evaluated on each trading record
+     * @return the results of the backtests (in the order of the factories)
+     */
+    public List<BacktestResult> run(Collection<? extends Function<TimeSeries, Strategy>> strategyFactories, AnalysisCriterion... criteria) {
+        final TimeSeries series = manager.getTimeSeries();
+        return run(strategyFactories, series.getBeginIndex(), series.getEndIndex(), criteria);
+    }
+
+    /**
+     * Builds and runs strategies over a part of the time series (from startIndex to finishIndex).
+     * <p>
+     * Opens the trades with {@link OrderType#BUY} orders.
+     * @param strategyFactories the factories of the strategies (called in the thread running the strategy)
+     * @param startIndex the start index of the runs (included)
+     * @param finishIndex the finish index of the runs (included)
+     * @param criteria the analysis criteria to be evaluated on each trading record
+     * @return the results of the backtests (in the order of the factories)
+     */
+    public List<BacktestResult> run(Collection<? extends Function<TimeSeries, Strategy>> strategyFactories, int startIndex, int finishIndex, AnalysisCriterion... criteria) {
+        int[] startIndexes = new int[strategyFactories.size()];
+        int[] finishIndexes = new int[strategyFactories.size()];
+        Arrays.fill(startIndexes, startIndex);
+        Arrays.fill(finishIndexes, finishIndex);
+        return run(new ArrayList<>(strategyFactories), startIndexes, finishIndexes, criteria);
+    }
+
+    /**
+     * Builds and runs strategies, each one over its own part of the time series.
+     * <p>
+     * Opens the trades with {@link OrderType#BUY} orders.
+     * @param strategyFactories the factories of the strategies (called in the thread running the strategy)
+     * @param startIndexes the start index of each run (included)
+     * @param finishIndexes the finish index of each run (included)
+     * @param criteria the analysis criteria to be evaluated on each trading record
+     * @return the results of the backtests (in the order of the factories)
+     */
+    public List<BacktestResult> run(List<? extends Function<TimeSeries, Strategy>> strategyFactories, int[] startIndexes, int[] finishIndexes, AnalysisCriterion... criteria) {
+        return run(strategyFactories, startIndexes, finishIndexes, stopCondition, criteria);
+    }
+
+    /**
+     * Builds and runs strategies, each one over its own part of the time series, with a specific stop condition.
+     * <p>
+     * Opens the trades with {@link OrderType#BUY} orders.
+     * @param strategyFactories the factories of the strategies (called in the thread running the strategy)
+     * @param startIndexes the start index of each run (included)
+     * @param finishIndexes the finish index of each run (included)
+     * @param stopCondition the stop condition of the runs (null for none, whatever the stop condition of the executor)
+     * @param criteria the analysis criteria to be evaluated on each trading record
+     * @return the results of the backtests (in the order of the factories)
+     */
+    public List<BacktestResult> run(List<? extends Function<TimeSeries, Strategy>> strategyFactories, int[] startIndexes, int[] finishIndexes,
+            StopCondition stopCondition, AnalysisCriterion... criteria) {
+        if (startIndexes.length != strategyFactories.size() || finishIndexes.length != strategyFactories.size()) {
+            throw new IllegalArgumentException("There must be one start index and one finish index per strategy");
+        }
+        final TimeSeries series = manager.getTimeSeries();
+        final List<AnalysisCriterion> criteriaList = Collections.unmodifiableList(Arrays.asList(criteria));
+        List<Callable<BacktestResult>> backtests = new ArrayList<>(strategyFactories.size());
+        for (int i = 0; i < startIndexes.length; i++) {
+            final Function<TimeSeries, Strategy> factory = strategyFactories.get(i);
+            final int startIndex = startIndexes[i];
+            final int finishIndex = finishIndexes[i];
+            final int strategyIndex = i;
+            backtests.add(() -> backtest(strategyIndex, factory.apply(series), startIndex, finishIndex, stopCondition, criteriaList));
+        }
+        return execute(backtests);
+    }
+
+    /**
+     * Runs strategies over the time series.
+     * <p>
+     * Opens the trades with {@link OrderType#BUY} orders.
+     * @param strategies the strategies (which may share cached indicators, e.g. from an indicator registry)
+     * @param criteria the analysis criteria to be evaluated on each trading record
+     * @return the results of the backtests (in the order of the strategies)
+     */
+    public List<BacktestResult> runStrategies(Collection<Strategy> strategies, AnalysisCriterion... criteria) {
+        final TimeSeries series = manager.getTimeSeries();
+        final List<AnalysisCriterion> criteriaList = Collections.unmodifiableList(Arrays.asList(criteria));
+        final StopCondition runStopCondition = stopCondition;
+        List<Callable<BacktestResult>> backtests = new ArrayList<>(strategies.size());
+        for (Strategy strategy : strategies) {
+            final int strategyIndex = backtests.size();
+            backtests.add(() -> backtest(strategyIndex, strategy, series.getBeginIndex(), series.getEndIndex(), runStopCondition, criteriaList));
+        }
+        return execute(backtests);
+    }
+
+    /**
+     * Runs strategies over the time series and chooses the best one.
+     * <p>
+     * Parallel equivalent of {@link AnalysisCriterion#chooseBest(TimeSeriesManager, List)}: on ties, the first
+     * strategy is kept.
+     * @param strategies the strategies (which may share cached indicators, e.g. from an indicator registry)
+     * @param criterion the analysis criterion
+     * @return the result of the best strategy according to the criterion (see {@link BacktestResult#getStrategyIndex()})
+     */
+    public BacktestResult chooseBest(Collection<Strategy> strategies, AnalysisCriterion criterion) {
+        return best(runStrategies(strategies, criterion), criterion);
+    }
+
+    /**
+     * @param results the results of backtests
+     * @param criterion the analysis criterion (evaluated by the backtests)
+     * @return the best result according to the criterion (the first one on ties, stopped runs last)
+     */
+    public static BacktestResult best(List<BacktestResult> results, AnalysisCriterion criterion) {
+        if (results.isEmpty()) {
+            throw new IllegalArgumentException("No backtest result to choose from");
+        }
+        BacktestResult best = results.get(0);
+        double bestValue = best.getCriterionValue(criterion);
+        for (int i = 1; i < results.size(); i++) {
+            BacktestResult result = results.get(i);
+            double value = result.getCriterionValue(criterion);
+            if ((Double.isNaN(bestValue) && !Double.isNaN(value)) || criterion.betterThan(value, bestValue)) {
+                best = result;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Runs a strategy and evaluates the criteria on its trading record.
+     * @param strategyIndex the position of the strategy in its batch
+     * @param strategy the strategy
+     * @param startIndex the start index of the run (included)
+     * @param finishIndex the finish index of the run (included)
+     * @param stopCondition the stop condition of the run (null for none)
+     * @param criteria the analysis criteria
+     * @return the result of the backtest
+     */
+    private BacktestResult backtest(int strategyIndex, Strategy strategy, int startIndex, int finishIndex, StopCondition stopCondition, List<AnalysisCriterion> criteria) {
+        final TimeSeries series = manager.getTimeSeries();
+        final boolean[] stopped = { false };
+        TradingRecord tradingRecord;
+        if (stopCondition == null) {
+            tradingRecord = manager.run(strategy, startIndex, finishIndex);
+        } else {
+            tradingRecord = manager.run(strategy, startIndex, finishIndex,
+                    (index, metrics, elapsedNanos) -> stopped[0] = stopCondition.isSatisfied(index, metrics, elapsedNanos));
+        }
+        if (stopped[0]) {
+            double[] criterionValues = new double[criteria.size()];
+            Arrays.fill(criterionValues, Double.NaN);
+            return new BacktestResult(strategyIndex, strategy, tradingRecord, criteria, criterionValues, true);
+        }
+        // The metrics are accumulated once for all the criteria
+        final TradingMetrics metrics = TradingMetrics.of(series, tradingRecord);
+        double[] criterionValues = new double[criteria.size()];
+        for (int i = 0; i < criterionValues.length; i++) {
+            criterionValues[i] = criteria.get(i).calculate(metrics);
+        }
+        return new BacktestResult(strategyIndex, strategy, tradingRecord, criteria, criterionValues);
+    }
+
+    /**
+     * Executes backtests on a dedicated pool.
+     * @param backtests the backtests
+     * @return the results of the backtests (in the same order)
+     */
+    private List<BacktestResult> execute(List<Callable<BacktestResult>> backtests) {
+        log.trace("Running {} backtests (parallelism: {})", backtests.size(), parallelism);
+        List<BacktestResult> results = new ArrayList<>(backtests.size());
+        if (backtests.isEmpty()) {
+            return results;
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, backtests.size()));
+        try {
+            for (Future<BacktestResult> future : pool.invokeAll(backtests)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running backtests", ie);
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause != null && cause.getCause() != null && cause.getClass() == cause.getCause().getClass()) {
+                // The pool may rethrow a copy of the exception (having the original one as cause)
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Backtest failed", cause);
+        } finally {
+            pool.shutdownNow();
+        }
+        return results;
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The result of the backtest of a {@link Strategy strategy}.
+ * <p>
+ * Holds the trading record coming from the run and the values of the analysis criteria for it.
+ * The strategy itself is not retained (it would keep its indicators and their cached values alive
+ * as long as the result): it is identified by its position in the batch and described by its string
+ * representation.
+ * @see BacktestExecutor
+ */
+public class BacktestResult {
+
+    /** The position of the backtested strategy in its batch */
+    private final int strategyIndex;
+
+    /** The description of the backtested strategy */
+    private final String strategyDescription;
+
+    /** The trading record coming from the run */
+    private final TradingRecord tradingRecord;
+
+    /** The analysis criteria */
+    private final List<AnalysisCriterion> criteria;
+
+    /** The criterion values (in the order of the criteria) */
+    private final double[] criterionValues;
+
+    /** True if the run has been stopped by a stop condition */
+    private final boolean stopped;
+
+    /**
+     * Constructor.
+     * @param strategyIndex the position of the backtested strategy in its batch
+     * @param strategy the backtested strategy (only its description is kept)
+     * @param tradingRecord the trading record coming from the run
+     * @param criteria the analysis criteria
+     * @param criterionValues the criterion values (in the order of the criteria)
+     */
+    public BacktestResult(int strategyIndex, Strategy strategy, TradingRecord tradingRecord, List<AnalysisCriterion> criteria, double[] criterionValues) {
+        this(strategyIndex, strategy, tradingRecord, criteria, criterionValues, false);
+    }
+
+    /**
+     * Constructor.
+     * @param strategyIndex the position of the backtested strategy in its batch
+     * @param strategy the backtested strategy (only its description is kept)
+     * @param tradingRecord the trading record coming from the run
+     * @param criteria the analysis criteria
+     * @param criterionValues the criterion values (in the order of the criteria)
+     * @param stopped true if the run has been stopped by a {@link StopCondition stop condition}
+     */
+    public BacktestResult(int strategyIndex, Strategy strategy, TradingRecord tradingRecord, List<AnalysisCriterion> criteria, double[] criterionValues, boolean stopped) {
+        if (criteria.size() != criterionValues.length) {
+            throw new IllegalArgumentException("There must be one value per criterion");
+        }
+        this.strategyIndex = strategyIndex;
+        this.strategyDescription = String.valueOf(strategy);
+        this.tradingRecord = tradingRecord;
+        this.criteria = criteria;
+        this.criterionValues = criterionValues;
+        this.stopped = stopped;
+    }
+
+    /**
+     * @return the position of the backtested strategy in its batch (i.e. in the strategies, or strategy
+     *         factories, provided to the {@link BacktestExecutor})
+     */
+    public int getStrategyIndex() {
+        return strategyIndex;
+    }
+
+    /**
+     * @return the description (string representation) of the backtested strategy
+     */
+    public String getStrategyDescription() {
+        return strategyDescription;
+    }
+
+    /**
+     * @return the trading record coming from the run
+     */
+    public TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+
+    /**
+     * @param criterion an analysis criterion (one of the criteria of the backtest)
+     * @return the value of the criterion for the trading record
+     */
+    public double getCriterionValue(AnalysisCriterion criterion) {
+        for (int i = 0; i < criteria.size(); i++) {
+            if (criteria.get(i) == criterion) {
+                return criterionValues[i];
+            }
+        }
+        throw new IllegalArgumentException("Criterion not evaluated by the backtest: " + criterion);
+    }
+
+    /**
+     * @return the criterion values (in the order of the criteria of the backtest)
+     */
+    public double[] getCriterionValues() {
+        return Arrays.copyOf(criterionValues, criterionValues.length);
+    }
+
+    /**
+     * @return true if the run has been stopped by a {@link StopCondition stop condition} (the criterion values
+     *         being then NaN), false otherwise
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    @Override
+    public String toString() {
+        return "BacktestResult{strategy: " + strategyIndex + " (" + strategyDescription + "), trades: " + tradingRecord.getTradeCount()
+                + ", criterion values: " + Arrays.toString(criterionValues) + (stopped ? ", stopped" : "") + "}";
+    }
+}
@@ -83,6 +83,26 @@ public class BaseTick implements Tick {
                 Decimal.valueOf(volume));
     }
 
+    /**
+     * Constructor.
+     * @param timePeriod the time period
+     * @param endTime the end time of the tick period
+     * @param openPrice the open price of the tick period
+     * @param highPrice the highest price of the tick period
+     * @param lowPrice the lowest price of the tick period
+     * @param closePrice the close price of the tick period
+     * @param volume the volume of the tick period
+     * @param backend the numeric backend of the tick values (e.g. {@link Decimal.Backend#DOUBLE} for fast backtests)
+     */
+    public BaseTick(Duration timePeriod, ZonedDateTime endTime, double openPrice, double highPrice, double lowPrice, double closePrice, double volume, Decimal.Backend backend) {
+        this(timePeriod, endTime, Decimal.valueOf(openPrice, backend),
+                Decimal.valueOf(highPrice, backend),
+                Decimal.valueOf(lowPrice, backend),
+                Decimal.valueOf(closePrice, backend),
+                Decimal.valueOf(volume, backend),
+                Decimal.valueOf(0, backend));
+    }
+
     /**
      * Constructor.
      * @param endTime the end time of the tick period
@@ -139,6 +159,22 @@ public class BaseTick implements Tick {
      * @param amount the amount of the tick period
      */
     public BaseTick(Duration timePeriod, ZonedDateTime endTime, Decimal openPrice, Decimal highPrice, Decimal lowPrice, Decimal closePrice, Decimal volume, Decimal amount) {
+        this(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume, amount, 0);
+    }
+
+    /**
+     * Constructor.
+     * @param timePeriod the time period
+     * @param endTime the end time of the tick period
+     * @param openPrice the open price of the tick period
+     * @param highPrice the highest price of the tick period
+     * @param lowPrice the lowest price of the tick period
+     * @param closePrice the close price of the tick period
+     * @param volume the volume of the tick period
+     * @param amount the amount of the tick period
+     * @param trades the number of trades of the tick period
+     */
+    public BaseTick(Duration timePeriod, ZonedDateTime endTime, Decimal openPrice, Decimal highPrice, Decimal lowPrice, Decimal closePrice, Decimal volume, Decimal amount, int trades) {
         checkTimeArguments(timePeriod, endTime);
         this.timePeriod = timePeriod;
         this.endTime = endTime;
@@ -149,6 +185,7 @@ public class BaseTick implements Tick {
         this.closePrice = closePrice;
         this.volume = volume;
         this.amount = amount;
+        this.trades = trades;
     }
 
     /**
@@ -54,6 +54,8 @@ public class BaseTimeSeries implements TimeSeries {
     /** True if the current series is constrained (i.e. its indexes cannot change), false otherwise */
     private boolean constrained = false;
 
+    private long replacedTicksCount = 0;
+
     /**
      * Constructor of an unnamed series.
      */
@@ -227,6 +229,30 @@ public class BaseTimeSeries implements TimeSeries {
         removeExceedingTicks();
     }
 
+    @Override
+    public void replaceLastTick(Tick tick) {
+        if (tick == null) {
+            throw new IllegalArgumentException("Cannot replace with a null tick");
+        }
+        if (constrained) {
+            throw new IllegalStateException("Cannot replace a tick of a constrained time series");
+        }
+        if (ticks.isEmpty()) {
+            throw new IllegalStateException("Cannot replace the last tick of an empty time series");
+        }
+        final int lastTickIndex = ticks.size() - 1;
+        if (lastTickIndex > 0 && !tick.getEndTime().isAfter(ticks.get(lastTickIndex - 1).getEndTime())) {
+            throw new IllegalArgumentException("Cannot replace the last tick by a tick with end time <= to the previous tick end time");
+        }
+        ticks.set(lastTickIndex, tick);
+        replacedTicksCount++;
+    }
+
+    @Override
+    public long getReplacedTicksCount() {
+        return replacedTicksCount;
+    }
+
     /**
      * Removes the N first ticks which exceed the maximum tick count.
      */
@@ -235,9 +261,9 @@ public class BaseTimeSeries implements TimeSeries {
         if (tickCount > maximumTickCount) {
             // Removing old ticks
             int nbTicksToRemove = tickCount - maximumTickCount;
-            for (int i = 0; i < nbTicksToRemove; i++) {
-                ticks.remove(0);
-            }
+            // Single shift of the remaining ticks
+            // (see MovingTimeSeries for a series which does not shift its ticks at all)
+            ticks.subList(0, nbTicksToRemove).clear();
             // Updating removed ticks count
             removedTicksCount += nbTicksToRemove;
         }
@@ -0,0 +1,546 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Columnar time series.
+ * <p>
+ * A {@link TimeSeries time series} storing its ticks as parallel primitive arrays (struct of arrays):
+ * open/min/max/close prices, volume, amount and trade count, plus epoch-millis end times and time periods.
+ * That is 68 bytes per tick, instead of several hundreds for a {@link BaseTick}.
+ * <p>
+ * {@link Tick} instances are only materialized on demand (see {@link #getTick(int)}); they are snapshots
+ * (i.e. changes made on them are not reflected in the series). The per-tick accessors
+ * (e.g. {@link #getClosePrice(int)}, used by the price indicators) read the columns directly.
+ * Values are returned as {@link Decimal decimals} of the backend provided at construction.
+ * <p>
+ * A maximum tick count may be set, in which case the columns are used as circular buffers.
+ * Missing prices (e.g. {@code null} prices of a tick without trade) are stored as {@code NaN},
+ * and returned as {@link Decimal#NaN} whatever the backend.
+ */
+public class ColumnarTimeSeries implements TimeSeries {
+
+    private static final long serialVersionUID = -4726593851362045177L;
+    /** Name for unnamed series */
+    private static final String UNNAMED_SERIES_NAME = "unamed_series";
+    /** Initial capacity of the columns */
+    private static final int DEFAULT_INITIAL_CAPACITY = 256;
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    /** Name of the series */
+    private final String name;
+    /** Backend of the decimals returned by the series */
+    private final Decimal.Backend backend;
+    /** Time zone of the materialized ticks (the one of the first added tick) */
+    private ZoneId zone = ZoneOffset.UTC;
+    /** Begin index of the time series */
+    private int seriesBeginIndex = -1;
+    /** End index of the time series */
+    private int seriesEndIndex = -1;
+    /** Maximum number of ticks for the time series */
+    private int maximumTickCount = Integer.MAX_VALUE;
+    /** Number of removed ticks */
+    private int removedTicksCount = 0;
+    /** Number of replacements of the last tick */
+    private long replacedTicksCount = 0;
+    /** Position of the oldest tick in the columns */
+    private int head = 0;
+    /** Number of ticks in the columns */
+    private int size = 0;
+
+    // Columns
+    private long[] endTimes;
+    private long[] timePeriods;
+    private double[] openPrices;
+    private double[] minPrices;
+    private double[] maxPrices;
+    private double[] closePrices;
+    private double[] volumes;
+    private double[] amounts;
+    private int[] trades;
+
+    /**
+     * Constructor of an unnamed series.
+     */
+    public ColumnarTimeSeries() {
+        this(UNNAMED_SERIES_NAME);
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     */
+    public ColumnarTimeSeries(String name) {
+        this(name, Decimal.Backend.DOUBLE, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param backend the backend of the decimals returned by the series
+     * @param initialCapacity the initial capacity (in ticks) of the columns
+     */
+    public ColumnarTimeSeries(String name, Decimal.Backend backend, int initialCapacity) {
+        if (backend == null) {
+            throw new IllegalArgumentException("Backend cannot be null");
+        }
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be strictly positive");
+        }
+        this.name = name;
+        this.backend = backend;
+        allocateColumns(initialCapacity);
+    }
+
+    /**
+     * Constructor.
+     * <p>
+     * Copies the (retained) ticks of another series.
+     * @param series the series to copy the ticks from
+     * @param backend the backend of the decimals returned by the series
+     */
+    public ColumnarTimeSeries(TimeSeries series, Decimal.Backend backend) {
+        this(series.getName(), backend, Math.max(1, series.getTickCount()));
+        final int beginIndex = Math.max(series.getBeginIndex(), series.getRemovedTicksCount());
+        for (int i = beginIndex; i >= 0 && i <= series.getEndIndex(); i++) {
+            addTick(series.getTick(i));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tick is materialized from the columns (i.e. a new instance is returned for each call).
+     */
+    @Override
+    public Tick getTick(int i) {
+        final int position = physicalIndex(i);
+        final Duration timePeriod = Duration.ofMillis(timePeriods[position]);
+        final ZonedDateTime endTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(endTimes[position]), zone);
+        return new BaseTick(timePeriod, endTime,
+                toDecimal(openPrices[position]),
+                toDecimal(maxPrices[position]),
+                toDecimal(minPrices[position]),
+                toDecimal(closePrices[position]),
+                toDecimal(volumes[position]),
+                toDecimal(amounts[position]),
+                trades[position]);
+    }
+
+    @Override
+    public Decimal getOpenPrice(int i) {
+        return toDecimal(openPrices[physicalIndex(i)]);
+    }
+
+    @Override
+    public Decimal getMinPrice(int i) {
+        return toDecimal(minPrices[physicalIndex(i)]);
+    }
+
+    @Override
+    public Decimal getMaxPrice(int i) {
+        return toDecimal(maxPrices[physicalIndex(i)]);
+    }
+
+    @Override
+    public Decimal getClosePrice(int i) {
+        return toDecimal(closePrices[physicalIndex(i)]);
+    }
+
+    @Override
+    public Decimal getVolume(int i) {
+        return toDecimal(volumes[physicalIndex(i)]);
+    }
+
+    @Override
+    public Decimal getAmount(int i) {
+        return toDecimal(amounts[physicalIndex(i)]);
+    }
+
+    @Override
+    public int getTrades(int i) {
+        return trades[physicalIndex(i)];
+    }
+
+    /**
+     * @param i an index
+     * @return the end time of the i-th tick, in milliseconds since the epoch
+     */
+    public long getEndTimeMillis(int i) {
+        return endTimes[physicalIndex(i)];
+    }
+
+    @Override
+    public int getTickCount() {
+        if (seriesEndIndex < 0) {
+            return 0;
+        }
+        final int startIndex = Math.max(removedTicksCount, seriesBeginIndex);
+        return seriesEndIndex - startIndex + 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns a read-only view over the retained ticks, materializing each tick on access.
+     */
+    @Override
+    public List<Tick> getTickData() {
+        return new TickDataView();
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return seriesBeginIndex;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return seriesEndIndex;
+    }
+
+    @Override
+    public void setMaximumTickCount(int maximumTickCount) {
+        if (maximumTickCount <= 0) {
+            throw new IllegalArgumentException("Maximum tick count must be strictly positive");
+        }
+        this.maximumTickCount = maximumTickCount;
+        if (size > maximumTickCount) {
+            final int nbTicksToRemove = size - maximumTickCount;
+            head = wrap(head + nbTicksToRemove);
+            size = maximumTickCount;
+            removedTicksCount += nbTicksToRemove;
+        }
+    }
+
+    @Override
+    public int getMaximumTickCount() {
+        return maximumTickCount;
+    }
+
+    @Override
+    public int getRemovedTicksCount() {
+        return removedTicksCount;
+    }
+
+    @Override
+    public void addTick(Tick tick) {
+        if (tick == null) {
+            throw new IllegalArgumentException("Cannot add null tick");
+        }
+        if (size == 0) {
+            zone = tick.getEndTime().getZone();
+        }
+        addTick(tick.getTimePeriod(), tick.getEndTime().toInstant().toEpochMilli(),
+                toDouble(tick.getOpenPrice()), toDouble(tick.getMaxPrice()),
+                toDouble(tick.getMinPrice()), toDouble(tick.getClosePrice()),
+                toDouble(tick.getVolume()), toDouble(tick.getAmount()), tick.getTrades());
+    }
+
+    /**
+     * Adds a tick at the end of the series, without any {@link Tick} instance.
+     * @param timePeriod the time period of the tick
+     * @param endTimeMillis the end time of the tick, in milliseconds since the epoch
+     * @param openPrice the open price of the tick period
+     * @param highPrice the highest price of the tick period
+     * @param lowPrice the lowest price of the tick period
+     * @param closePrice the close price of the tick period
+     * @param volume the volume of the tick period
+     * @param amount the amount of the tick period
+     * @param tradeCount the number of trades of the tick period
+     * @see TimeSeries#addTick(Tick)
+     */
+    public void addTick(Duration timePeriod, long endTimeMillis, double openPrice, double highPrice, double lowPrice,
+            double closePrice, double volume, double amount, int tradeCount) {
+        if (timePeriod == null) {
+            throw new IllegalArgumentException("Time period cannot be null");
+        }
+        if (size > 0 && endTimeMillis <= endTimes[wrap(head + size - 1)]) {
+            throw new IllegalArgumentException("Cannot add a tick with end time <= to series end time");
+        }
+
+        final int position;
+        if (size == maximumTickCount) {
+            // Full series: the oldest tick is removed
+            position = wrap(head + size);
+            head = wrap(head + 1);
+            removedTicksCount++;
+        } else {
+            ensureCapacity(size + 1);
+            position = wrap(head + size);
+            size++;
+        }
+        endTimes[position] = endTimeMillis;
+        timePeriods[position] = timePeriod.toMillis();
+        openPrices[position] = openPrice;
+        maxPrices[position] = highPrice;
+        minPrices[position] = lowPrice;
+        closePrices[position] = closePrice;
+        volumes[position] = volume;
+        amounts[position] = amount;
+        trades[position] = tradeCount;
+
+        if (seriesBeginIndex == -1) {
+            // Begin index set to 0 only if if wasn't initialized
+            seriesBeginIndex = 0;
+        }
+        seriesEndIndex++;
+    }
+
+    @Override
+    public void replaceLastTick(Tick tick) {
+        if (tick == null) {
+            throw new IllegalArgumentException("Cannot replace with a null tick");
+        }
+        replaceLastTick(tick.getTimePeriod(), tick.getEndTime().toInstant().toEpochMilli(),
+                toDouble(tick.getOpenPrice()), toDouble(tick.getMaxPrice()),
+                toDouble(tick.getMinPrice()), toDouble(tick.getClosePrice()),
+                toDouble(tick.getVolume()), toDouble(tick.getAmount()), tick.getTrades());
+    }
+
+    /**
+     * Replaces the last tick of the series, without any {@link Tick} instance.
+     * @param timePeriod the time period of the tick
+     * @param endTimeMillis the end time of the tick, in milliseconds since the epoch
+     * @param openPrice the open price of the tick period
+     * @param highPrice the highest price of the tick period
+     * @param lowPrice the lowest price of the tick period
+     * @param closePrice the close price of the tick period
+     * @param volume the volume of the tick period
+     * @param amount the amount of the tick period
+     * @param tradeCount the number of trades of the tick period
+     * @see TimeSeries#replaceLastTick(Tick)
+     */
+    public void replaceLastTick(Duration timePeriod, long endTimeMillis, double openPrice, double highPrice, double lowPrice,
+            double closePrice, double volume, double amount, int tradeCount) {
+        if (timePeriod == null) {
+            throw new IllegalArgumentException("Time period cannot be null");
+        }
+        if (size == 0) {
+            throw new IllegalStateException("Cannot replace the last tick of an empty time series");
+        }
+        if (size > 1 && endTimeMillis <= endTimes[wrap(head + size - 2)]) {
+            throw new IllegalArgumentException("Cannot replace the last tick by a tick with end time <= to the previous tick end time");
+        }
+        final int position = wrap(head + size - 1);
+        endTimes[position] = endTimeMillis;
+        timePeriods[position] = timePeriod.toMillis();
+        openPrices[position] = openPrice;
+        maxPrices[position] = highPrice;
+        minPrices[position] = lowPrice;
+        closePrices[position] = closePrice;
+        volumes[position] = volume;
+        amounts[position] = amount;
+        trades[position] = tradeCount;
+        replacedTicksCount++;
+    }
+
+    @Override
+    public long getReplacedTicksCount() {
+        return replacedTicksCount;
+    }
+
+    @Override
+    public void addTrade(Decimal tradeVolume, Decimal tradePrice) {
+        addTrade(toDouble(tradeVolume), toDouble(tradePrice));
+    }
+
+    /**
+     * Amends the last tick of the series with a trade, in place.
+     * @param tradeVolume the traded volume
+     * @param tradePrice the price
+     * @see TimeSeries#addTrade(Decimal, Decimal)
+     */
+    public void addTrade(double tradeVolume, double tradePrice) {
+        if (size == 0) {
+            throw new IllegalStateException("Cannot amend the last tick of an empty time series");
+        }
+        final int position = wrap(head + size - 1);
+        if (Double.isNaN(openPrices[position])) {
+            openPrices[position] = tradePrice;
+        }
+        if (Double.isNaN(maxPrices[position]) || maxPrices[position] < tradePrice) {
+            maxPrices[position] = tradePrice;
+        }
+        if (Double.isNaN(minPrices[position]) || minPrices[position] > tradePrice) {
+            minPrices[position] = tradePrice;
+        }
+        closePrices[position] = tradePrice;
+        volumes[position] += tradeVolume;
+        amounts[position] += tradeVolume * tradePrice;
+        trades[position]++;
+        replacedTicksCount++;
+    }
+
+    /**
+     * @param i a tick index
+     * @return the position of the tick in the columns
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    private int physicalIndex(int i) {
+        int innerIndex = i - removedTicksCount;
+        if (innerIndex < 0) {
+            if (i < 0) {
+                // Cannot return the i-th tick if i < 0
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+            }
+            log.trace("Time series `{}` ({} ticks): tick {} already removed, use {}-th instead", name, size, i, removedTicksCount);
+            if (size == 0) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(removedTicksCount));
+            }
+            innerIndex = 0;
+        } else if (innerIndex >= size) {
+            // Cannot return the n-th tick if n >= size
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        return wrap(head + innerIndex);
+    }
+
+    /**
+     * @param position a position (possibly beyond the capacity)
+     * @return the position wrapped into the columns
+     */
+    private int wrap(int position) {
+        final int capacity = endTimes.length;
+        return position >= capacity ? position - capacity : position;
+    }
+
+    /**
+     * Grows the columns if needed (the ticks are moved to the beginning of the columns).
+     * @param minCapacity the minimum capacity
+     */
+    private void ensureCapacity(int minCapacity) {
+        final int capacity = endTimes.length;
+        if (minCapacity <= capacity) {
+            return;
+        }
+        int newCapacity = capacity > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : capacity * 2;
+        newCapacity = Math.min(Math.max(newCapacity, minCapacity), maximumTickCount);
+        final int firstPart = Math.min(size, capacity - head);
+        endTimes = grow(endTimes, newCapacity, firstPart);
+        timePeriods = grow(timePeriods, newCapacity, firstPart);
+        openPrices = grow(openPrices, newCapacity, firstPart);
+        minPrices = grow(minPrices, newCapacity, firstPart);
+        maxPrices = grow(maxPrices, newCapacity, firstPart);
+        closePrices = grow(closePrices, newCapacity, firstPart);
+        volumes = grow(volumes, newCapacity, firstPart);
+        amounts = grow(amounts, newCapacity, firstPart);
+        int[] newTrades = new int[newCapacity];
+        System.arraycopy(trades, head, newTrades, 0, firstPart);
+        System.arraycopy(trades, 0, newTrades, firstPart, size - firstPart);
+        trades = newTrades;
+        head = 0;
+    }
+
+    private long[] grow(long[] column, int newCapacity, int firstPart) {
+        long[] newColumn = new long[newCapacity];
+        System.arraycopy(column, head, newColumn, 0, firstPart);
+        System.arraycopy(column, 0, newColumn, firstPart, size - firstPart);
+        return newColumn;
+    }
+
+    private double[] grow(double[] column, int newCapacity, int firstPart) {
+        double[] newColumn = new double[newCapacity];
+        System.arraycopy(column, head, newColumn, 0, firstPart);
+        System.arraycopy(column, 0, newColumn, firstPart, size - firstPart);
+        return newColumn;
+    }
+
+    /**
+     * @param capacity the initial capacity of the columns
+     */
+    private void allocateColumns(int capacity) {
+        endTimes = new long[capacity];
+        timePeriods = new long[capacity];
+        openPrices = new double[capacity];
+        minPrices = new double[capacity];
+        maxPrices = new double[capacity];
+        closePrices = new double[capacity];
+        volumes = new double[capacity];
+        amounts = new double[capacity];
+        trades = new int[capacity];
+    }
+
+    /**
+     * @param value a column value
+     * @return the value as a decimal of the series backend ({@link Decimal#NaN} for a missing value)
+     */
+    private Decimal toDecimal(double value) {
+        if (Double.isNaN(value)) {
+            return Decimal.NaN;
+        }
+        return Decimal.valueOf(value, backend);
+    }
+
+    /**
+     * @param value a decimal value (may be null)
+     * @return the value as a double (NaN if null)
+     */
+    private static double toDouble(Decimal value) {
+        return value == null ? Double.NaN : value.toDouble();
+    }
+
+    /**
+     * @param index an out of bounds tick index
+     * @return a message for an OutOfBoundsException
+     */
+    private String buildOutOfBoundsMessage(int index) {
+        return "Size of series: " + size + " ticks, "
+                + removedTicksCount + " ticks removed, index = " + index;
+    }
+
+    /**
+     * Read-only view over the retained ticks.
+     */
+    private class TickDataView extends AbstractList<Tick> implements RandomAccess {
+
+        @Override
+        public Tick get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+            }
+            return getTick(removedTicksCount + index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
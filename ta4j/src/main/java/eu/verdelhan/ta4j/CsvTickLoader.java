@@ -0,0 +1,768 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+/**
+ * Loader of ticks from CSV (or TSV, etc.) files.
+ * <p>
+ * Reads the file through a NIO channel and parses the bytes in place: dates and numbers
+ * are parsed without any intermediate {@code String}. The ticks are added to a {@link TimeSeries time series}
+ * as soon as they are parsed (primitive values are directly added to a {@link ColumnarTimeSeries}).
+ * <p>
+ * The loader is configured by its columns (date, open, high, low, close and volume), delimiter,
+ * number of header lines, {@link DateFormat date format}, time zone and tick time period:
+ * <pre>
+ * new CsvTickLoader()
+ *         .withColumns(0, 2, 3, 4, 1, 5) // Date,Price,Open,High,Low,Vol.
+ *         .withDateFormat(CsvTickLoader.DateFormat.MONTH_DAY_YEAR) // Sep 06 2019
+ *         .load(path, series);
+ * </pre>
+ * Files listing the newest ticks first are detected (from their first two rows) and loaded in reverse order.
+ * Numbers may have a K, M or B suffix (e.g. a volume of 1.52M) and thousands separators (in quoted fields);
+ * empty or "-" values are loaded as NaN. The decimal separator is '.' by default, the thousands separator
+ * being then ','; with a ',' decimal separator (see {@link #withDecimalSeparator(char)}), the thousands
+ * separator is '.'. A thousands separator must be followed by three digits: an ambiguous value
+ * (e.g. "1,5" with a '.' decimal separator) is rejected. A UTF-8 byte order mark is skipped.
+ * <p>
+ * Dates are the end times of the ticks (e.g. start of the day in the time zone for daily ticks).
+ */
+public class CsvTickLoader {
+
+    /**
+     * Date format of the date column.
+     */
+    public enum DateFormat {
+        /** yyyy-MM-dd, optionally followed by [T| ]HH:mm[:ss[.SSS]] */
+        ISO,
+        /** MMM dd yyyy or MMM dd, yyyy (English month abbreviation, e.g. Sep 06 2019) */
+        MONTH_DAY_YEAR,
+        /** Seconds since the epoch */
+        EPOCH_SECONDS,
+        /** Milliseconds since the epoch */
+        EPOCH_MILLIS
+    }
+
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private static final int INITIAL_ROW_CAPACITY = 1024;
+
+    private static final byte[] MONTHS = "janfebmaraprmayjunjulaugsepoctnovdec".getBytes(StandardCharsets.US_ASCII);
+
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /** Largest integer exactly representable as a double */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /* Configuration */
+    private byte delimiter = ',';
+    private byte decimalSeparator = '.';
+    private byte groupingSeparator = ',';
+    private int headerLines = 1;
+    private int dateColumn = 0;
+    private int openColumn = 1;
+    private int highColumn = 2;
+    private int lowColumn = 3;
+    private int closeColumn = 4;
+    private int volumeColumn = 5;
+    private DateFormat dateFormat = DateFormat.ISO;
+    private ZoneId zone = ZoneId.systemDefault();
+    private Duration timePeriod = Duration.ofDays(1);
+    private Decimal.Backend backend = Decimal.Backend.BIG_DECIMAL;
+
+    /* Loading state */
+    private TimeSeries series;
+    private int lineNumber;
+    private int[] fieldStarts;
+    private int[] fieldEnds;
+    private int rowCount;
+    /** Order of the rows: 0 if unknown yet, 1 if oldest first, -1 if newest first */
+    private int order;
+    /** Buffered rows (the first one, or all of them for newest-first files) */
+    private long[] endTimes;
+    private double[] openPrices;
+    private double[] highPrices;
+    private double[] lowPrices;
+    private double[] closePrices;
+    private double[] volumes;
+    private int bufferedRows;
+
+    /**
+     * @param delimiter the column delimiter (default: ',')
+     * @return this loader
+     */
+    public CsvTickLoader withDelimiter(char delimiter) {
+        if (delimiter > 127 || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Invalid delimiter: " + delimiter);
+        }
+        this.delimiter = (byte) delimiter;
+        return this;
+    }
+
+    /**
+     * @param decimalSeparator the decimal separator of the numbers, '.' or ',' (default: '.');
+     *                         the thousands separator is the other one
+     * @return this loader
+     */
+    public CsvTickLoader withDecimalSeparator(char decimalSeparator) {
+        if (decimalSeparator != '.' && decimalSeparator != ',') {
+            throw new IllegalArgumentException("Invalid decimal separator: " + decimalSeparator);
+        }
+        this.decimalSeparator = (byte) decimalSeparator;
+        this.groupingSeparator = (byte) (decimalSeparator == '.' ? ',' : '.');
+        return this;
+    }
+
+    /**
+     * @param headerLines the number of header lines to be skipped (default: 1)
+     * @return this loader
+     */
+    public CsvTickLoader withHeaderLines(int headerLines) {
+        if (headerLines < 0) {
+            throw new IllegalArgumentException("Header line count cannot be negative");
+        }
+        this.headerLines = headerLines;
+        return this;
+    }
+
+    /**
+     * @param dateColumn the index of the date column (default: 0)
+     * @param openColumn the index of the open price column (default: 1)
+     * @param highColumn the index of the high price column (default: 2)
+     * @param lowColumn the index of the low price column (default: 3)
+     * @param closeColumn the index of the close price column (default: 4)
+     * @param volumeColumn the index of the volume column (default: 5), -1 if none
+     * @return this loader
+     */
+    public CsvTickLoader withColumns(int dateColumn, int openColumn, int highColumn, int lowColumn, int closeColumn, int volumeColumn) {
+        if (dateColumn < 0 || openColumn < 0 || highColumn < 0 || lowColumn < 0 || closeColumn < 0 || volumeColumn < -1) {
+            throw new IllegalArgumentException("Invalid column index");
+        }
+        this.dateColumn = dateColumn;
+        this.openColumn = openColumn;
+        this.highColumn = highColumn;
+        this.lowColumn = lowColumn;
+        this.closeColumn = closeColumn;
+        this.volumeColumn = volumeColumn;
+        return this;
+    }
+
+    /**
+     * @param dateFormat the format of the date column (default: {@link DateFormat#ISO})
+     * @return this loader
+     */
+    public CsvTickLoader withDateFormat(DateFormat dateFormat) {
+        if (dateFormat == null) {
+            throw new IllegalArgumentException("Date format cannot be null");
+        }
+        this.dateFormat = dateFormat;
+        return this;
+    }
+
+    /**
+     * @param zone the time zone of the dates without offset, and of the ticks (default: system default)
+     * @return this loader
+     */
+    public CsvTickLoader withZone(ZoneId zone) {
+        if (zone == null) {
+            throw new IllegalArgumentException("Zone cannot be null");
+        }
+        this.zone = zone;
+        return this;
+    }
+
+    /**
+     * @param timePeriod the time period of the ticks (default: 1 day)
+     * @return this loader
+     */
+    public CsvTickLoader withTimePeriod(Duration timePeriod) {
+        if (timePeriod == null) {
+            throw new IllegalArgumentException("Time period cannot be null");
+        }
+        this.timePeriod = timePeriod;
+        return this;
+    }
+
+    /**
+     * @param backend the numeric backend of the ticks (default: {@link Decimal.Backend#BIG_DECIMAL})
+     * @return this loader
+     */
+    public CsvTickLoader withBackend(Decimal.Backend backend) {
+        if (backend == null) {
+            throw new IllegalArgumentException("Backend cannot be null");
+        }
+        this.backend = backend;
+        return this;
+    }
+
+    /**
+     * Loads the ticks of a file.
+     * @param path the path of the file
+     * @param series the series to add the ticks to
+     * @return the number of loaded ticks
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a line cannot be parsed
+     */
+    public int load(Path path, TimeSeries series) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return load(channel, series);
+        }
+    }
+
+    /**
+     * Loads the ticks of a stream (e.g. a classpath resource).
+     * @param stream the input stream (not closed)
+     * @param series the series to add the ticks to
+     * @return the number of loaded ticks
+     * @throws IOException if the stream cannot be read
+     * @throws IllegalArgumentException if a line cannot be parsed
+     */
+    public int load(InputStream stream, TimeSeries series) throws IOException {
+        if (stream == null) {
+            throw new IllegalArgumentException("Stream cannot be null");
+        }
+        return load(Channels.newChannel(stream), series);
+    }
+
+    /**
+     * Loads the ticks of a channel.
+     * @param channel the channel (not closed)
+     * @param series the series to add the ticks to
+     * @return the number of loaded ticks
+     * @throws IOException if the channel cannot be read
+     * @throws IllegalArgumentException if a line cannot be parsed
+     */
+    public synchronized int load(ReadableByteChannel channel, TimeSeries series) throws IOException {
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null");
+        }
+        startLoading(series);
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+            boolean endOfStream = false;
+            while (!endOfStream) {
+                endOfStream = channel.read(buffer) < 0;
+                buffer.flip();
+                final byte[] bytes = buffer.array();
+                final int limit = buffer.limit();
+                int lineStart = 0;
+                for (int i = 0; i < limit; i++) {
+                    if (bytes[i] == '\n') {
+                        parseLine(bytes, lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+                if (endOfStream) {
+                    if (lineStart < limit) {
+                        // Last line without line feed
+                        parseLine(bytes, lineStart, limit);
+                    }
+                } else {
+                    buffer.position(lineStart);
+                    buffer.compact();
+                    if (!buffer.hasRemaining()) {
+                        // Line longer than the buffer
+                        ByteBuffer largerBuffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                        buffer.flip();
+                        largerBuffer.put(buffer);
+                        buffer = largerBuffer;
+                    }
+                }
+            }
+            flushRows();
+            return rowCount;
+        } finally {
+            this.series = null;
+            endTimes = null;
+            openPrices = highPrices = lowPrices = closePrices = volumes = null;
+        }
+    }
+
+    /**
+     * Initializes the loading state.
+     * @param series the series to add the ticks to
+     */
+    private void startLoading(TimeSeries series) {
+        this.series = series;
+        lineNumber = 0;
+        rowCount = 0;
+        order = 0;
+        bufferedRows = 0;
+        final int columnCount = Math.max(Math.max(Math.max(dateColumn, openColumn), Math.max(highColumn, lowColumn)),
+                Math.max(closeColumn, volumeColumn)) + 1;
+        fieldStarts = new int[columnCount];
+        fieldEnds = new int[columnCount];
+        endTimes = new long[INITIAL_ROW_CAPACITY];
+        openPrices = new double[INITIAL_ROW_CAPACITY];
+        highPrices = new double[INITIAL_ROW_CAPACITY];
+        lowPrices = new double[INITIAL_ROW_CAPACITY];
+        closePrices = new double[INITIAL_ROW_CAPACITY];
+        volumes = new double[INITIAL_ROW_CAPACITY];
+    }
+
+    /**
+     * Parses a line and adds its tick.
+     * @param bytes the bytes
+     * @param start the start of the line (inclusive)
+     * @param end the end of the line (exclusive, without line feed)
+     */
+    private void parseLine(byte[] bytes, int start, int end) {
+        lineNumber++;
+        if (lineNumber == 1 && end - start >= 3
+                && bytes[start] == (byte) 0xEF && bytes[start + 1] == (byte) 0xBB && bytes[start + 2] == (byte) 0xBF) {
+            // UTF-8 byte order mark
+            start += 3;
+        }
+        if (end > start && bytes[end - 1] == '\r') {
+            end--;
+        }
+        if (lineNumber <= headerLines || end == start) {
+            return;
+        }
+
+        // Splitting the fields
+        final int columnCount = fieldStarts.length;
+        int column = 0;
+        int position = start;
+        while (column < columnCount && position <= end) {
+            int fieldStart = position;
+            int fieldEnd;
+            if (position < end && bytes[position] == '"') {
+                // Quoted field
+                fieldStart = position + 1;
+                fieldEnd = fieldStart;
+                while (fieldEnd < end && bytes[fieldEnd] != '"') {
+                    fieldEnd++;
+                }
+                position = fieldEnd + 1;
+                while (position < end && bytes[position] != delimiter) {
+                    position++;
+                }
+            } else {
+                fieldEnd = position;
+                while (fieldEnd < end && bytes[fieldEnd] != delimiter) {
+                    fieldEnd++;
+                }
+                position = fieldEnd;
+            }
+            fieldStarts[column] = fieldStart;
+            fieldEnds[column] = fieldEnd;
+            column++;
+            position++;
+        }
+        if (column < columnCount) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + columnCount + " columns expected, " + column + " found");
+        }
+
+        final long endTime = parseDate(bytes, fieldStarts[dateColumn], fieldEnds[dateColumn]);
+        addRow(endTime,
+                parseNumber(bytes, fieldStarts[openColumn], fieldEnds[openColumn]),
+                parseNumber(bytes, fieldStarts[highColumn], fieldEnds[highColumn]),
+                parseNumber(bytes, fieldStarts[lowColumn], fieldEnds[lowColumn]),
+                parseNumber(bytes, fieldStarts[closeColumn], fieldEnds[closeColumn]),
+                volumeColumn < 0 ? 0 : parseNumber(bytes, fieldStarts[volumeColumn], fieldEnds[volumeColumn]));
+    }
+
+    /**
+     * Adds a row: directly to the series if the rows are in time order, to the row buffer otherwise.
+     */
+    private void addRow(long endTime, double open, double high, double low, double close, double volume) {
+        rowCount++;
+        if (order == 0 && bufferedRows == 1) {
+            // Second row: the order of the file is known
+            order = endTime < endTimes[0] ? -1 : 1;
+            if (order > 0) {
+                flushRows();
+            }
+        }
+        if (order > 0) {
+            addTick(endTime, open, high, low, close, volume);
+            return;
+        }
+        if (bufferedRows == endTimes.length) {
+            final int capacity = bufferedRows * 2;
+            endTimes = Arrays.copyOf(endTimes, capacity);
+            openPrices = Arrays.copyOf(openPrices, capacity);
+            highPrices = Arrays.copyOf(highPrices, capacity);
+            lowPrices = Arrays.copyOf(lowPrices, capacity);
+            closePrices = Arrays.copyOf(closePrices, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+        }
+        endTimes[bufferedRows] = endTime;
+        openPrices[bufferedRows] = open;
+        highPrices[bufferedRows] = high;
+        lowPrices[bufferedRows] = low;
+        closePrices[bufferedRows] = close;
+        volumes[bufferedRows] = volume;
+        bufferedRows++;
+    }
+
+    /**
+     * Adds the buffered rows to the series (newest-first rows in reverse order).
+     */
+    private void flushRows() {
+        for (int i = 0; i < bufferedRows; i++) {
+            final int row = order < 0 ? bufferedRows - 1 - i : i;
+            addTick(endTimes[row], openPrices[row], highPrices[row], lowPrices[row], closePrices[row], volumes[row]);
+        }
+        bufferedRows = 0;
+    }
+
+    /**
+     * Adds a tick to the series.
+     */
+    private void addTick(long endTime, double open, double high, double low, double close, double volume) {
+        if (series instanceof ColumnarTimeSeries) {
+            ((ColumnarTimeSeries) series).addTick(timePeriod, endTime, open, high, low, close, volume, 0, 0);
+        } else {
+            series.addTick(new BaseTick(timePeriod, ZonedDateTime.ofInstant(Instant.ofEpochMilli(endTime), zone),
+                    open, high, low, close, volume, backend));
+        }
+    }
+
+    /**
+     * @param bytes the bytes
+     * @param start the start of the field (inclusive)
+     * @param end the end of the field (exclusive)
+     * @return the date as milliseconds since the epoch
+     */
+    private long parseDate(byte[] bytes, int start, int end) {
+        while (start < end && bytes[start] == ' ') {
+            start++;
+        }
+        while (end > start && bytes[end - 1] == ' ') {
+            end--;
+        }
+        switch (dateFormat) {
+            case EPOCH_SECONDS:
+                return parseLong(bytes, start, end) * 1000;
+            case EPOCH_MILLIS:
+                return parseLong(bytes, start, end);
+            case MONTH_DAY_YEAR:
+                return parseMonthDayYear(bytes, start, end);
+            default:
+                return parseIso(bytes, start, end);
+        }
+    }
+
+    /**
+     * @return the milliseconds since the epoch of a yyyy-MM-dd[[T| ]HH:mm[:ss[.SSS]]] date
+     */
+    private long parseIso(byte[] bytes, int start, int end) {
+        final int[] position = { start };
+        final int year = readInt(bytes, position, end);
+        skip(bytes, position, end, '-', '/');
+        final int month = readInt(bytes, position, end);
+        skip(bytes, position, end, '-', '/');
+        final int day = readInt(bytes, position, end);
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int millis = 0;
+        if (position[0] < end) {
+            skip(bytes, position, end, 'T', ' ');
+            hour = readInt(bytes, position, end);
+            skip(bytes, position, end, ':', ':');
+            minute = readInt(bytes, position, end);
+            if (position[0] < end && bytes[position[0]] == ':') {
+                position[0]++;
+                second = readInt(bytes, position, end);
+                if (position[0] < end && bytes[position[0]] == '.') {
+                    position[0]++;
+                    final int fractionStart = position[0];
+                    millis = readInt(bytes, position, end);
+                    for (int digits = position[0] - fractionStart; digits < 3; digits++) {
+                        millis *= 10;
+                    }
+                    for (int digits = position[0] - fractionStart; digits > 3; digits--) {
+                        millis /= 10;
+                    }
+                }
+            }
+        }
+        if (position[0] != end) {
+            throw invalidValue(bytes, start, end);
+        }
+        return toEpochMillis(year, month, day, hour, minute, second, millis, bytes, start, end);
+    }
+
+    /**
+     * @return the milliseconds since the epoch of a MMM dd[,] yyyy date
+     */
+    private long parseMonthDayYear(byte[] bytes, int start, int end) {
+        if (end - start < 3) {
+            throw invalidValue(bytes, start, end);
+        }
+        int month = 0;
+        for (int m = 0; m < 12 && month == 0; m++) {
+            if ((bytes[start] | 0x20) == MONTHS[3 * m]
+                    && (bytes[start + 1] | 0x20) == MONTHS[3 * m + 1]
+                    && (bytes[start + 2] | 0x20) == MONTHS[3 * m + 2]) {
+                month = m + 1;
+            }
+        }
+        if (month == 0) {
+            throw invalidValue(bytes, start, end);
+        }
+        final int[] position = { start + 3 };
+        skip(bytes, position, end, ' ', ' ');
+        final int day = readInt(bytes, position, end);
+        if (position[0] < end && bytes[position[0]] == ',') {
+            position[0]++;
+        }
+        skip(bytes, position, end, ' ', ' ');
+        final int year = readInt(bytes, position, end);
+        if (position[0] != end) {
+            throw invalidValue(bytes, start, end);
+        }
+        return toEpochMillis(year, month, day, 0, 0, 0, 0, bytes, start, end);
+    }
+
+    /**
+     * @return the milliseconds since the epoch of a local date time in the loader time zone
+     */
+    private long toEpochMillis(int year, int month, int day, int hour, int minute, int second, int millis,
+            byte[] bytes, int start, int end) {
+        if (month < 1 || month > 12 || day < 1 || day > 31 || hour > 23 || minute > 59 || second > 59) {
+            throw invalidValue(bytes, start, end);
+        }
+        final long localSeconds = daysFromCivil(year, month, day) * 86400L + hour * 3600 + minute * 60 + second;
+        final long epochSeconds;
+        if (zone instanceof ZoneOffset) {
+            epochSeconds = localSeconds - ((ZoneOffset) zone).getTotalSeconds();
+        } else {
+            epochSeconds = ZonedDateTime.of(LocalDateTime.ofEpochSecond(localSeconds, 0, ZoneOffset.UTC), zone).toEpochSecond();
+        }
+        return epochSeconds * 1000 + millis;
+    }
+
+    /**
+     * @return the number of days since 1970-01-01 of a (proleptic Gregorian) date
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = Math.floorDiv(y, 400);
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Reads the digits at the position (and moves the position after them).
+     */
+    private int readInt(byte[] bytes, int[] position, int end) {
+        final int start = position[0];
+        int value = 0;
+        int i = start;
+        while (i < end && bytes[i] >= '0' && bytes[i] <= '9' && i - start < 9) {
+            value = value * 10 + (bytes[i] - '0');
+            i++;
+        }
+        if (i == start) {
+            throw invalidValue(bytes, start, end);
+        }
+        position[0] = i;
+        return value;
+    }
+
+    /**
+     * Skips a separator (one of two bytes) at the position.
+     */
+    private void skip(byte[] bytes, int[] position, int end, char separator, char otherSeparator) {
+        final int i = position[0];
+        if (i >= end || (bytes[i] != separator && bytes[i] != otherSeparator)) {
+            throw invalidValue(bytes, i, end);
+        }
+        position[0] = i + 1;
+        if (separator == ' ') {
+            while (position[0] < end && bytes[position[0]] == ' ') {
+                position[0]++;
+            }
+        }
+    }
+
+    /**
+     * @return the long value of the field
+     */
+    private long parseLong(byte[] bytes, int start, int end) {
+        final boolean negative = start < end && bytes[start] == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end) {
+            throw invalidValue(bytes, start, end);
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            final int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalidValue(bytes, start, end);
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a number, with an optional K, M or B suffix.
+     * @return the double value of the field (NaN if empty or "-")
+     */
+    private double parseNumber(byte[] bytes, int start, int end) {
+        while (start < end && bytes[start] == ' ') {
+            start++;
+        }
+        while (end > start && bytes[end - 1] == ' ') {
+            end--;
+        }
+        if (start == end || (end - start == 1 && bytes[start] == '-')) {
+            return Double.NaN;
+        }
+        double multiplier = 1;
+        switch (bytes[end - 1] | 0x20) {
+            case 'k':
+                multiplier = 1e3;
+                end--;
+                break;
+            case 'm':
+                multiplier = 1e6;
+                end--;
+                break;
+            case 'b':
+                multiplier = 1e9;
+                end--;
+                break;
+            default:
+                break;
+        }
+
+        int i = start;
+        final boolean negative = bytes[i] == '-';
+        if (negative || bytes[i] == '+') {
+            i++;
+        }
+        long mantissa = 0;
+        int scale = -1;
+        int digits = 0;
+        // Number of digits since the last thousands separator (-1 if none)
+        int groupDigits = -1;
+        for (; i < end; i++) {
+            final byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                if (mantissa > (Long.MAX_VALUE - 9) / 10) {
+                    // Too many digits
+                    return multiplier * parseSlowly(bytes, start, end);
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                } else if (groupDigits >= 0) {
+                    groupDigits++;
+                }
+            } else if (b == decimalSeparator && scale < 0) {
+                checkGroup(groupDigits, bytes, start, end);
+                scale = 0;
+            } else if (b == groupingSeparator && scale < 0) {
+                // Thousands separator
+                if (digits == 0) {
+                    throw invalidValue(bytes, start, end);
+                }
+                checkGroup(groupDigits, bytes, start, end);
+                groupDigits = 0;
+            } else {
+                // Exponent, etc.
+                return multiplier * parseSlowly(bytes, start, end);
+            }
+        }
+        if (digits == 0) {
+            throw invalidValue(bytes, start, end);
+        }
+        if (scale < 0) {
+            checkGroup(groupDigits, bytes, start, end);
+        }
+        double value;
+        if (scale <= 0) {
+            value = mantissa;
+        } else if (mantissa <= MAX_EXACT_MANTISSA && scale < POWERS_OF_TEN.length) {
+            // Exact operands: correctly rounded result (as Double.parseDouble)
+            value = mantissa / POWERS_OF_TEN[scale];
+        } else {
+            return multiplier * parseSlowly(bytes, start, end);
+        }
+        return multiplier * (negative ? -value : value);
+    }
+
+    /**
+     * Checks that a thousands separator is followed by three digits.
+     * @param groupDigits the number of digits since the last thousands separator (-1 if none)
+     */
+    private void checkGroup(int groupDigits, byte[] bytes, int start, int end) {
+        if (groupDigits >= 0 && groupDigits != 3) {
+            throw invalidValue(bytes, start, end);
+        }
+    }
+
+    /**
+     * @return the double value of the field, parsed through a String
+     */
+    private double parseSlowly(byte[] bytes, int start, int end) {
+        try {
+            String value = new String(bytes, start, end - start, StandardCharsets.US_ASCII)
+                    .replace(String.valueOf((char) groupingSeparator), "")
+                    .replace((char) decimalSeparator, '.');
+            return Double.parseDouble(value);
+        } catch (NumberFormatException nfe) {
+            throw invalidValue(bytes, start, end);
+        }
+    }
+
+    /**
+     * @return an exception for an invalid field value
+     */
+    private IllegalArgumentException invalidValue(byte[] bytes, int start, int end) {
+        return new IllegalArgumentException("Line " + lineNumber + ": invalid value '"
+                + new String(bytes, start, Math.max(0, end - start), StandardCharsets.UTF_8) + "'");
+    }
+}
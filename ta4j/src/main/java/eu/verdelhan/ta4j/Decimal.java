@@ -26,12 +26,17 @@ import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
-import java.util.Objects;
 
 /**
  * Immutable, arbitrary-precision signed decimal numbers designed for technical analysis.
  * <p>
  * A {@code Decimal} consists of a {@code BigDecimal} with arbitrary {@link MathContext} (precision and rounding mode).
+ * <p>
+ * A {@code Decimal} may also be backed by a primitive {@code double} (see {@link Backend#DOUBLE}).
+ * Double-backed decimals trade exactness for speed: no {@code BigDecimal} is allocated by their arithmetic.
+ * As soon as one of the operands is double-backed, the result of an operation is double-backed too.
+ * Therefore a time series built with double-backed ticks runs its whole indicator/criterion chain in double mode,
+ * while a series built with {@code BigDecimal}-backed ticks keeps exact accounting.
  *
  * @see BigDecimal
  * @see MathContext
@@ -39,6 +44,16 @@ import java.util.Objects;
  */
 public final class Decimal implements Comparable<Decimal>, Serializable {
 
+    /**
+     * The numeric backend of a {@code Decimal}.
+     */
+    public enum Backend {
+        /** Arbitrary-precision values, rounded according to {@link Decimal#MATH_CONTEXT} */
+        BIG_DECIMAL,
+        /** Primitive double values (faster, no per-operation BigDecimal allocation) */
+        DOUBLE
+    }
+
 	private static final long serialVersionUID = 2225130444465033658L;
 
 	public static final MathContext MATH_CONTEXT = new MathContext(6, RoundingMode.HALF_UP);
@@ -54,14 +69,19 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
     public static final Decimal HUNDRED = valueOf(100);
     public static final Decimal THOUSAND = valueOf(1000);
 
+    /** The BigDecimal value (null for NaN and double-backed instances) */
     private final BigDecimal delegate;
 
+    /** The double value (only used for NaN and double-backed instances) */
+    private final double doubleValue;
+
     /**
      * Constructor.
      * Only used for NaN instance.
      */
     private Decimal() {
         delegate = null;
+        doubleValue = Double.NaN;
     }
 
     /**
@@ -69,7 +89,7 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
      * @param val the string representation of the decimal value
      */
     private Decimal(String val) {
-        delegate = new BigDecimal(val, MATH_CONTEXT);
+        this(new BigDecimal(val, MATH_CONTEXT));
     }
 
     /**
@@ -77,19 +97,31 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
      * @param val the double value
      */
     private Decimal(double val) {
-        delegate = new BigDecimal(val, MATH_CONTEXT);
+        this(new BigDecimal(val, MATH_CONTEXT));
     }
 
     private Decimal(int val) {
-        delegate = new BigDecimal(val, MATH_CONTEXT);
+        this(new BigDecimal(val, MATH_CONTEXT));
     }
 
     private Decimal(long val) {
-        delegate = new BigDecimal(val, MATH_CONTEXT);
+        this(new BigDecimal(val, MATH_CONTEXT));
     }
 
     private Decimal(BigDecimal val) {
         delegate = val;
+        doubleValue = 0;
+    }
+
+    /**
+     * Constructor of a double-backed decimal.
+     * @param val the double value
+     * @param backend must be {@link Backend#DOUBLE}
+     */
+    private Decimal(double val, Backend backend) {
+        assert backend == Backend.DOUBLE;
+        delegate = null;
+        doubleValue = val;
     }
 
     /**
@@ -103,6 +135,9 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         if ((this == NaN) || (augend == NaN)) {
             return NaN;
         }
+        if (isDoubleBacked(augend)) {
+            return doubleBacked(doubleValue() + augend.doubleValue());
+        }
         return new Decimal(delegate.add(augend.delegate, MATH_CONTEXT));
     }
 
@@ -117,6 +152,9 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         if ((this == NaN) || (subtrahend == NaN)) {
             return NaN;
         }
+        if (isDoubleBacked(subtrahend)) {
+            return doubleBacked(doubleValue() - subtrahend.doubleValue());
+        }
         return new Decimal(delegate.subtract(subtrahend.delegate, MATH_CONTEXT));
     }
 
@@ -131,6 +169,9 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         if ((this == NaN) || (multiplicand == NaN)) {
             return NaN;
         }
+        if (isDoubleBacked(multiplicand)) {
+            return doubleBacked(doubleValue() * multiplicand.doubleValue());
+        }
         return new Decimal(delegate.multiply(multiplicand.delegate, MATH_CONTEXT));
     }
 
@@ -145,6 +186,9 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         if ((this == NaN) || (divisor == NaN) || divisor.isZero()) {
             return NaN;
         }
+        if (isDoubleBacked(divisor)) {
+            return doubleBacked(doubleValue() / divisor.doubleValue());
+        }
         return new Decimal(delegate.divide(divisor.delegate, MATH_CONTEXT));
     }
 
@@ -159,6 +203,9 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         if ((this == NaN) || (divisor == NaN) || divisor.isZero()) {
             return NaN;
         }
+        if (isDoubleBacked(divisor)) {
+            return doubleBacked(doubleValue() % divisor.doubleValue());
+        }
         return new Decimal(delegate.remainder(divisor.delegate, MATH_CONTEXT));
     }
 
@@ -173,6 +220,9 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleBacked(Math.pow(doubleValue, n));
+        }
         return new Decimal(delegate.pow(n, MATH_CONTEXT));
     }
     
@@ -186,6 +236,9 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleBacked(StrictMath.log(doubleValue));
+        }
         return new Decimal(StrictMath.log(delegate.doubleValue()));
     }
 
@@ -199,6 +252,9 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleBacked(StrictMath.sqrt(doubleValue));
+        }
         return new Decimal(StrictMath.sqrt(delegate.doubleValue()));
     }
 
@@ -211,6 +267,9 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleBacked(Math.abs(doubleValue));
+        }
         return new Decimal(delegate.abs());
     }
 
@@ -342,6 +401,11 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         if ((this == NaN) || (other == NaN)) {
             return 0;
         }
+        if (isDoubleBacked(other)) {
+            final double thisValue = doubleValue();
+            final double otherValue = other.doubleValue();
+            return thisValue < otherValue ? -1 : (thisValue > otherValue ? 1 : 0);
+        }
         return delegate.compareTo(other.delegate);
     }
 
@@ -381,10 +445,29 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
      * @see BigDecimal#doubleValue()
      */
     public double toDouble() {
+        return doubleValue();
+    }
+
+    /**
+     * @return the backend of this {@code Decimal} (null for NaN)
+     */
+    public Backend getBackend() {
         if (this == NaN) {
-            return Double.NaN;
+            return null;
+        }
+        return delegate == null ? Backend.DOUBLE : Backend.BIG_DECIMAL;
+    }
+
+    /**
+     * Converts this {@code Decimal} to the provided backend.
+     * @param backend the target backend
+     * @return a {@code Decimal} with the same value, backed by {@code backend}
+     */
+    public Decimal withBackend(Backend backend) {
+        if (this == NaN || backend == getBackend()) {
+            return this;
         }
-        return delegate.doubleValue();
+        return valueOf(doubleValue(), backend);
     }
 
     @Override
@@ -392,12 +475,17 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         if (this == NaN) {
             return "NaN";
         }
+        if (delegate == null) {
+            return Double.toString(doubleValue);
+        }
         return delegate.toString();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(delegate);
+        // Consistent with equals(Object): equal values (whatever their scale or backend) share the same hash
+        final double value = doubleValue();
+        return value == 0 ? 0 : Double.hashCode(value);
     }
 
     /**
@@ -413,11 +501,10 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
             return false;
         }
         final Decimal other = (Decimal) obj;
-        if (this.delegate != other.delegate
-                && (this.delegate == null || (this.delegate.compareTo(other.delegate) != 0))) {
-            return false;
+        if (this == NaN || other == NaN) {
+            return this == other;
         }
-        return true;
+        return compareTo(other) == 0;
     }
 
     public static Decimal valueOf(String val) {
@@ -434,6 +521,18 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
         return new Decimal(val);
     }
 
+    /**
+     * @param val the double value
+     * @param backend the backend of the returned {@code Decimal}
+     * @return a {@code Decimal} with the provided value, backed by {@code backend}
+     */
+    public static Decimal valueOf(double val, Backend backend) {
+        if (backend == Backend.DOUBLE) {
+            return doubleBacked(val);
+        }
+        return valueOf(val);
+    }
+
     public static Decimal valueOf(int val) {
         return new Decimal(val);
     }
@@ -441,4 +540,30 @@ public final class Decimal implements Comparable<Decimal>, Serializable {
     public static Decimal valueOf(long val) {
         return new Decimal(val);
     }
+
+    /**
+     * @param val a double value
+     * @return a double-backed {@code Decimal} (NaN if the value is not finite)
+     */
+    private static Decimal doubleBacked(double val) {
+        if (Double.isNaN(val) || Double.isInfinite(val)) {
+            return NaN;
+        }
+        return new Decimal(val, Backend.DOUBLE);
+    }
+
+    /**
+     * @param other another (non-NaN) value
+     * @return true if this value or the other one is double-backed, false otherwise
+     */
+    private boolean isDoubleBacked(Decimal other) {
+        return delegate == null || other.delegate == null;
+    }
+
+    /**
+     * @return the double value (without NaN check)
+     */
+    private double doubleValue() {
+        return delegate == null ? doubleValue : delegate.doubleValue();
+    }
 }
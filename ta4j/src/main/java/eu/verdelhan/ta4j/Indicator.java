@@ -22,6 +22,7 @@
  */
 package eu.verdelhan.ta4j;
 
+import eu.verdelhan.ta4j.indicators.IndicatorValues;
 import java.io.Serializable;
 
 /**
@@ -42,4 +43,45 @@ public interface Indicator<T> extends Serializable {
      * @return the related time series
      */
     TimeSeries getTimeSeries();
+
+    /**
+     * Fills an array with the (numeric) values of the indicator over a range of indexes.
+     * <p>
+     * The default implementation calls {@link #getValue(int)} for each index.
+     * Indicators may override it with a tight loop over primitive values
+     * (the values are then calculated in double precision, hence they may differ
+     * from the {@link Decimal decimal} ones in the last digits).
+     * @param from the first tick index (inclusive)
+     * @param to the last tick index (inclusive)
+     * @param values the array to be filled (values[0] being the value at index from)
+     * @throws IllegalArgumentException if the range is empty or larger than the array,
+     *                                  or if the values of the indicator are not numeric
+     */
+    default void getValues(int from, int to, double[] values) {
+        IndicatorValues.fill(this, from, to, values);
+    }
+
+    /**
+     * @param from the first tick index (inclusive)
+     * @param to the last tick index (inclusive)
+     * @return the (numeric) values of the indicator over the range of indexes
+     * @see #getValues(int, int, double[])
+     */
+    default double[] getValues(int from, int to) {
+        double[] values = new double[IndicatorValues.rangeLength(from, to)];
+        getValues(from, to, values);
+        return values;
+    }
+
+    /**
+     * Fills an array with the (boolean) values of the indicator over a range of indexes.
+     * @param from the first tick index (inclusive)
+     * @param to the last tick index (inclusive)
+     * @param values the array to be filled (values[0] being the value at index from)
+     * @throws IllegalArgumentException if the range is empty or larger than the array,
+     *                                  or if the values of the indicator are not booleans
+     */
+    default void getValues(int from, int to, boolean[] values) {
+        IndicatorValues.fill(this, from, to, values);
+    }
 }
@@ -0,0 +1,338 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Push-based evaluation of a {@link Strategy strategy} for live trading.
+ * <p>
+ * Each new tick is added to the time series; then the indicators reachable from the strategy rules
+ * are updated in topological order (the dependencies of an indicator before the indicator), the strategy
+ * is evaluated and the resulting entry/exit orders are pushed to the callbacks:
+ * <pre>
+ * LiveTradingEngine engine = new LiveTradingEngine(series, strategy)
+ *         .onEntry(entry -&gt; ...)
+ *         .onExit(exit -&gt; ...);
+ * engine.accept(tick); // or TradeAggregator.byTime(Duration.ofMinutes(1), engine)
+ * </pre>
+ * Updating the indicators from the bottom of the graph keeps the evaluation of a tick to a few cache fills
+ * (no deep recursion through uncached values). The indicator graph is discovered once, by reflection on the
+ * fields of the rules and indicators; only the indicators of the engine time series are updated.
+ * <p>
+ * A tick having the same end time as the last tick of the series is a revision of the current tick (e.g. a partial
+ * bar of a live feed): it replaces the last tick (see {@link TimeSeries#replaceLastTick(Tick)}) and the strategy is
+ * evaluated again on it. At most one order is placed per tick.
+ * <p>
+ * The time from the reception of a tick to the emission of its signals is measured
+ * (see {@link #getLastLatencyNanos()}, {@link #getMaxLatencyNanos()} and {@link #getMeanLatencyNanos()}).
+ */
+public class LiveTradingEngine implements Consumer<Tick> {
+
+    private static final Consumer<Order> NO_CALLBACK = order -> { };
+
+    /** The time series */
+    private final TimeSeries series;
+
+    /** The strategy */
+    private final Strategy strategy;
+
+    /** The trading record of the orders placed by the engine */
+    private final TradingRecord tradingRecord;
+
+    /** The amount of the orders */
+    private final Decimal amount;
+
+    /** The metrics of the trading record, updated on each tick */
+    private final TradingMetrics tradingMetrics;
+
+    /** The indicators of the strategy, dependencies first */
+    private final List<Indicator<?>> indicators;
+
+    private Consumer<Order> entryCallback = NO_CALLBACK;
+
+    private Consumer<Order> exitCallback = NO_CALLBACK;
+
+    /* Latency statistics */
+    private long evaluatedTickCount;
+    private long lastLatencyNanos;
+    private long maxLatencyNanos;
+    private long totalLatencyNanos;
+
+    /**
+     * Constructor.
+     * <p>
+     * Buys (then sells) an amount of 1.
+     * @param series the time series
+     * @param strategy the strategy
+     */
+    public LiveTradingEngine(TimeSeries series, Strategy strategy) {
+        this(series, strategy, new BaseTradingRecord(OrderType.BUY), Decimal.ONE);
+    }
+
+    /**
+     * Constructor.
+     * @param series the time series
+     * @param strategy the strategy
+     * @param tradingRecord the trading record of the orders placed by the engine
+     * @param amount the amount of the orders
+     */
+    public LiveTradingEngine(TimeSeries series, Strategy strategy, TradingRecord tradingRecord, Decimal amount) {
+        if (series == null || strategy == null || tradingRecord == null || amount == null) {
+            throw new IllegalArgumentException("Series, strategy, trading record and amount cannot be null");
+        }
+        this.series = series;
+        this.strategy = strategy;
+        this.tradingRecord = tradingRecord;
+        this.amount = amount;
+        this.tradingMetrics = new TradingMetrics(series, tradingRecord);
+        this.indicators = Collections.unmodifiableList(collectIndicators(series, strategy));
+    }
+
+    /**
+     * @param callback the callback of the entry orders
+     * @return this engine
+     */
+    public LiveTradingEngine onEntry(Consumer<Order> callback) {
+        if (callback == null) {
+            throw new IllegalArgumentException("Callback cannot be null");
+        }
+        this.entryCallback = callback;
+        return this;
+    }
+
+    /**
+     * @param callback the callback of the exit orders
+     * @return this engine
+     */
+    public LiveTradingEngine onExit(Consumer<Order> callback) {
+        if (callback == null) {
+            throw new IllegalArgumentException("Callback cannot be null");
+        }
+        this.exitCallback = callback;
+        return this;
+    }
+
+    /**
+     * Adds a tick to the time series (or replaces the last tick if they have the same end time)
+     * and evaluates the strategy on it.
+     * @param tick the new (or revised) tick
+     */
+    @Override
+    public synchronized void accept(Tick tick) {
+        final long start = System.nanoTime();
+        if (!series.isEmpty() && tick.getEndTime().isEqual(series.getLastTick().getEndTime())) {
+            series.replaceLastTick(tick);
+        } else {
+            series.addTick(tick);
+        }
+        evaluate(series.getEndIndex());
+        recordLatency(System.nanoTime() - start);
+    }
+
+    /**
+     * Evaluates the strategy on the last tick of the time series (e.g. when the ticks are added by another component).
+     * @return the order placed on the last tick, null if none
+     */
+    public synchronized Order evaluate() {
+        final long start = System.nanoTime();
+        final Order order = evaluate(series.getEndIndex());
+        recordLatency(System.nanoTime() - start);
+        return order;
+    }
+
+    /**
+     * @param index the index of the last tick
+     * @return the order placed on the tick, null if none
+     */
+    private Order evaluate(int index) {
+        final Order order = operate(index);
+        tradingMetrics.update(index);
+        return order;
+    }
+
+    /**
+     * @param index the index of the last tick
+     * @return the order placed on the tick, null if none
+     */
+    private Order operate(int index) {
+        final Order lastOrder = tradingRecord.getLastOrder();
+        if (lastOrder != null && lastOrder.getIndex() == index) {
+            // Order already placed on the tick
+            return null;
+        }
+        for (Indicator<?> indicator : indicators) {
+            indicator.getValue(index);
+        }
+        if (!strategy.shouldOperate(index, tradingRecord)) {
+            return null;
+        }
+        final boolean entry = tradingRecord.getCurrentTrade().isNew();
+        final Tick tick = series.getTick(index);
+        tradingRecord.operate(index, tick.getClosePrice(), amount, tick.getEndTime());
+        final Order order = tradingRecord.getLastOrder();
+        if (entry) {
+            entryCallback.accept(order);
+        } else {
+            exitCallback.accept(order);
+        }
+        return order;
+    }
+
+    private void recordLatency(long latencyNanos) {
+        evaluatedTickCount++;
+        lastLatencyNanos = latencyNanos;
+        maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+        totalLatencyNanos += latencyNanos;
+    }
+
+    /**
+     * @return the trading record of the orders placed by the engine
+     */
+    public TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+
+    /**
+     * @return the metrics of the trading record (equity, drawdown, trade statistics), updated on each tick
+     */
+    public TradingMetrics getTradingMetrics() {
+        return tradingMetrics;
+    }
+
+    /**
+     * @return the indicators updated on each tick, dependencies first
+     */
+    public List<Indicator<?>> getIndicators() {
+        return indicators;
+    }
+
+    /**
+     * @return the number of evaluated ticks
+     */
+    public synchronized long getEvaluatedTickCount() {
+        return evaluatedTickCount;
+    }
+
+    /**
+     * @return the latency (from the tick reception to the signal emission) of the last tick, in nanoseconds
+     */
+    public synchronized long getLastLatencyNanos() {
+        return lastLatencyNanos;
+    }
+
+    /**
+     * @return the maximum latency of the evaluated ticks, in nanoseconds
+     */
+    public synchronized long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    /**
+     * @return the mean latency of the evaluated ticks, in nanoseconds
+     */
+    public synchronized double getMeanLatencyNanos() {
+        return evaluatedTickCount == 0 ? 0 : (double) totalLatencyNanos / evaluatedTickCount;
+    }
+
+    /**
+     * Resets the latency statistics (e.g. after the warm-up of a bot).
+     */
+    public synchronized void resetLatencyStatistics() {
+        evaluatedTickCount = 0;
+        lastLatencyNanos = 0;
+        maxLatencyNanos = 0;
+        totalLatencyNanos = 0;
+    }
+
+    /**
+     * Collects the indicators reachable from the rules of a strategy.
+     * @param series the time series
+     * @param strategy the strategy
+     * @return the indicators of the time series, dependencies first
+     */
+    private static List<Indicator<?>> collectIndicators(TimeSeries series, Strategy strategy) {
+        List<Indicator<?>> indicators = new ArrayList<>();
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        visit(strategy.getEntryRule(), series, visited, indicators);
+        visit(strategy.getExitRule(), series, visited, indicators);
+        return indicators;
+    }
+
+    /**
+     * Depth-first visit of the rule/indicator graph; the indicators are added after their dependencies.
+     * @param node a rule, indicator or container of rules/indicators
+     * @param series the time series
+     * @param visited the visited nodes
+     * @param indicators the ordered indicators
+     */
+    private static void visit(Object node, TimeSeries series, Set<Object> visited, List<Indicator<?>> indicators) {
+        final boolean container = node instanceof Object[] || node instanceof Iterable || node instanceof Map;
+        if (!(container || node instanceof Rule || node instanceof Indicator || node instanceof Strategy)
+                || !visited.add(node)) {
+            return;
+        }
+        if (node instanceof Object[]) {
+            for (Object element : (Object[]) node) {
+                visit(element, series, visited, indicators);
+            }
+            return;
+        }
+        if (node instanceof Iterable) {
+            for (Object element : (Iterable<?>) node) {
+                visit(element, series, visited, indicators);
+            }
+            return;
+        }
+        if (node instanceof Map) {
+            visit(((Map<?, ?>) node).values(), series, visited, indicators);
+            return;
+        }
+        for (Class<?> type = node.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    visit(field.get(node), series, visited, indicators);
+                } catch (IllegalAccessException | RuntimeException e) {
+                    // Inaccessible field: not part of the graph
+                }
+            }
+        }
+        if (node instanceof Indicator && ((Indicator<?>) node).getTimeSeries() == series) {
+            indicators.add((Indicator<?>) node);
+        }
+    }
+}
@@ -0,0 +1,379 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Memory-mapped time series.
+ * <p>
+ * A read-only {@link TimeSeries time series} over a binary tick file (see {@link TickFileWriter}).
+ * The file is memory-mapped: opening it does not read nor parse the ticks, the pages are loaded
+ * on access and shared (through the page cache) by all the processes mapping the same file.
+ * <p>
+ * As for the {@link ColumnarTimeSeries}, the per-tick accessors (e.g. {@link #getClosePrice(int)})
+ * read the file directly and {@link Tick} instances are only materialized on demand (see {@link #getTick(int)}).
+ * Values are returned as {@link Decimal decimals} of the backend provided at construction.
+ * Missing prices (written as {@code NaN}, e.g. for a tick without trade) are returned as {@link Decimal#NaN}.
+ * <p>
+ * Ticks cannot be added to the series. A maximum tick count may be set, in which case only
+ * the most recent ticks of the file are retained.
+ */
+public class MappedTimeSeries implements TimeSeries {
+
+    private static final long serialVersionUID = 2906207516457135318L;
+    /** Number of ticks per mapped segment (a mapping cannot exceed 2 GB) */
+    private static final int SEGMENT_TICKS = 1 << 24;
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    /** Name of the series */
+    private final String name;
+    /** Path of the tick file */
+    private final String path;
+    /** Backend of the decimals returned by the series */
+    private final Decimal.Backend backend;
+    /** Time zone of the materialized ticks */
+    private final ZoneId zone;
+    /** Time period of the ticks */
+    private Duration timePeriod;
+    /** Number of ticks in the file */
+    private int fileTickCount;
+    /** Maximum number of ticks for the time series */
+    private int maximumTickCount = Integer.MAX_VALUE;
+    /** Number of removed (i.e. not retained) ticks */
+    private int removedTicksCount = 0;
+    /** The mapped segments of the file */
+    private transient ByteBuffer[] segments;
+
+    /**
+     * Constructor.
+     * @param path the path of the tick file
+     * @throws UncheckedIOException if the file cannot be mapped
+     */
+    public MappedTimeSeries(Path path) {
+        this(path.getFileName().toString(), path, Decimal.Backend.DOUBLE, ZoneOffset.UTC);
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param path the path of the tick file
+     * @param backend the backend of the decimals returned by the series
+     * @param zone the time zone of the materialized ticks
+     * @throws UncheckedIOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the file is not a tick file
+     */
+    public MappedTimeSeries(String name, Path path, Decimal.Backend backend, ZoneId zone) {
+        if (backend == null) {
+            throw new IllegalArgumentException("Backend cannot be null");
+        }
+        if (zone == null) {
+            throw new IllegalArgumentException("Zone cannot be null");
+        }
+        this.name = name;
+        this.path = path.toString();
+        this.backend = backend;
+        this.zone = zone;
+        map();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tick is materialized from the file (i.e. a new instance is returned for each call).
+     */
+    @Override
+    public Tick getTick(int i) {
+        final int tickIndex = checkIndex(i);
+        final ByteBuffer segment = segment(tickIndex);
+        final int offset = offset(tickIndex);
+        final ZonedDateTime endTime = ZonedDateTime.ofInstant(
+                Instant.ofEpochMilli(segment.getLong(offset + TickFileFormat.END_TIME_OFFSET)), zone);
+        return new BaseTick(timePeriod, endTime,
+                toDecimal(segment.getDouble(offset + TickFileFormat.OPEN_PRICE_OFFSET)),
+                toDecimal(segment.getDouble(offset + TickFileFormat.MAX_PRICE_OFFSET)),
+                toDecimal(segment.getDouble(offset + TickFileFormat.MIN_PRICE_OFFSET)),
+                toDecimal(segment.getDouble(offset + TickFileFormat.CLOSE_PRICE_OFFSET)),
+                toDecimal(segment.getDouble(offset + TickFileFormat.VOLUME_OFFSET)));
+    }
+
+    @Override
+    public Decimal getOpenPrice(int i) {
+        return toDecimal(getDouble(i, TickFileFormat.OPEN_PRICE_OFFSET));
+    }
+
+    @Override
+    public Decimal getMinPrice(int i) {
+        return toDecimal(getDouble(i, TickFileFormat.MIN_PRICE_OFFSET));
+    }
+
+    @Override
+    public Decimal getMaxPrice(int i) {
+        return toDecimal(getDouble(i, TickFileFormat.MAX_PRICE_OFFSET));
+    }
+
+    @Override
+    public Decimal getClosePrice(int i) {
+        return toDecimal(getDouble(i, TickFileFormat.CLOSE_PRICE_OFFSET));
+    }
+
+    @Override
+    public Decimal getVolume(int i) {
+        return toDecimal(getDouble(i, TickFileFormat.VOLUME_OFFSET));
+    }
+
+    @Override
+    public Decimal getAmount(int i) {
+        checkIndex(i);
+        return toDecimal(0);
+    }
+
+    @Override
+    public int getTrades(int i) {
+        checkIndex(i);
+        return 0;
+    }
+
+    /**
+     * @param i an index
+     * @return the end time of the i-th tick, in milliseconds since the epoch
+     */
+    public long getEndTimeMillis(int i) {
+        final int tickIndex = checkIndex(i);
+        return segment(tickIndex).getLong(offset(tickIndex) + TickFileFormat.END_TIME_OFFSET);
+    }
+
+    /**
+     * @return the time period of the ticks
+     */
+    public Duration getTimePeriod() {
+        return timePeriod;
+    }
+
+    @Override
+    public int getTickCount() {
+        return fileTickCount - removedTicksCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns a read-only view over the retained ticks, materializing each tick on access.
+     */
+    @Override
+    public List<Tick> getTickData() {
+        return new TickDataView();
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return fileTickCount == 0 ? -1 : 0;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return fileTickCount - 1;
+    }
+
+    @Override
+    public void setMaximumTickCount(int maximumTickCount) {
+        if (maximumTickCount <= 0) {
+            throw new IllegalArgumentException("Maximum tick count must be strictly positive");
+        }
+        this.maximumTickCount = maximumTickCount;
+        removedTicksCount = Math.max(removedTicksCount, fileTickCount - maximumTickCount);
+    }
+
+    @Override
+    public int getMaximumTickCount() {
+        return maximumTickCount;
+    }
+
+    @Override
+    public int getRemovedTicksCount() {
+        return removedTicksCount;
+    }
+
+    /**
+     * Not supported: a memory-mapped series is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addTick(Tick tick) {
+        throw new UnsupportedOperationException("Cannot add a tick to a memory-mapped series; use a TickFileWriter");
+    }
+
+    /**
+     * Not supported: a memory-mapped series is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void replaceLastTick(Tick tick) {
+        throw new UnsupportedOperationException("Cannot replace a tick of a memory-mapped series");
+    }
+
+    /**
+     * Maps the tick file.
+     */
+    private void map() {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            if (channel.size() < TickFileFormat.HEADER_SIZE) {
+                throw new IllegalArgumentException("Not a tick file: " + path);
+            }
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, TickFileFormat.HEADER_SIZE);
+            if (header.getLong(TickFileFormat.MAGIC_OFFSET) != TickFileFormat.MAGIC
+                    || header.getInt(TickFileFormat.VERSION_OFFSET) != TickFileFormat.VERSION
+                    || header.getInt(TickFileFormat.RECORD_SIZE_OFFSET) != TickFileFormat.RECORD_SIZE) {
+                throw new IllegalArgumentException("Not a tick file (or unsupported version): " + path);
+            }
+            timePeriod = Duration.ofMillis(header.getLong(TickFileFormat.TIME_PERIOD_OFFSET));
+            final long tickCount = header.getLong(TickFileFormat.TICK_COUNT_OFFSET);
+            if (tickCount > Integer.MAX_VALUE
+                    || TickFileFormat.HEADER_SIZE + tickCount * TickFileFormat.RECORD_SIZE > channel.size()) {
+                throw new IllegalArgumentException("Truncated or corrupted tick file: " + path);
+            }
+            fileTickCount = (int) tickCount;
+
+            final int segmentCount = (int) ((tickCount + SEGMENT_TICKS - 1) / SEGMENT_TICKS);
+            segments = new ByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                final long firstTick = (long) s * SEGMENT_TICKS;
+                final long ticks = Math.min(SEGMENT_TICKS, tickCount - firstTick);
+                final MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                        TickFileFormat.HEADER_SIZE + firstTick * TickFileFormat.RECORD_SIZE,
+                        ticks * TickFileFormat.RECORD_SIZE);
+                segments[s] = segment;
+            }
+            removedTicksCount = Math.max(0, fileTickCount - maximumTickCount);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Unable to map tick file " + path, ioe);
+        }
+    }
+
+    /**
+     * @param i a tick index
+     * @param fieldOffset the offset of the field in the record
+     * @return the double value of the field
+     */
+    private double getDouble(int i, int fieldOffset) {
+        final int tickIndex = checkIndex(i);
+        return segment(tickIndex).getDouble(offset(tickIndex) + fieldOffset);
+    }
+
+    /**
+     * @param tickIndex a (valid) tick index
+     * @return the mapped segment of the tick
+     */
+    private ByteBuffer segment(int tickIndex) {
+        return segments[tickIndex / SEGMENT_TICKS];
+    }
+
+    /**
+     * @param tickIndex a (valid) tick index
+     * @return the offset of the tick record in its segment
+     */
+    private static int offset(int tickIndex) {
+        return (tickIndex % SEGMENT_TICKS) * TickFileFormat.RECORD_SIZE;
+    }
+
+    /**
+     * @param i a tick index
+     * @return the index of the tick to be read (the first retained one if the tick has been removed)
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    private int checkIndex(int i) {
+        if (i < 0 || i >= fileTickCount) {
+            throw new IndexOutOfBoundsException("Size of series: " + fileTickCount + " ticks, "
+                    + removedTicksCount + " ticks removed, index = " + i);
+        }
+        if (i < removedTicksCount) {
+            log.trace("Time series `{}` ({} ticks): tick {} already removed, use {}-th instead",
+                    name, getTickCount(), i, removedTicksCount);
+            return removedTicksCount;
+        }
+        return i;
+    }
+
+    /**
+     * @param value a file value
+     * @return the value as a decimal of the series backend ({@link Decimal#NaN} for a missing value)
+     */
+    private Decimal toDecimal(double value) {
+        if (Double.isNaN(value)) {
+            return Decimal.NaN;
+        }
+        return Decimal.valueOf(value, backend);
+    }
+
+    /**
+     * Maps the tick file again on deserialization.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final int removed = removedTicksCount;
+        map();
+        removedTicksCount = Math.max(removed, removedTicksCount);
+    }
+
+    /**
+     * Read-only view over the retained ticks.
+     */
+    private class TickDataView extends AbstractList<Tick> implements RandomAccess {
+
+        @Override
+        public Tick get(int index) {
+            if (index < 0 || index >= getTickCount()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + getTickCount());
+            }
+            return getTick(removedTicksCount + index);
+        }
+
+        @Override
+        public int size() {
+            return getTickCount();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moving time series.
+ * <p>
+ * A {@link TimeSeries time series} with a maximum tick count set at construction, for live feeds.
+ * Its ticks are stored in a circular buffer: when a new tick is added to a full series, the oldest
+ * tick is overwritten in O(1) (while {@link BaseTimeSeries} has to shift its whole tick list).
+ * <p>
+ * As for any moving series, indexes of the removed ticks are still valid: {@link #getTick(int)} returns
+ * the first remaining tick for them.
+ */
+public class MovingTimeSeries implements TimeSeries {
+
+    private static final long serialVersionUID = 3526480218939627428L;
+    /** Name for unnamed series */
+    private static final String UNNAMED_SERIES_NAME = "unamed_series";
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    /** Name of the series */
+    private final String name;
+    /** Begin index of the time series */
+    private int seriesBeginIndex = -1;
+    /** End index of the time series */
+    private int seriesEndIndex = -1;
+    /** Circular buffer of ticks */
+    private Tick[] ticks;
+    /** Position of the oldest tick in the buffer */
+    private int head = 0;
+    /** Number of ticks in the buffer */
+    private int size = 0;
+    /** Number of removed ticks */
+    private int removedTicksCount = 0;
+
+    private long replacedTicksCount = 0;
+
+    /**
+     * Constructor of an unnamed series.
+     * @param maximumTickCount the maximum number of ticks retained in the series
+     */
+    public MovingTimeSeries(int maximumTickCount) {
+        this(UNNAMED_SERIES_NAME, maximumTickCount);
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param maximumTickCount the maximum number of ticks retained in the series
+     */
+    public MovingTimeSeries(String name, int maximumTickCount) {
+        checkMaximumTickCount(maximumTickCount);
+        this.name = name;
+        this.ticks = new Tick[maximumTickCount];
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Tick getTick(int i) {
+        int innerIndex = i - removedTicksCount;
+        if (innerIndex < 0) {
+            if (i < 0) {
+                // Cannot return the i-th tick if i < 0
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+            }
+            log.trace("Time series `{}` ({} ticks): tick {} already removed, use {}-th instead", name, size, i, removedTicksCount);
+            if (size == 0) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(removedTicksCount));
+            }
+            innerIndex = 0;
+        } else if (innerIndex >= size) {
+            // Cannot return the n-th tick if n >= size
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        return ticks[physicalIndex(innerIndex)];
+    }
+
+    @Override
+    public int getTickCount() {
+        if (seriesEndIndex < 0) {
+            return 0;
+        }
+        final int startIndex = Math.max(removedTicksCount, seriesBeginIndex);
+        return seriesEndIndex - startIndex + 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns a read-only view over the retained ticks (oldest first). The view is not copied:
+     * it reflects the ticks added afterwards.
+     */
+    @Override
+    public List<Tick> getTickData() {
+        return new TickDataView();
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return seriesBeginIndex;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return seriesEndIndex;
+    }
+
+    @Override
+    public void setMaximumTickCount(int maximumTickCount) {
+        checkMaximumTickCount(maximumTickCount);
+        if (maximumTickCount == ticks.length) {
+            return;
+        }
+        // Resizing the buffer (keeping the last ticks)
+        final int newSize = Math.min(size, maximumTickCount);
+        final int nbTicksToRemove = size - newSize;
+        Tick[] newTicks = new Tick[maximumTickCount];
+        for (int i = 0; i < newSize; i++) {
+            newTicks[i] = ticks[physicalIndex(nbTicksToRemove + i)];
+        }
+        ticks = newTicks;
+        head = 0;
+        size = newSize;
+        removedTicksCount += nbTicksToRemove;
+    }
+
+    @Override
+    public int getMaximumTickCount() {
+        return ticks.length;
+    }
+
+    @Override
+    public int getRemovedTicksCount() {
+        return removedTicksCount;
+    }
+
+    @Override
+    public void addTick(Tick tick) {
+        if (tick == null) {
+            throw new IllegalArgumentException("Cannot add null tick");
+        }
+        if (size > 0) {
+            ZonedDateTime seriesEndTime = ticks[physicalIndex(size - 1)].getEndTime();
+            if (!tick.getEndTime().isAfter(seriesEndTime)) {
+                throw new IllegalArgumentException("Cannot add a tick with end time <= to series end time");
+            }
+        }
+
+        if (size == ticks.length) {
+            // Full buffer: overwriting the oldest tick
+            ticks[head] = tick;
+            head = head + 1 == ticks.length ? 0 : head + 1;
+            removedTicksCount++;
+        } else {
+            ticks[physicalIndex(size)] = tick;
+            size++;
+        }
+        if (seriesBeginIndex == -1) {
+            // Begin index set to 0 only if if wasn't initialized
+            seriesBeginIndex = 0;
+        }
+        seriesEndIndex++;
+    }
+
+    @Override
+    public void replaceLastTick(Tick tick) {
+        if (tick == null) {
+            throw new IllegalArgumentException("Cannot replace with a null tick");
+        }
+        if (size == 0) {
+            throw new IllegalStateException("Cannot replace the last tick of an empty time series");
+        }
+        if (size > 1 && !tick.getEndTime().isAfter(ticks[physicalIndex(size - 2)].getEndTime())) {
+            throw new IllegalArgumentException("Cannot replace the last tick by a tick with end time <= to the previous tick end time");
+        }
+        ticks[physicalIndex(size - 1)] = tick;
+        replacedTicksCount++;
+    }
+
+    @Override
+    public long getReplacedTicksCount() {
+        return replacedTicksCount;
+    }
+
+    /**
+     * @param position a position in the series (0 being the oldest retained tick)
+     * @return the corresponding index in the buffer
+     */
+    private int physicalIndex(int position) {
+        final int index = head + position;
+        return index >= ticks.length ? index - ticks.length : index;
+    }
+
+    /**
+     * @param index an out of bounds tick index
+     * @return a message for an OutOfBoundsException
+     */
+    private String buildOutOfBoundsMessage(int index) {
+        return "Size of series: " + size + " ticks, "
+                + removedTicksCount + " ticks removed, index = " + index;
+    }
+
+    /**
+     * @param maximumTickCount a maximum tick count
+     * @throws IllegalArgumentException if the maximum tick count is not strictly positive
+     */
+    private static void checkMaximumTickCount(int maximumTickCount) {
+        if (maximumTickCount <= 0) {
+            throw new IllegalArgumentException("Maximum tick count must be strictly positive");
+        }
+    }
+
+    /**
+     * Read-only view over the retained ticks.
+     */
+    private class TickDataView extends AbstractList<Tick> implements RandomAccess {
+
+        @Override
+        public Tick get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+            }
+            return ticks[physicalIndex(index)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resampled time series.
+ * <p>
+ * A read-only {@link TimeSeries time series} view which aggregates the ticks of a base series
+ * (e.g. 1-minute ticks) into bars of a longer time period (e.g. 5 minutes, 1 hour or 1 day).
+ * Bars are aligned on multiples of the time period in the local time of the base ticks: a base tick
+ * belongs to the bar whose period ({@code ]begin, end]}) contains its end time.
+ * <p>
+ * The view is lazy: the base ticks are aggregated when the view is accessed, and only the base ticks
+ * added (or replaced) since the previous access are processed. Completed bars are cached; only the
+ * last (partial) bar is updated as the base series grows. An update of the last bar is reported as
+ * a {@link #getReplacedTicksCount() replaced tick}, so that the indicators built on this series drop
+ * their last cached value.
+ * <p>
+ * Use {@link #getCompletedBarIndex(int)} (or a {@link eu.verdelhan.ta4j.indicators.helpers.HigherTimeframeIndicator})
+ * to read the values of the bars from the base timeframe without look-ahead.
+ */
+public class ResampledTimeSeries implements TimeSeries {
+
+    private static final long serialVersionUID = -3466356843389735512L;
+    /** The base series */
+    private final TimeSeries baseSeries;
+    /** Time period of the bars */
+    private final Duration timePeriod;
+    /** Time period of the bars, in milliseconds */
+    private final long periodMillis;
+    /** Name of the series */
+    private final String name;
+    /** Bars (the last one may be partial) */
+    private final List<Tick> bars = new ArrayList<>();
+    /** End index of the series */
+    private int seriesEndIndex = -1;
+    /** Maximum number of bars retained */
+    private int maximumTickCount = Integer.MAX_VALUE;
+    /** Number of removed bars */
+    private int removedTicksCount = 0;
+    /** Number of updates of the last bar */
+    private long replacedTicksCount = 0;
+    /** Last aggregated base tick index */
+    private int processedBaseIndex = -1;
+    /** Replaced ticks count of the base series at the last aggregation */
+    private long baseReplacedTicksCount;
+    /** Base index of the first base tick of the last bar */
+    private int lastBarFirstBaseIndex = -1;
+    /** End time of the last bar, in epoch milliseconds */
+    private long lastBarEndMillis;
+    /** End time of the last bar */
+    private ZonedDateTime lastBarEndTime;
+    /** Open, high, low and close prices, volume and amount of the last bar */
+    private Decimal open, high, low, close, volume, amount;
+    /** Trade count of the last bar */
+    private int trades;
+
+    /**
+     * Constructor.
+     * @param baseSeries the base series
+     * @param timePeriod the time period of the bars (e.g. 5 minutes)
+     */
+    public ResampledTimeSeries(TimeSeries baseSeries, Duration timePeriod) {
+        this(baseSeries.getName() + " (" + timePeriod + ")", baseSeries, timePeriod);
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param baseSeries the base series
+     * @param timePeriod the time period of the bars (e.g. 5 minutes)
+     */
+    public ResampledTimeSeries(String name, TimeSeries baseSeries, Duration timePeriod) {
+        if (baseSeries == null) {
+            throw new IllegalArgumentException("Base series cannot be null");
+        }
+        if (timePeriod == null || timePeriod.isNegative() || timePeriod.isZero()) {
+            throw new IllegalArgumentException("Time period must be strictly positive");
+        }
+        this.name = name;
+        this.baseSeries = baseSeries;
+        this.timePeriod = timePeriod;
+        this.periodMillis = timePeriod.toMillis();
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("Time period must be at least 1 millisecond");
+        }
+        this.baseReplacedTicksCount = baseSeries.getReplacedTicksCount();
+    }
+
+    /**
+     * @return the base series
+     */
+    public TimeSeries getBaseSeries() {
+        return baseSeries;
+    }
+
+    /**
+     * @return the time period of the bars
+     */
+    public Duration getTimePeriod() {
+        return timePeriod;
+    }
+
+    /**
+     * Returns the index of the last bar completed at the end of a base tick, i.e. the last bar whose
+     * values are fully known at the base index. Reading a bar from the base timeframe through this index
+     * never looks ahead.
+     * @param baseIndex the index of a base tick
+     * @return the index of the last completed bar, or -1 if there is none (or if it has been removed)
+     */
+    public synchronized int getCompletedBarIndex(int baseIndex) {
+        aggregate();
+        final long endMillis = epochMillis(baseSeries.getTick(baseIndex).getEndTime());
+        // Binary search of the last retained bar ending at or before the base tick
+        int low = 0;
+        int high = bars.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (epochMillis(bars.get(middle).getEndTime()) <= endMillis) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found < 0 ? -1 : removedTicksCount + found;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public synchronized Tick getTick(int i) {
+        aggregate();
+        int innerIndex = i - removedTicksCount;
+        if (innerIndex < 0) {
+            if (i < 0 || bars.isEmpty()) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+            }
+            innerIndex = 0;
+        } else if (innerIndex >= bars.size()) {
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        return bars.get(innerIndex);
+    }
+
+    @Override
+    public synchronized int getTickCount() {
+        aggregate();
+        return bars.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns a read-only list of the retained bars.
+     */
+    @Override
+    public synchronized List<Tick> getTickData() {
+        aggregate();
+        return Collections.unmodifiableList(bars);
+    }
+
+    @Override
+    public synchronized int getBeginIndex() {
+        aggregate();
+        return seriesEndIndex < 0 ? -1 : 0;
+    }
+
+    @Override
+    public synchronized int getEndIndex() {
+        aggregate();
+        return seriesEndIndex;
+    }
+
+    @Override
+    public synchronized void setMaximumTickCount(int maximumTickCount) {
+        if (maximumTickCount <= 0) {
+            throw new IllegalArgumentException("Maximum tick count must be strictly positive");
+        }
+        this.maximumTickCount = maximumTickCount;
+        removeExceedingBars();
+    }
+
+    @Override
+    public int getMaximumTickCount() {
+        return maximumTickCount;
+    }
+
+    @Override
+    public synchronized int getRemovedTicksCount() {
+        aggregate();
+        return removedTicksCount;
+    }
+
+    /**
+     * Not supported: the ticks have to be added to the base series.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addTick(Tick tick) {
+        throw new UnsupportedOperationException("Cannot add a tick to a resampled series; add it to the base series");
+    }
+
+    /**
+     * Not supported: the last tick has to be replaced in the base series.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void replaceLastTick(Tick tick) {
+        throw new UnsupportedOperationException("Cannot replace a tick of a resampled series; replace it in the base series");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Counts the updates of the last (partial) bar.
+     */
+    @Override
+    public synchronized long getReplacedTicksCount() {
+        aggregate();
+        return replacedTicksCount;
+    }
+
+    /**
+     * Aggregates the base ticks added (or replaced) since the previous call.
+     */
+    private void aggregate() {
+        final int baseEndIndex = baseSeries.getEndIndex();
+        final long baseReplaced = baseSeries.getReplacedTicksCount();
+        if (baseEndIndex == processedBaseIndex && baseReplaced == baseReplacedTicksCount) {
+            return;
+        }
+        final int previousEndIndex = seriesEndIndex;
+        boolean lastBarUpdated = false;
+        if (baseReplaced != baseReplacedTicksCount) {
+            baseReplacedTicksCount = baseReplaced;
+            if (lastBarFirstBaseIndex >= 0) {
+                // The last base tick has been replaced: the last bar is aggregated again
+                bars.remove(bars.size() - 1);
+                seriesEndIndex--;
+                processedBaseIndex = lastBarFirstBaseIndex - 1;
+                lastBarFirstBaseIndex = -1;
+            }
+        }
+        final int startIndex = Math.max(processedBaseIndex + 1, Math.max(baseSeries.getBeginIndex(), baseSeries.getRemovedTicksCount()));
+        for (int i = startIndex; i <= baseEndIndex; i++) {
+            final Tick tick = baseSeries.getTick(i);
+            final ZonedDateTime tickEndTime = tick.getEndTime();
+            final long offsetMillis = tickEndTime.getOffset().getTotalSeconds() * 1000L;
+            final long localEndMillis = epochMillis(tickEndTime) + offsetMillis;
+            final long barEndMillis = -Math.floorDiv(-localEndMillis, periodMillis) * periodMillis - offsetMillis;
+            if (lastBarFirstBaseIndex >= 0 && barEndMillis == lastBarEndMillis) {
+                high = high.max(tick.getMaxPrice());
+                low = low.min(tick.getMinPrice());
+                close = tick.getClosePrice();
+                volume = volume.plus(tick.getVolume());
+                amount = amount.plus(tick.getAmount());
+                trades += tick.getTrades();
+            } else {
+                if (lastBarFirstBaseIndex >= 0) {
+                    bars.set(bars.size() - 1, buildLastBar());
+                }
+                lastBarFirstBaseIndex = i;
+                lastBarEndMillis = barEndMillis;
+                lastBarEndTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(barEndMillis), tickEndTime.getZone());
+                open = tick.getOpenPrice();
+                high = tick.getMaxPrice();
+                low = tick.getMinPrice();
+                close = tick.getClosePrice();
+                volume = tick.getVolume();
+                amount = tick.getAmount();
+                trades = tick.getTrades();
+                bars.add(null);
+                seriesEndIndex++;
+            }
+            if (seriesEndIndex <= previousEndIndex) {
+                lastBarUpdated = true;
+            }
+        }
+        if (lastBarFirstBaseIndex >= 0) {
+            bars.set(bars.size() - 1, buildLastBar());
+        }
+        processedBaseIndex = baseEndIndex;
+        if (lastBarUpdated) {
+            replacedTicksCount++;
+        }
+        removeExceedingBars();
+    }
+
+    /**
+     * @return the last bar, built from the aggregated values
+     */
+    private Tick buildLastBar() {
+        return new BaseTick(timePeriod, lastBarEndTime, open, high, low, close, volume, amount, trades);
+    }
+
+    /**
+     * Removes the bars exceeding the maximum tick count.
+     */
+    private void removeExceedingBars() {
+        final int tickCount = bars.size();
+        if (tickCount > maximumTickCount) {
+            final int nbTicksToRemove = tickCount - maximumTickCount;
+            bars.subList(0, nbTicksToRemove).clear();
+            removedTicksCount += nbTicksToRemove;
+        }
+    }
+
+    /**
+     * @param index an out of bounds bar index
+     * @return a message for an OutOfBoundsException
+     */
+    private String buildOutOfBoundsMessage(int index) {
+        return "Size of series: " + bars.size() + " bars, "
+                + removedTicksCount + " bars removed, index = " + index;
+    }
+
+    /**
+     * @param time a date-time
+     * @return the date-time in milliseconds since the epoch
+     */
+    private static long epochMillis(ZonedDateTime time) {
+        return time.toEpochSecond() * 1000L + time.getNano() / 1_000_000;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
+import java.time.Duration;
+
+/**
+ * A stop condition of a backtest.
+ * <p>
+ * Evaluated by the {@link TimeSeriesManager time series manager} after each tick of a run, on the
+ * {@link TradingMetrics trading metrics} accumulated so far: the run is aborted as soon as the condition is
+ * satisfied (e.g. when a strategy has already exceeded a maximum drawdown), so that hopeless strategies are
+ * not run over the whole series.
+ */
+@FunctionalInterface
+public interface StopCondition {
+
+    /**
+     * @param index the index of the last run tick
+     * @param metrics the trading metrics of the run (updated with the last run tick)
+     * @param elapsedNanos the time elapsed since the beginning of the run, in nanoseconds
+     * @return true if the run has to be stopped, false otherwise
+     */
+    boolean isSatisfied(int index, TradingMetrics metrics, long elapsedNanos);
+
+    /**
+     * @param condition another stop condition
+     * @return a condition which is satisfied when this condition or the provided one is
+     */
+    default StopCondition or(StopCondition condition) {
+        return (index, metrics, elapsedNanos) -> isSatisfied(index, metrics, elapsedNanos)
+                || condition.isSatisfied(index, metrics, elapsedNanos);
+    }
+
+    /**
+     * @param maximumDrawdown the maximum drawdown (e.g. 0.2 for 20%)
+     * @return a condition satisfied when the drawdown of the equity (opened trade included) exceeds the maximum
+     */
+    static StopCondition maximumDrawdown(double maximumDrawdown) {
+        if (maximumDrawdown < 0) {
+            throw new IllegalArgumentException("Maximum drawdown must be positive");
+        }
+        return (index, metrics, elapsedNanos) -> metrics.getMaximumDrawdown() > maximumDrawdown;
+    }
+
+    /**
+     * @param tradeCount the minimum number of closed trades
+     * @param tickIndex the index the trades have to be closed by
+     * @return a condition satisfied when less than tradeCount trades are closed at the tick index (or after it)
+     */
+    static StopCondition minimumTradeCount(int tradeCount, int tickIndex) {
+        return (index, metrics, elapsedNanos) -> index >= tickIndex && metrics.getTradeCount() < tradeCount;
+    }
+
+    /**
+     * @param equity the minimum equity (the equity starting at 1, e.g. 0.5 for a loss of 50%)
+     * @return a condition satisfied when the equity (opened trade included) falls below the minimum
+     */
+    static StopCondition equityFloor(double equity) {
+        return (index, metrics, elapsedNanos) -> metrics.getEquity() < equity;
+    }
+
+    /**
+     * @param budget the maximum duration of a run
+     * @return a condition satisfied when the run has lasted longer than the budget
+     */
+    static StopCondition timeBudget(Duration budget) {
+        if (budget == null || budget.isNegative()) {
+            throw new IllegalArgumentException("Time budget cannot be null or negative");
+        }
+        final long budgetNanos = budget.toNanos();
+        return (index, metrics, elapsedNanos) -> elapsedNanos > budgetNanos;
+    }
+}
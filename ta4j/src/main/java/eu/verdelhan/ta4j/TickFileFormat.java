@@ -0,0 +1,63 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+/**
+ * Binary tick file format.
+ * <p>
+ * Fixed-width, big-endian layout:
+ * <pre>
+ * header (32 bytes): magic (long) | version (int) | record size (int) | time period in millis (long) | tick count (long)
+ * record (48 bytes): end time in epoch millis (long) | open | high | low | close | volume (doubles)
+ * </pre>
+ * Written by {@link TickFileWriter}, read by {@link MappedTimeSeries}.
+ */
+final class TickFileFormat {
+
+    /** Magic number ("TA4JTICK") */
+    static final long MAGIC = 0x5441344A5449434BL;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 32;
+
+    static final int RECORD_SIZE = 48;
+
+    /* Header offsets */
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 8;
+    static final int RECORD_SIZE_OFFSET = 12;
+    static final int TIME_PERIOD_OFFSET = 16;
+    static final int TICK_COUNT_OFFSET = 24;
+
+    /* Record offsets */
+    static final int END_TIME_OFFSET = 0;
+    static final int OPEN_PRICE_OFFSET = 8;
+    static final int MAX_PRICE_OFFSET = 16;
+    static final int MIN_PRICE_OFFSET = 24;
+    static final int CLOSE_PRICE_OFFSET = 32;
+    static final int VOLUME_OFFSET = 40;
+
+    private TickFileFormat() {
+    }
+}
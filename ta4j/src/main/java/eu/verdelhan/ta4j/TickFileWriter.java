@@ -0,0 +1,209 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+/**
+ * Writer of binary tick files.
+ * <p>
+ * Writes ticks (end time and OHLCV) in the fixed-width format read by {@link MappedTimeSeries},
+ * so that a series parsed once (e.g. from a CSV file) can be reopened instantly afterwards:
+ * <pre>
+ * TickFileWriter.write(series, path);
+ * TimeSeries mapped = new MappedTimeSeries(path);
+ * </pre>
+ * All the ticks of a file have the same time period. The amounts and trade counts are not stored.
+ */
+public class TickFileWriter implements Closeable {
+
+    /** Size of the write buffer (in ticks) */
+    private static final int BUFFER_TICKS = 4096;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_TICKS * TickFileFormat.RECORD_SIZE);
+
+    /** Time period of the ticks in millis */
+    private final long timePeriodMillis;
+
+    /** Number of written ticks */
+    private long tickCount = 0;
+
+    /** End time of the last written tick */
+    private long lastEndTimeMillis = Long.MIN_VALUE;
+
+    private boolean closed = false;
+
+    /**
+     * Constructor.
+     * <p>
+     * Creates (or truncates) the file.
+     * @param path the path of the file
+     * @param timePeriod the time period of the ticks
+     * @throws IOException if the file cannot be created
+     */
+    public TickFileWriter(Path path, Duration timePeriod) throws IOException {
+        if (timePeriod == null) {
+            throw new IllegalArgumentException("Time period cannot be null");
+        }
+        this.timePeriodMillis = timePeriod.toMillis();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        writeHeader();
+        channel.position(TickFileFormat.HEADER_SIZE);
+    }
+
+    /**
+     * Writes all the (retained) ticks of a series to a file.
+     * @param series the time series (with at least one tick)
+     * @param path the path of the file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(TimeSeries series, Path path) throws IOException {
+        if (series.getTickCount() == 0) {
+            throw new IllegalArgumentException("Cannot write an empty series");
+        }
+        final int beginIndex = Math.max(series.getBeginIndex(), series.getRemovedTicksCount());
+        try (TickFileWriter writer = new TickFileWriter(path, series.getTick(beginIndex).getTimePeriod())) {
+            for (int i = beginIndex; i <= series.getEndIndex(); i++) {
+                writer.write(series.getTick(i));
+            }
+        }
+    }
+
+    /**
+     * Writes a tick.
+     * @param tick the tick (with the time period of the file)
+     * @throws IOException if the tick cannot be written
+     */
+    public void write(Tick tick) throws IOException {
+        if (tick.getTimePeriod().toMillis() != timePeriodMillis) {
+            throw new IllegalArgumentException("Tick time period " + tick.getTimePeriod()
+                    + " differs from file time period " + Duration.ofMillis(timePeriodMillis));
+        }
+        write(tick.getEndTime().toInstant().toEpochMilli(), toDouble(tick.getOpenPrice()), toDouble(tick.getMaxPrice()),
+                toDouble(tick.getMinPrice()), toDouble(tick.getClosePrice()), toDouble(tick.getVolume()));
+    }
+
+    /**
+     * Writes a tick, without any {@link Tick} instance.
+     * @param endTimeMillis the end time of the tick, in milliseconds since the epoch
+     * @param openPrice the open price of the tick period
+     * @param highPrice the highest price of the tick period
+     * @param lowPrice the lowest price of the tick period
+     * @param closePrice the close price of the tick period
+     * @param volume the volume of the tick period
+     * @throws IOException if the tick cannot be written
+     */
+    public void write(long endTimeMillis, double openPrice, double highPrice, double lowPrice, double closePrice,
+            double volume) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer already closed");
+        }
+        if (endTimeMillis <= lastEndTimeMillis) {
+            throw new IllegalArgumentException("Cannot write a tick with end time <= to previous end time");
+        }
+        if (!buffer.hasRemaining()) {
+            flushBuffer();
+        }
+        buffer.putLong(endTimeMillis)
+                .putDouble(openPrice)
+                .putDouble(highPrice)
+                .putDouble(lowPrice)
+                .putDouble(closePrice)
+                .putDouble(volume);
+        lastEndTimeMillis = endTimeMillis;
+        tickCount++;
+    }
+
+    /**
+     * @return the number of written ticks
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Flushes the buffered ticks and writes the tick count in the header.
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flushBuffer();
+            writeHeader();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes the header (with the current tick count) at the beginning of the file.
+     * @throws IOException if the header cannot be written
+     */
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(TickFileFormat.HEADER_SIZE);
+        header.putLong(TickFileFormat.MAGIC)
+                .putInt(TickFileFormat.VERSION)
+                .putInt(TickFileFormat.RECORD_SIZE)
+                .putLong(timePeriodMillis)
+                .putLong(tickCount);
+        header.flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+
+    /**
+     * Writes the buffered ticks at the end of the file.
+     * @throws IOException if the ticks cannot be written
+     */
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * @param value a decimal value (may be null)
+     * @return the value as a double (NaN if null)
+     */
+    private static double toDouble(Decimal value) {
+        return value == null ? Double.NaN : value.toDouble();
+    }
+}
@@ -49,6 +49,62 @@ public interface TimeSeries extends Serializable {
      */
     Tick getTick(int i);
 
+    /**
+     * @param i an index
+     * @return the open price of the i-th tick
+     */
+    default Decimal getOpenPrice(int i) {
+        return getTick(i).getOpenPrice();
+    }
+
+    /**
+     * @param i an index
+     * @return the min price of the i-th tick
+     */
+    default Decimal getMinPrice(int i) {
+        return getTick(i).getMinPrice();
+    }
+
+    /**
+     * @param i an index
+     * @return the max price of the i-th tick
+     */
+    default Decimal getMaxPrice(int i) {
+        return getTick(i).getMaxPrice();
+    }
+
+    /**
+     * @param i an index
+     * @return the close price of the i-th tick
+     */
+    default Decimal getClosePrice(int i) {
+        return getTick(i).getClosePrice();
+    }
+
+    /**
+     * @param i an index
+     * @return the traded volume of the i-th tick
+     */
+    default Decimal getVolume(int i) {
+        return getTick(i).getVolume();
+    }
+
+    /**
+     * @param i an index
+     * @return the traded amount of the i-th tick
+     */
+    default Decimal getAmount(int i) {
+        return getTick(i).getAmount();
+    }
+
+    /**
+     * @param i an index
+     * @return the number of trades of the i-th tick
+     */
+    default int getTrades(int i) {
+        return getTick(i).getTrades();
+    }
+
     /**
      * @return the first tick of the series
      */
@@ -83,6 +139,7 @@ public interface TimeSeries extends Serializable {
      * It may be:
      *   - a shortened tick list if a maximum tick count has been set
      *   - a extended tick list if it is a constrained time series
+     * Some implementations (e.g. {@link MovingTimeSeries}) return a read-only view instead.
      * @return the raw tick data
      */
     List<Tick> getTickData();
@@ -141,4 +198,44 @@ public interface TimeSeries extends Serializable {
      * @see TimeSeries#setMaximumTickCount(int)
      */
     void addTick(Tick tick);
+
+    /**
+     * Replaces the last tick of the series (e.g. the current tick revised by a live feed before it closes).
+     * <p>
+     * The end time of the new tick must be after the end time of the previous tick.
+     * The cached values of the indicators at the index of the replaced tick are invalidated
+     * (see {@link #getReplacedTicksCount()}).
+     * <p>
+     * Not supported by default (e.g. read-only series).
+     * @param tick the new last tick
+     * @throws UnsupportedOperationException if the series does not support tick replacement
+     */
+    default void replaceLastTick(Tick tick) {
+        throw new UnsupportedOperationException("Cannot replace a tick of this series");
+    }
+
+    /**
+     * @return the number of times the last tick of the series has been replaced
+     *         (the indicators compare it to detect that their last cached value is stale; 0 by default)
+     */
+    default long getReplacedTicksCount() {
+        return 0L;
+    }
+
+    /**
+     * Amends the last tick of the series with a trade (e.g. intrabar trades of a live feed).
+     * <p>
+     * The last tick is replaced by a copy including the trade.
+     * @param tradeVolume the traded volume
+     * @param tradePrice the price
+     * @see #replaceLastTick(Tick)
+     */
+    default void addTrade(Decimal tradeVolume, Decimal tradePrice) {
+        Tick lastTick = getLastTick();
+        Tick amendedTick = new BaseTick(lastTick.getTimePeriod(), lastTick.getEndTime(),
+                lastTick.getOpenPrice(), lastTick.getMaxPrice(), lastTick.getMinPrice(), lastTick.getClosePrice(),
+                lastTick.getVolume(), lastTick.getAmount(), lastTick.getTrades());
+        amendedTick.addTrade(tradeVolume, tradePrice);
+        replaceLastTick(amendedTick);
+    }
 }
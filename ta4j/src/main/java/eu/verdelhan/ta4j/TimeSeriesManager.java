@@ -23,6 +23,7 @@
 package eu.verdelhan.ta4j;
 
 import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -130,6 +131,35 @@ public class TimeSeriesManager {
         return run(strategy, orderType, amount, timeSeries.getBeginIndex(), timeSeries.getEndIndex());
     }
 
+    /**
+     * Runs the provided strategy over the managed series, until a stop condition is satisfied.
+     * <p>
+     * Opens the trades with {@link OrderType.BUY} orders.
+     * @param strategy the trading strategy
+     * @param stopCondition the stop condition of the run
+     * @return the trading record coming from the run
+     * @see #run(Strategy, OrderType, Decimal, int, int, StopCondition)
+     */
+    public TradingRecord run(Strategy strategy, StopCondition stopCondition) {
+        return run(strategy, OrderType.BUY, Decimal.NaN, timeSeries.getBeginIndex(), timeSeries.getEndIndex(), stopCondition);
+    }
+
+    /**
+     * Runs the provided strategy over the managed series (from startIndex to finishIndex), until a stop condition
+     * is satisfied.
+     * <p>
+     * Opens the trades with {@link OrderType.BUY} orders.
+     * @param strategy the trading strategy
+     * @param startIndex the start index for the run (included)
+     * @param finishIndex the finish index for the run (included)
+     * @param stopCondition the stop condition of the run
+     * @return the trading record coming from the run
+     * @see #run(Strategy, OrderType, Decimal, int, int, StopCondition)
+     */
+    public TradingRecord run(Strategy strategy, int startIndex, int finishIndex, StopCondition stopCondition) {
+        return run(strategy, OrderType.BUY, Decimal.NaN, startIndex, finishIndex, stopCondition);
+    }
+
     /**
      * Runs the provided strategy over the managed series (from startIndex to finishIndex).
      * <p>
@@ -141,17 +171,45 @@ public class TimeSeriesManager {
      * @return the trading record coming from the run
      */
     public TradingRecord run(Strategy strategy, OrderType orderType, Decimal amount, int startIndex, int finishIndex) {
+        return run(strategy, orderType, amount, startIndex, finishIndex, null);
+    }
+
+    /**
+     * Runs the provided strategy over the managed series (from startIndex to finishIndex), until a stop condition
+     * is satisfied.
+     * <p>
+     * The stop condition is evaluated after each tick of the run (but the last one), on the {@link TradingMetrics
+     * trading metrics} accumulated so far. Once it is satisfied, the run is aborted: the trading record is returned
+     * as is (the last trade may be opened). Without stop condition, the trading metrics are not accumulated.
+     * @param strategy the trading strategy
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param amount the amount used to open/close the trades
+     * @param startIndex the start index for the run (included)
+     * @param finishIndex the finish index for the run (included)
+     * @param stopCondition the stop condition of the run (null for none)
+     * @return the trading record coming from the run
+     */
+    public TradingRecord run(Strategy strategy, OrderType orderType, Decimal amount, int startIndex, int finishIndex, StopCondition stopCondition) {
 
         int runBeginIndex = Math.max(startIndex, timeSeries.getBeginIndex());
         int runEndIndex = Math.min(finishIndex, timeSeries.getEndIndex());
         
         log.trace("Running strategy (indexes: {} -> {}): {} (starting with {})", runBeginIndex, runEndIndex, strategy, orderType);
         TradingRecord tradingRecord = new BaseTradingRecord(orderType);
+        final long startNanos = System.nanoTime();
+        final TradingMetrics metrics = stopCondition == null ? null : new TradingMetrics(timeSeries, tradingRecord);
         for (int i = runBeginIndex; i <= runEndIndex; i++) {
             // For each tick between both indexes...       
             if (strategy.shouldOperate(i, tradingRecord)) {
                 tradingRecord.operate(i, timeSeries.getTick(i).getClosePrice(), amount, timeSeries.getTick(i).getEndTime());
             }
+            if (metrics != null && i < runEndIndex) {
+                metrics.update(i);
+                if (stopCondition.isSatisfied(i, metrics, System.nanoTime() - startNanos)) {
+                    log.trace("Run stopped at index {}: {}", i, strategy);
+                    return tradingRecord;
+                }
+            }
         }
 
         if (!tradingRecord.isClosed()) {
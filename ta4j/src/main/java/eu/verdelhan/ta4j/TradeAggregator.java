@@ -0,0 +1,256 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Aggregator of trades into {@link Tick ticks}.
+ * <p>
+ * Consumes a stream of trades (in time order) and emits a tick each time a bucket is complete:
+ * <ul>
+ * <li>time buckets: ticks of a fixed time period, aligned on the first trade (periods without trades are skipped)
+ * <li>volume buckets: a tick as soon as the traded volume reaches a threshold
+ * <li>trade count buckets: a tick every n trades
+ * </ul>
+ * The trades are aggregated in a single pass and in constant memory (no object per trade).
+ * The end times of the emitted ticks are strictly increasing: the ticks of volume and trade count buckets
+ * end at their last trade, shifted by 1 ms if several of them are completed within the same millisecond.
+ * The ticks are emitted to a consumer, e.g. {@link TimeSeries#addTick(Tick) series::addTick}:
+ * <pre>
+ * TradeAggregator aggregator = TradeAggregator.byTime(Duration.ofMinutes(5), series::addTick);
+ * aggregator.addTrade(timestamp, price, volume);
+ * ...
+ * aggregator.flush(); // emits the last (partial) tick
+ * </pre>
+ */
+public class TradeAggregator {
+
+    /** Type of bucket */
+    private enum BucketType {
+        TIME, VOLUME, TRADE_COUNT
+    }
+
+    private final BucketType bucketType;
+
+    /** Time period of the ticks in millis (time buckets only) */
+    private final long periodMillis;
+
+    /** Volume threshold (volume buckets only) */
+    private final double volumeThreshold;
+
+    /** Number of trades per tick (trade count buckets only) */
+    private final int tradeCount;
+
+    /** The consumer of the emitted ticks */
+    private final Consumer<Tick> tickConsumer;
+
+    /** The time zone of the emitted ticks */
+    private ZoneId zoneId = ZoneId.systemDefault();
+
+    /** The numeric backend of the emitted ticks */
+    private Decimal.Backend backend = Decimal.Backend.BIG_DECIMAL;
+
+    /** Time origin of the time buckets (first trade timestamp), Long.MIN_VALUE if no trade yet */
+    private long originMillis = Long.MIN_VALUE;
+
+    /** Timestamp of the last trade */
+    private long lastTradeMillis = Long.MIN_VALUE;
+
+    /* The current (partial) tick */
+    private long beginMillis;
+    private double openPrice;
+    private double maxPrice;
+    private double minPrice;
+    private double closePrice;
+    private double volume;
+    private double amount;
+    private int trades;
+
+    /** End time of the last emitted tick */
+    private long lastEndMillis = Long.MIN_VALUE;
+
+    /** Number of emitted ticks */
+    private long emittedTickCount;
+
+    private TradeAggregator(BucketType bucketType, long periodMillis, double volumeThreshold, int tradeCount, Consumer<Tick> tickConsumer) {
+        if (tickConsumer == null) {
+            throw new IllegalArgumentException("Tick consumer cannot be null");
+        }
+        this.bucketType = bucketType;
+        this.periodMillis = periodMillis;
+        this.volumeThreshold = volumeThreshold;
+        this.tradeCount = tradeCount;
+        this.tickConsumer = tickConsumer;
+    }
+
+    /**
+     * @param period the time period of the ticks
+     * @param tickConsumer the consumer of the emitted ticks
+     * @return an aggregator of trades into ticks of a fixed time period
+     */
+    public static TradeAggregator byTime(Duration period, Consumer<Tick> tickConsumer) {
+        if (period == null || period.toMillis() <= 0) {
+            throw new IllegalArgumentException("Time period must be at least 1 millisecond");
+        }
+        return new TradeAggregator(BucketType.TIME, period.toMillis(), 0, 0, tickConsumer);
+    }
+
+    /**
+     * @param volume the (minimal) volume of the ticks
+     * @param tickConsumer the consumer of the emitted ticks
+     * @return an aggregator of trades into ticks of a fixed volume
+     */
+    public static TradeAggregator byVolume(double volume, Consumer<Tick> tickConsumer) {
+        if (!(volume > 0)) {
+            throw new IllegalArgumentException("Volume must be positive");
+        }
+        return new TradeAggregator(BucketType.VOLUME, 0, volume, 0, tickConsumer);
+    }
+
+    /**
+     * @param tradeCount the number of trades of the ticks
+     * @param tickConsumer the consumer of the emitted ticks
+     * @return an aggregator of trades into ticks of a fixed number of trades
+     */
+    public static TradeAggregator byTradeCount(int tradeCount, Consumer<Tick> tickConsumer) {
+        if (tradeCount < 1) {
+            throw new IllegalArgumentException("Trade count must be at least 1");
+        }
+        return new TradeAggregator(BucketType.TRADE_COUNT, 0, 0, tradeCount, tickConsumer);
+    }
+
+    /**
+     * @param zoneId the time zone of the emitted ticks (default: system default)
+     * @return this aggregator
+     */
+    public TradeAggregator withZone(ZoneId zoneId) {
+        if (zoneId == null) {
+            throw new IllegalArgumentException("Zone cannot be null");
+        }
+        this.zoneId = zoneId;
+        return this;
+    }
+
+    /**
+     * @param backend the numeric backend of the emitted ticks (default: {@link Decimal.Backend#BIG_DECIMAL})
+     * @return this aggregator
+     */
+    public TradeAggregator withBackend(Decimal.Backend backend) {
+        if (backend == null) {
+            throw new IllegalArgumentException("Backend cannot be null");
+        }
+        this.backend = backend;
+        return this;
+    }
+
+    /**
+     * Adds a trade.
+     * @param timestampMillis the timestamp of the trade (epoch millis)
+     * @param price the price of the trade
+     * @param tradeVolume the traded volume
+     * @throws IllegalArgumentException if the trade is older than the previous one
+     */
+    public void addTrade(long timestampMillis, double price, double tradeVolume) {
+        if (timestampMillis < lastTradeMillis) {
+            throw new IllegalArgumentException("Trades must be in time order: " + timestampMillis + " < " + lastTradeMillis);
+        }
+        if (bucketType == BucketType.TIME) {
+            if (originMillis == Long.MIN_VALUE) {
+                originMillis = timestampMillis;
+            }
+            long bucketBeginMillis = originMillis + (timestampMillis - originMillis) / periodMillis * periodMillis;
+            if (trades > 0 && bucketBeginMillis != beginMillis) {
+                emitTick();
+            }
+            if (trades == 0) {
+                beginMillis = bucketBeginMillis;
+            }
+        } else if (trades == 0) {
+            beginMillis = timestampMillis;
+        }
+        lastTradeMillis = timestampMillis;
+
+        if (trades == 0) {
+            openPrice = price;
+            maxPrice = price;
+            minPrice = price;
+        } else {
+            maxPrice = Math.max(maxPrice, price);
+            minPrice = Math.min(minPrice, price);
+        }
+        closePrice = price;
+        volume += tradeVolume;
+        amount += tradeVolume * price;
+        trades++;
+
+        if ((bucketType == BucketType.VOLUME && volume >= volumeThreshold)
+                || (bucketType == BucketType.TRADE_COUNT && trades >= tradeCount)) {
+            emitTick();
+        }
+    }
+
+    /**
+     * Emits the current (partial) tick, if any.
+     * <p>
+     * To be called at the end of the trade stream.
+     */
+    public void flush() {
+        if (trades > 0) {
+            emitTick();
+        }
+    }
+
+    /**
+     * @return the number of emitted ticks
+     */
+    public long getEmittedTickCount() {
+        return emittedTickCount;
+    }
+
+    /**
+     * Emits the current tick and resets it.
+     */
+    private void emitTick() {
+        long endMillis = bucketType == BucketType.TIME ? beginMillis + periodMillis : Math.max(lastTradeMillis, lastEndMillis + 1);
+        lastEndMillis = endMillis;
+        ZonedDateTime endTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(endMillis), zoneId);
+        Tick tick = new BaseTick(Duration.ofMillis(endMillis - beginMillis), endTime,
+                Decimal.valueOf(openPrice, backend),
+                Decimal.valueOf(maxPrice, backend),
+                Decimal.valueOf(minPrice, backend),
+                Decimal.valueOf(closePrice, backend),
+                Decimal.valueOf(volume, backend),
+                Decimal.valueOf(amount, backend),
+                trades);
+        volume = 0;
+        amount = 0;
+        trades = 0;
+        emittedTickCount++;
+        tickConsumer.accept(tick);
+    }
+}
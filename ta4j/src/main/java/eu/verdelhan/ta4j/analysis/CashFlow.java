@@ -22,8 +22,8 @@
  */
 package eu.verdelhan.ta4j.analysis;
 
-import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
@@ -35,15 +35,33 @@ import java.util.List;
 /**
  * The cash flow.
  * <p>
- * This class allows to follow the money cash flow involved by a list of trades over a time series.
+ * This class allows to follow the money cash flow involved by a list of trades over a time series
+ * (i.e. the equity curve of the trades, starting at 1).
+ * <p>
+ * The values are stored in a primitive array, calculated on the first access. They can be read as primitive
+ * doubles (e.g. by the {@link eu.verdelhan.ta4j.analysis.criteria.SharpeRatioCriterion Sharpe ratio} or the
+ * {@link eu.verdelhan.ta4j.analysis.criteria.UlcerIndexCriterion ulcer index} criteria) or as decimals
+ * (e.g. for charting).
  */
 public class CashFlow implements Indicator<Decimal> {
 
     /** The time series */
     private final TimeSeries timeSeries;
 
-    /** The cash flow values */
-    private List<Decimal> values = new ArrayList<Decimal>(Arrays.asList(Decimal.ONE));
+    /** The trades */
+    private final List<Trade> trades;
+
+    /** The first index of the cash flow */
+    private final int beginIndex;
+
+    /** The last index of the cash flow */
+    private final int endIndex;
+
+    /** The numeric backend of the decimal values */
+    private final Decimal.Backend backend;
+
+    /** The cash flow values (from the begin index), null until calculated */
+    private double[] values;
 
     /**
      * Constructor.
@@ -51,9 +69,7 @@ public class CashFlow implements Indicator<Decimal> {
      * @param trade a single trade
      */
     public CashFlow(TimeSeries timeSeries, Trade trade) {
-        this.timeSeries = timeSeries;
-        calculate(trade);
-        fillToTheEnd();
+        this(timeSeries, Collections.singletonList(trade), 0, Math.max(timeSeries.getEndIndex(), 0));
     }
 
     /**
@@ -62,9 +78,41 @@ public class CashFlow implements Indicator<Decimal> {
      * @param tradingRecord the trading record
      */
     public CashFlow(TimeSeries timeSeries, TradingRecord tradingRecord) {
+        this(timeSeries, new ArrayList<>(tradingRecord.getTrades()), 0, Math.max(timeSeries.getEndIndex(), 0));
+    }
+
+    /**
+     * Constructor of the cash flow over an index range.
+     * <p>
+     * The cash flow starts at 1 on the begin index. Only the trades entered within the range are taken into
+     * account; a trade exited after the end index is valued until the end index.
+     * @param timeSeries the time series
+     * @param tradingRecord the trading record
+     * @param beginIndex the first index of the cash flow
+     * @param endIndex the last index of the cash flow
+     */
+    public CashFlow(TimeSeries timeSeries, TradingRecord tradingRecord, int beginIndex, int endIndex) {
+        this(timeSeries, new ArrayList<>(tradingRecord.getTrades()), beginIndex, endIndex);
+    }
+
+    /**
+     * Constructor.
+     * @param timeSeries the time series
+     * @param trades the closed trades
+     * @param beginIndex the first index of the cash flow
+     * @param endIndex the last index of the cash flow
+     */
+    private CashFlow(TimeSeries timeSeries, List<Trade> trades, int beginIndex, int endIndex) {
+        if (beginIndex < 0 || endIndex < beginIndex) {
+            throw new IllegalArgumentException("Invalid index range: [" + beginIndex + ", " + endIndex + "]");
+        }
         this.timeSeries = timeSeries;
-        calculate(tradingRecord);
-        fillToTheEnd();
+        this.trades = trades;
+        this.beginIndex = beginIndex;
+        this.endIndex = endIndex;
+        Decimal.Backend seriesBackend = timeSeries.isEmpty() ? null
+                : timeSeries.getTick(timeSeries.getEndIndex()).getClosePrice().getBackend();
+        this.backend = seriesBackend == null ? Decimal.Backend.BIG_DECIMAL : seriesBackend;
     }
 
     /**
@@ -73,7 +121,18 @@ public class CashFlow implements Indicator<Decimal> {
      */
     @Override
     public Decimal getValue(int index) {
-        return values.get(index);
+        return Decimal.valueOf(getDouble(index), backend);
+    }
+
+    /**
+     * @param index the tick index
+     * @return the cash flow value at the index-th position, as a primitive double
+     */
+    public double getDouble(int index) {
+        if (index < beginIndex || index > endIndex) {
+            throw new IndexOutOfBoundsException("Cash flow range: [" + beginIndex + ", " + endIndex + "], index = " + index);
+        }
+        return values()[index - beginIndex];
     }
 
     @Override
@@ -89,46 +148,62 @@ public class CashFlow implements Indicator<Decimal> {
     }
 
     /**
-     * Calculates the cash flow for a single trade.
-     * @param trade a single trade
+     * @return the first index of the cash flow
      */
-    private void calculate(Trade trade) {
-        final int entryIndex = trade.getEntry().getIndex();
-        int begin = entryIndex + 1;
-        if (begin > values.size()) {
-            Decimal lastValue = values.get(values.size() - 1);
-            values.addAll(Collections.nCopies(begin - values.size(), lastValue));
-        }
-        int end = trade.getExit().getIndex();
-        for (int i = Math.max(begin, 1); i <= end; i++) {
-            Decimal ratio;
-            if (trade.getEntry().isBuy()) {
-                ratio = timeSeries.getTick(i).getClosePrice().dividedBy(timeSeries.getTick(entryIndex).getClosePrice());
-            } else {
-                ratio = timeSeries.getTick(entryIndex).getClosePrice().dividedBy(timeSeries.getTick(i).getClosePrice());
-            }
-            values.add(values.get(entryIndex).multipliedBy(ratio));
-        }
+    public int getBeginIndex() {
+        return beginIndex;
     }
 
     /**
-     * Calculates the cash flow for a trading record.
-     * @param tradingRecord the trading record
+     * @return the last index of the cash flow
+     */
+    public int getEndIndex() {
+        return endIndex;
+    }
+
+    /**
+     * @return the cash flow values, calculated on the first call
      */
-    private void calculate(TradingRecord tradingRecord) {
-        for (Trade trade : tradingRecord.getTrades()) {
-            // For each trade...
-            calculate(trade);
+    private synchronized double[] values() {
+        if (values == null) {
+            values = calculate();
         }
+        return values;
     }
 
     /**
-     * Fills with last value till the end of the series.
+     * Calculates the cash flow values.
+     * @return the cash flow values (from the begin index)
      */
-    private void fillToTheEnd() {
-        if (timeSeries.getEndIndex() >= values.size()) {
-            Decimal lastValue = values.get(values.size() - 1);
-            values.addAll(Collections.nCopies(timeSeries.getEndIndex() - values.size() + 1, lastValue));
+    private double[] calculate() {
+        final double[] cashFlow = new double[endIndex - beginIndex + 1];
+        cashFlow[0] = 1;
+        // Next index to be calculated
+        int nextIndex = beginIndex + 1;
+        for (Trade trade : trades) {
+            final int entryIndex = trade.getEntry().getIndex();
+            if (entryIndex < beginIndex || entryIndex > endIndex) {
+                continue;
+            }
+            if (entryIndex >= nextIndex) {
+                // Flat cash flow until the entry
+                Arrays.fill(cashFlow, nextIndex - beginIndex, entryIndex - beginIndex + 1, cashFlow[nextIndex - beginIndex - 1]);
+                nextIndex = entryIndex + 1;
+            }
+            final double entryValue = cashFlow[entryIndex - beginIndex];
+            final double entryPrice = timeSeries.getTick(entryIndex).getClosePrice().toDouble();
+            final boolean buy = trade.getEntry().isBuy();
+            final int exitIndex = Math.min(trade.getExit().getIndex(), endIndex);
+            for (int i = entryIndex + 1; i <= exitIndex; i++) {
+                final double price = timeSeries.getTick(i).getClosePrice().toDouble();
+                cashFlow[i - beginIndex] = entryValue * (buy ? price / entryPrice : entryPrice / price);
+            }
+            nextIndex = Math.max(nextIndex, exitIndex + 1);
+        }
+        // Flat cash flow until the end
+        if (nextIndex <= endIndex) {
+            Arrays.fill(cashFlow, nextIndex - beginIndex, cashFlow.length, cashFlow[nextIndex - beginIndex - 1]);
         }
+        return cashFlow;
     }
-}
\ No newline at end of file
+}
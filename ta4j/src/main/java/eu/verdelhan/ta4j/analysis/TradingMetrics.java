@@ -0,0 +1,457 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Order;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.Trade;
+import eu.verdelhan.ta4j.TradingRecord;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The trading metrics.
+ * <p>
+ * Single-pass accumulator of the metrics of a {@link TradingRecord trading record} over a time series:
+ * trade statistics (count, profits, ticks in trades), equity (i.e. {@link CashFlow cash flow}), peak and
+ * maximum drawdown. All the metrics are calculated in double precision, without any per-index list, so that
+ * a whole battery of {@link eu.verdelhan.ta4j.AnalysisCriterion analysis criteria} costs a single pass
+ * (see {@link eu.verdelhan.ta4j.AnalysisCriterion#calculate(TradingMetrics)}).
+ * <p>
+ * Metrics are either:
+ * <ul>
+ * <li>calculated for a complete trading record ({@link #of(TimeSeries, TradingRecord)}): trade statistics
+ * are accumulated trade by trade, the equity curve being walked only when an equity metric is requested
+ * (only the ticks of the trades are visited, the equity being flat between them);
+ * <li>or accumulated along a live run: {@link #update(int)} is called after each tick (and after the
+ * orders placed on it by {@link TradingRecord#operate(int) operate}). The opened trade is then marked
+ * to market.
+ * </ul>
+ * The equity and the drawdown follow the {@link CashFlow cash flow} (and {@link
+ * eu.verdelhan.ta4j.analysis.criteria.MaximumDrawdownCriterion}) conventions: the equity starts at 1, only
+ * closed trades are taken into account (for a complete trading record), and values are based on the close
+ * prices of the ticks.
+ * <p>
+ * Trading metrics are not thread-safe.
+ */
+public class TradingMetrics {
+
+    /** The time series */
+    private final TimeSeries series;
+
+    /** The trading record */
+    private final TradingRecord tradingRecord;
+
+    /** True if the metrics are accumulated along a live run, false for a complete trading record */
+    private final boolean live;
+
+    /** Number of closed trades */
+    private int tradeCount;
+
+    /** Number of closed trades with a profit */
+    private int profitableTradeCount;
+
+    /** Total profit (product of the profits of the closed trades) */
+    private double totalProfit = 1;
+
+    /** Number of ticks in the closed trades */
+    private long tickCount;
+
+    /** Profits of the closed trades */
+    private double[] tradeProfits = new double[8];
+
+    /** True once the equity metrics are calculated */
+    private boolean equityCalculated;
+
+    /** Current equity */
+    private double equity = 1;
+
+    /** Highest equity */
+    private double peak;
+
+    /** Maximum drawdown */
+    private double maximumDrawdown;
+
+    /** Equity at the entry of the opened trade */
+    private double entryEquity;
+
+    /** Close price at the entry of the opened trade */
+    private double entryPrice;
+
+    /** Index of the entry of the opened trade (-1 if none) */
+    private int entryIndex = -1;
+
+    /** True if the opened trade is a buy-then-sell one */
+    private boolean entryIsBuy;
+
+    /** Number of processed trades of the record (live run) */
+    private int processedTradeCount;
+
+    /** Cash flow of the closed trades (complete trading record), null until requested */
+    private CashFlow cashFlow;
+
+    /**
+     * Constructor of the metrics accumulated along a live run.
+     * <p>
+     * {@link #update(int)} has to be called after each tick.
+     * @param series the time series
+     * @param tradingRecord the trading record of the run
+     */
+    public TradingMetrics(TimeSeries series, TradingRecord tradingRecord) {
+        this(series, tradingRecord, true);
+    }
+
+    /**
+     * Constructor.
+     * @param series the time series
+     * @param tradingRecord the trading record
+     * @param live true for metrics accumulated along a live run, false for a complete trading record
+     */
+    private TradingMetrics(TimeSeries series, TradingRecord tradingRecord, boolean live) {
+        if (series == null || tradingRecord == null) {
+            throw new IllegalArgumentException("Series and trading record cannot be null");
+        }
+        this.series = series;
+        this.tradingRecord = tradingRecord;
+        this.live = live;
+        this.equityCalculated = live;
+    }
+
+    /**
+     * @param series the time series
+     * @param tradingRecord a complete trading record
+     * @return the metrics of the closed trades of the record
+     */
+    public static TradingMetrics of(TimeSeries series, TradingRecord tradingRecord) {
+        TradingMetrics metrics = new TradingMetrics(series, tradingRecord, false);
+        for (Trade trade : tradingRecord.getTrades()) {
+            final Order entry = trade.getEntry();
+            final int exitIndex = trade.getExit().getIndex();
+            metrics.recordTrade(entry.getIndex(), exitIndex, metrics.tradeProfit(entry.getIndex(), entry.isBuy(), exitIndex));
+        }
+        return metrics;
+    }
+
+    /**
+     * Accumulates the orders placed since the previous update, then values the equity at a tick index.
+     * <p>
+     * To be called after each tick of a live run (after the orders placed on it, if any).
+     * @param index the index of the tick
+     * @throws IllegalStateException if the metrics are not accumulated along a live run
+     */
+    public void update(int index) {
+        if (!live) {
+            throw new IllegalStateException("Metrics of a complete trading record cannot be updated");
+        }
+        final List<Trade> trades = tradingRecord.getTrades();
+        while (processedTradeCount < trades.size()) {
+            Trade trade = trades.get(processedTradeCount++);
+            if (entryIndex < 0) {
+                enter(trade.getEntry());
+            }
+            exit(trade.getExit());
+        }
+        final Trade currentTrade = tradingRecord.getCurrentTrade();
+        if (currentTrade.isOpened() && entryIndex < 0) {
+            enter(currentTrade.getEntry());
+        }
+        if (entryIndex >= 0) {
+            // Marking the opened trade to market
+            equity = entryEquity * profit(entryIndex, entryPrice, entryIsBuy, index);
+        }
+        updateDrawdown(equity);
+    }
+
+    /**
+     * @return the time series
+     */
+    public TimeSeries getTimeSeries() {
+        return series;
+    }
+
+    /**
+     * @return the trading record
+     */
+    public TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+
+    /**
+     * @return the number of closed trades
+     */
+    public int getTradeCount() {
+        return tradeCount;
+    }
+
+    /**
+     * @return the number of closed trades with a profit
+     */
+    public int getProfitableTradeCount() {
+        return profitableTradeCount;
+    }
+
+    /**
+     * @return the total profit (product of the profits of the closed trades, 1 if none)
+     */
+    public double getTotalProfit() {
+        return totalProfit;
+    }
+
+    /**
+     * @param trade the index of a closed trade
+     * @return the profit of the trade (e.g. 1.05 for 5%)
+     */
+    public double getTradeProfit(int trade) {
+        if (trade < 0 || trade >= tradeCount) {
+            throw new IndexOutOfBoundsException("Trade count: " + tradeCount + ", trade = " + trade);
+        }
+        return tradeProfits[trade];
+    }
+
+    /**
+     * @return the number of ticks in the closed trades (entry and exit ticks included)
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * @return true if the last trade of the record is opened, false otherwise
+     */
+    public boolean isTradeOpened() {
+        return live ? entryIndex >= 0 : tradingRecord.getCurrentTrade().isOpened();
+    }
+
+    /**
+     * @return the equity (at the last updated index for a live run, at the end of the series otherwise)
+     */
+    public double getEquity() {
+        calculateEquity();
+        return equity;
+    }
+
+    /**
+     * @return the highest equity
+     */
+    public double getPeak() {
+        calculateEquity();
+        return peak;
+    }
+
+    /**
+     * @return the maximum drawdown of the equity (e.g. 0.2 for 20%)
+     */
+    public double getMaximumDrawdown() {
+        calculateEquity();
+        return maximumDrawdown;
+    }
+
+    /**
+     * Returns the cash flow (i.e. the equity curve) of the closed trades.
+     * <p>
+     * For a complete trading record, the cash flow is calculated once and shared by all the criteria
+     * requesting it. For a live run, a new cash flow of the trades closed so far is built on each call.
+     * @return the cash flow of the closed trades over the whole series
+     */
+    public CashFlow getCashFlow() {
+        if (live) {
+            return new CashFlow(series, tradingRecord);
+        }
+        if (cashFlow == null) {
+            cashFlow = new CashFlow(series, tradingRecord);
+        }
+        return cashFlow;
+    }
+
+    /**
+     * Calculates the costs of the trades with a linear transaction cost model.
+     * <p>
+     * The cost of an order is a * tradedAmount + b; the cost of the entry of the opened trade is included.
+     * @param initialAmount the initially traded amount
+     * @param a the a coefficient (e.g. 0.005 for 0.5% per order)
+     * @param b the b constant (e.g. 0.2 for $0.2 per order)
+     * @return the total costs of the trades
+     */
+    public double getLinearTransactionCosts(double initialAmount, double a, double b) {
+        double totalCosts = 0;
+        double tradedAmount = initialAmount;
+        for (int i = 0; i < tradeCount; i++) {
+            final double entryCost = a * tradedAmount + b;
+            final double tradeCost = entryCost + a * (tradedAmount - entryCost) * tradeProfits[i] + b;
+            totalCosts += tradeCost;
+            // The new traded amount: the cost of the trade is removed, then the profit is applied
+            tradedAmount = (tradedAmount - tradeCost) * tradeProfits[i];
+        }
+        if (isTradeOpened()) {
+            totalCosts += a * tradedAmount + b;
+        }
+        return totalCosts;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TradingMetrics{trades: %d, profitable: %d, total profit: %f, maximum drawdown: %f}",
+                tradeCount, profitableTradeCount, totalProfit, getMaximumDrawdown());
+    }
+
+    /**
+     * Enters a trade (live run).
+     * @param entry the entry order
+     */
+    private void enter(Order entry) {
+        entryIndex = entry.getIndex();
+        entryIsBuy = entry.isBuy();
+        entryPrice = closePrice(entryIndex);
+        entryEquity = equity;
+    }
+
+    /**
+     * Exits the opened trade (live run).
+     * @param exit the exit order
+     */
+    private void exit(Order exit) {
+        final double profit = tradeProfit(entryIndex, entryIsBuy, exit.getIndex());
+        recordTrade(entryIndex, exit.getIndex(), profit);
+        equity = entryEquity * profit;
+        entryIndex = -1;
+    }
+
+    /**
+     * Records a closed trade in the trade statistics.
+     * @param entryIndex the index of the entry
+     * @param exitIndex the index of the exit
+     * @param profit the profit of the trade
+     */
+    private void recordTrade(int entryIndex, int exitIndex, double profit) {
+        if (tradeCount == tradeProfits.length) {
+            tradeProfits = Arrays.copyOf(tradeProfits, tradeCount * 2);
+        }
+        tradeProfits[tradeCount++] = profit;
+        totalProfit *= profit;
+        if (profit > 1) {
+            profitableTradeCount++;
+        }
+        tickCount += exitIndex - entryIndex + 1;
+    }
+
+    /**
+     * Walks the equity curve of the closed trades of a complete trading record.
+     * <p>
+     * Only the ticks of the trades are visited: the equity is flat between them.
+     */
+    private void calculateEquity() {
+        if (equityCalculated) {
+            return;
+        }
+        equityCalculated = true;
+        if (series.isEmpty()) {
+            return;
+        }
+        final int beginIndex = series.getBeginIndex();
+        final int endIndex = series.getEndIndex();
+        // Last index of the equity curve already walked
+        int lastIndex = -1;
+        for (Trade trade : tradingRecord.getTrades()) {
+            final Order entry = trade.getEntry();
+            final int tradeEntryIndex = entry.getIndex();
+            final int tradeExitIndex = trade.getExit().getIndex();
+            // Flat equity until the entry
+            updateDrawdown(equity, lastIndex + 1, tradeEntryIndex, beginIndex, endIndex);
+            final double tradeEntryPrice = closePrice(tradeEntryIndex);
+            final double tradeEntryEquity = equity;
+            for (int i = Math.max(tradeEntryIndex + 1, 1); i <= tradeExitIndex; i++) {
+                equity = tradeEntryEquity * profit(tradeEntryIndex, tradeEntryPrice, entry.isBuy(), i);
+                updateDrawdown(equity, i, i, beginIndex, endIndex);
+            }
+            lastIndex = Math.max(lastIndex, tradeExitIndex);
+        }
+        // Flat equity until the end of the series
+        updateDrawdown(equity, lastIndex + 1, endIndex, beginIndex, endIndex);
+    }
+
+    /**
+     * Updates the peak and the maximum drawdown with a constant equity over a range of indexes.
+     * @param value the equity value over the range
+     * @param fromIndex the first index of the range
+     * @param toIndex the last index of the range
+     * @param beginIndex the begin index of the series
+     * @param endIndex the end index of the series
+     */
+    private void updateDrawdown(double value, int fromIndex, int toIndex, int beginIndex, int endIndex) {
+        if (Math.max(fromIndex, beginIndex) <= Math.min(toIndex, endIndex)) {
+            updateDrawdown(value);
+        }
+    }
+
+    /**
+     * Updates the peak and the maximum drawdown.
+     * @param value an equity value
+     */
+    private void updateDrawdown(double value) {
+        if (value > peak) {
+            peak = value;
+        }
+        final double drawdown = (peak - value) / peak;
+        if (drawdown > maximumDrawdown) {
+            maximumDrawdown = drawdown;
+        }
+    }
+
+    /**
+     * Calculates the profit of a closed trade (as the {@link
+     * eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion total profit criterion} does).
+     * @param entryIndex the index of the entry of the trade
+     * @param buy true for a buy-then-sell trade, false for a sell-then-buy one
+     * @param exitIndex the index of the exit of the trade
+     * @return the profit of the trade
+     */
+    private double tradeProfit(int entryIndex, boolean buy, int exitIndex) {
+        final Decimal entryClosePrice = series.getTick(entryIndex).getClosePrice();
+        final Decimal exitClosePrice = series.getTick(exitIndex).getClosePrice();
+        return (buy ? exitClosePrice.dividedBy(entryClosePrice) : entryClosePrice.dividedBy(exitClosePrice)).toDouble();
+    }
+
+    /**
+     * @param entryIndex the index of the entry of a trade
+     * @param entryPrice the close price at the entry
+     * @param buy true for a buy-then-sell trade, false for a sell-then-buy one
+     * @param index an index
+     * @return the profit of the trade at the index
+     */
+    private double profit(int entryIndex, double entryPrice, boolean buy, int index) {
+        if (index == entryIndex) {
+            return 1;
+        }
+        final double price = closePrice(index);
+        return buy ? price / entryPrice : entryPrice / price;
+    }
+
+    /**
+     * @param index a tick index
+     * @return the close price of the tick
+     */
+    private double closePrice(int index) {
+        return series.getTick(index).getClosePrice().toDouble();
+    }
+}
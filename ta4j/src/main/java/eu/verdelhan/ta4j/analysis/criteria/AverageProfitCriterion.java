@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.AnalysisCriterion;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
 
 /**
  * Average profit criterion.
@@ -47,6 +48,15 @@ public class AverageProfitCriterion extends AbstractAnalysisCriterion {
         return Math.pow(totalProfit.calculate(series, tradingRecord), 1d / ticks);
     }
 
+    @Override
+    public double calculate(TradingMetrics metrics) {
+        long ticks = metrics.getTickCount();
+        if (ticks == 0) {
+            return 1;
+        }
+        return Math.pow(metrics.getTotalProfit(), 1d / ticks);
+    }
+
     @Override
     public double calculate(TimeSeries series, Trade trade) {
         double ticks = numberOfTicks.calculate(series, trade);
@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
 
 /**
  * Average profitable trades criterion.
@@ -73,6 +74,11 @@ public class AverageProfitableTradesCriterion extends AbstractAnalysisCriterion
         return ((double) numberOfProfitable) / tradingRecord.getTradeCount();
     }
 
+    @Override
+    public double calculate(TradingMetrics metrics) {
+        return ((double) metrics.getProfitableTradeCount()) / metrics.getTradeCount();
+    }
+
     @Override
     public boolean betterThan(double criterionValue1, double criterionValue2) {
         return criterionValue1 > criterionValue2;
@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.Order;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
 
 /**
  * A linear transaction cost criterion.
@@ -94,6 +95,11 @@ public class LinearTransactionCostCriterion extends AbstractAnalysisCriterion {
         return totalCosts;
     }
 
+    @Override
+    public double calculate(TradingMetrics metrics) {
+        return metrics.getLinearTransactionCosts(initialAmount, a, b);
+    }
+
     @Override
     public boolean betterThan(double criterionValue1, double criterionValue2) {
         return criterionValue1 < criterionValue2;
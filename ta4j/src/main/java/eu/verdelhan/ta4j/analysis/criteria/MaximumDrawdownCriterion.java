@@ -22,64 +22,40 @@
  */
 package eu.verdelhan.ta4j.analysis.criteria;
 
-import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.BaseTradingRecord;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
-import eu.verdelhan.ta4j.analysis.CashFlow;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
 
 /**
  * Maximum drawdown criterion.
  * <p>
+ * The drawdown is measured on the {@link eu.verdelhan.ta4j.analysis.CashFlow cash flow} of the trades.
  * @see <a href="http://en.wikipedia.org/wiki/Drawdown_%28economics%29">http://en.wikipedia.org/wiki/Drawdown_%28economics%29</a>
  */
 public class MaximumDrawdownCriterion extends AbstractAnalysisCriterion {
 
     @Override
     public double calculate(TimeSeries series, TradingRecord tradingRecord) {
-        CashFlow cashFlow = new CashFlow(series, tradingRecord);
-        Decimal maximumDrawdown = calculateMaximumDrawdown(series, cashFlow);
-        return maximumDrawdown.toDouble();
+        return calculate(TradingMetrics.of(series, tradingRecord));
     }
 
     @Override
     public double calculate(TimeSeries series, Trade trade) {
         if (trade != null && trade.getEntry() != null && trade.getExit() != null) {
-            CashFlow cashFlow = new CashFlow(series, trade);
-            Decimal maximumDrawdown = calculateMaximumDrawdown(series, cashFlow);
-            return maximumDrawdown.toDouble();
+            return calculate(TradingMetrics.of(series, new BaseTradingRecord(trade.getEntry(), trade.getExit())));
         }
         return 0;
     }
 
     @Override
-    public boolean betterThan(double criterionValue1, double criterionValue2) {
-        return criterionValue1 < criterionValue2;
+    public double calculate(TradingMetrics metrics) {
+        return metrics.getMaximumDrawdown();
     }
 
-    /**
-     * Calculates the maximum drawdown from a cash flow over a series.
-     * @param series the time series
-     * @param cashFlow the cash flow
-     * @return the maximum drawdown from a cash flow over a series
-     */
-    private Decimal calculateMaximumDrawdown(TimeSeries series, CashFlow cashFlow) {
-        Decimal maximumDrawdown = Decimal.ZERO;
-        Decimal maxPeak = Decimal.ZERO;
-        if (!series.isEmpty()) {
-        	// The series is not empty
-	        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
-	            Decimal value = cashFlow.getValue(i);
-	            if (value.isGreaterThan(maxPeak)) {
-	                maxPeak = value;
-	            }
-	
-	            Decimal drawdown = maxPeak.minus(value).dividedBy(maxPeak);
-	            if (drawdown.isGreaterThan(maximumDrawdown)) {
-	                maximumDrawdown = drawdown;
-	            }
-	        }
-        }
-        return maximumDrawdown;
+    @Override
+    public boolean betterThan(double criterionValue1, double criterionValue2) {
+        return criterionValue1 < criterionValue2;
     }
 }
@@ -25,6 +25,7 @@ package eu.verdelhan.ta4j.analysis.criteria;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
 
 /**
  * Number of ticks criterion.
@@ -42,6 +43,11 @@ public class NumberOfTicksCriterion extends AbstractAnalysisCriterion {
         return nTicks;
     }
 
+    @Override
+    public double calculate(TradingMetrics metrics) {
+        return metrics.getTickCount();
+    }
+
     @Override
     public double calculate(TimeSeries series, Trade trade) {
         return (1 + trade.getExit().getIndex()) - trade.getEntry().getIndex();
@@ -25,6 +25,7 @@ package eu.verdelhan.ta4j.analysis.criteria;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
 
 /**
  * Number of trades criterion.
@@ -36,6 +37,11 @@ public class NumberOfTradesCriterion extends AbstractAnalysisCriterion {
         return tradingRecord.getTradeCount();
     }
 
+    @Override
+    public double calculate(TradingMetrics metrics) {
+        return metrics.getTradeCount();
+    }
+
     @Override
     public double calculate(TimeSeries series, Trade trade) {
         return 1d;
@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.AnalysisCriterion;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
 
 /**
  * Reward risk ratio criterion.
@@ -40,7 +41,12 @@ public class RewardRiskRatioCriterion extends AbstractAnalysisCriterion {
 
     @Override
     public double calculate(TimeSeries series, TradingRecord tradingRecord) {
-        return totalProfit.calculate(series, tradingRecord) / maxDrawdown.calculate(series, tradingRecord);
+        return calculate(TradingMetrics.of(series, tradingRecord));
+    }
+
+    @Override
+    public double calculate(TradingMetrics metrics) {
+        return totalProfit.calculate(metrics) / maxDrawdown.calculate(metrics);
     }
 
     @Override
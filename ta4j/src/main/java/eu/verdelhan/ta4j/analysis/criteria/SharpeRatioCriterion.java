@@ -0,0 +1,87 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis.criteria;
+
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.Trade;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.CashFlow;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
+
+/**
+ * Sharpe ratio criterion.
+ * <p>
+ * Mean of the per-tick returns of the {@link CashFlow cash flow} divided by their standard deviation
+ * (with a risk-free rate of 0, not annualized). Returns 0 if the returns do not vary.
+ * @see <a href="http://en.wikipedia.org/wiki/Sharpe_ratio">http://en.wikipedia.org/wiki/Sharpe_ratio</a>
+ */
+public class SharpeRatioCriterion extends AbstractAnalysisCriterion {
+
+    @Override
+    public double calculate(TimeSeries series, TradingRecord tradingRecord) {
+        return calculateSharpeRatio(series, new CashFlow(series, tradingRecord));
+    }
+
+    @Override
+    public double calculate(TimeSeries series, Trade trade) {
+        return calculateSharpeRatio(series, new CashFlow(series, trade));
+    }
+
+    @Override
+    public double calculate(TradingMetrics metrics) {
+        return calculateSharpeRatio(metrics.getTimeSeries(), metrics.getCashFlow());
+    }
+
+    @Override
+    public boolean betterThan(double criterionValue1, double criterionValue2) {
+        return criterionValue1 > criterionValue2;
+    }
+
+    /**
+     * Calculates the Sharpe ratio from a cash flow over a series.
+     * @param series the time series
+     * @param cashFlow the cash flow
+     * @return the Sharpe ratio of the per-tick returns
+     */
+    private static double calculateSharpeRatio(TimeSeries series, CashFlow cashFlow) {
+        if (series.getTickCount() < 2) {
+            return 0;
+        }
+        // Welford's online mean and variance
+        int count = 0;
+        double mean = 0;
+        double m2 = 0;
+        double previousValue = cashFlow.getDouble(series.getBeginIndex());
+        for (int i = series.getBeginIndex() + 1; i <= series.getEndIndex(); i++) {
+            final double value = cashFlow.getDouble(i);
+            final double tickReturn = value / previousValue - 1;
+            previousValue = value;
+            count++;
+            final double delta = tickReturn - mean;
+            mean += delta / count;
+            m2 += delta * (tickReturn - mean);
+        }
+        final double standardDeviation = Math.sqrt(m2 / count);
+        return standardDeviation == 0 ? 0 : mean / standardDeviation;
+    }
+}
@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
 
 /**
  * Total profit criterion.
@@ -43,6 +44,11 @@ public class TotalProfitCriterion extends AbstractAnalysisCriterion {
         return value;
     }
 
+    @Override
+    public double calculate(TradingMetrics metrics) {
+        return metrics.getTotalProfit();
+    }
+
     @Override
     public double calculate(TimeSeries series, Trade trade) {
         return calculateProfit(series, trade);
@@ -0,0 +1,79 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis.criteria;
+
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.Trade;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.CashFlow;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
+
+/**
+ * Ulcer index criterion.
+ * <p>
+ * Root mean square of the drawdowns (e.g. 0.2 for 20%) of the {@link CashFlow cash flow} over the series.
+ * @see <a href="http://en.wikipedia.org/wiki/Ulcer_index">http://en.wikipedia.org/wiki/Ulcer_index</a>
+ */
+public class UlcerIndexCriterion extends AbstractAnalysisCriterion {
+
+    @Override
+    public double calculate(TimeSeries series, TradingRecord tradingRecord) {
+        return calculateUlcerIndex(series, new CashFlow(series, tradingRecord));
+    }
+
+    @Override
+    public double calculate(TimeSeries series, Trade trade) {
+        return calculateUlcerIndex(series, new CashFlow(series, trade));
+    }
+
+    @Override
+    public double calculate(TradingMetrics metrics) {
+        return calculateUlcerIndex(metrics.getTimeSeries(), metrics.getCashFlow());
+    }
+
+    @Override
+    public boolean betterThan(double criterionValue1, double criterionValue2) {
+        return criterionValue1 < criterionValue2;
+    }
+
+    /**
+     * Calculates the ulcer index from a cash flow over a series.
+     * @param series the time series
+     * @param cashFlow the cash flow
+     * @return the ulcer index of the cash flow
+     */
+    private static double calculateUlcerIndex(TimeSeries series, CashFlow cashFlow) {
+        if (series.isEmpty()) {
+            return 0;
+        }
+        double peak = 0;
+        double sumOfSquaredDrawdowns = 0;
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            final double value = cashFlow.getDouble(i);
+            peak = Math.max(peak, value);
+            final double drawdown = (peak - value) / peak;
+            sumOfSquaredDrawdowns += drawdown * drawdown;
+        }
+        return Math.sqrt(sumOfSquaredDrawdowns / series.getTickCount());
+    }
+}
@@ -27,6 +27,7 @@ import eu.verdelhan.ta4j.BaseTradingRecord;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
 
 /**
  * Versus "buy and hold" criterion.
@@ -54,6 +55,16 @@ public class VersusBuyAndHoldCriterion extends AbstractAnalysisCriterion {
         return criterion.calculate(series, tradingRecord) / criterion.calculate(series, fakeRecord);
     }
 
+    @Override
+    public double calculate(TradingMetrics metrics) {
+        TimeSeries series = metrics.getTimeSeries();
+        TradingRecord fakeRecord = new BaseTradingRecord();
+        fakeRecord.enter(series.getBeginIndex());
+        fakeRecord.exit(series.getEndIndex());
+
+        return criterion.calculate(metrics) / criterion.calculate(series, fakeRecord);
+    }
+
     @Override
     public double calculate(TimeSeries series, Trade trade) {
         TradingRecord fakeRecord = new BaseTradingRecord();
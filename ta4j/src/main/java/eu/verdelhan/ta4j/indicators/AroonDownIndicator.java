@@ -53,15 +53,12 @@ public class AroonDownIndicator extends CachedIndicator<Decimal> {
         int realTimeFrame = Math.min(timeFrame, index + 1);
 
         // Getting the number of ticks since the lowest close price
-        int endIndex = index - realTimeFrame;
-        int nbTicks = 0;
-        for (int i = index; i > endIndex; i--) {
-            if (closePriceIndicator.getValue(i).isEqual(lowestClosePriceIndicator.getValue(index))) {
-                break;
-            }
-            nbTicks++;
+        int lowestIndex = lowestClosePriceIndicator.getLowestIndex(index);
+        if (lowestIndex < 0) {
+            return Decimal.NaN;
         }
-        
+        int nbTicks = index - lowestIndex;
+
         return Decimal.valueOf(realTimeFrame - nbTicks).dividedBy(Decimal.valueOf(realTimeFrame)).multipliedBy(Decimal.HUNDRED);
     }
 }
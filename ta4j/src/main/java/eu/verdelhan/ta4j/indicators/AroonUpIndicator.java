@@ -53,14 +53,11 @@ public class AroonUpIndicator extends CachedIndicator<Decimal> {
         int realTimeFrame = Math.min(timeFrame, index + 1);
 
         // Getting the number of ticks since the highest close price
-        int endIndex = index - realTimeFrame;
-        int nbTicks = 0;
-        for (int i = index; i > endIndex; i--) {
-            if (closePriceIndicator.getValue(i).isEqual(highestClosePriceIndicator.getValue(index))) {
-                break;
-            }
-            nbTicks++;
+        int highestIndex = highestClosePriceIndicator.getHighestIndex(index);
+        if (highestIndex < 0) {
+            return Decimal.NaN;
         }
+        int nbTicks = index - highestIndex;
 
         return Decimal.valueOf(realTimeFrame - nbTicks).dividedBy(Decimal.valueOf(realTimeFrame)).multipliedBy(Decimal.HUNDRED);
     }
@@ -23,26 +23,50 @@
 package eu.verdelhan.ta4j.indicators;
 
 import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.Tick;
 import eu.verdelhan.ta4j.TimeSeries;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.function.Supplier;
 
 /**
  * Cached {@link Indicator indicator}.
  * <p>
  * Caches the constructor of the indicator. Avoid to calculate the same index of the indicator twice.
+ * <p>
+ * The cache is thread-safe: an indicator (and the indicators it depends on) may be shared
+ * by several threads, e.g. by strategies backtested in parallel over the same series.
+ * Each cached indicator guards its results with its own lock, held while a missing value is calculated.
+ * Since the locks are always taken from an indicator to the indicators it depends on,
+ * an indicator graph cannot deadlock and each value is calculated only once.
+ * The results already calculated are read without taking the lock (each of them is stored along with
+ * its index), so readers only wait for the values being calculated.
+ * <p>
+ * When the last tick of the series is replaced (see {@link TimeSeries#replaceLastTick(Tick)}),
+ * the last cached result is invalidated on the next access. Since only the last tick can be replaced,
+ * the other results are kept: each indicator of a graph recalculates a single value.
  */
 public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
 
-    /** List of cached results */
-    private final List<T> results = new ArrayList<T>();
+    /** Cached results (circular buffer: O(1) append and eviction on moving time series) */
+    private final ResultRingBuffer<CachedResult<T>> results = new ResultRingBuffer<>();
+
+    /** Lock guarding the cached results (and the calculation state of the indicator), re-created on deserialization */
+    private transient Object lock = new Object();
 
     /**
      * Should always be the index of the last result in the results list.
      * I.E. the last calculated result.
+     * Guarded by the lock of the indicator.
      */
     protected int highestResultIndex = -1;
+
+    /**
+     * Replaced tick count of the series when the results were last checked.
+     * Guarded by the lock of the indicator.
+     */
+    private long replacedTicksCount = 0;
     
     /**
      * Constructor.
@@ -71,7 +95,61 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
         }
 
         // Series is not null
-        
+        final T publishedValue = getPublishedValue(index);
+        if (publishedValue != null) {
+            return publishedValue;
+        }
+        synchronized (lock) {
+            return getCachedValue(series, index);
+        }
+    }
+
+    /**
+     * Runs an action while holding the lock of the cache.
+     * <p>
+     * Sub-classes have to use it when they read or update the cache state outside of
+     * {@link #getValue(int)} (e.g. {@link #highestResultIndex}).
+     * @param action the action to be run
+     * @return the result of the action
+     */
+    protected <R> R withLock(Supplier<R> action) {
+        synchronized (lock) {
+            return action.get();
+        }
+    }
+
+    /**
+     * Reads a calculated value without taking the lock of the cache.
+     * @param index the tick index
+     * @return the cached value of the indicator, or null if it has to be calculated (or checked) under the lock
+     */
+    protected T getPublishedValue(int index) {
+        final TimeSeries series = getTimeSeries();
+        if (series == null || index < series.getRemovedTicksCount()) {
+            return null;
+        }
+        final CachedResult<T> cached = results.peek(results.size() - 1 - (highestResultIndex - index));
+        if (cached == null || cached.index != index || cached.replacedTicksCount != series.getReplacedTicksCount()) {
+            return null;
+        }
+        return cached.value;
+    }
+
+    /**
+     * @param series the related time series
+     * @param index the tick index
+     * @return the cached value of the indicator, calculated if needed
+     */
+    private T getCachedValue(TimeSeries series, int index) {
+        final long seriesReplacedTicksCount = series.getReplacedTicksCount();
+        if (seriesReplacedTicksCount != replacedTicksCount) {
+            // The last tick has been replaced since the last access.
+            // The ticks added since then are not cached yet: only the highest result may be stale.
+            if (highestResultIndex > -1) {
+                results.set(results.size() - 1, null);
+            }
+            replacedTicksCount = seriesReplacedTicksCount;
+        }
         final int removedTicksCount = series.getRemovedTicksCount();
         final int maximumResultCount = series.getMaximumTickCount();
         
@@ -82,29 +160,32 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
                     getClass().getSimpleName(), index, removedTicksCount);
             increaseLengthTo(removedTicksCount, maximumResultCount);
             highestResultIndex = removedTicksCount;
-            result = results.get(0);
-            if (result == null) {
+            CachedResult<T> cached = results.get(0);
+            if (cached == null) {
                 // It should be "result = calculate(removedTicksCount);".
                 // We use "result = calculate(0);" as a workaround
                 // to fix issue #120 (https://github.com/mdeverdelhan/ta4j/issues/120).
-                result = calculate(0);
-                results.set(0, result);
+                // (Not published: the result does not match its index.)
+                cached = new CachedResult<>(-1, replacedTicksCount, calculate(0));
+                results.set(0, cached);
             }
+            result = cached.value;
         } else {
             increaseLengthTo(index, maximumResultCount);
             if (index > highestResultIndex) {
                 // Result not calculated yet
                 highestResultIndex = index;
                 result = calculate(index);
-                results.set(results.size()-1, result);
+                results.set(results.size() - 1, new CachedResult<>(index, replacedTicksCount, result));
             } else {
                 // Result covered by current cache
                 int resultInnerIndex = results.size() - 1 - (highestResultIndex - index);
-                result = results.get(resultInnerIndex);
-                if (result == null) {
-                    result = calculate(index);
+                CachedResult<T> cached = results.get(resultInnerIndex);
+                result = cached == null ? calculate(index) : cached.value;
+                if (cached == null || cached.replacedTicksCount != replacedTicksCount) {
+                    // Calculated, or still valid after the last tick has been replaced: (re)published
+                    results.set(resultInnerIndex, new CachedResult<>(index, replacedTicksCount, result));
                 }
-                results.set(resultInnerIndex, result);
             }
         }
         return result;
@@ -116,6 +197,11 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
      */
     protected abstract T calculate(int index);
 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        lock = new Object();
+    }
+
     /**
      * Increases the size of cached results buffer.
      * @param index the index to increase length to
@@ -124,33 +210,39 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
     private void increaseLengthTo(int index, int maxLength) {
         if (highestResultIndex > -1) {
             int newResultsCount = Math.min(index-highestResultIndex, maxLength);
-            if (newResultsCount == maxLength) {
-                results.clear();
-                results.addAll(Collections.<T> nCopies(maxLength, null));
-            } else if (newResultsCount > 0) {
-                results.addAll(Collections.<T> nCopies(newResultsCount, null));
-                removeExceedingResults(maxLength);
+            if (newResultsCount > 0) {
+                // Exceeding results (i.e. older than the maximum tick count) are evicted
+                results.appendEmpty(newResultsCount, maxLength);
             }
         } else {
             // First use of cache
             assert results.isEmpty() : "Cache results list should be empty";
-            results.addAll(Collections.<T> nCopies(Math.min(index+1, maxLength), null));
+            results.appendEmpty(Math.min(index+1, maxLength), maxLength);
         }
     }
 
     /**
-     * Removes the N first results which exceed the maximum tick count.
-     * (i.e. keeps only the last maximumResultCount results)
-     * @param maximumResultCount the number of results to keep
+     * An immutable cached result.
+     * <p>
+     * Its final fields make it safely readable by the threads not holding the lock of the cache.
      */
-    private void removeExceedingResults(int maximumResultCount) {
-        int resultCount = results.size();
-        if (resultCount > maximumResultCount) {
-            // Removing old results
-            final int nbResultsToRemove = resultCount - maximumResultCount;
-            for (int i = 0; i < nbResultsToRemove; i++) {
-                results.remove(0);
-            }
+    private static final class CachedResult<T> implements Serializable {
+
+        private static final long serialVersionUID = 5816377480343405781L;
+
+        /** The tick index of the result (-1 if it must not be read without the lock) */
+        final int index;
+
+        /** Replaced tick count of the series when the result was stored */
+        final long replacedTicksCount;
+
+        /** The value of the indicator */
+        final T value;
+
+        CachedResult(int index, long replacedTicksCount, T value) {
+            this.index = index;
+            this.replacedTicksCount = replacedTicksCount;
+            this.value = value;
         }
     }
 }
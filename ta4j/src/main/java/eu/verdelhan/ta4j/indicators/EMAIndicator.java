@@ -38,6 +38,9 @@ public class EMAIndicator extends RecursiveCachedIndicator<Decimal> {
 
     private final Decimal multiplier;
 
+    /** Starting point of the EMA */
+    private final SMAIndicator sma;
+
     /**
      * Constructor.
      * @param indicator an indicator
@@ -48,13 +51,14 @@ public class EMAIndicator extends RecursiveCachedIndicator<Decimal> {
         this.indicator = indicator;
         this.timeFrame = timeFrame;
         multiplier = Decimal.TWO.dividedBy(Decimal.valueOf(timeFrame + 1));
+        sma = new SMAIndicator(indicator, timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
         if (index + 1 < timeFrame) {
             // Starting point of the EMA
-            return new SMAIndicator(indicator, timeFrame).getValue(index);
+            return sma.getValue(index);
         }
         if (index == 0) {
             // If the timeframe is bigger than the indicator's value count
@@ -63,4 +67,59 @@ public class EMAIndicator extends RecursiveCachedIndicator<Decimal> {
         Decimal emaPrev = getValue(index - 1);
         return indicator.getValue(index).minus(emaPrev).multipliedBy(multiplier).plus(emaPrev);
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The EMA depends on all the previous values: the calculation is seeded from the cached
+     * value at index from - 1 when it is available, otherwise it is run again from index 0.
+     */
+    @Override
+    public void getValues(int from, int to, double[] values) {
+        IndicatorValues.checkRange(from, to, values.length);
+        final double k = multiplier.toDouble();
+        final double seed = getSeed(from);
+        if (!Double.isNaN(seed) && IndicatorValues.isAvailable(getTimeSeries(), from)) {
+            final double[] terms = indicator.getValues(from, to);
+            double ema = seed;
+            for (int i = from; i <= to; i++) {
+                ema = (terms[i - from] - ema) * k + ema;
+                values[i - from] = ema;
+            }
+            return;
+        }
+        if (!IndicatorValues.isAvailable(getTimeSeries(), 0)) {
+            IndicatorValues.fill(this, from, to, values);
+            return;
+        }
+        final double[] terms = indicator.getValues(0, to);
+        double sum = 0;
+        double ema = Double.NaN;
+        for (int i = 0; i <= to; i++) {
+            if (i + 1 < timeFrame) {
+                // Starting point of the EMA
+                sum += terms[i];
+                ema = sum / (i + 1);
+            } else if (i == 0) {
+                ema = terms[0];
+            } else {
+                ema = (terms[i] - ema) * k + ema;
+            }
+            if (i >= from) {
+                values[i - from] = ema;
+            }
+        }
+    }
+
+    /**
+     * @param from the first tick index of a bulk calculation
+     * @return the cached value at index from - 1 if the EMA at index from derives from it, NaN otherwise
+     */
+    private double getSeed(int from) {
+        if (from == 0 || from + 1 < timeFrame) {
+            return Double.NaN;
+        }
+        final Decimal cached = getPublishedValue(from - 1);
+        return cached == null ? Double.NaN : cached.toDouble();
+    }
+}
@@ -0,0 +1,353 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of the indicators built over a {@link TimeSeries time series}.
+ * <p>
+ * Returns the canonical instance of an indicator for a given (type, arguments) key,
+ * so that the strategies built from the same registry share their common sub-indicators
+ * (and their cached values) instead of calculating them again:
+ * <pre>
+ * IndicatorRegistry registry = new IndicatorRegistry(series);
+ * ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class);
+ * SMAIndicator longSma = registry.get(SMAIndicator.class, closePrice, 200);
+ * CCIIndicator cci = registry.get(CCIIndicator.class, 20);
+ * </pre>
+ * The indicator is built by the public constructor of its type matching the arguments;
+ * the time series is prepended to the arguments only if no constructor matches them (e.g. for the CCI above).
+ * When several constructors match, the most specific one is used (e.g. a {@code ClosePriceIndicator}
+ * parameter rather than an {@code Indicator<Decimal>} one); if none is more specific than the others,
+ * the request is rejected.
+ * Indicator arguments are compared by identity (hence they should also come from the registry),
+ * other arguments (time frames, {@link eu.verdelhan.ta4j.Decimal decimals}, etc.) by equality.
+ * <p>
+ * Only the indicators requested to the registry are shared. The sub-indicators that a composite indicator
+ * builds privately in its constructor (e.g. the short and long EMAs of a {@link MACDIndicator}, the SMA and
+ * the mean deviation of a {@link CCIIndicator}, or the max/min/close prices of a
+ * {@link StochasticOscillatorKIndicator}) are not: two composites share them only if they are themselves
+ * the same canonical instance. To share such a sub-indicator between different composites, build the
+ * composite from registry indicators (e.g. a MACD as the difference of two registry EMAs).
+ * <p>
+ * The registry is thread-safe: strategies may be built concurrently.
+ */
+public class IndicatorRegistry {
+
+    /** The related time series */
+    private final TimeSeries series;
+
+    /** The canonical indicators, by (type, arguments) key */
+    private final Map<List<Object>, Indicator<?>> indicators = new ConcurrentHashMap<>();
+
+    /** Number of requested indicators */
+    private final LongAdder requestCount = new LongAdder();
+
+    /** Number of built indicators */
+    private final LongAdder missCount = new LongAdder();
+
+    /** Number of requests served by an already built cached indicator */
+    private final LongAdder cachedHitCount = new LongAdder();
+
+    /**
+     * Constructor.
+     * @param series the related time series
+     */
+    public IndicatorRegistry(TimeSeries series) {
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null");
+        }
+        this.series = series;
+    }
+
+    /**
+     * @return the related time series
+     */
+    public TimeSeries getTimeSeries() {
+        return series;
+    }
+
+    /**
+     * Returns the canonical indicator of the provided type and arguments, building it on first request.
+     * @param type the type of the indicator
+     * @param arguments the constructor arguments of the indicator (without the leading time series)
+     * @return the canonical indicator
+     * @throws IllegalArgumentException if no public constructor of the type matches the arguments,
+     *                                  or if an argument is related to another time series
+     */
+    public <I extends Indicator<?>> I get(Class<I> type, Object... arguments) {
+        if (arguments.length > 0 && arguments[0] == series) {
+            // The time series is implicit
+            arguments = Arrays.copyOfRange(arguments, 1, arguments.length);
+        }
+        List<Object> key = new ArrayList<>(arguments.length + 1);
+        key.add(type);
+        for (Object argument : arguments) {
+            if (argument instanceof Indicator) {
+                TimeSeries argumentSeries = ((Indicator<?>) argument).getTimeSeries();
+                if (argumentSeries != null && argumentSeries != series) {
+                    throw new IllegalArgumentException("Indicator " + argument + " is related to another time series");
+                }
+                // Indicators are compared by identity
+                key.add(new IdentityKey(argument));
+            } else if (argument instanceof TimeSeries) {
+                throw new IllegalArgumentException("Indicators of another time series cannot be registered");
+            } else {
+                key.add(argument);
+            }
+        }
+        key = Collections.unmodifiableList(key);
+
+        final Object[] indicatorArguments = arguments;
+        requestCount.increment();
+        Indicator<?> indicator = indicators.get(key);
+        if (indicator == null) {
+            final boolean[] built = new boolean[1];
+            indicator = indicators.computeIfAbsent(key, k -> {
+                built[0] = true;
+                return newIndicator(type, indicatorArguments);
+            });
+            if (built[0]) {
+                missCount.increment();
+                return type.cast(indicator);
+            }
+        }
+        if (indicator instanceof CachedIndicator) {
+            cachedHitCount.increment();
+        }
+        return type.cast(indicator);
+    }
+
+    /**
+     * @return the number of distinct indicators in the registry
+     */
+    public int size() {
+        return indicators.size();
+    }
+
+    /**
+     * @return the number of indicators requested to the registry
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return the number of requests served by an already built indicator
+     */
+    public long getHitCount() {
+        return getRequestCount() - missCount.sum();
+    }
+
+    /**
+     * @return the ratio of requests served by an already built indicator (0 if nothing was requested)
+     */
+    public double getHitRate() {
+        long requests = getRequestCount();
+        return requests == 0 ? 0 : (double) getHitCount() / requests;
+    }
+
+    /**
+     * Estimates the memory saved by the registry, as the number of results that
+     * the duplicated cached indicators would have stored.
+     * @return the number of indicator results not cached twice (for the current tick count of the series)
+     */
+    public long getSavedResultCount() {
+        long resultsPerIndicator = Math.min(series.getTickCount(), series.getMaximumTickCount());
+        return cachedHitCount.sum() * resultsPerIndicator;
+    }
+
+    /**
+     * Removes all the indicators from the registry and resets its metrics.
+     */
+    public void clear() {
+        indicators.clear();
+        requestCount.reset();
+        missCount.reset();
+        cachedHitCount.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{indicators: %d, requests: %d, hit rate: %.2f%%, saved results: %d}",
+                getClass().getSimpleName(), size(), getRequestCount(), getHitRate() * 100, getSavedResultCount());
+    }
+
+    /**
+     * Builds an indicator.
+     * @param type the type of the indicator
+     * @param arguments the constructor arguments of the indicator (without the leading time series)
+     * @return the new indicator
+     */
+    private Indicator<?> newIndicator(Class<? extends Indicator<?>> type, Object[] arguments) {
+        Object[] seriesArguments = new Object[arguments.length + 1];
+        seriesArguments[0] = series;
+        System.arraycopy(arguments, 0, seriesArguments, 1, arguments.length);
+
+        for (Object[] candidateArguments : Arrays.asList(arguments, seriesArguments)) {
+            List<Constructor<?>> candidates = new ArrayList<>();
+            for (Constructor<?> constructor : type.getConstructors()) {
+                if (matches(constructor.getParameterTypes(), candidateArguments)) {
+                    candidates.add(constructor);
+                }
+            }
+            if (candidates.isEmpty()) {
+                continue;
+            }
+            Constructor<?> constructor = mostSpecific(candidates);
+            if (constructor == null) {
+                throw new IllegalArgumentException("Ambiguous constructors of " + type.getSimpleName()
+                        + " for the arguments " + Arrays.toString(arguments) + ": " + candidates);
+            }
+            try {
+                return (Indicator<?>) constructor.newInstance(candidateArguments);
+            } catch (InvocationTargetException ite) {
+                Throwable cause = ite.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException("Unable to build " + type.getSimpleName(), cause);
+            } catch (ReflectiveOperationException roe) {
+                throw new IllegalStateException("Unable to build " + type.getSimpleName(), roe);
+            }
+        }
+        throw new IllegalArgumentException("No public constructor of " + type.getSimpleName()
+                + " matches the arguments " + Arrays.toString(arguments));
+    }
+
+    /**
+     * @param candidates the constructors matching the arguments (with the same parameter count)
+     * @return the constructor more specific than all the other ones, null if there is none
+     */
+    private static Constructor<?> mostSpecific(List<Constructor<?>> candidates) {
+        Constructor<?> mostSpecific = null;
+        for (Constructor<?> candidate : candidates) {
+            boolean moreSpecific = true;
+            for (Constructor<?> other : candidates) {
+                if (other != candidate && !isMoreSpecific(candidate.getParameterTypes(), other.getParameterTypes())) {
+                    moreSpecific = false;
+                    break;
+                }
+            }
+            if (moreSpecific) {
+                if (mostSpecific != null) {
+                    // Equivalent parameter types (e.g. int and Integer)
+                    return null;
+                }
+                mostSpecific = candidate;
+            }
+        }
+        return mostSpecific;
+    }
+
+    /**
+     * @param parameterTypes the parameter types of a constructor
+     * @param otherParameterTypes the parameter types of another constructor (with the same parameter count)
+     * @return true if each parameter type is a subtype of the other one (i.e. the first constructor is more specific)
+     */
+    private static boolean isMoreSpecific(Class<?>[] parameterTypes, Class<?>[] otherParameterTypes) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!wrap(otherParameterTypes[i]).isAssignableFrom(wrap(parameterTypes[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param parameterTypes the parameter types of a constructor
+     * @param arguments the arguments
+     * @return true if the arguments can be passed to the constructor, false otherwise
+     */
+    private static boolean matches(Class<?>[] parameterTypes, Object[] arguments) {
+        if (parameterTypes.length != arguments.length) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> parameterType = wrap(parameterTypes[i]);
+            if (arguments[i] == null ? parameterTypes[i].isPrimitive() : !parameterType.isInstance(arguments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param type a type
+     * @return the wrapper type if the type is primitive, the type itself otherwise
+     */
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        }
+        return Character.class;
+    }
+
+    /**
+     * Identity-based key of an indicator argument.
+     */
+    private static final class IdentityKey {
+
+        private final Object argument;
+
+        IdentityKey(Object argument) {
+            this.argument = argument;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IdentityKey && ((IdentityKey) obj).argument == argument;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(argument);
+        }
+    }
+}
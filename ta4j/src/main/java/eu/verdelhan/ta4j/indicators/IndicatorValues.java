@@ -0,0 +1,119 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.TimeSeries;
+
+/**
+ * Bulk evaluation of {@link Indicator indicators} into primitive arrays.
+ * <p>
+ * Per-index fallbacks and helpers of {@link Indicator#getValues(int, int, double[])}.
+ */
+public final class IndicatorValues {
+
+    private IndicatorValues() {
+    }
+
+    /**
+     * Fills an array with the (numeric) values of an indicator, calling {@link Indicator#getValue(int)} for each index.
+     * @param indicator the indicator
+     * @param from the first tick index (inclusive)
+     * @param to the last tick index (inclusive)
+     * @param values the array to be filled (values[0] being the value at index from)
+     */
+    public static void fill(Indicator<?> indicator, int from, int to, double[] values) {
+        checkRange(from, to, values.length);
+        for (int i = from; i <= to; i++) {
+            values[i - from] = toDouble(indicator.getValue(i));
+        }
+    }
+
+    /**
+     * Fills an array with the (boolean) values of an indicator, calling {@link Indicator#getValue(int)} for each index.
+     * @param indicator the indicator
+     * @param from the first tick index (inclusive)
+     * @param to the last tick index (inclusive)
+     * @param values the array to be filled (values[0] being the value at index from)
+     */
+    public static void fill(Indicator<?> indicator, int from, int to, boolean[] values) {
+        checkRange(from, to, values.length);
+        for (int i = from; i <= to; i++) {
+            Object value = indicator.getValue(i);
+            if (!(value instanceof Boolean)) {
+                throw new IllegalArgumentException("Not a boolean value: " + value);
+            }
+            values[i - from] = (Boolean) value;
+        }
+    }
+
+    /**
+     * @param from the first tick index (inclusive)
+     * @param to the last tick index (inclusive)
+     * @return the number of indexes in the range
+     * @throws IllegalArgumentException if the range is empty
+     */
+    public static int rangeLength(int from, int to) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Invalid index range: [" + from + ", " + to + "]");
+        }
+        return to - from + 1;
+    }
+
+    /**
+     * @param from the first tick index (inclusive)
+     * @param to the last tick index (inclusive)
+     * @param length the length of the array to be filled
+     * @throws IllegalArgumentException if the range is empty or larger than the array
+     */
+    public static void checkRange(int from, int to, int length) {
+        if (rangeLength(from, to) > length) {
+            throw new IllegalArgumentException("Array too small for index range: [" + from + ", " + to + "]");
+        }
+    }
+
+    /**
+     * @param series a time series (may be null)
+     * @param from the first tick index needed by a tight-loop calculation
+     * @return true if the values of the series are all available from the provided index, false otherwise
+     */
+    public static boolean isAvailable(TimeSeries series, int from) {
+        // Removed ticks are approximated by the per-index calculation
+        return series == null || from >= series.getRemovedTicksCount();
+    }
+
+    /**
+     * @param value an indicator value
+     * @return the value as a double
+     * @throws IllegalArgumentException if the value is not numeric
+     */
+    public static double toDouble(Object value) {
+        if (value instanceof Decimal) {
+            return ((Decimal) value).toDouble();
+        } else if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        throw new IllegalArgumentException("Not a numeric value: " + value);
+    }
+}
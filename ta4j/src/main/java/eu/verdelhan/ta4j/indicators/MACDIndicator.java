@@ -49,4 +49,14 @@ public class MACDIndicator extends CachedIndicator<Decimal> {
     protected Decimal calculate(int index) {
         return shortTermEma.getValue(index).minus(longTermEma.getValue(index));
     }
-}
\ No newline at end of file
+
+    @Override
+    public void getValues(int from, int to, double[] values) {
+        IndicatorValues.checkRange(from, to, values.length);
+        final double[] longTermValues = longTermEma.getValues(from, to);
+        shortTermEma.getValues(from, to, values);
+        for (int i = 0; i <= to - from; i++) {
+            values[i] -= longTermValues[i];
+        }
+    }
+}
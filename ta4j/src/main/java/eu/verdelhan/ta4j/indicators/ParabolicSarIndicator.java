@@ -30,10 +30,13 @@ import eu.verdelhan.ta4j.indicators.helpers.HighestValueIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.LowestValueIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.MaxPriceIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.MinPriceIndicator;
+import java.io.Serializable;
 
 /**
  * Parabolic SAR indicator.
  * <p>
+ * The extreme point and the acceleration factor of a tick are derived from the ones of the previous tick
+ * (they are cached along with the SAR), so the values do not depend on the order in which they are requested.
  */
 public class ParabolicSarIndicator extends RecursiveCachedIndicator<Decimal> {
 
@@ -42,33 +45,46 @@ public class ParabolicSarIndicator extends RecursiveCachedIndicator<Decimal> {
     private static final Decimal MAX_ACCELERATION = Decimal.valueOf("0.2");
     private static final Decimal ACCELERATION_INCREMENT = Decimal.valueOf("0.02");
 
-    private Decimal acceleration = DEFAULT_ACCELERATION;
-
     private final TimeSeries series;
 
-    private Decimal extremePoint;
-
     private final LowestValueIndicator lowestValueIndicator;
 
     private final HighestValueIndicator highestValueIndicator;
+
+    /** The SAR calculation state (SAR, extreme point and acceleration factor) of each tick */
+    private final SarStateIndicator states;
     
     public ParabolicSarIndicator(TimeSeries series, int timeFrame) {
         super(series);
         this.series = series;
         this.lowestValueIndicator = new LowestValueIndicator(new MinPriceIndicator(series), timeFrame);
         this.highestValueIndicator = new HighestValueIndicator(new MaxPriceIndicator(series), timeFrame);
+        this.states = new SarStateIndicator(series);
     }
 
     @Override
     protected Decimal calculate(int index) {
+        return states.getValue(index).sar;
+    }
+
+    /**
+     * Calculates the SAR state of a tick.
+     * @param index the tick index
+     * @return the SAR state
+     */
+    private SarState calculateState(int index) {
 
         if (index <= 1) {
             // Warning: should the min or the max price, according to the trend
             // But we don't know the trend yet, so we use the close price.
-            extremePoint = series.getTick(index).getClosePrice();
-            return extremePoint;
+            Decimal closePrice = series.getTick(index).getClosePrice();
+            return new SarState(closePrice, closePrice, DEFAULT_ACCELERATION);
         }
 
+        SarState previous = states.getValue(index - 1);
+        Decimal extremePoint = previous.extremePoint;
+        Decimal acceleration = previous.acceleration;
+
         Decimal n2ClosePrice = series.getTick(index - 2).getClosePrice();
         Decimal n1ClosePrice = series.getTick(index - 1).getClosePrice();
         Decimal nClosePrice = series.getTick(index).getClosePrice();
@@ -76,12 +92,12 @@ public class ParabolicSarIndicator extends RecursiveCachedIndicator<Decimal> {
         Decimal sar;
         if (n2ClosePrice.isGreaterThan(n1ClosePrice) && n1ClosePrice.isLessThan(nClosePrice)) {
             // Trend switch: \_/
-            sar = extremePoint == null ? lowestValueIndicator.getValue(index) : extremePoint;
+            sar = extremePoint;
             extremePoint = highestValueIndicator.getValue(index);
             acceleration = DEFAULT_ACCELERATION;
         } else if (n2ClosePrice.isLessThan(n1ClosePrice) && n1ClosePrice.isGreaterThan(nClosePrice)) {
             // Trend switch: /¯\
-            sar = extremePoint == null ? highestValueIndicator.getValue(index) : extremePoint;
+            sar = extremePoint;
             extremePoint = lowestValueIndicator.getValue(index);
             acceleration = DEFAULT_ACCELERATION;
 
@@ -89,10 +105,10 @@ public class ParabolicSarIndicator extends RecursiveCachedIndicator<Decimal> {
              // Downtrend: falling SAR
             Decimal lowestValue = lowestValueIndicator.getValue(index);
             if (extremePoint.isGreaterThan(lowestValue)) {
-                incrementAcceleration();
+                acceleration = incrementAcceleration(acceleration);
                 extremePoint = lowestValue;
             }
-            sar = calculateSar(index);
+            sar = calculateSar(previous.sar, extremePoint, acceleration);
 
             Decimal n2MaxPrice = series.getTick(index - 2).getMaxPrice();
             Decimal n1MaxPrice = series.getTick(index - 1).getMaxPrice();
@@ -111,10 +127,10 @@ public class ParabolicSarIndicator extends RecursiveCachedIndicator<Decimal> {
              // Uptrend: rising SAR
             Decimal highestValue = highestValueIndicator.getValue(index);
             if (extremePoint.isLessThan(highestValue)) {
-                incrementAcceleration();
+                acceleration = incrementAcceleration(acceleration);
                 extremePoint = highestValue;
             }
-            sar = calculateSar(index);
+            sar = calculateSar(previous.sar, extremePoint, acceleration);
 
             Decimal n2MinPrice = series.getTick(index - 2).getMinPrice();
             Decimal n1MinPrice = series.getTick(index - 1).getMinPrice();
@@ -130,28 +146,65 @@ public class ParabolicSarIndicator extends RecursiveCachedIndicator<Decimal> {
             }
 
         }
-        return sar;
+        return new SarState(sar, extremePoint, acceleration);
     }
 
     /**
      * Increments the acceleration factor.
+     * @param acceleration the current acceleration factor
+     * @return the incremented acceleration factor
      */
-    private void incrementAcceleration() {
+    private static Decimal incrementAcceleration(Decimal acceleration) {
         if (acceleration.isGreaterThanOrEqual(ACCELERATION_THRESHOLD)) {
-            acceleration = MAX_ACCELERATION;
-        } else {
-            acceleration = acceleration.plus(ACCELERATION_INCREMENT);
+            return MAX_ACCELERATION;
         }
+        return acceleration.plus(ACCELERATION_INCREMENT);
     }
 
     /**
      * Calculates the SAR.
-     * @param index the tick index
+     * @param previousSar the SAR of the previous tick
+     * @param extremePoint the extreme point
+     * @param acceleration the acceleration factor
      * @return the SAR
      */
-    private Decimal calculateSar(int index) {
-        Decimal previousSar = getValue(index - 1);
+    private static Decimal calculateSar(Decimal previousSar, Decimal extremePoint, Decimal acceleration) {
         return extremePoint.multipliedBy(acceleration)
                 .plus(Decimal.ONE.minus(acceleration).multipliedBy(previousSar));
     }
+
+    /**
+     * The SAR calculation state of a tick.
+     */
+    private static final class SarState implements Serializable {
+
+        private static final long serialVersionUID = 3580287314578124302L;
+
+        private final Decimal sar;
+
+        private final Decimal extremePoint;
+
+        private final Decimal acceleration;
+
+        SarState(Decimal sar, Decimal extremePoint, Decimal acceleration) {
+            this.sar = sar;
+            this.extremePoint = extremePoint;
+            this.acceleration = acceleration;
+        }
+    }
+
+    /**
+     * Cached (and recursive) indicator of the SAR calculation states.
+     */
+    private final class SarStateIndicator extends RecursiveCachedIndicator<SarState> {
+
+        SarStateIndicator(TimeSeries series) {
+            super(series);
+        }
+
+        @Override
+        protected SarState calculate(int index) {
+            return calculateState(index);
+        }
+    }
 }
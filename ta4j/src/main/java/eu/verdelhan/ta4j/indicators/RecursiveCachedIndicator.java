@@ -62,7 +62,14 @@ public abstract class RecursiveCachedIndicator<T> extends CachedIndicator<T> {
     @Override
     public T getValue(int index) {
         TimeSeries series = getTimeSeries();
-        if (series != null) {
+        if (series == null) {
+            return super.getValue(index);
+        }
+        final T publishedValue = getPublishedValue(index);
+        if (publishedValue != null) {
+            return publishedValue;
+        }
+        return withLock(() -> {
             final int seriesEndIndex = series.getEndIndex();
             if (index <= seriesEndIndex) {
                 // We are not after the end of the series
@@ -76,8 +83,7 @@ public abstract class RecursiveCachedIndicator<T> extends CachedIndicator<T> {
                     }
                 }
             }
-        }
-        
-        return super.getValue(index);
+            return super.getValue(index);
+        });
     }
 }
@@ -0,0 +1,203 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Circular buffer of indicator results.
+ * <p>
+ * Used by {@link CachedIndicator} to store its results.
+ * Appending a result and evicting the oldest one are both O(1) (amortized),
+ * whatever the maximum number of results kept.<br>
+ * The backing array grows (by doubling) up to the maximum number of results, then wraps around.
+ * @param <T> the type of the results
+ */
+final class ResultRingBuffer<T> implements Serializable {
+
+    private static final long serialVersionUID = -3093389453427493574L;
+
+    /** Initial capacity of the backing array */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The backing array */
+    private Object[] elements = new Object[0];
+
+    /** Physical position of the first (i.e. oldest) result */
+    private int head = 0;
+
+    /** Number of results in the buffer */
+    private int size = 0;
+
+    /**
+     * @return the number of results in the buffer
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the buffer is empty, false otherwise
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param position the position of the result (0 being the oldest one)
+     * @return the result at the provided position (may be null)
+     */
+    @SuppressWarnings("unchecked")
+    T get(int position) {
+        checkPosition(position);
+        return (T) elements[physicalIndex(position)];
+    }
+
+    /**
+     * Reads a result without holding the lock guarding the buffer.
+     * <p>
+     * The buffer may be concurrently updated: the result may be stale, or be the one of another position
+     * (hence the results should be immutable and identify themselves). Never throws.
+     * @param position the position of the result (0 being the oldest one)
+     * @return the result at the provided position (null if missing or out of the buffer)
+     */
+    @SuppressWarnings("unchecked")
+    T peek(int position) {
+        final Object[] array = elements;
+        if (position < 0 || position >= size || array.length == 0) {
+            return null;
+        }
+        int index = head + position;
+        if (index >= array.length) {
+            index -= array.length;
+        }
+        return index >= 0 && index < array.length ? (T) array[index] : null;
+    }
+
+    /**
+     * @param position the position of the result (0 being the oldest one)
+     * @param result the result to be stored at the provided position
+     */
+    void set(int position, T result) {
+        checkPosition(position);
+        elements[physicalIndex(position)] = result;
+    }
+
+    /**
+     * Appends empty (null) results at the end of the buffer.
+     * <p>
+     * The oldest results are evicted so that the buffer never holds more than maxSize results.
+     * @param count the number of empty results to append
+     * @param maxSize the maximum number of results to keep
+     */
+    void appendEmpty(int count, int maxSize) {
+        if (count >= maxSize) {
+            // All the current results would be evicted
+            clear();
+            ensureCapacity(maxSize);
+            size = maxSize;
+            return;
+        }
+        final int newSize = size + count;
+        if (newSize > maxSize) {
+            evict(newSize - maxSize);
+        }
+        ensureCapacity(size + count);
+        for (int i = 0; i < count; i++) {
+            // Slots may hold stale results after a wrap-around
+            elements[physicalIndex(size)] = null;
+            size++;
+        }
+    }
+
+    /**
+     * Removes all the results.
+     */
+    void clear() {
+        Arrays.fill(elements, null);
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Removes the oldest results.
+     * @param count the number of results to remove
+     */
+    private void evict(int count) {
+        for (int i = 0; i < count; i++) {
+            elements[head] = null;
+            head = nextIndex(head);
+        }
+        size -= count;
+    }
+
+    /**
+     * Grows the backing array if needed.
+     * @param minCapacity the minimum capacity
+     */
+    private void ensureCapacity(int minCapacity) {
+        final int capacity = elements.length;
+        if (minCapacity <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(INITIAL_CAPACITY, capacity);
+        while (newCapacity < minCapacity) {
+            newCapacity = newCapacity > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : newCapacity * 2;
+        }
+        Object[] newElements = new Object[newCapacity];
+        for (int i = 0; i < size; i++) {
+            newElements[i] = elements[physicalIndex(i)];
+        }
+        elements = newElements;
+        head = 0;
+    }
+
+    /**
+     * @param position a position in the buffer (0 being the oldest result)
+     * @return the corresponding index in the backing array
+     */
+    private int physicalIndex(int position) {
+        final int index = head + position;
+        final int capacity = elements.length;
+        return index >= capacity || index < 0 ? index - capacity : index;
+    }
+
+    /**
+     * @param index an index in the backing array
+     * @return the next index in the backing array
+     */
+    private int nextIndex(int index) {
+        return index + 1 == elements.length ? 0 : index + 1;
+    }
+
+    /**
+     * @param position a position in the buffer
+     * @throws IndexOutOfBoundsException if the position is not in the buffer
+     */
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", size: " + size);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Rolling sum over a time frame.
+ * <p>
+ * Computes the sum (and the linearly weighted sum) of the terms of a moving window
+ * {@code [max(firstIndex, index - timeFrame + 1), index]}.<br>
+ * When indexes are provided sequentially (i.e. index, then index + 1, etc.), which is the case when an indicator
+ * is evaluated over a series, the sums are updated in O(1): the new term is added and the term leaving the window
+ * is subtracted. The terms of the window are kept, so a term is never computed twice.<br>
+ * When the last index is provided again (e.g. after the last tick of the series has been replaced), the newest term
+ * is replaced in O(1).<br>
+ * For any other index (random access), the sums are computed with the direct formula (in O(timeFrame)).
+ * <p>
+ * The sums are accumulated in double precision with a compensation of the rounding errors (Neumaier's variant
+ * of the Kahan summation), and only rounded to the backend of the terms when read: a large term leaving the window
+ * does not wipe out the small ones. They are also recomputed from the kept terms every {@code timeFrame} updates
+ * (i.e. O(1) amortized).
+ * <p>
+ * Instances are stateful: each indicator should use its own rolling sums.
+ */
+public class RollingSum implements Serializable {
+
+    private static final long serialVersionUID = 4379427128812939035L;
+
+    private final int timeFrame;
+
+    private final int firstIndex;
+
+    /** Terms of the current window (circular buffer) */
+    private final double[] terms;
+
+    /** Position of the oldest term of the window */
+    private int head = 0;
+
+    /** Number of terms in the window */
+    private int count = 0;
+
+    /** Number of NaN terms in the window (not included in the sums) */
+    private int nanCount = 0;
+
+    /** Backend of the sums (the one of the last term) */
+    private Decimal.Backend backend = Decimal.Backend.BIG_DECIMAL;
+
+    /** Sum of the (non-NaN) terms */
+    private final CompensatedSum sum = new CompensatedSum();
+
+    /** Sum of the (non-NaN) terms weighted by 1 (oldest) to count (newest) */
+    private final CompensatedSum weightedSum = new CompensatedSum();
+
+    /** Last updated index (-1 if none) */
+    private int lastIndex = -1;
+
+    /** Number of incremental updates since the last full computation of the sums */
+    private int updatesSinceResync = 0;
+
+    /**
+     * Constructor.
+     * @param timeFrame the time frame (i.e. the maximum number of terms in the window)
+     */
+    public RollingSum(int timeFrame) {
+        this(timeFrame, 0);
+    }
+
+    /**
+     * Constructor.
+     * @param timeFrame the time frame (i.e. the maximum number of terms in the window)
+     * @param firstIndex the first index having a term (e.g. 1 for terms depending on the previous value)
+     */
+    public RollingSum(int timeFrame, int firstIndex) {
+        if (timeFrame < 1) {
+            throw new IllegalArgumentException("Time frame must be strictly positive");
+        }
+        this.timeFrame = timeFrame;
+        this.firstIndex = firstIndex;
+        this.terms = new double[timeFrame];
+    }
+
+    /**
+     * Moves the window so that it ends at the provided index.
+     * @param index the index the window should end at
+     * @param term the function providing the term of an index
+     * @return this rolling sum
+     */
+    public RollingSum update(int index, IntFunction<Decimal> term) {
+        if (lastIndex >= firstIndex && index == lastIndex && count > 0) {
+            // Same window, with a possibly changed newest term (e.g. replaced last tick)
+            pop();
+            push(term.apply(index));
+            updatesSinceResync++;
+            if (updatesSinceResync >= timeFrame) {
+                resync();
+            }
+        } else if (lastIndex >= firstIndex && index == lastIndex + 1) {
+            // Sequential access
+            push(term.apply(index));
+            updatesSinceResync++;
+            if (updatesSinceResync >= timeFrame) {
+                resync();
+            }
+        } else {
+            // Random access
+            reset();
+            for (int i = Math.max(firstIndex, index - timeFrame + 1); i <= index; i++) {
+                push(term.apply(i));
+            }
+            resync();
+        }
+        lastIndex = index;
+        return this;
+    }
+
+    /**
+     * @return the sum of the terms of the window (NaN if one of them is NaN, zero if the window is empty)
+     */
+    public Decimal getSum() {
+        return nanCount > 0 ? Decimal.NaN : toDecimal(sum.value());
+    }
+
+    /**
+     * @return the sum of the terms of the window, weighted by 1 (oldest term) to {@link #getCount()} (newest term)
+     */
+    public Decimal getWeightedSum() {
+        return nanCount > 0 ? Decimal.NaN : toDecimal(weightedSum.value());
+    }
+
+    /**
+     * @return the number of terms in the window
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Adds a term at the end of the window, removing the oldest one if the window is full.
+     * @param term the term to be added
+     */
+    private void push(Decimal term) {
+        final int position;
+        if (count == timeFrame) {
+            // Window full: the oldest term leaves
+            double oldest = terms[head];
+            position = head;
+            head = head + 1 == timeFrame ? 0 : head + 1;
+            if (Double.isNaN(oldest)) {
+                nanCount--;
+            } else {
+                // Every term loses one weight unit
+                weightedSum.add(-sum.value());
+                sum.add(-oldest);
+            }
+        } else {
+            position = head + count < timeFrame ? head + count : head + count - timeFrame;
+            count++;
+        }
+        terms[position] = term.toDouble();
+        if (term.isNaN()) {
+            nanCount++;
+        } else {
+            backend = term.getBackend();
+            sum.add(terms[position]);
+            weightedSum.add(terms[position] * count);
+        }
+    }
+
+    /**
+     * Removes the newest term of the window.
+     */
+    private void pop() {
+        final int position = head + count - 1 < timeFrame ? head + count - 1 : head + count - 1 - timeFrame;
+        final double newest = terms[position];
+        terms[position] = 0;
+        if (Double.isNaN(newest)) {
+            nanCount--;
+        } else {
+            sum.add(-newest);
+            weightedSum.add(-newest * count);
+        }
+        count--;
+    }
+
+    /**
+     * Recomputes the sums from the terms of the window.
+     */
+    private void resync() {
+        sum.reset();
+        weightedSum.reset();
+        for (int i = 0; i < count; i++) {
+            double term = termAt(i);
+            if (!Double.isNaN(term)) {
+                sum.add(term);
+                weightedSum.add(term * (i + 1));
+            }
+        }
+        updatesSinceResync = 0;
+    }
+
+    /**
+     * Empties the window.
+     */
+    private void reset() {
+        Arrays.fill(terms, 0);
+        head = 0;
+        count = 0;
+        nanCount = 0;
+        sum.reset();
+        weightedSum.reset();
+        lastIndex = -1;
+    }
+
+    /**
+     * @param position a position in the window (0 being the oldest term)
+     * @return the term at the provided position
+     */
+    private double termAt(int position) {
+        final int index = head + position;
+        return terms[index < timeFrame ? index : index - timeFrame];
+    }
+
+    /**
+     * @param value a sum
+     * @return the sum, rounded to the backend of the terms (NaN if it is not finite)
+     */
+    private Decimal toDecimal(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return Decimal.NaN;
+        }
+        return Decimal.valueOf(value, backend);
+    }
+
+    /**
+     * A double sum keeping track of the low-order bits lost by its additions.
+     */
+    private static class CompensatedSum implements Serializable {
+
+        private static final long serialVersionUID = -2914633212734401866L;
+
+        /** Rounded sum */
+        private double sum = 0;
+
+        /** Accumulated rounding errors of the sum */
+        private double compensation = 0;
+
+        void add(double value) {
+            final double t = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            } else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+        }
+
+        double value() {
+            return sum + compensation;
+        }
+
+        void reset() {
+            sum = 0;
+            compensation = 0;
+        }
+    }
+}
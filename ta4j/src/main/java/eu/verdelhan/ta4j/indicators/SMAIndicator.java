@@ -36,21 +36,20 @@ public class SMAIndicator extends CachedIndicator<Decimal> {
 
     private final int timeFrame;
 
+    private final RollingSum rollingSum;
+
     public SMAIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
+        this.rollingSum = new RollingSum(timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        Decimal sum = Decimal.ZERO;
-        for (int i = Math.max(0, index - timeFrame + 1); i <= index; i++) {
-            sum = sum.plus(indicator.getValue(i));
-        }
-
-        final int realTimeFrame = Math.min(timeFrame, index + 1);
-        return sum.dividedBy(Decimal.valueOf(realTimeFrame));
+        rollingSum.update(index, indicator::getValue);
+        final int realTimeFrame = rollingSum.getCount();
+        return rollingSum.getSum().dividedBy(Decimal.valueOf(realTimeFrame));
     }
 
     @Override
@@ -58,4 +57,36 @@ public class SMAIndicator extends CachedIndicator<Decimal> {
         return getClass().getSimpleName() + " timeFrame: " + timeFrame;
     }
 
+    @Override
+    public void getValues(int from, int to, double[] values) {
+        final int start = Math.max(0, from - timeFrame + 1);
+        if (!IndicatorValues.isAvailable(getTimeSeries(), start)) {
+            IndicatorValues.fill(this, from, to, values);
+            return;
+        }
+        IndicatorValues.checkRange(from, to, values.length);
+        final double[] terms = indicator.getValues(start, to);
+        double sum = 0;
+        int nanCount = 0;
+        for (int i = start; i <= to; i++) {
+            final double term = terms[i - start];
+            if (Double.isNaN(term)) {
+                nanCount++;
+            } else {
+                sum += term;
+            }
+            if (i - timeFrame >= start) {
+                // Removing the oldest term of the window
+                final double oldest = terms[i - timeFrame - start];
+                if (Double.isNaN(oldest)) {
+                    nanCount--;
+                } else {
+                    sum -= oldest;
+                }
+            }
+            if (i >= from) {
+                values[i - from] = nanCount > 0 ? Double.NaN : sum / Math.min(i + 1, timeFrame);
+            }
+        }
+    }
 }
@@ -0,0 +1,207 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Sliding extremum over a time frame.
+ * <p>
+ * Tracks the highest (or lowest) value of a moving window {@code [max(0, index - timeFrame + 1), index]}
+ * and the index it has been reached at.<br>
+ * The candidates are kept in a monotonic deque: a value which is dominated by a more recent one can never be
+ * the extremum of a later window, so it is dropped. When indexes are provided sequentially, each value is added
+ * and removed at most once (i.e. O(1) amortized). For any other index (random access), the deque is rebuilt
+ * from the whole window (in O(timeFrame)).
+ * <p>
+ * NaN values are ignored. On ties, the most recent index is kept.
+ * <p>
+ * The value of the last index may change (e.g. when the last tick of the series is replaced): the window is then
+ * rebuilt, since the candidates dropped because of the former value may not be dominated by the new one.
+ * <p>
+ * Instances are stateful: each indicator should use its own sliding extremum.
+ */
+public class SlidingExtremum implements Serializable {
+
+    private static final long serialVersionUID = -2427617826633218736L;
+
+    private final int timeFrame;
+
+    /** True for the highest value, false for the lowest one */
+    private final boolean highest;
+
+    /** Indexes of the candidates (circular buffer, oldest first) */
+    private int[] indexes;
+
+    /** Values of the candidates (strictly decreasing for the highest value) */
+    private Decimal[] values;
+
+    /** Position of the first (i.e. the extremum) candidate */
+    private int head = 0;
+
+    /** Number of candidates */
+    private int size = 0;
+
+    /** Last updated index (-1 if none) */
+    private int lastIndex = -1;
+
+    /**
+     * Constructor.
+     * @param timeFrame the time frame
+     * @param highest true to track the highest value, false to track the lowest one
+     */
+    public SlidingExtremum(int timeFrame, boolean highest) {
+        if (timeFrame < 1) {
+            throw new IllegalArgumentException("Time frame must be strictly positive");
+        }
+        this.timeFrame = timeFrame;
+        this.highest = highest;
+        final int initialCapacity = Math.min(timeFrame, 16);
+        this.indexes = new int[initialCapacity];
+        this.values = new Decimal[initialCapacity];
+    }
+
+    /**
+     * Moves the window so that it ends at the provided index.
+     * @param index the index the window should end at
+     * @param value the function providing the value of an index
+     * @return this sliding extremum
+     */
+    public SlidingExtremum update(int index, IntFunction<Decimal> value) {
+        if (index == lastIndex && isNewestValue(index, value.apply(index))) {
+            // Same window
+            return this;
+        }
+        if (lastIndex >= 0 && index == lastIndex + 1) {
+            // Sequential access
+            push(index, value.apply(index));
+        } else {
+            // Random access
+            Arrays.fill(values, null);
+            head = 0;
+            size = 0;
+            for (int i = Math.max(0, index - timeFrame + 1); i <= index; i++) {
+                push(i, value.apply(i));
+            }
+        }
+        lastIndex = index;
+        return this;
+    }
+
+    /**
+     * @return the extremum of the window (NaN if all the values of the window are NaN)
+     */
+    public Decimal getValue() {
+        return size == 0 ? Decimal.NaN : values[head];
+    }
+
+    /**
+     * @return the (most recent) index of the extremum of the window (-1 if all the values of the window are NaN)
+     */
+    public int getIndex() {
+        return size == 0 ? -1 : indexes[head];
+    }
+
+    /**
+     * @param index the last index of the window
+     * @param value the (current) value of the index
+     * @return true if the value is the one the window has been built with, false otherwise
+     */
+    private boolean isNewestValue(int index, Decimal value) {
+        if (size > 0 && indexes[position(size - 1)] == index) {
+            return values[position(size - 1)].equals(value);
+        }
+        // The newest value is not a candidate only when it is NaN
+        return value.isNaN();
+    }
+
+    /**
+     * Adds a value at the end of the window.
+     * @param index the index of the value
+     * @param value the value
+     */
+    private void push(int index, Decimal value) {
+        // Removing the candidates which left the window
+        while (size > 0 && indexes[head] <= index - timeFrame) {
+            values[head] = null;
+            head = next(head);
+            size--;
+        }
+        if (value.isNaN()) {
+            return;
+        }
+        // Removing the candidates dominated by the new value
+        while (size > 0) {
+            int last = position(size - 1);
+            boolean dominated = highest ? values[last].isLessThanOrEqual(value) : values[last].isGreaterThanOrEqual(value);
+            if (!dominated) {
+                break;
+            }
+            values[last] = null;
+            size--;
+        }
+        if (size == values.length) {
+            grow();
+        }
+        int position = position(size);
+        indexes[position] = index;
+        values[position] = value;
+        size++;
+    }
+
+    /**
+     * Doubles the capacity of the deque (up to the time frame).
+     */
+    private void grow() {
+        final int capacity = (int) Math.min(timeFrame, 2L * values.length);
+        int[] newIndexes = new int[capacity];
+        Decimal[] newValues = new Decimal[capacity];
+        for (int i = 0; i < size; i++) {
+            newIndexes[i] = indexes[position(i)];
+            newValues[i] = values[position(i)];
+        }
+        indexes = newIndexes;
+        values = newValues;
+        head = 0;
+    }
+
+    /**
+     * @param offset an offset from the first candidate
+     * @return the position of the candidate in the buffers
+     */
+    private int position(int offset) {
+        final int position = head + offset;
+        return position < values.length ? position : position - values.length;
+    }
+
+    /**
+     * @param position a position in the buffers
+     * @return the next position
+     */
+    private int next(int position) {
+        return position + 1 == values.length ? 0 : position + 1;
+    }
+}
@@ -49,6 +49,10 @@ public class StochasticOscillatorKIndicator extends CachedIndicator<Decimal> {
 
     private MinPriceIndicator minPriceIndicator;
 
+    private final HighestValueIndicator highestHigh;
+
+    private final LowestValueIndicator lowestMin;
+
     public StochasticOscillatorKIndicator(TimeSeries timeSeries, int timeFrame) {
         this(new ClosePriceIndicator(timeSeries), timeFrame, new MaxPriceIndicator(timeSeries), new MinPriceIndicator(
                 timeSeries));
@@ -61,13 +65,12 @@ public class StochasticOscillatorKIndicator extends CachedIndicator<Decimal> {
         this.timeFrame = timeFrame;
         this.maxPriceIndicator = maxPriceIndicator;
         this.minPriceIndicator = minPriceIndicator;
+        this.highestHigh = new HighestValueIndicator(maxPriceIndicator, timeFrame);
+        this.lowestMin = new LowestValueIndicator(minPriceIndicator, timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        HighestValueIndicator highestHigh = new HighestValueIndicator(maxPriceIndicator, timeFrame);
-        LowestValueIndicator lowestMin = new LowestValueIndicator(minPriceIndicator, timeFrame);
-
         Decimal highestHighPrice = highestHigh.getValue(index);
         Decimal lowestLowPrice = lowestMin.getValue(index);
 
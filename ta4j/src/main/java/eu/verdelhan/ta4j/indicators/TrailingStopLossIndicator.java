@@ -24,7 +24,6 @@ package eu.verdelhan.ta4j.indicators;
 
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.Indicator;
-import eu.verdelhan.ta4j.indicators.CachedIndicator;
 
 /**
  * This class implenents a basic trailing stop loss indicator.
@@ -51,13 +50,16 @@ import eu.verdelhan.ta4j.indicators.CachedIndicator;
  *  - Constructor 2: You can set an initialStopLimit 
  * It may influence the trade signals of the strategy depending which constructor you choose.  
  * 
+ * The stop-loss limit of a tick only depends on the limit of the previous tick,
+ * so the values do not depend on the order in which they are requested.
+ * 
  * @author Bastian Engelmann
  */
-public class TrailingStopLossIndicator extends CachedIndicator<Decimal> {
+public class TrailingStopLossIndicator extends RecursiveCachedIndicator<Decimal> {
     
     private final Indicator<Decimal> indicator;
 
-    private Decimal stopLossLimit;
+    private final Decimal initialStopLossLimit;
     
     private final Decimal stopLossDistance;
     
@@ -80,7 +82,7 @@ public class TrailingStopLossIndicator extends CachedIndicator<Decimal> {
         super(indicator);
         this.indicator = indicator;
         this.stopLossDistance = stopLossDistance;
-        this.stopLossLimit = initialStopLossLimit;
+        this.initialStopLossLimit = initialStopLossLimit;
     }
     
     /**
@@ -92,9 +94,14 @@ public class TrailingStopLossIndicator extends CachedIndicator<Decimal> {
      */
     @Override
     protected Decimal calculate(int index) {
-        if (stopLossLimit.isNaN()) {
-            // Case without initial stop-loss limit value
-            stopLossLimit = indicator.getValue(0).minus(stopLossDistance);
+        Decimal stopLossLimit;
+        if (index <= 0) {
+            stopLossLimit = initialStopLossLimit.isNaN()
+                    // Case without initial stop-loss limit value
+                    ? indicator.getValue(0).minus(stopLossDistance)
+                    : initialStopLossLimit;
+        } else {
+            stopLossLimit = getValue(index - 1);
         }
         Decimal currentValue = indicator.getValue(index);
         Decimal referenceValue = stopLossLimit.plus(stopLossDistance);
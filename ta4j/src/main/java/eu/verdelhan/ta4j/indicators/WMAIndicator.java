@@ -36,32 +36,21 @@ public class WMAIndicator extends CachedIndicator<Decimal> {
 
     private Indicator<Decimal> indicator;
 
+    private final RollingSum rollingSum;
+
     public WMAIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
+        this.rollingSum = new RollingSum(timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        if (index == 0) {
-            return indicator.getValue(0);
-        }
-        Decimal value = Decimal.ZERO;
-        if(index - timeFrame < 0) {
-            
-            for(int i = index + 1; i > 0; i--) {
-                value = value.plus(Decimal.valueOf(i).multipliedBy(indicator.getValue(i-1)));
-            }
-            return value.dividedBy(Decimal.valueOf(((index + 1) * (index + 2)) / 2));
-        }
-        
-        int actualIndex = index;
-        for(int i = timeFrame; i > 0; i--) {
-            value = value.plus(Decimal.valueOf(i).multipliedBy(indicator.getValue(actualIndex)));
-            actualIndex--;
-        }
-        return value.dividedBy(Decimal.valueOf((timeFrame * (timeFrame + 1)) / 2));
+        // Weights: 1 for the oldest value to realTimeFrame for the current one
+        rollingSum.update(index, indicator::getValue);
+        final int realTimeFrame = rollingSum.getCount();
+        return rollingSum.getWeightedSum().dividedBy(Decimal.valueOf((realTimeFrame * (realTimeFrame + 1)) / 2));
     }
 
     @Override
@@ -45,6 +45,10 @@ public class WilliamsRIndicator extends CachedIndicator<Decimal> {
     private MaxPriceIndicator maxPriceIndicator;
 
     private MinPriceIndicator minPriceIndicator;
+
+    private final HighestValueIndicator highestHigh;
+
+    private final LowestValueIndicator lowestMin;
     
     private final static Decimal multiplier = Decimal.valueOf("-100");
 
@@ -60,13 +64,12 @@ public class WilliamsRIndicator extends CachedIndicator<Decimal> {
         this.timeFrame = timeFrame;
         this.maxPriceIndicator = maxPriceIndicator;
         this.minPriceIndicator = minPriceIndicator;
+        this.highestHigh = new HighestValueIndicator(maxPriceIndicator, timeFrame);
+        this.lowestMin = new LowestValueIndicator(minPriceIndicator, timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        HighestValueIndicator highestHigh = new HighestValueIndicator(maxPriceIndicator, timeFrame);
-        LowestValueIndicator lowestMin = new LowestValueIndicator(minPriceIndicator, timeFrame);
-
         Decimal highestHighPrice = highestHigh.getValue(index);
         Decimal lowestLowPrice = lowestMin.getValue(index);
 
@@ -41,19 +41,23 @@ public class ZLEMAIndicator extends RecursiveCachedIndicator<Decimal> {
     
     private final int lag;
 
+    /** Starting point of the ZLEMA */
+    private final SMAIndicator sma;
+
     public ZLEMAIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
         k = Decimal.TWO.dividedBy(Decimal.valueOf(timeFrame + 1));
         lag = (timeFrame - 1) / 2;
+        sma = new SMAIndicator(indicator, timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
         if (index + 1 < timeFrame) {
             // Starting point of the ZLEMA
-            return new SMAIndicator(indicator, timeFrame).getValue(index);
+            return sma.getValue(index);
         }
         if (index == 0) {
             // If the timeframe is bigger than the indicator's value count
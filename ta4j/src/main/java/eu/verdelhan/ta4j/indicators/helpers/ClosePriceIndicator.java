@@ -25,6 +25,7 @@ package eu.verdelhan.ta4j.indicators.helpers;
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.IndicatorValues;
 
 /**
  * Close price indicator.
@@ -41,6 +42,18 @@ public class ClosePriceIndicator extends CachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
-        return series.getTick(index).getClosePrice();
+        return series.getClosePrice(index);
+    }
+
+    @Override
+    public void getValues(int from, int to, double[] values) {
+        if (!IndicatorValues.isAvailable(series, from)) {
+            IndicatorValues.fill(this, from, to, values);
+            return;
+        }
+        IndicatorValues.checkRange(from, to, values.length);
+        for (int i = from; i <= to; i++) {
+            values[i - from] = series.getClosePrice(i).toDouble();
+        }
     }
 }
@@ -23,6 +23,8 @@
 package eu.verdelhan.ta4j.indicators.helpers;
 
 import eu.verdelhan.ta4j.indicators.AbstractIndicator;
+import eu.verdelhan.ta4j.indicators.IndicatorValues;
+import java.util.Arrays;
 
 /**
  * Constant indicator.
@@ -46,4 +48,10 @@ public class ConstantIndicator<T> extends AbstractIndicator<T> {
     public String toString() {
         return getClass().getSimpleName() + " Value: " + value;
     }
+
+    @Override
+    public void getValues(int from, int to, double[] values) {
+        IndicatorValues.checkRange(from, to, values.length);
+        Arrays.fill(values, 0, to - from + 1, IndicatorValues.toDouble(value));
+    }
 }
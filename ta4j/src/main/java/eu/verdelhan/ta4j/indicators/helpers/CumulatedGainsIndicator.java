@@ -25,6 +25,7 @@ package eu.verdelhan.ta4j.indicators.helpers;
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.RollingSum;
 
 /**
  * Cumulated gains indicator.
@@ -36,20 +37,30 @@ public class CumulatedGainsIndicator extends CachedIndicator<Decimal> {
 
     private final int timeFrame;
 
+    private final RollingSum sumOfGains;
+
     public CumulatedGainsIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
+        this.sumOfGains = new RollingSum(timeFrame, 1);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        Decimal sumOfGains = Decimal.ZERO;
-        for (int i = Math.max(1, index - timeFrame + 1); i <= index; i++) {
-            if (indicator.getValue(i).isGreaterThan(indicator.getValue(i - 1))) {
-                sumOfGains = sumOfGains.plus(indicator.getValue(i).minus(indicator.getValue(i - 1)));
-            }
+        return sumOfGains.update(index, this::getGain).getSum();
+    }
+
+    /**
+     * @param index the tick index
+     * @return the gain between the previous tick and the index-th one (zero if none)
+     */
+    private Decimal getGain(int index) {
+        Decimal currentValue = indicator.getValue(index);
+        Decimal previousValue = indicator.getValue(index - 1);
+        if (currentValue.isGreaterThan(previousValue)) {
+            return currentValue.minus(previousValue);
         }
-        return sumOfGains;
+        return Decimal.ZERO;
     }
 }
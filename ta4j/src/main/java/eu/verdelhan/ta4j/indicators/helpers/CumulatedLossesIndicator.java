@@ -25,6 +25,7 @@ package eu.verdelhan.ta4j.indicators.helpers;
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.RollingSum;
 
 /**
  * Cumulated losses indicator.
@@ -36,20 +37,30 @@ public class CumulatedLossesIndicator extends CachedIndicator<Decimal> {
 
     private final int timeFrame;
 
+    private final RollingSum sumOfLosses;
+
     public CumulatedLossesIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
+        this.sumOfLosses = new RollingSum(timeFrame, 1);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        Decimal sumOfLosses = Decimal.ZERO;
-        for (int i = Math.max(1, index - timeFrame + 1); i <= index; i++) {
-            if (indicator.getValue(i).isLessThan(indicator.getValue(i - 1))) {
-                sumOfLosses = sumOfLosses.plus(indicator.getValue(i - 1).minus(indicator.getValue(i)));
-            }
+        return sumOfLosses.update(index, this::getLoss).getSum();
+    }
+
+    /**
+     * @param index the tick index
+     * @return the loss between the previous tick and the index-th one (zero if none)
+     */
+    private Decimal getLoss(int index) {
+        Decimal currentValue = indicator.getValue(index);
+        Decimal previousValue = indicator.getValue(index - 1);
+        if (currentValue.isLessThan(previousValue)) {
+            return previousValue.minus(currentValue);
         }
-        return sumOfLosses;
+        return Decimal.ZERO;
     }
 }
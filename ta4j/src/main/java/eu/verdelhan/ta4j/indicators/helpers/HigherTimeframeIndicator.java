@@ -0,0 +1,74 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators.helpers;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.ResampledTimeSeries;
+import eu.verdelhan.ta4j.indicators.CachedIndicator;
+
+/**
+ * Higher timeframe indicator.
+ * <p>
+ * Reads an indicator built on a {@link ResampledTimeSeries resampled series} (e.g. a 1-hour SMA)
+ * from the base series (e.g. 1-minute ticks), so that it can be used in the rules of the base timeframe.
+ * The value at a base index is the value of the last bar completed at the end of the base tick: the
+ * partial bar is never read, so there is no look-ahead. It is NaN before the first completed bar.
+ */
+public class HigherTimeframeIndicator extends CachedIndicator<Decimal> {
+
+    private final Indicator<Decimal> indicator;
+
+    private final ResampledTimeSeries resampledSeries;
+
+    /**
+     * Constructor.
+     * @param indicator an indicator built on a resampled series
+     */
+    public HigherTimeframeIndicator(Indicator<Decimal> indicator) {
+        super(resampledSeries(indicator).getBaseSeries());
+        this.indicator = indicator;
+        this.resampledSeries = (ResampledTimeSeries) indicator.getTimeSeries();
+    }
+
+    @Override
+    protected Decimal calculate(int index) {
+        final int barIndex = resampledSeries.getCompletedBarIndex(index);
+        if (barIndex < 0) {
+            return Decimal.NaN;
+        }
+        return indicator.getValue(barIndex);
+    }
+
+    /**
+     * @param indicator an indicator
+     * @return the resampled series of the indicator
+     * @throws IllegalArgumentException if the indicator is not built on a resampled series
+     */
+    private static ResampledTimeSeries resampledSeries(Indicator<Decimal> indicator) {
+        if (indicator == null || !(indicator.getTimeSeries() instanceof ResampledTimeSeries)) {
+            throw new IllegalArgumentException("The indicator must be built on a resampled time series");
+        }
+        return (ResampledTimeSeries) indicator.getTimeSeries();
+    }
+}
@@ -25,6 +25,7 @@ package eu.verdelhan.ta4j.indicators.helpers;
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.SlidingExtremum;
 
 /**
  * Highest value indicator.
@@ -36,22 +37,28 @@ public class HighestValueIndicator extends CachedIndicator<Decimal> {
 
     private final int timeFrame;
 
+    private final SlidingExtremum extremum;
+
     public HighestValueIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
+        this.extremum = new SlidingExtremum(timeFrame, true);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        int start = Math.max(0, index - timeFrame + 1);
-        Decimal highest = indicator.getValue(start);
-        for (int i = start + 1; i <= index; i++) {
-            if (highest.isLessThan(indicator.getValue(i))) {
-                highest = indicator.getValue(i);
-            }
-        }
-        return highest;
+        return extremum.update(index, indicator::getValue).getValue();
+    }
+
+    /**
+     * @param index the tick index
+     * @return the index of the highest value of the time frame ending at the provided index
+     *         (the most recent one on ties, -1 if all the values are NaN)
+     */
+    public int getHighestIndex(int index) {
+        // The sliding extremum is also updated by calculate(int): both are run under the lock of the cache
+        return withLock(() -> extremum.update(index, indicator::getValue).getIndex());
     }
 
     @Override
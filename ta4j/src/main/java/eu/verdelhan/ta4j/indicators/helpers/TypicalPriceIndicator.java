@@ -41,9 +41,9 @@ public class TypicalPriceIndicator extends CachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
-        Decimal maxPrice = series.getTick(index).getMaxPrice();
-        Decimal minPrice = series.getTick(index).getMinPrice();
-        Decimal closePrice = series.getTick(index).getClosePrice();
+        Decimal maxPrice = series.getMaxPrice(index);
+        Decimal minPrice = series.getMinPrice(index);
+        Decimal closePrice = series.getClosePrice(index);
         return maxPrice.plus(minPrice).plus(closePrice).dividedBy(Decimal.THREE);
     }
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ package eu.verdelhan.ta4j.indicators.helpers;
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.RollingSum;
 
 /**
  * Volume indicator.
@@ -35,6 +36,8 @@ public class VolumeIndicator extends CachedIndicator<Decimal> {
     private TimeSeries series;
 
     private int timeFrame;
+
+    private RollingSum sumOfVolume;
     
     public VolumeIndicator(TimeSeries series) {
         this(series, 1);
@@ -44,15 +47,14 @@ public class VolumeIndicator extends CachedIndicator<Decimal> {
         super(series);
         this.series = series;
         this.timeFrame = timeFrame;
+        this.sumOfVolume = new RollingSum(timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        int startIndex = Math.max(0, index - timeFrame + 1);
-        Decimal sumOfVolume = Decimal.ZERO;
-        for (int i = startIndex; i <= index; i++) {
-            sumOfVolume = sumOfVolume.plus(series.getTick(i).getVolume());
+        if (timeFrame == 1) {
+            return series.getVolume(index);
         }
-        return sumOfVolume;
+        return sumOfVolume.update(index, series::getVolume).getSum();
     }
 }
\ No newline at end of file
@@ -33,11 +33,11 @@ import eu.verdelhan.ta4j.indicators.CachedIndicator;
  */
 public class CorrelationCoefficientIndicator extends CachedIndicator<Decimal> {
 
-    private VarianceIndicator variance1;
-    
-    private VarianceIndicator variance2;
-    
-    private CovarianceIndicator covariance;
+    private Indicator<Decimal> indicator1;
+
+    private Indicator<Decimal> indicator2;
+
+    private RollingMoments moments;
     
     /**
      * Constructor.
@@ -47,17 +47,14 @@ public class CorrelationCoefficientIndicator extends CachedIndicator<Decimal> {
      */
     public CorrelationCoefficientIndicator(Indicator<Decimal> indicator1, Indicator<Decimal> indicator2, int timeFrame) {
         super(indicator1);
-        variance1 = new VarianceIndicator(indicator1, timeFrame);
-        variance2 = new VarianceIndicator(indicator2, timeFrame);
-        covariance = new CovarianceIndicator(indicator1, indicator2, timeFrame);
+        this.indicator1 = indicator1;
+        this.indicator2 = indicator2;
+        moments = new RollingMoments(timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        Decimal cov = covariance.getValue(index);
-        Decimal var1 = variance1.getValue(index);
-        Decimal var2 = variance2.getValue(index);
-        
-        return cov.dividedBy(var1.multipliedBy(var2).sqrt());
+        // Variances and covariance from a single window
+        return moments.update(index, indicator1::getValue, indicator2::getValue).getCorrelation();
     }
 }
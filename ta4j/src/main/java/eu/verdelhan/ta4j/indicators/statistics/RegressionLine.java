@@ -0,0 +1,114 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators.statistics;
+
+import eu.verdelhan.ta4j.Decimal;
+import java.io.Serializable;
+
+/**
+ * A regression line (least squares).
+ * <p>
+ * y = slope * x + intercept<br>
+ * Also holds the coefficient of determination (R²) and the standard error of the regression.
+ */
+public final class RegressionLine implements Serializable {
+
+    private static final long serialVersionUID = 6047287467212394218L;
+
+    /** Not-a-regression line (e.g. when there is not enough observations) */
+    public static final RegressionLine NaN = new RegressionLine(Decimal.NaN, Decimal.NaN, Decimal.NaN, Decimal.NaN, Decimal.NaN, Decimal.NaN);
+
+    private final Decimal slope;
+
+    /** Mean of the x values of the observations */
+    private final Decimal meanX;
+
+    /** Mean of the y values of the observations */
+    private final Decimal meanY;
+
+    private final Decimal intercept;
+
+    private final Decimal rSquared;
+
+    private final Decimal standardError;
+
+    /**
+     * Constructor.
+     * @param slope the slope
+     * @param meanX the mean of the x values of the observations
+     * @param meanY the mean of the y values of the observations
+     * @param intercept the intercept
+     * @param rSquared the coefficient of determination
+     * @param standardError the standard error of the regression
+     */
+    RegressionLine(Decimal slope, Decimal meanX, Decimal meanY, Decimal intercept, Decimal rSquared, Decimal standardError) {
+        this.slope = slope;
+        this.meanX = meanX;
+        this.meanY = meanY;
+        this.intercept = intercept;
+        this.rSquared = rSquared;
+        this.standardError = standardError;
+    }
+
+    /**
+     * @param x the x value
+     * @return the y value of the line at x
+     */
+    public Decimal valueAt(int x) {
+        // Computed from the means (rather than the intercept) to keep the precision for big x values
+        return meanY.plus(slope.multipliedBy(Decimal.valueOf(x).minus(meanX)));
+    }
+
+    /**
+     * @return the slope
+     */
+    public Decimal getSlope() {
+        return slope;
+    }
+
+    /**
+     * @return the intercept (i.e. the y value of the line at x = 0)
+     */
+    public Decimal getIntercept() {
+        return intercept;
+    }
+
+    /**
+     * @return the coefficient of determination (R²)
+     */
+    public Decimal getRSquared() {
+        return rSquared;
+    }
+
+    /**
+     * @return the standard error of the regression (i.e. of the estimates)
+     */
+    public Decimal getStandardError() {
+        return standardError;
+    }
+
+    @Override
+    public String toString() {
+        return "y = " + slope + " * x + " + intercept;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators.statistics;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.indicators.CachedIndicator;
+
+/**
+ * Regression line indicator.
+ * <p>
+ * A moving (i.e. over the time frame) simple linear regression (least squares) of the values of an indicator
+ * against their indexes.<br>
+ * The sums the regression is computed from are maintained incrementally (see {@link RollingMoments}): the
+ * regression line of an index is computed in O(1) on sequential evaluation. It is computed once and cached,
+ * so that its outputs (see {@link SimpleLinearRegressionIndicator}) share it.
+ */
+public class RegressionLineIndicator extends CachedIndicator<RegressionLine> {
+
+    private final Indicator<Decimal> indicator;
+
+    private final int timeFrame;
+
+    /** Centered sums of x (the indexes), y (the indicator values), x² and xy (null if the time frame is too short) */
+    private final RollingMoments moments;
+
+    /**
+     * Constructor.
+     * @param indicator the indicator
+     * @param timeFrame the time frame
+     */
+    public RegressionLineIndicator(Indicator<Decimal> indicator, int timeFrame) {
+        super(indicator);
+        this.indicator = indicator;
+        this.timeFrame = timeFrame;
+        this.moments = timeFrame < 2 ? null : new RollingMoments(timeFrame);
+    }
+
+    @Override
+    protected RegressionLine calculate(int index) {
+        if (moments == null || index < 1) {
+            // Not enough observations to compute a regression line
+            return RegressionLine.NaN;
+        }
+        moments.update(index, Decimal::valueOf, indicator::getValue);
+        final Decimal meanX = moments.getMean();
+        final Decimal meanY = moments.getMeanY();
+        if (meanY.isNaN()) {
+            return RegressionLine.NaN;
+        }
+        final Decimal varianceX = moments.getVariance();
+        final Decimal varianceY = moments.getVarianceY();
+        final Decimal covariance = moments.getCovariance();
+
+        final Decimal slope = covariance.dividedBy(varianceX);
+        final Decimal intercept = meanY.minus(slope.multipliedBy(meanX));
+        final Decimal explainedVariance = covariance.multipliedBy(slope);
+        final Decimal rSquared = explainedVariance.dividedBy(varianceY);
+        // Residual sum of squares: n * (var(y) - cov(x, y)² / var(x))
+        final int nbObservations = moments.getCount();
+        final Decimal residualSumOfSquares = varianceY.minus(explainedVariance).max(Decimal.ZERO).multipliedBy(Decimal.valueOf(nbObservations));
+        final Decimal standardError = nbObservations > 2
+                ? residualSumOfSquares.dividedBy(Decimal.valueOf(nbObservations - 2)).sqrt()
+                : Decimal.ZERO;
+        return new RegressionLine(slope, meanX, meanY, intercept, rSquared, standardError);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " timeFrame: " + timeFrame;
+    }
+}
@@ -0,0 +1,353 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators.statistics;
+
+import eu.verdelhan.ta4j.Decimal;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Rolling (population) moments over a time frame.
+ * <p>
+ * Computes the means, the variances and the covariance of one or two series of terms over a moving window
+ * {@code [max(0, index - timeFrame + 1), index]}.<br>
+ * When indexes are provided sequentially, the moments are updated in O(1) using Welford's online algorithm:
+ * the new terms are added and the ones leaving the window are removed from the means, the sums of squared
+ * deviations (M2) and the co-moment. For any other index (random access), the moments are computed with the
+ * direct (two-pass) formulas in O(timeFrame).
+ * <p>
+ * The moments are accumulated in double precision and only rounded (to the backend of the terms) when read:
+ * rounding them at each update would make the removal of a large term cancel the small ones. A removal may
+ * still cancel most of the significant digits of M2 when the removed terms are outliers of the window (i.e.
+ * when they account for more than the rest of the sums of squared deviations), so the moments are recomputed
+ * from the kept terms in that case, as well as every {@code timeFrame} updates (i.e. O(1) amortized). The sums
+ * of squared deviations are never negative.
+ * <p>
+ * An instance is either univariate (see {@link #update(int, IntFunction)}) or bivariate
+ * (see {@link #update(int, IntFunction, IntFunction)}), and should be used by only one indicator.
+ */
+public class RollingMoments implements Serializable {
+
+    private static final long serialVersionUID = -6254409563373526612L;
+
+    private final int timeFrame;
+
+    /** First terms of the current window (circular buffer) */
+    private final double[] xs;
+
+    /** Second terms of the current window (circular buffer, null for a univariate instance) */
+    private double[] ys;
+
+    /** Position of the oldest terms of the window */
+    private int head = 0;
+
+    /** Number of (pairs of) terms in the window */
+    private int count = 0;
+
+    /** Number of pairs of terms of the window having a NaN (not included in the moments) */
+    private int nanCount = 0;
+
+    /** Backend of the moments (the one of the last terms) */
+    private Decimal.Backend backend = Decimal.Backend.BIG_DECIMAL;
+
+    /** Mean of the first terms */
+    private double meanX = 0;
+
+    /** Mean of the second terms */
+    private double meanY = 0;
+
+    /** Sum of squared deviations of the first terms */
+    private double m2X = 0;
+
+    /** Sum of squared deviations of the second terms */
+    private double m2Y = 0;
+
+    /** Sum of the products of the deviations */
+    private double coMoment = 0;
+
+    /** Last updated index (-1 if none) */
+    private int lastIndex = -1;
+
+    /** Number of incremental updates since the last full computation of the moments */
+    private int updatesSinceResync = 0;
+
+    /** True if the last removal cancelled most of the sums of squared deviations */
+    private boolean resyncNeeded = false;
+
+    /**
+     * Constructor.
+     * @param timeFrame the time frame (i.e. the maximum number of terms in the window)
+     */
+    public RollingMoments(int timeFrame) {
+        if (timeFrame < 1) {
+            throw new IllegalArgumentException("Time frame must be strictly positive");
+        }
+        this.timeFrame = timeFrame;
+        this.xs = new double[timeFrame];
+    }
+
+    /**
+     * Moves the window of a univariate instance so that it ends at the provided index.
+     * @param index the index the window should end at
+     * @param x the function providing the term of an index
+     * @return these rolling moments
+     */
+    public RollingMoments update(int index, IntFunction<Decimal> x) {
+        return update(index, x, null);
+    }
+
+    /**
+     * Moves the window of a bivariate instance so that it ends at the provided index.
+     * @param index the index the window should end at
+     * @param x the function providing the first term of an index
+     * @param y the function providing the second term of an index
+     * @return these rolling moments
+     */
+    public RollingMoments update(int index, IntFunction<Decimal> x, IntFunction<Decimal> y) {
+        if (y != null && ys == null) {
+            ys = new double[timeFrame];
+        }
+        if (lastIndex >= 0 && index == lastIndex + 1) {
+            // Sequential access
+            push(x.apply(index), y == null ? null : y.apply(index));
+            updatesSinceResync++;
+            if (resyncNeeded || updatesSinceResync >= timeFrame) {
+                resync();
+            }
+        } else {
+            // Random access
+            Arrays.fill(xs, 0);
+            if (ys != null) {
+                Arrays.fill(ys, 0);
+            }
+            head = 0;
+            count = 0;
+            nanCount = 0;
+            for (int i = Math.max(0, index - timeFrame + 1); i <= index; i++) {
+                push(x.apply(i), y == null ? null : y.apply(i));
+            }
+            resync();
+        }
+        lastIndex = index;
+        return this;
+    }
+
+    /**
+     * @return the number of (pairs of) terms in the window
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the mean of the (first) terms of the window
+     */
+    public Decimal getMean() {
+        return nanCount > 0 || count == 0 ? Decimal.NaN : toDecimal(meanX);
+    }
+
+    /**
+     * @return the mean of the second terms of the window
+     */
+    public Decimal getMeanY() {
+        return ys == null ? getMean() : (nanCount > 0 || count == 0 ? Decimal.NaN : toDecimal(meanY));
+    }
+
+    /**
+     * @return the population variance of the (first) terms of the window
+     */
+    public Decimal getVariance() {
+        return nanCount > 0 || count == 0 ? Decimal.NaN : toDecimal(m2X / count);
+    }
+
+    /**
+     * @return the population variance of the second terms of the window
+     */
+    public Decimal getVarianceY() {
+        return ys == null ? getVariance() : (nanCount > 0 || count == 0 ? Decimal.NaN : toDecimal(m2Y / count));
+    }
+
+    /**
+     * @return the population covariance of the terms of the window
+     */
+    public Decimal getCovariance() {
+        return ys == null ? getVariance() : (nanCount > 0 || count == 0 ? Decimal.NaN : toDecimal(coMoment / count));
+    }
+
+    /**
+     * @return the (Pearson) correlation coefficient of the terms of the window
+     */
+    public Decimal getCorrelation() {
+        return getCovariance().dividedBy(getVariance().multipliedBy(getVarianceY()).sqrt());
+    }
+
+    /**
+     * Adds terms at the end of the window, removing the oldest ones if the window is full.
+     * @param x the first term to be added
+     * @param y the second term to be added (null for a univariate instance)
+     */
+    private void push(Decimal x, Decimal y) {
+        final int position;
+        if (count == timeFrame) {
+            // Window full: the oldest terms leave
+            position = head;
+            head = head + 1 == timeFrame ? 0 : head + 1;
+            remove(xs[position], ys == null ? 0 : ys[position]);
+        } else {
+            position = head + count < timeFrame ? head + count : head + count - timeFrame;
+            count++;
+        }
+        if (!x.isNaN() && (y == null || !y.isNaN())) {
+            final boolean doubleBacked = x.getBackend() == Decimal.Backend.DOUBLE
+                    || (y != null && y.getBackend() == Decimal.Backend.DOUBLE);
+            backend = doubleBacked ? Decimal.Backend.DOUBLE : Decimal.Backend.BIG_DECIMAL;
+        }
+        xs[position] = x.toDouble();
+        if (ys != null) {
+            ys[position] = y.toDouble();
+        }
+        add(xs[position], ys == null ? 0 : ys[position]);
+    }
+
+    /**
+     * Welford's update for a new pair of terms.
+     * @param x the first term
+     * @param y the second term (ignored for a univariate instance)
+     */
+    private void add(double x, double y) {
+        if (isNaN(x, y)) {
+            nanCount++;
+            return;
+        }
+        final int n = count - nanCount;
+        final double deltaX = x - meanX;
+        meanX += deltaX / n;
+        m2X += deltaX * (x - meanX);
+        if (ys != null) {
+            final double deltaY = y - meanY;
+            meanY += deltaY / n;
+            m2Y += deltaY * (y - meanY);
+            coMoment += deltaX * (y - meanY);
+        }
+    }
+
+    /**
+     * Reverse Welford's update for a pair of terms leaving the window.
+     * @param x the first term
+     * @param y the second term (ignored for a univariate instance)
+     */
+    private void remove(double x, double y) {
+        if (isNaN(x, y)) {
+            nanCount--;
+            return;
+        }
+        // Number of terms of the window once the pair removed (the window is full)
+        final int remaining = count - nanCount - 1;
+        if (remaining == 0) {
+            meanX = 0;
+            meanY = 0;
+            m2X = 0;
+            m2Y = 0;
+            coMoment = 0;
+            return;
+        }
+        final double deltaX = x - meanX;
+        meanX -= deltaX / remaining;
+        final double removedX = deltaX * (x - meanX);
+        m2X = Math.max(0, m2X - removedX);
+        resyncNeeded |= removedX > m2X;
+        if (ys != null) {
+            final double deltaY = y - meanY;
+            meanY -= deltaY / remaining;
+            final double removedY = deltaY * (y - meanY);
+            m2Y = Math.max(0, m2Y - removedY);
+            resyncNeeded |= removedY > m2Y;
+            coMoment -= deltaX * (y - meanY);
+        }
+    }
+
+    /**
+     * Recomputes the moments from the terms of the window.
+     * <p>
+     * The moments are computed with the direct formulas: the means first, then the sums of the (products of the)
+     * deviations from the means.
+     */
+    private void resync() {
+        final int n = count - nanCount;
+        double sumX = 0;
+        double sumY = 0;
+        for (int i = 0; i < count; i++) {
+            final int position = position(i);
+            if (!isNaN(xs[position], ys == null ? 0 : ys[position])) {
+                sumX += xs[position];
+                if (ys != null) {
+                    sumY += ys[position];
+                }
+            }
+        }
+        meanX = n == 0 ? 0 : sumX / n;
+        meanY = n == 0 ? 0 : sumY / n;
+        m2X = 0;
+        m2Y = 0;
+        coMoment = 0;
+        for (int i = 0; i < count; i++) {
+            final int position = position(i);
+            if (!isNaN(xs[position], ys == null ? 0 : ys[position])) {
+                final double deviationX = xs[position] - meanX;
+                m2X += deviationX * deviationX;
+                if (ys != null) {
+                    final double deviationY = ys[position] - meanY;
+                    m2Y += deviationY * deviationY;
+                    coMoment += deviationX * deviationY;
+                }
+            }
+        }
+        updatesSinceResync = 0;
+        resyncNeeded = false;
+    }
+
+    /**
+     * @param offset an offset from the oldest terms
+     * @return the position of the terms in the buffers
+     */
+    private int position(int offset) {
+        final int position = head + offset;
+        return position < timeFrame ? position : position - timeFrame;
+    }
+
+    /**
+     * @param value a moment
+     * @return the moment, rounded to the backend of the terms (NaN if it is not finite)
+     */
+    private Decimal toDecimal(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return Decimal.NaN;
+        }
+        return Decimal.valueOf(value, backend);
+    }
+
+    private static boolean isNaN(double x, double y) {
+        return Double.isNaN(x) || Double.isNaN(y);
+    }
+}
@@ -32,63 +32,79 @@ import eu.verdelhan.ta4j.indicators.CachedIndicator;
  * A moving (i.e. over the time frame) simple linear regression (least squares).
  * y = slope * x + intercept
  * See also: http://introcs.cs.princeton.edu/java/97data/LinearRegression.java.html
+ * <p>
+ * Returns one output of the regression line (by default: the y value of the line at the index).
+ * Indicators built on the same {@link RegressionLineIndicator} share the computation of the line.
  */
 public class SimpleLinearRegressionIndicator extends CachedIndicator<Decimal> {
 
-    private Indicator<Decimal> indicator;
-    
-    private int timeFrame;
-    
-    private Decimal slope;
-    
-    private Decimal intercept;
-    
+    /**
+     * Outputs of a simple linear regression.
+     */
+    public enum Output {
+        /** The y value of the regression line at the index */
+        VALUE,
+        SLOPE,
+        INTERCEPT,
+        /** The coefficient of determination */
+        R_SQUARED,
+        /** The standard error of the regression */
+        STANDARD_ERROR
+    }
+
+    private final RegressionLineIndicator regressionLine;
+
+    private final Output output;
+
+    /**
+     * Constructor.
+     * @param indicator the indicator
+     * @param timeFrame the time frame
+     */
     public SimpleLinearRegressionIndicator(Indicator<Decimal> indicator, int timeFrame) {
-        super(indicator);
-        this.indicator = indicator;
-        this.timeFrame = timeFrame;
+        this(indicator, timeFrame, Output.VALUE);
     }
 
-    @Override
-    protected Decimal calculate(int index) {
-        final int startIndex = Math.max(0, index - timeFrame + 1);
-        final int endIndex = index;
-        if (endIndex - startIndex + 1 < 2) {
-            // Not enough observations to compute a regression line
-            return Decimal.NaN;
-        }
-        calculateRegressionLine(startIndex, endIndex);
-        return slope.multipliedBy(Decimal.valueOf(index)).plus(intercept);
+    /**
+     * Constructor.
+     * @param indicator the indicator
+     * @param timeFrame the time frame
+     * @param output the output of the regression
+     */
+    public SimpleLinearRegressionIndicator(Indicator<Decimal> indicator, int timeFrame, Output output) {
+        this(new RegressionLineIndicator(indicator, timeFrame), output);
     }
-    
+
     /**
-     * Calculates the regression line.
-     * @param startIndex the start index (inclusive) in the time series
-     * @param endIndex the end index (inclusive) in the time series
+     * Constructor.
+     * @param regressionLine the (shared) regression line indicator
+     * @param output the output of the regression
      */
-    private void calculateRegressionLine(int startIndex, int endIndex) {
-        // First pass: compute xBar and yBar
-        Decimal sumX = Decimal.ZERO;
-        Decimal sumY = Decimal.ZERO;
-        for (int i = startIndex; i <= endIndex; i++) {
-            sumX = sumX.plus(Decimal.valueOf(i));
-            sumY = sumY.plus(indicator.getValue(i));
-        }
-        Decimal nbObservations = Decimal.valueOf(endIndex - startIndex + 1);
-        Decimal xBar = sumX.dividedBy(nbObservations);
-        Decimal yBar = sumY.dividedBy(nbObservations);
-        
-        // Second pass: compute slope and intercept
-        Decimal xxBar = Decimal.ZERO;
-        Decimal xyBar = Decimal.ZERO;
-        for (int i = startIndex; i <= endIndex; i++) {
-            Decimal dX = Decimal.valueOf(i).minus(xBar);
-            Decimal dY = indicator.getValue(i).minus(yBar);
-            xxBar = xxBar.plus(dX.multipliedBy(dX));
-            xyBar = xyBar.plus(dX.multipliedBy(dY));
+    public SimpleLinearRegressionIndicator(RegressionLineIndicator regressionLine, Output output) {
+        super(regressionLine);
+        this.regressionLine = regressionLine;
+        this.output = output;
+    }
+
+    @Override
+    protected Decimal calculate(int index) {
+        final RegressionLine line = regressionLine.getValue(index);
+        switch (output) {
+            case SLOPE:
+                return line.getSlope();
+            case INTERCEPT:
+                return line.getIntercept();
+            case R_SQUARED:
+                return line.getRSquared();
+            case STANDARD_ERROR:
+                return line.getStandardError();
+            default:
+                return line.valueAt(index);
         }
-        
-        slope = xyBar.dividedBy(xxBar);
-        intercept = yBar.minus(slope.multipliedBy(xBar));
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " " + output + " " + regressionLine;
     }
 }
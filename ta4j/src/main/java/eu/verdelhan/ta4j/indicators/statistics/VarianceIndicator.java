@@ -25,7 +25,6 @@ package eu.verdelhan.ta4j.indicators.statistics;
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
-import eu.verdelhan.ta4j.indicators.SMAIndicator;
 
 /**
  * Variance indicator.
@@ -37,7 +36,7 @@ public class VarianceIndicator extends CachedIndicator<Decimal> {
 
     private int timeFrame;
 
-    private SMAIndicator sma;
+    private RollingMoments moments;
 
     /**
      * Constructor.
@@ -48,21 +47,12 @@ public class VarianceIndicator extends CachedIndicator<Decimal> {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
-        sma = new SMAIndicator(indicator, timeFrame);
+        moments = new RollingMoments(timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        final int startIndex = Math.max(0, index - timeFrame + 1);
-        final int numberOfObservations = index - startIndex + 1;
-        Decimal variance = Decimal.ZERO;
-        Decimal average = sma.getValue(index);
-        for (int i = startIndex; i <= index; i++) {
-            Decimal pow = indicator.getValue(i).minus(average).pow(2);
-            variance = variance.plus(pow);
-        }
-        variance = variance.dividedBy(Decimal.valueOf(numberOfObservations));
-        return variance;
+        return moments.update(index, indicator::getValue).getVariance();
     }
 
     @Override
@@ -26,6 +26,7 @@ package eu.verdelhan.ta4j.indicators.volume;
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.RollingSum;
 import eu.verdelhan.ta4j.indicators.helpers.CloseLocationValueIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.VolumeIndicator;
 
@@ -45,24 +46,23 @@ public class ChaikinMoneyFlowIndicator extends CachedIndicator<Decimal> {
     
     private int timeFrame;
 
+    private RollingSum sumOfMoneyFlowVolume;
+
     public ChaikinMoneyFlowIndicator(TimeSeries series, int timeFrame) {
         super(series);
         this.series = series;
         this.timeFrame = timeFrame;
         this.clvIndicator = new CloseLocationValueIndicator(series);
         this.volumeIndicator = new VolumeIndicator(series, timeFrame);
+        this.sumOfMoneyFlowVolume = new RollingSum(timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        int startIndex = Math.max(0, index - timeFrame + 1);
-        Decimal sumOfMoneyFlowVolume = Decimal.ZERO;
-        for (int i = startIndex; i <= index; i++) {
-            sumOfMoneyFlowVolume = sumOfMoneyFlowVolume.plus(getMoneyFlowVolume(i));
-        }
+        sumOfMoneyFlowVolume.update(index, this::getMoneyFlowVolume);
         Decimal sumOfVolume = volumeIndicator.getValue(index);
         
-        return sumOfMoneyFlowVolume.dividedBy(sumOfVolume);
+        return sumOfMoneyFlowVolume.getSum().dividedBy(sumOfVolume);
     }
     
     /**
@@ -70,6 +70,6 @@ public class ChaikinMoneyFlowIndicator extends CachedIndicator<Decimal> {
      * @return the money flow volume for the i-th period/tick
      */
     private Decimal getMoneyFlowVolume(int index) {
-        return clvIndicator.getValue(index).multipliedBy(series.getTick(index).getVolume());
+        return clvIndicator.getValue(index).multipliedBy(series.getVolume(index));
     }
 }
@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.RollingSum;
 import eu.verdelhan.ta4j.indicators.helpers.TypicalPriceIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.VolumeIndicator;
 
@@ -42,6 +43,10 @@ public class VWAPIndicator extends CachedIndicator<Decimal> {
     private final Indicator<Decimal> typicalPrice;
     
     private final Indicator<Decimal> volume;
+
+    private final RollingSum cumulativeTPV;
+
+    private final RollingSum cumulativeVolume;
     
     /**
      * Constructor.
@@ -53,6 +58,8 @@ public class VWAPIndicator extends CachedIndicator<Decimal> {
         this.timeFrame = timeFrame;
         typicalPrice = new TypicalPriceIndicator(series);
         volume = new VolumeIndicator(series);
+        cumulativeTPV = new RollingSum(timeFrame);
+        cumulativeVolume = new RollingSum(timeFrame);
     }
 
     @Override
@@ -60,14 +67,8 @@ public class VWAPIndicator extends CachedIndicator<Decimal> {
         if (index <= 0) {
             return typicalPrice.getValue(index);
         }
-        int startIndex = Math.max(0, index - timeFrame + 1);
-        Decimal cumulativeTPV = Decimal.ZERO;
-        Decimal cumulativeVolume = Decimal.ZERO;
-        for (int i = startIndex; i <= index; i++) {
-            Decimal currentVolume = volume.getValue(i);
-            cumulativeTPV = cumulativeTPV.plus(typicalPrice.getValue(i).multipliedBy(currentVolume));
-            cumulativeVolume = cumulativeVolume.plus(currentVolume);
-        }
-        return cumulativeTPV.dividedBy(cumulativeVolume);
+        cumulativeTPV.update(index, i -> typicalPrice.getValue(i).multipliedBy(volume.getValue(i)));
+        cumulativeVolume.update(index, volume::getValue);
+        return cumulativeTPV.getSum().dividedBy(cumulativeVolume.getSum());
     }
 }
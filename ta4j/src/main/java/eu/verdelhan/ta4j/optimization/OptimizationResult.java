@@ -0,0 +1,80 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.optimization;
+
+import eu.verdelhan.ta4j.BacktestResult;
+
+/**
+ * The result of the evaluation of a point of a {@link ParameterSpace parameter space}.
+ * @see StrategyOptimizer
+ */
+public class OptimizationResult {
+
+    /** The parameters of the strategy */
+    private final Parameters parameters;
+
+    /** The backtest of the strategy */
+    private final BacktestResult backtestResult;
+
+    /** The value of the optimized criterion */
+    private final double criterionValue;
+
+    /**
+     * Constructor.
+     * @param parameters the parameters of the strategy
+     * @param backtestResult the backtest of the strategy
+     * @param criterionValue the value of the optimized criterion
+     */
+    public OptimizationResult(Parameters parameters, BacktestResult backtestResult, double criterionValue) {
+        this.parameters = parameters;
+        this.backtestResult = backtestResult;
+        this.criterionValue = criterionValue;
+    }
+
+    /**
+     * @return the parameters of the strategy
+     */
+    public Parameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return the backtest of the strategy (trading record and criterion values)
+     */
+    public BacktestResult getBacktestResult() {
+        return backtestResult;
+    }
+
+    /**
+     * @return the value of the optimized criterion
+     */
+    public double getCriterionValue() {
+        return criterionValue;
+    }
+
+    @Override
+    public String toString() {
+        return "OptimizationResult{parameters: " + parameters + ", criterion value: " + criterionValue
+                + ", trades: " + backtestResult.getTradingRecord().getTradeCount() + "}";
+    }
+}
@@ -0,0 +1,257 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.optimization;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A parameter space.
+ * <p>
+ * Named parameters, each one having a list of candidate values, e.g.:
+ * <pre>
+ * ParameterSpace space = new ParameterSpace()
+ *         .withRange("rsiTimeFrame", 2, 5, 1)
+ *         .withRange("entryThreshold", 5.0, 20.0, 5.0)
+ *         .withValues("exitThreshold", 80, 95)
+ *         .withConstraint(p -&gt; p.getInt("entryThreshold") &lt; p.getInt("exitThreshold"));
+ * </pre>
+ * The points of the space are the combinations of the candidate values satisfying the constraints.
+ */
+public class ParameterSpace {
+
+    /** The candidate values, by parameter name */
+    private final Map<String, List<Object>> parameters = new LinkedHashMap<>();
+
+    /** The constraints to be satisfied by the points */
+    private final List<Predicate<Parameters>> constraints = new ArrayList<>();
+
+    /**
+     * @param name the name of the parameter
+     * @param values the candidate values of the parameter
+     * @return the parameter space
+     */
+    public ParameterSpace withValues(String name, Object... values) {
+        if (name == null) {
+            throw new IllegalArgumentException("Parameter name cannot be null");
+        }
+        if (parameters.containsKey(name)) {
+            throw new IllegalArgumentException("Parameter already defined: " + name);
+        }
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Parameter " + name + " needs at least one value");
+        }
+        for (Object value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("Parameter " + name + " cannot have a null value");
+            }
+        }
+        parameters.put(name, Collections.unmodifiableList(new ArrayList<>(Arrays.asList(values))));
+        return this;
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @param from the first value (included)
+     * @param to the last value (included if reached)
+     * @param step the step between two values
+     * @return the parameter space
+     */
+    public ParameterSpace withRange(String name, int from, int to, int step) {
+        checkRange(from, to, step);
+        List<Object> values = new ArrayList<>();
+        for (long value = from; value <= to; value += step) {
+            values.add((int) value);
+        }
+        return withValues(name, values.toArray());
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @param from the first value (included)
+     * @param to the last value (included if reached)
+     * @param step the step between two values
+     * @return the parameter space
+     */
+    public ParameterSpace withRange(String name, double from, double to, double step) {
+        checkRange(from, to, step);
+        // Values are computed in decimal arithmetic (e.g. 0.996, 0.998, 1.0 and not 0.9980000000000001)
+        final BigDecimal first = BigDecimal.valueOf(from);
+        final BigDecimal increment = BigDecimal.valueOf(step);
+        final BigDecimal last = BigDecimal.valueOf(to);
+        List<Object> values = new ArrayList<>();
+        for (BigDecimal value = first; value.compareTo(last) <= 0; value = value.add(increment)) {
+            values.add(value.doubleValue());
+        }
+        return withValues(name, values.toArray());
+    }
+
+    /**
+     * @param constraint a constraint to be satisfied by the points of the space (e.g. short time frame &lt; long time frame)
+     * @return the parameter space
+     */
+    public ParameterSpace withConstraint(Predicate<Parameters> constraint) {
+        if (constraint == null) {
+            throw new IllegalArgumentException("Constraint cannot be null");
+        }
+        constraints.add(constraint);
+        return this;
+    }
+
+    /**
+     * @return the parameter names
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(parameters.keySet());
+    }
+
+    /**
+     * @param name the name of a parameter
+     * @return the candidate values of the parameter
+     */
+    public List<Object> getValues(String name) {
+        List<Object> values = parameters.get(name);
+        if (values == null) {
+            throw new IllegalArgumentException("Unknown parameter: " + name);
+        }
+        return values;
+    }
+
+    /**
+     * @return the number of combinations of the candidate values (constraints not applied)
+     */
+    public long getCombinationCount() {
+        long count = 1;
+        for (List<Object> values : parameters.values()) {
+            count = Math.multiplyExact(count, values.size());
+        }
+        return count;
+    }
+
+    /**
+     * @return all the points of the space (the last parameter varying first)
+     */
+    public List<Parameters> grid() {
+        final long combinationCount = getCombinationCount();
+        if (combinationCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many combinations for a grid: " + combinationCount);
+        }
+        List<Parameters> points = new ArrayList<>();
+        for (long i = 0; i < combinationCount; i++) {
+            Parameters point = point(i);
+            if (isValid(point)) {
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Draws distinct points of the space uniformly at random.
+     * @param count the number of points to be drawn
+     * @param random the random generator (e.g. seeded for reproducible optimizations)
+     * @return the drawn points (all the points of the space if there are less than count)
+     */
+    public List<Parameters> sample(int count, Random random) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        final long combinationCount = getCombinationCount();
+        if (combinationCount <= 2L * count) {
+            // Dense sampling: shuffling the grid
+            List<Parameters> points = grid();
+            Collections.shuffle(points, random);
+            return new ArrayList<>(points.subList(0, Math.min(count, points.size())));
+        }
+        List<Parameters> points = new ArrayList<>(count);
+        Set<Long> drawn = new HashSet<>();
+        // Rejection sampling (bounded, in case the constraints reject most of the points)
+        for (long attempt = 0; points.size() < count && attempt < combinationCount; attempt++) {
+            long index = (long) (random.nextDouble() * combinationCount);
+            if (drawn.add(index)) {
+                Parameters point = point(index);
+                if (isValid(point)) {
+                    points.add(point);
+                }
+            }
+        }
+        return points;
+    }
+
+    /**
+     * @param index the index of a combination
+     * @return the point of the combination
+     */
+    private Parameters point(long index) {
+        List<String> names = new ArrayList<>(parameters.keySet());
+        Object[] values = new Object[names.size()];
+        long remainder = index;
+        for (int i = names.size() - 1; i >= 0; i--) {
+            List<Object> candidates = parameters.get(names.get(i));
+            values[i] = candidates.get((int) (remainder % candidates.size()));
+            remainder /= candidates.size();
+        }
+        Map<String, Object> point = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            point.put(names.get(i), values[i]);
+        }
+        return new Parameters(point);
+    }
+
+    /**
+     * @param point a point
+     * @return true if the point satisfies all the constraints, false otherwise
+     */
+    private boolean isValid(Parameters point) {
+        for (Predicate<Parameters> constraint : constraints) {
+            if (!constraint.test(point)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param from the first value of a range
+     * @param to the last value of a range
+     * @param step the step of a range
+     * @throws IllegalArgumentException if the range is empty or if the step is not strictly positive
+     */
+    private static void checkRange(double from, double to, double step) {
+        if (!(step > 0)) {
+            throw new IllegalArgumentException("Step must be strictly positive");
+        }
+        if (!(from <= to)) {
+            throw new IllegalArgumentException("Range cannot be empty");
+        }
+    }
+}
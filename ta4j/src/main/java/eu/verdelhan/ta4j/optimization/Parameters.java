@@ -0,0 +1,137 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.optimization;
+
+import eu.verdelhan.ta4j.Decimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A point of a {@link ParameterSpace parameter space}.
+ * <p>
+ * Immutable set of named parameter values.
+ */
+public final class Parameters {
+
+    /** The parameter values, by name (in the order of the parameter space) */
+    private final Map<String, Object> values;
+
+    /**
+     * Constructor.
+     * @param values the parameter values, by name
+     */
+    public Parameters(Map<String, ?> values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Values cannot be null");
+        }
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    /**
+     * @return the parameter names
+     */
+    public Set<String> getNames() {
+        return values.keySet();
+    }
+
+    /**
+     * @param name the name of a parameter
+     * @return the value of the parameter
+     * @throws IllegalArgumentException if there is no such parameter
+     */
+    public Object get(String name) {
+        Object value = values.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown parameter: " + name);
+        }
+        return value;
+    }
+
+    /**
+     * @param name the name of a numeric parameter
+     * @return the value of the parameter, as an int
+     */
+    public int getInt(String name) {
+        return getNumber(name).intValue();
+    }
+
+    /**
+     * @param name the name of a numeric parameter
+     * @return the value of the parameter, as a double
+     */
+    public double getDouble(String name) {
+        return getNumber(name).doubleValue();
+    }
+
+    /**
+     * @param name the name of a numeric parameter
+     * @return the value of the parameter, as a decimal
+     */
+    public Decimal getDecimal(String name) {
+        Object value = get(name);
+        if (value instanceof Decimal) {
+            return (Decimal) value;
+        }
+        return Decimal.valueOf(getNumber(name).toString());
+    }
+
+    /**
+     * @return the parameter values, by name
+     */
+    public Map<String, Object> asMap() {
+        return values;
+    }
+
+    /**
+     * @param name the name of a numeric parameter
+     * @return the value of the parameter
+     * @throws IllegalArgumentException if the parameter is not numeric
+     */
+    private Number getNumber(String name) {
+        Object value = get(name);
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        if (value instanceof Decimal) {
+            return ((Decimal) value).toDouble();
+        }
+        throw new IllegalArgumentException("Parameter " + name + " is not numeric: " + value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Parameters && values.equals(((Parameters) obj).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,407 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.optimization;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.BacktestExecutor;
+import eu.verdelhan.ta4j.BacktestResult;
+import eu.verdelhan.ta4j.Rule;
+import eu.verdelhan.ta4j.StopCondition;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An optimizer of strategy parameters.
+ * <p>
+ * Backtests a {@link StrategyTemplate strategy template} for points of a {@link ParameterSpace parameter space}
+ * (all of them, a random sample, or a successive halving selection) and reports the top-K points according to
+ * an {@link AnalysisCriterion analysis criterion}.
+ * <p>
+ * The strategies are built from an {@link IndicatorRegistry indicator registry} shared by the whole optimization:
+ * each distinct indicator parameterization is built once, and its values are calculated once for all the points
+ * using it. The backtests are run in parallel by a {@link BacktestExecutor backtest executor}.
+ * <p>
+ * The time series must not be modified during an optimization. The registry retains the indicators between
+ * optimizations (e.g. successive optimizations over the same series reuse the calculated values); use
+ * {@code getIndicatorRegistry().clear()} to release them.
+ */
+public class StrategyOptimizer {
+
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    /** The strategy template */
+    private final StrategyTemplate template;
+
+    /** The optimized criterion */
+    private final AnalysisCriterion criterion;
+
+    /** The indicator registry shared by the strategies */
+    private final IndicatorRegistry registry;
+
+    /** The executor of the backtests */
+    private final BacktestExecutor executor;
+
+    /** Orders results from the best to the worst (NaN values being the worst) */
+    private final Comparator<OptimizationResult> bestFirst;
+
+    /** Number of backtests */
+    private final LongAdder backtestCount = new LongAdder();
+
+    /** Number of ticks run over by the backtests */
+    private final LongAdder backtestedTickCount = new LongAdder();
+
+    /**
+     * Constructor.
+     * <p>
+     * Runs as many backtests at the same time as there are available processors.
+     * @param series the time series
+     * @param template the strategy template
+     * @param criterion the criterion to be optimized
+     */
+    public StrategyOptimizer(TimeSeries series, StrategyTemplate template, AnalysisCriterion criterion) {
+        this(series, template, criterion, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param series the time series
+     * @param template the strategy template
+     * @param criterion the criterion to be optimized
+     * @param parallelism the maximum number of backtests running at the same time
+     */
+    public StrategyOptimizer(TimeSeries series, StrategyTemplate template, AnalysisCriterion criterion, int parallelism) {
+        if (template == null) {
+            throw new IllegalArgumentException("Strategy template cannot be null");
+        }
+        if (criterion == null) {
+            throw new IllegalArgumentException("Criterion cannot be null");
+        }
+        this.executor = new BacktestExecutor(series, parallelism);
+        this.registry = new IndicatorRegistry(series);
+        this.template = template;
+        this.criterion = criterion;
+        this.bestFirst = (result1, result2) -> {
+            final double value1 = result1.getCriterionValue();
+            final double value2 = result2.getCriterionValue();
+            if (Double.isNaN(value1) || Double.isNaN(value2)) {
+                return Boolean.compare(Double.isNaN(value1), Double.isNaN(value2));
+            }
+            if (criterion.betterThan(value1, value2)) {
+                return -1;
+            }
+            return criterion.betterThan(value2, value1) ? 1 : 0;
+        };
+    }
+
+    /**
+     * @return the time series
+     */
+    public TimeSeries getTimeSeries() {
+        return executor.getTimeSeries();
+    }
+
+    /**
+     * @return the optimized criterion
+     */
+    public AnalysisCriterion getCriterion() {
+        return criterion;
+    }
+
+    /**
+     * @return the indicator registry shared by the strategies
+     */
+    public IndicatorRegistry getIndicatorRegistry() {
+        return registry;
+    }
+
+    /**
+     * @return the stop condition of the backtests (null for none)
+     */
+    public StopCondition getStopCondition() {
+        return executor.getStopCondition();
+    }
+
+    /**
+     * Sets a stop condition for the backtests (e.g. a maximum drawdown).
+     * <p>
+     * The backtests of hopeless points are then aborted before the end of the series; their criterion values
+     * are NaN (i.e. they are ranked last).
+     * @param stopCondition the stop condition of the backtests (null for none)
+     */
+    public void setStopCondition(StopCondition stopCondition) {
+        executor.setStopCondition(stopCondition);
+    }
+
+    /**
+     * @return the number of backtests run by the optimizer
+     */
+    public long getBacktestCount() {
+        return backtestCount.sum();
+    }
+
+    /**
+     * @return the number of ticks run over by the backtests of the optimizer
+     */
+    public long getBacktestedTickCount() {
+        return backtestedTickCount.sum();
+    }
+
+    /**
+     * Evaluates all the points of a parameter space.
+     * @param space the parameter space
+     * @param topK the number of results to be reported
+     * @return the (at most) topK best results, the best first
+     */
+    public List<OptimizationResult> grid(ParameterSpace space, int topK) {
+        return optimize(space.grid(), topK);
+    }
+
+    /**
+     * Evaluates points drawn at random in a parameter space.
+     * @param space the parameter space
+     * @param sampleCount the number of points to be evaluated
+     * @param seed the seed of the random draw
+     * @param topK the number of results to be reported
+     * @return the (at most) topK best results, the best first
+     */
+    public List<OptimizationResult> random(ParameterSpace space, int sampleCount, long seed, int topK) {
+        return optimize(space.sample(sampleCount, new Random(seed)), topK);
+    }
+
+    /**
+     * Evaluates points over the whole time series.
+     * @param candidates the points to be evaluated
+     * @param topK the number of results to be reported
+     * @return the (at most) topK best results, the best first (the first candidate on ties)
+     */
+    public List<OptimizationResult> optimize(List<Parameters> candidates, int topK) {
+        checkTopK(topK);
+        final TimeSeries series = executor.getTimeSeries();
+        return top(evaluate(candidates, series.getBeginIndex(), series.getEndIndex()), topK);
+    }
+
+    /**
+     * Selects the points of a parameter space by successive halving.
+     * @param space the parameter space
+     * @param reductionFactor the reduction factor of the candidates at each round
+     * @param minimumTickCount the minimum number of ticks the candidates are evaluated over
+     * @param topK the number of results to be reported
+     * @return the (at most) topK best results, the best first
+     * @see #successiveHalving(List, int, int, int)
+     */
+    public List<OptimizationResult> successiveHalving(ParameterSpace space, int reductionFactor, int minimumTickCount, int topK) {
+        return successiveHalving(space.grid(), reductionFactor, minimumTickCount, topK);
+    }
+
+    /**
+     * Selects points by successive halving.
+     * <p>
+     * The candidates are first evaluated over a short head of the time series; only the best 1/reductionFactor
+     * of them are kept for the next round, which evaluates them over a head reductionFactor times longer.
+     * The last round evaluates the (at least topK) remaining candidates over the whole series.
+     * Poor candidates are then pruned after having been evaluated over a small part of the series only
+     * (and the indicator values calculated in a round are reused by the next ones).
+     * @param candidates the points to be evaluated
+     * @param reductionFactor the reduction factor of the candidates at each round (at least 2)
+     * @param minimumTickCount the minimum number of ticks the candidates are evaluated over
+     * @param topK the number of results to be reported
+     * @return the (at most) topK best results, the best first (evaluated over the whole series)
+     */
+    public List<OptimizationResult> successiveHalving(List<Parameters> candidates, int reductionFactor, int minimumTickCount, int topK) {
+        checkTopK(topK);
+        if (reductionFactor < 2) {
+            throw new IllegalArgumentException("Reduction factor must be at least 2");
+        }
+        if (minimumTickCount < 1) {
+            throw new IllegalArgumentException("Minimum tick count must be strictly positive");
+        }
+        final TimeSeries series = executor.getTimeSeries();
+        final int beginIndex = series.getBeginIndex();
+        final int endIndex = series.getEndIndex();
+        final long tickCount = endIndex - beginIndex + 1L;
+
+        int roundCount = 0;
+        for (int count = candidates.size(); count > topK; count = survivorCount(count, reductionFactor, topK)) {
+            roundCount++;
+        }
+        List<Parameters> survivors = candidates;
+        for (int round = 0; round < roundCount; round++) {
+            long headTickCount = tickCount;
+            for (int i = round; i < roundCount; i++) {
+                headTickCount /= reductionFactor;
+            }
+            headTickCount = Math.min(tickCount, Math.max(headTickCount, minimumTickCount));
+            List<OptimizationResult> results = top(evaluate(survivors, beginIndex, (int) (beginIndex + headTickCount - 1)),
+                    survivorCount(survivors.size(), reductionFactor, topK));
+            log.debug("Successive halving round {}: {} candidates over {} ticks, {} kept", round, survivors.size(), headTickCount, results.size());
+            survivors = new ArrayList<>(results.size());
+            for (OptimizationResult result : results) {
+                survivors.add(result.getParameters());
+            }
+        }
+        return top(evaluate(survivors, beginIndex, endIndex), topK);
+    }
+
+    /**
+     * Backtests the strategies of points.
+     * @param candidates the points
+     * @param startIndex the start index of the backtests (included)
+     * @param finishIndex the finish index of the backtests (included)
+     * @return the results (in the order of the points)
+     */
+    private List<OptimizationResult> evaluate(List<Parameters> candidates, int startIndex, int finishIndex) {
+        int[] startIndexes = new int[candidates.size()];
+        int[] finishIndexes = new int[candidates.size()];
+        Arrays.fill(startIndexes, startIndex);
+        Arrays.fill(finishIndexes, finishIndex);
+        return evaluate(candidates, startIndexes, finishIndexes, false, true);
+    }
+
+    /**
+     * Backtests the strategies of points, each one over its own part of the time series.
+     * @param candidates the points
+     * @param startIndexes the start index of each backtest (included)
+     * @param finishIndexes the finish index of each backtest (included)
+     * @param closeAtFinish true to close the opened trade at the finish index (instead of searching an exit after it)
+     * @param stoppable true if the backtests may be stopped by the stop condition of the optimizer
+     * @return the results (in the order of the points)
+     */
+    List<OptimizationResult> evaluate(List<Parameters> candidates, int[] startIndexes, int[] finishIndexes, boolean closeAtFinish, boolean stoppable) {
+        List<Function<TimeSeries, Strategy>> factories = new ArrayList<>(candidates.size());
+        long tickCount = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            final Parameters parameters = candidates.get(i);
+            final int finishIndex = finishIndexes[i];
+            if (closeAtFinish) {
+                factories.add(series -> new ClosingStrategy(template.buildStrategy(registry, parameters), finishIndex));
+            } else {
+                factories.add(series -> template.buildStrategy(registry, parameters));
+            }
+            tickCount += Math.max(0, finishIndex - startIndexes[i] + 1);
+        }
+        List<BacktestResult> backtests = executor.run(factories, startIndexes, finishIndexes, stoppable ? executor.getStopCondition() : null, criterion);
+        backtestCount.add(candidates.size());
+        backtestedTickCount.add(tickCount);
+
+        List<OptimizationResult> results = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            BacktestResult backtest = backtests.get(i);
+            results.add(new OptimizationResult(candidates.get(i), backtest, backtest.getCriterionValue(criterion)));
+        }
+        return results;
+    }
+
+    /**
+     * @param results results
+     * @param count a number of results
+     * @return the (at most) count best results, the best first (the first one on ties)
+     */
+    List<OptimizationResult> top(List<OptimizationResult> results, int count) {
+        List<OptimizationResult> sorted = new ArrayList<>(results);
+        // Stable sort: the first result is kept on ties
+        sorted.sort(bestFirst);
+        return new ArrayList<>(sorted.subList(0, Math.min(count, sorted.size())));
+    }
+
+    /**
+     * @param count a number of candidates
+     * @param reductionFactor the reduction factor
+     * @param topK the number of results to be reported
+     * @return the number of candidates kept for the next round
+     */
+    private static int survivorCount(int count, int reductionFactor, int topK) {
+        return Math.max(topK, (count + reductionFactor - 1) / reductionFactor);
+    }
+
+    /**
+     * @param topK a number of results to be reported
+     * @throws IllegalArgumentException if topK is not strictly positive
+     */
+    private static void checkTopK(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("Top-K must be strictly positive");
+        }
+    }
+
+    /**
+     * A strategy which does not enter at (or after) a finish index, and exits there.
+     */
+    private static final class ClosingStrategy implements Strategy {
+
+        private final Strategy strategy;
+
+        private final int finishIndex;
+
+        ClosingStrategy(Strategy strategy, int finishIndex) {
+            this.strategy = strategy;
+            this.finishIndex = finishIndex;
+        }
+
+        @Override
+        public Rule getEntryRule() {
+            return strategy.getEntryRule();
+        }
+
+        @Override
+        public Rule getExitRule() {
+            return strategy.getExitRule();
+        }
+
+        @Override
+        public void setUnstablePeriod(int unstablePeriod) {
+            strategy.setUnstablePeriod(unstablePeriod);
+        }
+
+        @Override
+        public boolean isUnstableAt(int index) {
+            return strategy.isUnstableAt(index);
+        }
+
+        @Override
+        public boolean shouldEnter(int index, TradingRecord tradingRecord) {
+            return index < finishIndex && strategy.shouldEnter(index, tradingRecord);
+        }
+
+        @Override
+        public boolean shouldExit(int index, TradingRecord tradingRecord) {
+            return index >= finishIndex || strategy.shouldExit(index, tradingRecord);
+        }
+
+        @Override
+        public String toString() {
+            return strategy.toString();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.optimization;
+
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
+
+/**
+ * A parameterized strategy.
+ * <p>
+ * Builds a {@link Strategy strategy} for a point of a {@link ParameterSpace parameter space}, e.g.:
+ * <pre>
+ * StrategyTemplate template = (registry, parameters) -&gt; {
+ *     ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class);
+ *     SMAIndicator shortSma = registry.get(SMAIndicator.class, closePrice, parameters.getInt("short"));
+ *     SMAIndicator longSma = registry.get(SMAIndicator.class, closePrice, parameters.getInt("long"));
+ *     return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma), new CrossedDownIndicatorRule(shortSma, longSma));
+ * };
+ * </pre>
+ * The indicators should be taken from the provided registry: the strategies of the points sharing an
+ * indicator parameterization then share the indicator, whose values are calculated once.
+ */
+@FunctionalInterface
+public interface StrategyTemplate {
+
+    /**
+     * @param registry the indicator registry of the time series
+     * @param parameters the parameters of the strategy
+     * @return the strategy
+     */
+    Strategy buildStrategy(IndicatorRegistry registry, Parameters parameters);
+}
@@ -0,0 +1,243 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.optimization;
+
+import eu.verdelhan.ta4j.TimeSeries;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A fold of a walk-forward optimization.
+ * <p>
+ * An in-sample window of a time series (over which the strategy parameters are optimized),
+ * followed by an out-of-sample window (over which the optimized strategy is evaluated).
+ * Windows are ranges of indexes of the time series.
+ * <p>
+ * Folds are built by consecutive out-of-sample windows, the in-sample window either rolling
+ * (with a fixed length, just before the out-of-sample one) or anchored (at the beginning of the series).
+ */
+public class WalkForwardFold {
+
+    /** Begin index of the in-sample window (included) */
+    private final int inSampleBeginIndex;
+
+    /** End index of the in-sample window (included) */
+    private final int inSampleEndIndex;
+
+    /** Begin index of the out-of-sample window (included) */
+    private final int outOfSampleBeginIndex;
+
+    /** End index of the out-of-sample window (included) */
+    private final int outOfSampleEndIndex;
+
+    /**
+     * Constructor.
+     * @param inSampleBeginIndex the begin index of the in-sample window (included)
+     * @param inSampleEndIndex the end index of the in-sample window (included)
+     * @param outOfSampleBeginIndex the begin index of the out-of-sample window (included)
+     * @param outOfSampleEndIndex the end index of the out-of-sample window (included)
+     */
+    public WalkForwardFold(int inSampleBeginIndex, int inSampleEndIndex, int outOfSampleBeginIndex, int outOfSampleEndIndex) {
+        if (inSampleBeginIndex < 0 || inSampleEndIndex < inSampleBeginIndex || outOfSampleEndIndex < outOfSampleBeginIndex) {
+            throw new IllegalArgumentException("Windows cannot be empty");
+        }
+        if (outOfSampleBeginIndex <= inSampleEndIndex) {
+            throw new IllegalArgumentException("The out-of-sample window must follow the in-sample window");
+        }
+        this.inSampleBeginIndex = inSampleBeginIndex;
+        this.inSampleEndIndex = inSampleEndIndex;
+        this.outOfSampleBeginIndex = outOfSampleBeginIndex;
+        this.outOfSampleEndIndex = outOfSampleEndIndex;
+    }
+
+    /**
+     * Builds folds with a rolling in-sample window.
+     * @param series the time series
+     * @param inSampleDuration the duration of the in-sample windows
+     * @param outOfSampleDuration the duration of the out-of-sample windows (the last one may be shorter)
+     * @return the folds
+     */
+    public static List<WalkForwardFold> rolling(TimeSeries series, Duration inSampleDuration, Duration outOfSampleDuration) {
+        return build(series, inSampleDuration, outOfSampleDuration, false);
+    }
+
+    /**
+     * Builds folds with an anchored in-sample window (starting at the beginning of the series).
+     * @param series the time series
+     * @param inSampleDuration the duration of the first in-sample window
+     * @param outOfSampleDuration the duration of the out-of-sample windows (the last one may be shorter)
+     * @return the folds
+     */
+    public static List<WalkForwardFold> anchored(TimeSeries series, Duration inSampleDuration, Duration outOfSampleDuration) {
+        return build(series, inSampleDuration, outOfSampleDuration, true);
+    }
+
+    /**
+     * Builds folds with a rolling in-sample window.
+     * @param series the time series
+     * @param inSampleTickCount the number of ticks of the in-sample windows
+     * @param outOfSampleTickCount the number of ticks of the out-of-sample windows (the last one may be shorter)
+     * @return the folds
+     */
+    public static List<WalkForwardFold> rolling(TimeSeries series, int inSampleTickCount, int outOfSampleTickCount) {
+        return build(series, inSampleTickCount, outOfSampleTickCount, false);
+    }
+
+    /**
+     * Builds folds with an anchored in-sample window (starting at the beginning of the series).
+     * @param series the time series
+     * @param inSampleTickCount the number of ticks of the first in-sample window
+     * @param outOfSampleTickCount the number of ticks of the out-of-sample windows (the last one may be shorter)
+     * @return the folds
+     */
+    public static List<WalkForwardFold> anchored(TimeSeries series, int inSampleTickCount, int outOfSampleTickCount) {
+        return build(series, inSampleTickCount, outOfSampleTickCount, true);
+    }
+
+    /**
+     * @return the begin index of the in-sample window (included)
+     */
+    public int getInSampleBeginIndex() {
+        return inSampleBeginIndex;
+    }
+
+    /**
+     * @return the end index of the in-sample window (included)
+     */
+    public int getInSampleEndIndex() {
+        return inSampleEndIndex;
+    }
+
+    /**
+     * @return the begin index of the out-of-sample window (included)
+     */
+    public int getOutOfSampleBeginIndex() {
+        return outOfSampleBeginIndex;
+    }
+
+    /**
+     * @return the end index of the out-of-sample window (included)
+     */
+    public int getOutOfSampleEndIndex() {
+        return outOfSampleEndIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "WalkForwardFold{in-sample: " + inSampleBeginIndex + " -> " + inSampleEndIndex
+                + ", out-of-sample: " + outOfSampleBeginIndex + " -> " + outOfSampleEndIndex + "}";
+    }
+
+    /**
+     * Builds folds from durations.
+     * @param series the time series
+     * @param inSampleDuration the duration of the (first) in-sample window
+     * @param outOfSampleDuration the duration of the out-of-sample windows
+     * @param anchored true for anchored in-sample windows, false for rolling ones
+     * @return the folds
+     */
+    private static List<WalkForwardFold> build(TimeSeries series, Duration inSampleDuration, Duration outOfSampleDuration, boolean anchored) {
+        checkDuration(inSampleDuration);
+        checkDuration(outOfSampleDuration);
+        List<WalkForwardFold> folds = new ArrayList<>();
+        if (series.isEmpty()) {
+            return folds;
+        }
+        final int beginIndex = Math.max(series.getBeginIndex(), series.getRemovedTicksCount());
+        final int endIndex = series.getEndIndex();
+        ZonedDateTime outOfSampleBegin = series.getTick(beginIndex).getEndTime().plus(inSampleDuration);
+        int outOfSampleBeginIndex = firstIndexNotBefore(series, beginIndex, outOfSampleBegin);
+        while (outOfSampleBeginIndex <= endIndex) {
+            final ZonedDateTime outOfSampleEnd = outOfSampleBegin.plus(outOfSampleDuration);
+            final int nextBeginIndex = firstIndexNotBefore(series, outOfSampleBeginIndex, outOfSampleEnd);
+            final int inSampleBeginIndex = anchored ? beginIndex
+                    : firstIndexNotBefore(series, beginIndex, outOfSampleBegin.minus(inSampleDuration));
+            if (inSampleBeginIndex < outOfSampleBeginIndex && outOfSampleBeginIndex < nextBeginIndex) {
+                // Both windows have ticks
+                folds.add(new WalkForwardFold(inSampleBeginIndex, outOfSampleBeginIndex - 1, outOfSampleBeginIndex, nextBeginIndex - 1));
+            }
+            outOfSampleBegin = outOfSampleEnd;
+            outOfSampleBeginIndex = nextBeginIndex;
+        }
+        return folds;
+    }
+
+    /**
+     * Builds folds from tick counts.
+     * @param series the time series
+     * @param inSampleTickCount the number of ticks of the (first) in-sample window
+     * @param outOfSampleTickCount the number of ticks of the out-of-sample windows
+     * @param anchored true for anchored in-sample windows, false for rolling ones
+     * @return the folds
+     */
+    private static List<WalkForwardFold> build(TimeSeries series, int inSampleTickCount, int outOfSampleTickCount, boolean anchored) {
+        if (inSampleTickCount < 1 || outOfSampleTickCount < 1) {
+            throw new IllegalArgumentException("Tick counts must be strictly positive");
+        }
+        List<WalkForwardFold> folds = new ArrayList<>();
+        if (series.isEmpty()) {
+            return folds;
+        }
+        final int beginIndex = Math.max(series.getBeginIndex(), series.getRemovedTicksCount());
+        final int endIndex = series.getEndIndex();
+        for (long outOfSampleBeginIndex = (long) beginIndex + inSampleTickCount; outOfSampleBeginIndex <= endIndex; outOfSampleBeginIndex += outOfSampleTickCount) {
+            final int inSampleBeginIndex = anchored ? beginIndex : (int) (outOfSampleBeginIndex - inSampleTickCount);
+            final int outOfSampleEndIndex = (int) Math.min(endIndex, outOfSampleBeginIndex + outOfSampleTickCount - 1);
+            folds.add(new WalkForwardFold(inSampleBeginIndex, (int) outOfSampleBeginIndex - 1, (int) outOfSampleBeginIndex, outOfSampleEndIndex));
+        }
+        return folds;
+    }
+
+    /**
+     * @param series the time series
+     * @param fromIndex the index to search from
+     * @param time a date-time
+     * @return the index of the first tick (from fromIndex) ending at or after the date-time (the end index + 1 if none)
+     */
+    private static int firstIndexNotBefore(TimeSeries series, int fromIndex, ZonedDateTime time) {
+        // Binary search (tick end times are increasing)
+        int low = fromIndex;
+        int high = series.getEndIndex() + 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (series.getTick(middle).getEndTime().isBefore(time)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param duration a duration
+     * @throws IllegalArgumentException if the duration is not strictly positive
+     */
+    private static void checkDuration(Duration duration) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Durations must be strictly positive");
+        }
+    }
+}
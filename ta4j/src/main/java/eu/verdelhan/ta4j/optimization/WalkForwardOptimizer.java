@@ -0,0 +1,160 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.optimization;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A walk-forward optimizer.
+ * <p>
+ * For each {@link WalkForwardFold fold}, optimizes the parameters of a {@link StrategyTemplate strategy template}
+ * over the in-sample window, then evaluates the best parameters over the out-of-sample window.
+ * <p>
+ * The windows are ranges of indexes of the whole time series (and not separate sub-series): all the strategies
+ * are built from an {@link IndicatorRegistry indicator registry} of the whole series, hence each indicator value
+ * is calculated once for all the folds (e.g. over the overlapping in-sample windows), and the indicators are
+ * warmed up by the ticks preceding the windows. The backtests of all the folds are run in parallel: first the
+ * in-sample ones, then the out-of-sample ones.
+ * <p>
+ * Trades are closed at the end of their window: an in-sample trade never exits on an out-of-sample tick, and
+ * the out-of-sample trades of successive folds do not overlap. The {@link StrategyOptimizer#setStopCondition
+ * stop condition} of the optimizer only applies to the in-sample backtests.
+ */
+public class WalkForwardOptimizer {
+
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    /** The optimizer running the backtests */
+    private final StrategyOptimizer optimizer;
+
+    /**
+     * Constructor.
+     * <p>
+     * Runs as many backtests at the same time as there are available processors.
+     * @param series the time series
+     * @param template the strategy template
+     * @param criterion the criterion to be optimized
+     */
+    public WalkForwardOptimizer(TimeSeries series, StrategyTemplate template, AnalysisCriterion criterion) {
+        this(series, template, criterion, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param series the time series
+     * @param template the strategy template
+     * @param criterion the criterion to be optimized
+     * @param parallelism the maximum number of backtests running at the same time
+     */
+    public WalkForwardOptimizer(TimeSeries series, StrategyTemplate template, AnalysisCriterion criterion, int parallelism) {
+        this.optimizer = new StrategyOptimizer(series, template, criterion, parallelism);
+    }
+
+    /**
+     * @return the time series
+     */
+    public TimeSeries getTimeSeries() {
+        return optimizer.getTimeSeries();
+    }
+
+    /**
+     * @return the indicator registry shared by the strategies of all the folds
+     */
+    public IndicatorRegistry getIndicatorRegistry() {
+        return optimizer.getIndicatorRegistry();
+    }
+
+    /**
+     * @return the number of backtests run by the optimizer
+     */
+    public long getBacktestCount() {
+        return optimizer.getBacktestCount();
+    }
+
+    /**
+     * Runs a walk-forward optimization.
+     * @param space the parameter space (all of its points being evaluated in each in-sample window)
+     * @param folds the folds
+     * @return the result of the walk-forward optimization
+     */
+    public WalkForwardResult run(ParameterSpace space, List<WalkForwardFold> folds) {
+        return run(space.grid(), folds, 1);
+    }
+
+    /**
+     * Runs a walk-forward optimization.
+     * @param candidates the points evaluated in each in-sample window
+     * @param folds the folds
+     * @param topK the number of in-sample results to be reported per fold
+     * @return the result of the walk-forward optimization
+     */
+    public WalkForwardResult run(List<Parameters> candidates, List<WalkForwardFold> folds, int topK) {
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("There must be at least one candidate");
+        }
+        if (topK < 1) {
+            throw new IllegalArgumentException("Top-K must be strictly positive");
+        }
+        final int candidateCount = candidates.size();
+        final int foldCount = folds.size();
+        log.debug("Walk-forward optimization: {} folds, {} candidates", foldCount, candidateCount);
+
+        // In-sample backtests of all the folds
+        List<Parameters> inSampleCandidates = new ArrayList<>(foldCount * candidateCount);
+        int[] startIndexes = new int[foldCount * candidateCount];
+        int[] finishIndexes = new int[foldCount * candidateCount];
+        for (int f = 0; f < foldCount; f++) {
+            final WalkForwardFold fold = folds.get(f);
+            inSampleCandidates.addAll(candidates);
+            for (int c = 0; c < candidateCount; c++) {
+                startIndexes[f * candidateCount + c] = fold.getInSampleBeginIndex();
+                finishIndexes[f * candidateCount + c] = fold.getInSampleEndIndex();
+            }
+        }
+        List<OptimizationResult> inSampleBacktests = optimizer.evaluate(inSampleCandidates, startIndexes, finishIndexes, true, true);
+
+        // Out-of-sample backtests of the best parameters of each fold
+        List<List<OptimizationResult>> inSampleResults = new ArrayList<>(foldCount);
+        List<Parameters> outOfSampleCandidates = new ArrayList<>(foldCount);
+        startIndexes = new int[foldCount];
+        finishIndexes = new int[foldCount];
+        for (int f = 0; f < foldCount; f++) {
+            final WalkForwardFold fold = folds.get(f);
+            List<OptimizationResult> best = optimizer.top(inSampleBacktests.subList(f * candidateCount, (f + 1) * candidateCount), topK);
+            inSampleResults.add(Collections.unmodifiableList(best));
+            outOfSampleCandidates.add(best.get(0).getParameters());
+            startIndexes[f] = fold.getOutOfSampleBeginIndex();
+            finishIndexes[f] = fold.getOutOfSampleEndIndex();
+        }
+        List<OptimizationResult> outOfSampleResults = optimizer.evaluate(outOfSampleCandidates, startIndexes, finishIndexes, true, false);
+        return new WalkForwardResult(optimizer.getTimeSeries(), folds, inSampleResults, outOfSampleResults);
+    }
+}
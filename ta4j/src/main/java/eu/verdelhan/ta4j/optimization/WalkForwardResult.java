@@ -0,0 +1,145 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.optimization;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.BaseTradingRecord;
+import eu.verdelhan.ta4j.Order;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.Trade;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.CashFlow;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a walk-forward optimization.
+ * <p>
+ * Holds, for each {@link WalkForwardFold fold}, the best in-sample results and the out-of-sample evaluation
+ * of the best parameters. The out-of-sample trades of all the folds are aggregated in a single trading record,
+ * from which the out-of-sample equity curve and criteria are calculated.
+ * @see WalkForwardOptimizer
+ */
+public class WalkForwardResult {
+
+    /** The time series */
+    private final TimeSeries series;
+
+    /** The folds */
+    private final List<WalkForwardFold> folds;
+
+    /** The best in-sample results (best first), by fold */
+    private final List<List<OptimizationResult>> inSampleResults;
+
+    /** The out-of-sample results, by fold */
+    private final List<OptimizationResult> outOfSampleResults;
+
+    /** The aggregated out-of-sample trading record */
+    private final TradingRecord outOfSampleTradingRecord;
+
+    /**
+     * Constructor.
+     * @param series the time series
+     * @param folds the folds
+     * @param inSampleResults the best in-sample results (best first), by fold
+     * @param outOfSampleResults the out-of-sample results, by fold
+     */
+    public WalkForwardResult(TimeSeries series, List<WalkForwardFold> folds, List<List<OptimizationResult>> inSampleResults, List<OptimizationResult> outOfSampleResults) {
+        if (inSampleResults.size() != folds.size() || outOfSampleResults.size() != folds.size()) {
+            throw new IllegalArgumentException("There must be one result per fold");
+        }
+        this.series = series;
+        this.folds = Collections.unmodifiableList(new ArrayList<>(folds));
+        this.inSampleResults = Collections.unmodifiableList(new ArrayList<>(inSampleResults));
+        this.outOfSampleResults = Collections.unmodifiableList(new ArrayList<>(outOfSampleResults));
+
+        List<Order> orders = new ArrayList<>();
+        for (OptimizationResult result : outOfSampleResults) {
+            for (Trade trade : result.getBacktestResult().getTradingRecord().getTrades()) {
+                orders.add(trade.getEntry());
+                orders.add(trade.getExit());
+            }
+        }
+        this.outOfSampleTradingRecord = orders.isEmpty() ? new BaseTradingRecord()
+                : new BaseTradingRecord(orders.toArray(new Order[orders.size()]));
+    }
+
+    /**
+     * @return the folds
+     */
+    public List<WalkForwardFold> getFolds() {
+        return folds;
+    }
+
+    /**
+     * @param fold the index of a fold
+     * @return the best in-sample results of the fold (best first)
+     */
+    public List<OptimizationResult> getInSampleResults(int fold) {
+        return Collections.unmodifiableList(inSampleResults.get(fold));
+    }
+
+    /**
+     * @param fold the index of a fold
+     * @return the best in-sample parameters of the fold
+     */
+    public Parameters getBestParameters(int fold) {
+        return outOfSampleResults.get(fold).getParameters();
+    }
+
+    /**
+     * @param fold the index of a fold
+     * @return the out-of-sample result of the best in-sample parameters of the fold
+     */
+    public OptimizationResult getOutOfSampleResult(int fold) {
+        return outOfSampleResults.get(fold);
+    }
+
+    /**
+     * @return the out-of-sample trades of all the folds
+     */
+    public TradingRecord getOutOfSampleTradingRecord() {
+        return outOfSampleTradingRecord;
+    }
+
+    /**
+     * @return the out-of-sample equity curve (over the whole time series)
+     */
+    public CashFlow getOutOfSampleEquity() {
+        return new CashFlow(series, outOfSampleTradingRecord);
+    }
+
+    /**
+     * @param criterion an analysis criterion
+     * @return the value of the criterion for the out-of-sample trades of all the folds
+     */
+    public double getOutOfSampleCriterionValue(AnalysisCriterion criterion) {
+        return criterion.calculate(series, outOfSampleTradingRecord);
+    }
+
+    @Override
+    public String toString() {
+        return "WalkForwardResult{folds: " + folds.size() + ", out-of-sample trades: " + outOfSampleTradingRecord.getTradeCount() + "}";
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import eu.verdelhan.ta4j.analysis.criteria.NumberOfTradesCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.indicators.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import eu.verdelhan.ta4j.trading.rules.CrossedDownIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.CrossedUpIndicatorRule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BacktestExecutorTest {
+
+    private TimeSeries series;
+
+    private List<Function<TimeSeries, Strategy>> factories;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        double[] data = new double[500];
+        double price = 100;
+        for (int i = 0; i < data.length; i++) {
+            price = Math.max(1, price + random.nextGaussian());
+            data[i] = price;
+        }
+        series = new MockTimeSeries(data);
+        factories = new ArrayList<>();
+        for (int shortTimeFrame = 2; shortTimeFrame <= 10; shortTimeFrame += 2) {
+            for (int longTimeFrame = 15; longTimeFrame <= 40; longTimeFrame += 5) {
+                factories.add(smaCrossover(shortTimeFrame, longTimeFrame));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelismMustBePositive() {
+        new BacktestExecutor(series, 0);
+    }
+
+    @Test
+    public void parallelRunsMatchSequentialRuns() {
+        TotalProfitCriterion totalProfit = new TotalProfitCriterion();
+        NumberOfTradesCriterion numberOfTrades = new NumberOfTradesCriterion();
+        List<BacktestResult> results = new BacktestExecutor(series, 4).run(factories, totalProfit, numberOfTrades);
+
+        assertEquals(factories.size(), results.size());
+        TimeSeriesManager manager = new TimeSeriesManager(series);
+        for (int i = 0; i < factories.size(); i++) {
+            TradingRecord expected = manager.run(factories.get(i).apply(series));
+            BacktestResult result = results.get(i);
+            assertEquals(i, result.getStrategyIndex());
+            assertEquals(expected.getTradeCount(), result.getTradingRecord().getTradeCount());
+            assertEquals(totalProfit.calculate(series, expected), result.getCriterionValue(totalProfit), 1e-9);
+            assertEquals(expected.getTradeCount(), result.getCriterionValue(numberOfTrades), 1e-9);
+            assertArrayEquals(new double[] { result.getCriterionValue(totalProfit), result.getCriterionValue(numberOfTrades) },
+                    result.getCriterionValues(), 1e-9);
+        }
+    }
+
+    @Test
+    public void chooseBestMatchesCriterionChooseBest() {
+        TotalProfitCriterion totalProfit = new TotalProfitCriterion();
+        List<Strategy> strategies = new ArrayList<>();
+        for (Function<TimeSeries, Strategy> factory : factories) {
+            strategies.add(factory.apply(series));
+        }
+        Strategy expected = totalProfit.chooseBest(new TimeSeriesManager(series), strategies);
+
+        List<Strategy> otherStrategies = new ArrayList<>();
+        for (Function<TimeSeries, Strategy> factory : factories) {
+            otherStrategies.add(factory.apply(series));
+        }
+        BacktestResult best = new BacktestExecutor(series, 3).chooseBest(otherStrategies, totalProfit);
+        assertEquals(strategies.indexOf(expected), best.getStrategyIndex());
+    }
+
+    @Test
+    public void failuresArePropagated() {
+        List<Function<TimeSeries, Strategy>> failing = new ArrayList<>(factories);
+        failing.add(s -> {
+            throw new IllegalStateException("Broken factory");
+        });
+        try {
+            new BacktestExecutor(series, 2).run(failing);
+            fail("Exception expected");
+        } catch (IllegalStateException ise) {
+            assertEquals("Broken factory", ise.getMessage());
+        }
+    }
+
+    @Test
+    public void stoppedRuns() {
+        TotalProfitCriterion totalProfit = new TotalProfitCriterion();
+        BacktestExecutor executor = new BacktestExecutor(series, 4);
+        StopCondition maximumDrawdown = StopCondition.maximumDrawdown(0.1);
+        executor.setStopCondition(maximumDrawdown);
+        assertSame(maximumDrawdown, executor.getStopCondition());
+        List<BacktestResult> results = executor.run(factories, totalProfit);
+
+        TimeSeriesManager manager = new TimeSeriesManager(series);
+        int stoppedCount = 0;
+        for (int i = 0; i < factories.size(); i++) {
+            BacktestResult result = results.get(i);
+            TradingRecord fullRun = manager.run(factories.get(i).apply(series));
+            if (result.isStopped()) {
+                stoppedCount++;
+                assertTrue(Double.isNaN(result.getCriterionValue(totalProfit)));
+                assertTrue(result.getTradingRecord().getTradeCount() <= fullRun.getTradeCount());
+            } else {
+                assertEquals(totalProfit.calculate(series, fullRun), result.getCriterionValue(totalProfit), 1e-9);
+            }
+        }
+        assertTrue(stoppedCount > 0);
+        assertTrue(stoppedCount < factories.size());
+        assertFalse(BacktestExecutor.best(results, totalProfit).isStopped());
+
+        // A batch without stop condition
+        results = executor.run(factories, new int[factories.size()], fill(factories.size(), series.getEndIndex()), (StopCondition) null, totalProfit);
+        for (BacktestResult result : results) {
+            assertFalse(result.isStopped());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownCriterion() {
+        List<BacktestResult> results = new BacktestExecutor(series).run(factories, new TotalProfitCriterion());
+        results.get(0).getCriterionValue(new TotalProfitCriterion());
+    }
+
+    private static int[] fill(int length, int value) {
+        int[] array = new int[length];
+        Arrays.fill(array, value);
+        return array;
+    }
+
+    private static Function<TimeSeries, Strategy> smaCrossover(int shortTimeFrame, int longTimeFrame) {
+        return s -> {
+            ClosePriceIndicator closePrice = new ClosePriceIndicator(s);
+            SMAIndicator shortSma = new SMAIndicator(closePrice, shortTimeFrame);
+            SMAIndicator longSma = new SMAIndicator(closePrice, longTimeFrame);
+            return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma), new CrossedDownIndicatorRule(shortSma, longSma));
+        };
+    }
+}
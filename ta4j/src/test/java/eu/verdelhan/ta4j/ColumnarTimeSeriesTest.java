@@ -0,0 +1,205 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.indicators.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.TypicalPriceIndicator;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ColumnarTimeSeriesTest {
+
+    private ColumnarTimeSeries series;
+
+    private ZonedDateTime time;
+
+    @Before
+    public void setUp() {
+        series = new ColumnarTimeSeries("columnar", Decimal.Backend.DOUBLE, 2);
+        time = ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.of("Europe/Paris"));
+    }
+
+    @Test
+    public void emptySeries() {
+        assertEquals("columnar", series.getName());
+        assertTrue(series.isEmpty());
+        assertEquals(-1, series.getBeginIndex());
+        assertEquals(-1, series.getEndIndex());
+        assertTrue(series.getTickData().isEmpty());
+    }
+
+    @Test
+    public void addTickAndMaterialize() {
+        Tick tick = new BaseTick(Duration.ofHours(1), time, Decimal.valueOf(1), Decimal.valueOf(4),
+                Decimal.valueOf(0.5), Decimal.valueOf(2), Decimal.valueOf(100), Decimal.valueOf(150), 7);
+        series.addTick(tick);
+        assertEquals(1, series.getTickCount());
+        assertEquals(0, series.getEndIndex());
+
+        Tick materialized = series.getTick(0);
+        assertNotSame(tick, materialized);
+        assertEquals(time, materialized.getEndTime());
+        assertEquals(Duration.ofHours(1), materialized.getTimePeriod());
+        assertDecimalEquals(materialized.getOpenPrice(), 1);
+        assertDecimalEquals(materialized.getMaxPrice(), 4);
+        assertDecimalEquals(materialized.getMinPrice(), 0.5);
+        assertDecimalEquals(materialized.getClosePrice(), 2);
+        assertDecimalEquals(materialized.getVolume(), 100);
+        assertDecimalEquals(materialized.getAmount(), 150);
+        assertEquals(7, materialized.getTrades());
+        assertEquals(Decimal.Backend.DOUBLE, materialized.getClosePrice().getBackend());
+    }
+
+    @Test
+    public void columnAccessors() {
+        series.addTick(Duration.ofMinutes(1), time.toInstant().toEpochMilli(), 1, 4, 0.5, 2, 100, 150, 7);
+        assertDecimalEquals(series.getOpenPrice(0), 1);
+        assertDecimalEquals(series.getMaxPrice(0), 4);
+        assertDecimalEquals(series.getMinPrice(0), 0.5);
+        assertDecimalEquals(series.getClosePrice(0), 2);
+        assertDecimalEquals(series.getVolume(0), 100);
+        assertDecimalEquals(series.getAmount(0), 150);
+        assertEquals(7, series.getTrades(0));
+        assertEquals(time.toInstant().toEpochMilli(), series.getEndTimeMillis(0));
+    }
+
+    @Test
+    public void tickWithoutTradeOnBigDecimalBackend() {
+        ColumnarTimeSeries bigDecimalSeries = new ColumnarTimeSeries("columnar", Decimal.Backend.BIG_DECIMAL, 2);
+        bigDecimalSeries.addTick(new BaseTick(Duration.ofMinutes(1), time));
+        assertTrue(bigDecimalSeries.getOpenPrice(0).isNaN());
+        assertTrue(bigDecimalSeries.getMaxPrice(0).isNaN());
+        assertTrue(bigDecimalSeries.getMinPrice(0).isNaN());
+        assertTrue(bigDecimalSeries.getClosePrice(0).isNaN());
+        assertDecimalEquals(bigDecimalSeries.getVolume(0), 0);
+
+        Tick materialized = bigDecimalSeries.getTick(0);
+        assertTrue(materialized.getClosePrice().isNaN());
+        assertEquals(Decimal.Backend.BIG_DECIMAL, materialized.getVolume().getBackend());
+        assertEquals(0, materialized.getTrades());
+    }
+
+    @Test
+    public void columnsGrow() {
+        addTicks(100);
+        assertEquals(100, series.getTickCount());
+        for (int i = 0; i < 100; i++) {
+            assertDecimalEquals(series.getClosePrice(i), i);
+            assertEquals(time.plusMinutes(i).toInstant(), series.getTick(i).getEndTime().toInstant());
+        }
+    }
+
+    @Test
+    public void maximumTickCount() {
+        series.setMaximumTickCount(3);
+        addTicks(10);
+        assertEquals(3, series.getTickCount());
+        assertEquals(7, series.getRemovedTicksCount());
+        assertEquals(9, series.getEndIndex());
+        assertDecimalEquals(series.getClosePrice(7), 7);
+        assertDecimalEquals(series.getClosePrice(9), 9);
+        // Removed ticks: first remaining one returned
+        assertDecimalEquals(series.getClosePrice(2), 7);
+        assertEquals(3, series.getTickData().size());
+        assertDecimalEquals(series.getTickData().get(0).getClosePrice(), 7);
+
+        // Shrinking then adding
+        series.setMaximumTickCount(2);
+        assertEquals(8, series.getRemovedTicksCount());
+        series.addTick(Duration.ofMinutes(1), time.plusMinutes(10).toInstant().toEpochMilli(), 10, 10, 10, 10, 1, 10, 1);
+        assertEquals(9, series.getRemovedTicksCount());
+        assertDecimalEquals(series.getClosePrice(9), 9);
+        assertDecimalEquals(series.getClosePrice(10), 10);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getTickWithIndexGreaterThanEndIndexShouldThrowException() {
+        addTicks(3);
+        series.getTick(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addTickWithEndTimePriorToSeriesEndTimeShouldThrowException() {
+        addTicks(3);
+        series.addTick(Duration.ofMinutes(1), time.toInstant().toEpochMilli(), 1, 1, 1, 1, 1, 1, 1);
+    }
+
+    @Test
+    public void indicatorsOnCopiedSeries() {
+        TimeSeries baseSeries = new MockTimeSeries(1, 2, 3, 4, 3, 4, 5, 4, 3, 3, 4, 3, 2);
+        ColumnarTimeSeries columnarSeries = new ColumnarTimeSeries(baseSeries, Decimal.Backend.BIG_DECIMAL);
+        assertEquals(baseSeries.getTickCount(), columnarSeries.getTickCount());
+
+        SMAIndicator baseSma = new SMAIndicator(new ClosePriceIndicator(baseSeries), 3);
+        SMAIndicator columnarSma = new SMAIndicator(new ClosePriceIndicator(columnarSeries), 3);
+        TypicalPriceIndicator baseTypicalPrice = new TypicalPriceIndicator(baseSeries);
+        TypicalPriceIndicator columnarTypicalPrice = new TypicalPriceIndicator(columnarSeries);
+        for (int i = 0; i <= baseSeries.getEndIndex(); i++) {
+            assertEquals(baseSma.getValue(i), columnarSma.getValue(i));
+            assertEquals(baseTypicalPrice.getValue(i), columnarTypicalPrice.getValue(i));
+        }
+    }
+
+    @Test
+    public void replaceLastTickAndAddTrade() {
+        addTicks(3);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 2);
+        assertDecimalEquals(sma.getValue(2), 1.5);
+
+        series.replaceLastTick(Duration.ofMinutes(1), time.plusMinutes(2).toInstant().toEpochMilli(), 2, 3, 1, 3, 5, 15, 2);
+        assertEquals(2, series.getEndIndex());
+        assertEquals(1, series.getReplacedTicksCount());
+        assertDecimalEquals(sma.getValue(2), 2);
+
+        series.addTrade(2, 4.5);
+        assertEquals(2, series.getReplacedTicksCount());
+        assertDecimalEquals(series.getClosePrice(2), 4.5);
+        assertDecimalEquals(series.getMaxPrice(2), 4.5);
+        assertDecimalEquals(series.getMinPrice(2), 1);
+        assertDecimalEquals(series.getOpenPrice(2), 2);
+        assertDecimalEquals(series.getVolume(2), 7);
+        assertDecimalEquals(series.getAmount(2), 24);
+        assertEquals(3, series.getTrades(2));
+        assertDecimalEquals(sma.getValue(2), 2.75);
+        assertDecimalEquals(sma.getValue(1), 0.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void replaceLastTickWithEndTimePriorToPreviousTickShouldThrowException() {
+        addTicks(3);
+        series.replaceLastTick(Duration.ofMinutes(1), time.toInstant().toEpochMilli(), 1, 1, 1, 1, 1, 1, 1);
+    }
+
+    private void addTicks(int count) {
+        for (int i = 0; i < count; i++) {
+            series.addTick(Duration.ofMinutes(1), time.plusMinutes(i).toInstant().toEpochMilli(), i, i, i, i, 1, i, 1);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class CsvTickLoaderTest {
+
+    private static TimeSeries load(CsvTickLoader loader, String content) throws IOException {
+        TimeSeries series = new BaseTimeSeries();
+        loader.load(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), series);
+        return series;
+    }
+
+    @Test
+    public void isoDatesOldestFirst() throws IOException {
+        TimeSeries series = load(new CsvTickLoader(),
+                "date,open,high,low,close,volume\n"
+                + "2013-01-02,79.117,79.286,77.376,78.433,140124866\n"
+                + "2013-01-03,78.269,78.524,77.286,77.443,88240950\n");
+
+        assertEquals(2, series.getTickCount());
+        Tick tick = series.getTick(0);
+        assertEquals(LocalDate.of(2013, 1, 2).atStartOfDay(ZoneId.systemDefault()), tick.getEndTime());
+        assertEquals(Duration.ofDays(1), tick.getTimePeriod());
+        assertEquals(Decimal.valueOf(79.117), tick.getOpenPrice());
+        assertEquals(Decimal.valueOf(79.286), tick.getMaxPrice());
+        assertEquals(Decimal.valueOf(77.376), tick.getMinPrice());
+        assertEquals(Decimal.valueOf(78.433), tick.getClosePrice());
+        assertEquals(Decimal.valueOf(140124866), tick.getVolume());
+        assertDecimalEquals(series.getTick(1).getClosePrice(), 77.443);
+    }
+
+    @Test
+    public void newestFirstWithSuffixesAndByteOrderMark() throws IOException {
+        CsvTickLoader loader = new CsvTickLoader()
+                .withColumns(0, 2, 3, 4, 1, 5)
+                .withDateFormat(CsvTickLoader.DateFormat.MONTH_DAY_YEAR);
+        TimeSeries series = load(loader,
+                "﻿Date,Price,Open,High,Low,Vol.,Change %\r\n"
+                + "Sep 06 2019,217.30,214.25,217.30,214.15,954.76K,1.02%\r\n"
+                + "Sep 05 2019,215.10,213.00,216.40,212.50,1.52M,0.80%\r\n"
+                + "\"Sep 04, 2019\",\"213.40\",212.10,214.00,211.00,\"1,200.5K\",-0.21%\r\n");
+
+        assertEquals(3, series.getTickCount());
+        assertEquals(LocalDate.of(2019, 9, 4).atStartOfDay(ZoneId.systemDefault()), series.getFirstTick().getEndTime());
+        assertEquals(LocalDate.of(2019, 9, 6).atStartOfDay(ZoneId.systemDefault()), series.getLastTick().getEndTime());
+        assertDecimalEquals(series.getTick(0).getClosePrice(), 213.40);
+        assertDecimalEquals(series.getTick(0).getVolume(), 1200500);
+        assertDecimalEquals(series.getTick(1).getVolume(), 1520000);
+        assertDecimalEquals(series.getTick(2).getOpenPrice(), 214.25);
+        assertDecimalEquals(series.getTick(2).getVolume(), 954760);
+    }
+
+    @Test
+    public void tabSeparatedIntradayTicks() throws IOException {
+        CsvTickLoader loader = new CsvTickLoader()
+                .withDelimiter('\t')
+                .withHeaderLines(0)
+                .withColumns(0, 1, 2, 3, 4, -1)
+                .withZone(ZoneOffset.UTC)
+                .withTimePeriod(Duration.ofMinutes(1))
+                .withBackend(Decimal.Backend.DOUBLE);
+        TimeSeries series = load(loader,
+                "2017-05-01T09:31:00.5\t10\t11.5\t9\t-1.25e1\n"
+                + "2017-05-01 09:32\t\t-\t9\t10");
+
+        assertEquals(2, series.getTickCount());
+        assertEquals(ZonedDateTime.of(2017, 5, 1, 9, 31, 0, 500_000_000, ZoneOffset.UTC), series.getTick(0).getEndTime());
+        assertEquals(Duration.ofMinutes(1), series.getTick(0).getTimePeriod());
+        assertEquals(Decimal.Backend.DOUBLE, series.getTick(0).getClosePrice().getBackend());
+        assertDecimalEquals(series.getTick(0).getClosePrice(), -12.5);
+        assertDecimalEquals(series.getTick(0).getVolume(), 0);
+        assertEquals(ZonedDateTime.of(2017, 5, 1, 9, 32, 0, 0, ZoneOffset.UTC), series.getTick(1).getEndTime());
+        assertTrue(series.getTick(1).getOpenPrice().isNaN());
+        assertTrue(series.getTick(1).getMaxPrice().isNaN());
+    }
+
+    @Test
+    public void epochDatesIntoColumnarSeries() throws IOException {
+        ColumnarTimeSeries series = new ColumnarTimeSeries("epoch", Decimal.Backend.DOUBLE, 2);
+        int count = new CsvTickLoader()
+                .withHeaderLines(0)
+                .withDateFormat(CsvTickLoader.DateFormat.EPOCH_SECONDS)
+                .withTimePeriod(Duration.ofHours(1))
+                .load(new ByteArrayInputStream(("1500003600,1,2,0.5,1.5,100\n"
+                        + "1500007200,1.5,3,1,2.5,200\n"
+                        + "1500010800,2.5,3,2,2,300\n").getBytes(StandardCharsets.US_ASCII)), series);
+
+        assertEquals(3, count);
+        assertEquals(3, series.getTickCount());
+        assertEquals(1500003600L, series.getTick(0).getEndTime().toEpochSecond());
+        assertDecimalEquals(series.getTick(1).getMaxPrice(), 3);
+        assertDecimalEquals(series.getTick(2).getVolume(), 300);
+    }
+
+    @Test
+    public void linesLongerThanTheReadBuffer() throws IOException {
+        StringBuilder content = new StringBuilder("date,open,high,low,close,volume,comment\n");
+        StringBuilder comment = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            comment.append('x');
+        }
+        for (int day = 1; day <= 20; day++) {
+            content.append(String.format("2017-06-%02d,%d,%d,%d,%d.25,%d,%s\n", day, day, day + 1, day - 1, day, day * 10, comment));
+        }
+        // Channel returning a few bytes at a time
+        byte[] bytes = content.toString().getBytes(StandardCharsets.US_ASCII);
+        ReadableByteChannel channel = new ReadableByteChannel() {
+            private int position = 0;
+
+            @Override
+            public int read(ByteBuffer dst) {
+                if (position == bytes.length) {
+                    return -1;
+                }
+                int length = Math.min(Math.min(dst.remaining(), 7919), bytes.length - position);
+                dst.put(bytes, position, length);
+                position += length;
+                return length;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        TimeSeries series = new BaseTimeSeries();
+        new CsvTickLoader().load(channel, series);
+
+        assertEquals(20, series.getTickCount());
+        for (int i = 0; i < 20; i++) {
+            assertDecimalEquals(series.getTick(i).getClosePrice(), i + 1.25);
+            assertDecimalEquals(series.getTick(i).getVolume(), (i + 1) * 10);
+        }
+    }
+
+    @Test
+    public void parsedNumbersEqualDoubleParsing() throws IOException {
+        String[] values = { "0.1", "217.30", "1234567.891", "0.000123", "99999.99999", "-3.14159", "7" };
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            content.append(String.format("2017-01-%02d,%s,%s,%s,%s,1\n", i + 1, values[i], values[i], values[i], values[i]));
+        }
+        TimeSeries series = load(new CsvTickLoader().withHeaderLines(0).withBackend(Decimal.Backend.DOUBLE), content.toString());
+
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(Double.parseDouble(values[i]), series.getTick(i).getClosePrice().toDouble(), 0);
+        }
+    }
+
+    @Test
+    public void decimalCommaNumbers() throws IOException {
+        CsvTickLoader loader = new CsvTickLoader()
+                .withDelimiter(';')
+                .withDecimalSeparator(',');
+        TimeSeries series = load(loader,
+                "date;open;high;low;close;volume\n"
+                + "2017-01-02;1,5;2;1,25;1.234,75;1.200\n"
+                + "2017-01-03;1,75;2,5;1,5;2;1,5e3\n");
+
+        assertDecimalEquals(series.getTick(0).getOpenPrice(), 1.5);
+        assertDecimalEquals(series.getTick(0).getMinPrice(), 1.25);
+        assertDecimalEquals(series.getTick(0).getClosePrice(), 1234.75);
+        assertDecimalEquals(series.getTick(0).getVolume(), 1200);
+        assertDecimalEquals(series.getTick(1).getOpenPrice(), 1.75);
+        assertDecimalEquals(series.getTick(1).getVolume(), 1500);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decimalCommaWithoutDecimalSeparator() throws IOException {
+        load(new CsvTickLoader().withDelimiter(';'), "date;open;high;low;close;volume\n2017-01-02;1,5;2;1;1,5;100\n");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidDecimalSeparator() {
+        new CsvTickLoader().withDecimalSeparator(';');
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidDate() throws IOException {
+        load(new CsvTickLoader(), "date,open,high,low,close,volume\n2017-13-01,1,1,1,1,1\n");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingColumns() throws IOException {
+        load(new CsvTickLoader(), "date,open,high,low,close,volume\n2017-01-01,1,1,1\n");
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import eu.verdelhan.ta4j.Decimal.Backend;
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.indicators.RSIIndicator;
+import eu.verdelhan.ta4j.indicators.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class DecimalTest {
+
+    @Test
+    public void backends() {
+        assertEquals(Backend.BIG_DECIMAL, Decimal.valueOf(1.5).getBackend());
+        assertEquals(Backend.DOUBLE, Decimal.valueOf(1.5, Backend.DOUBLE).getBackend());
+        assertEquals(Backend.BIG_DECIMAL, Decimal.valueOf(1.5, Backend.DOUBLE).withBackend(Backend.BIG_DECIMAL).getBackend());
+        assertNull(Decimal.NaN.getBackend());
+        assertEquals(Decimal.NaN, Decimal.valueOf(Double.NaN, Backend.DOUBLE));
+    }
+
+    @Test
+    public void doubleBackendIsContagious() {
+        Decimal dbl = Decimal.valueOf(3, Backend.DOUBLE);
+        assertEquals(Backend.DOUBLE, dbl.plus(Decimal.ONE).getBackend());
+        assertEquals(Backend.DOUBLE, Decimal.ONE.minus(dbl).getBackend());
+        assertEquals(Backend.DOUBLE, Decimal.TWO.multipliedBy(dbl).getBackend());
+        assertEquals(Backend.BIG_DECIMAL, Decimal.TWO.multipliedBy(Decimal.THREE).getBackend());
+
+        assertDecimalEquals(dbl.plus(Decimal.ONE), 4);
+        assertDecimalEquals(Decimal.ONE.minus(dbl), -2);
+        assertDecimalEquals(Decimal.TWO.multipliedBy(dbl), 6);
+        assertDecimalEquals(dbl.dividedBy(Decimal.TWO), 1.5);
+        assertDecimalEquals(dbl.remainder(Decimal.TWO), 1);
+        assertDecimalEquals(dbl.pow(2), 9);
+        assertDecimalEquals(dbl.sqrt(), Math.sqrt(3));
+        assertDecimalEquals(dbl.log(), Math.log(3));
+        assertDecimalEquals(Decimal.ZERO.minus(dbl).abs(), 3);
+        assertTrue(dbl.dividedBy(Decimal.valueOf(0, Backend.DOUBLE)).isNaN());
+    }
+
+    @Test
+    public void comparisonsAcrossBackends() {
+        Decimal dbl = Decimal.valueOf(2, Backend.DOUBLE);
+        assertEquals(Decimal.TWO, dbl);
+        assertEquals(dbl, Decimal.TWO);
+        assertEquals(Decimal.TWO.hashCode(), dbl.hashCode());
+        assertTrue(dbl.isEqual(Decimal.TWO));
+        assertTrue(dbl.isGreaterThan(Decimal.ONE));
+        assertTrue(dbl.isLessThan(Decimal.THREE));
+        assertTrue(dbl.isPositive());
+        assertFalse(Decimal.valueOf(0, Backend.DOUBLE).isPositive());
+        assertTrue(Decimal.valueOf(0, Backend.DOUBLE).isZero());
+        assertSame(dbl, dbl.max(Decimal.ONE));
+        assertNotEquals(dbl, Decimal.NaN);
+        assertNotEquals(Decimal.NaN, Decimal.ONE);
+    }
+
+    @Test
+    public void indicatorsOnDoubleBackedSeries() {
+        double[] closePrices = { 44.34, 44.09, 44.15, 43.61, 44.33, 44.83, 45.10, 45.42, 45.84, 46.08, 45.89, 46.03, 45.61, 46.28 };
+        TimeSeries bigDecimalSeries = buildSeries(closePrices, Backend.BIG_DECIMAL);
+        TimeSeries doubleSeries = buildSeries(closePrices, Backend.DOUBLE);
+
+        SMAIndicator bigDecimalSma = new SMAIndicator(new ClosePriceIndicator(bigDecimalSeries), 5);
+        SMAIndicator doubleSma = new SMAIndicator(new ClosePriceIndicator(doubleSeries), 5);
+        RSIIndicator bigDecimalRsi = new RSIIndicator(new ClosePriceIndicator(bigDecimalSeries), 5);
+        RSIIndicator doubleRsi = new RSIIndicator(new ClosePriceIndicator(doubleSeries), 5);
+        for (int i = 0; i < closePrices.length; i++) {
+            assertEquals(Backend.DOUBLE, doubleSma.getValue(i).getBackend());
+            assertDecimalEquals(doubleSma.getValue(i), bigDecimalSma.getValue(i).toDouble());
+            assertEquals(bigDecimalRsi.getValue(i).toDouble(), doubleRsi.getValue(i).toDouble(), 0.001);
+        }
+    }
+
+    private static TimeSeries buildSeries(double[] closePrices, Backend backend) {
+        List<Tick> ticks = new ArrayList<>();
+        ZonedDateTime endTime = ZonedDateTime.now();
+        for (int i = 0; i < closePrices.length; i++) {
+            ticks.add(new BaseTick(Duration.ofDays(1), endTime.plusDays(i), closePrices[i], closePrices[i], closePrices[i], closePrices[i], 1, backend));
+        }
+        return new BaseTimeSeries(ticks);
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
+import eu.verdelhan.ta4j.indicators.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import eu.verdelhan.ta4j.trading.rules.CrossedDownIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.CrossedUpIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.OverIndicatorRule;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class LiveTradingEngineTest {
+
+    private static final double[] PRICES = { 10, 11, 12, 11, 10, 9, 8, 9, 10, 11, 12, 13, 12, 11, 10, 9, 10, 11, 12, 13, 14, 13, 12, 11 };
+
+    private static Strategy buildStrategy(TimeSeries series) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, 2);
+        EMAIndicator longEma = new EMAIndicator(closePrice, 4);
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longEma), new CrossedDownIndicatorRule(shortSma, longEma), 2);
+    }
+
+    @Test
+    public void signalsMatchBacktest() {
+        TimeSeries fullSeries = new MockTimeSeries(PRICES);
+        TradingRecord backtest = new TimeSeriesManager(fullSeries).run(buildStrategy(fullSeries));
+
+        TimeSeries liveSeries = new BaseTimeSeries("live");
+        LiveTradingEngine engine = new LiveTradingEngine(liveSeries, buildStrategy(liveSeries));
+        List<Order> entries = new ArrayList<>();
+        List<Order> exits = new ArrayList<>();
+        engine.onEntry(entries::add).onExit(exits::add);
+        for (int i = 0; i < fullSeries.getTickCount(); i++) {
+            engine.accept(fullSeries.getTick(i));
+        }
+
+        assertFalse(backtest.getTrades().isEmpty());
+        List<Trade> trades = engine.getTradingRecord().getTrades();
+        assertEquals(backtest.getTrades().size(), trades.size());
+        for (int i = 0; i < trades.size(); i++) {
+            assertEquals(backtest.getTrades().get(i).getEntry().getIndex(), trades.get(i).getEntry().getIndex());
+            assertEquals(backtest.getTrades().get(i).getExit().getIndex(), trades.get(i).getExit().getIndex());
+            assertSame(trades.get(i).getEntry(), entries.get(i));
+            assertSame(trades.get(i).getExit(), exits.get(i));
+        }
+        assertEquals(fullSeries.getTickCount(), engine.getEvaluatedTickCount());
+
+        TradingMetrics metrics = TradingMetrics.of(fullSeries, backtest);
+        assertEquals(metrics.getTradeCount(), engine.getTradingMetrics().getTradeCount());
+        assertEquals(metrics.getTotalProfit(), engine.getTradingMetrics().getTotalProfit(), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void indicatorsInTopologicalOrder() {
+        TimeSeries series = new MockTimeSeries(PRICES);
+        TimeSeries otherSeries = new MockTimeSeries(PRICES);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 3);
+        EMAIndicator ema = new EMAIndicator(sma, 3);
+        ClosePriceIndicator otherClosePrice = new ClosePriceIndicator(otherSeries);
+        Strategy strategy = new BaseStrategy(new OverIndicatorRule(ema, closePrice).and(new OverIndicatorRule(otherClosePrice, Decimal.valueOf(1))),
+                new OverIndicatorRule(closePrice, sma));
+
+        List<Indicator<?>> indicators = new LiveTradingEngine(series, strategy).getIndicators();
+
+        assertTrue(indicators.contains(closePrice));
+        assertTrue(indicators.contains(sma));
+        assertTrue(indicators.contains(ema));
+        assertFalse(indicators.contains(otherClosePrice));
+        assertEquals(indicators.size(), indicators.stream().distinct().count());
+        assertTrue(indicators.indexOf(closePrice) < indicators.indexOf(sma));
+        assertTrue(indicators.indexOf(sma) < indicators.indexOf(ema));
+    }
+
+    @Test
+    public void evaluateTicksAddedToTheSeries() {
+        TimeSeries series = new MockTimeSeries(PRICES);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        LiveTradingEngine engine = new LiveTradingEngine(series,
+                new BaseStrategy(new OverIndicatorRule(closePrice, Decimal.TEN), new OverIndicatorRule(closePrice, Decimal.valueOf(1000))));
+
+        Order entry = engine.evaluate();
+        assertNotNull(entry);
+        assertEquals(series.getEndIndex(), entry.getIndex());
+        assertEquals(series.getLastTick().getClosePrice(), entry.getPrice());
+        assertNull(engine.evaluate());
+        assertEquals(2, engine.getEvaluatedTickCount());
+        assertTrue(engine.getMaxLatencyNanos() >= engine.getLastLatencyNanos());
+        assertTrue(engine.getMeanLatencyNanos() > 0);
+
+        engine.resetLatencyStatistics();
+        assertEquals(0, engine.getEvaluatedTickCount());
+        assertEquals(0, engine.getMaxLatencyNanos());
+    }
+
+    @Test
+    public void consumesAggregatedTicks() {
+        TimeSeries series = new BaseTimeSeries("trades");
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        LiveTradingEngine engine = new LiveTradingEngine(series,
+                new BaseStrategy(new OverIndicatorRule(closePrice, Decimal.valueOf(101)), new OverIndicatorRule(closePrice, Decimal.valueOf(1000))));
+        List<Order> entries = new ArrayList<>();
+        engine.onEntry(entries::add);
+
+        TradeAggregator aggregator = TradeAggregator.byTime(Duration.ofMinutes(1), engine);
+        long start = ZonedDateTime.of(2017, 1, 2, 9, 0, 0, 0, ZoneOffset.UTC).toInstant().toEpochMilli();
+        for (int i = 0; i < 10; i++) {
+            aggregator.addTrade(start + i * 30_000, 100 + i * 0.25, 1);
+        }
+        aggregator.flush();
+
+        assertEquals(5, series.getTickCount());
+        assertEquals(1, entries.size());
+        assertEquals(2, entries.get(0).getIndex());
+    }
+
+    @Test
+    public void revisedTicksReplaceTheLastTick() {
+        TimeSeries series = new BaseTimeSeries("live");
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 2);
+        LiveTradingEngine engine = new LiveTradingEngine(series,
+                new BaseStrategy(new OverIndicatorRule(sma, Decimal.valueOf(12)), new OverIndicatorRule(sma, Decimal.valueOf(11))));
+        List<Order> entries = new ArrayList<>();
+        engine.onEntry(entries::add);
+        ZonedDateTime endTime = ZonedDateTime.of(2017, 1, 2, 9, 1, 0, 0, ZoneOffset.UTC);
+
+        engine.accept(new BaseTick(endTime, 10, 10, 10, 10, 1));
+        engine.accept(new BaseTick(endTime.plusMinutes(1), 10, 11, 10, 11, 1));
+        // Partial tick revised by the feed
+        engine.accept(new BaseTick(endTime.plusMinutes(1), 10, 15, 10, 15, 2));
+        assertEquals(2, series.getTickCount());
+        assertEquals(1, entries.size());
+        assertEquals(1, entries.get(0).getIndex());
+        assertEquals(Decimal.valueOf(15), entries.get(0).getPrice());
+        // At most one order per tick (the exit rule is satisfied too)
+        engine.accept(new BaseTick(endTime.plusMinutes(1), 10, 16, 10, 16, 3));
+        assertTrue(engine.getTradingRecord().getCurrentTrade().isOpened());
+        assertEquals(4, engine.getEvaluatedTickCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullStrategy() {
+        new LiveTradingEngine(new BaseTimeSeries(), null);
+    }
+}
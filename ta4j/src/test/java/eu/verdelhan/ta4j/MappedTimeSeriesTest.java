@@ -0,0 +1,196 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.indicators.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedTimeSeriesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TimeSeries series;
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        series = new BaseTimeSeries("test");
+        ZonedDateTime endTime = ZonedDateTime.of(2017, 1, 2, 0, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < 100; i++) {
+            double close = 100 + Math.sin(i / 5d) * 10;
+            series.addTick(new BaseTick(Duration.ofDays(1), endTime.plusDays(i), close - 1, close + 2, close - 2, close, 1000 + i, Decimal.Backend.BIG_DECIMAL));
+        }
+        file = folder.getRoot().toPath().resolve("test.ticks");
+        TickFileWriter.write(series, file);
+    }
+
+    @Test
+    public void readTicks() throws IOException {
+        MappedTimeSeries mapped = new MappedTimeSeries(file);
+        assertEquals("test.ticks", mapped.getName());
+        assertEquals(100, mapped.getTickCount());
+        assertEquals(0, mapped.getBeginIndex());
+        assertEquals(99, mapped.getEndIndex());
+        assertEquals(Duration.ofDays(1), mapped.getTimePeriod());
+        assertEquals(32 + 100 * 48, Files.size(file));
+        for (int i = 0; i < 100; i++) {
+            Tick expected = series.getTick(i);
+            Tick tick = mapped.getTick(i);
+            assertEquals(expected.getEndTime(), tick.getEndTime());
+            assertEquals(expected.getTimePeriod(), tick.getTimePeriod());
+            assertDecimalEquals(tick.getOpenPrice(), expected.getOpenPrice().toDouble());
+            assertDecimalEquals(tick.getMaxPrice(), expected.getMaxPrice().toDouble());
+            assertDecimalEquals(tick.getMinPrice(), expected.getMinPrice().toDouble());
+            assertDecimalEquals(tick.getClosePrice(), expected.getClosePrice().toDouble());
+            assertDecimalEquals(tick.getVolume(), expected.getVolume().toDouble());
+            assertDecimalEquals(mapped.getClosePrice(i), expected.getClosePrice().toDouble());
+            assertEquals(expected.getEndTime().toInstant().toEpochMilli(), mapped.getEndTimeMillis(i));
+        }
+        assertEquals(Decimal.Backend.DOUBLE, mapped.getClosePrice(0).getBackend());
+        assertEquals(100, mapped.getTickData().size());
+        assertEquals(series.getLastTick().getEndTime(), mapped.getLastTick().getEndTime());
+    }
+
+    @Test
+    public void indicatorsOnMappedSeries() {
+        MappedTimeSeries mapped = new MappedTimeSeries("mapped", file, Decimal.Backend.BIG_DECIMAL, ZoneOffset.UTC);
+        SMAIndicator expected = new SMAIndicator(new ClosePriceIndicator(series), 10);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(mapped), 10);
+        for (int i = 0; i < 100; i++) {
+            assertDecimalEquals(sma.getValue(i), expected.getValue(i).toDouble());
+        }
+    }
+
+    @Test
+    public void tickWithoutTradeOnBigDecimalBackend() throws IOException {
+        series.addTick(new BaseTick(Duration.ofDays(1), series.getLastTick().getEndTime().plusDays(1)));
+        Path other = folder.getRoot().toPath().resolve("tradeless.ticks");
+        TickFileWriter.write(series, other);
+        MappedTimeSeries mapped = new MappedTimeSeries("mapped", other, Decimal.Backend.BIG_DECIMAL, ZoneOffset.UTC);
+        assertTrue(mapped.getOpenPrice(100).isNaN());
+        assertTrue(mapped.getMaxPrice(100).isNaN());
+        assertTrue(mapped.getMinPrice(100).isNaN());
+        assertTrue(mapped.getClosePrice(100).isNaN());
+        assertDecimalEquals(mapped.getVolume(100), 0);
+        assertTrue(mapped.getTick(100).getClosePrice().isNaN());
+    }
+
+    @Test
+    public void maximumTickCount() {
+        MappedTimeSeries mapped = new MappedTimeSeries(file);
+        mapped.setMaximumTickCount(10);
+        assertEquals(10, mapped.getTickCount());
+        assertEquals(90, mapped.getRemovedTicksCount());
+        assertEquals(99, mapped.getEndIndex());
+        // Removed ticks: first retained tick instead
+        assertEquals(mapped.getClosePrice(90), mapped.getClosePrice(5));
+        assertEquals(mapped.getTick(90).getEndTime(), mapped.getTickData().get(0).getEndTime());
+    }
+
+    @Test
+    public void serialization() throws IOException, ClassNotFoundException {
+        MappedTimeSeries mapped = new MappedTimeSeries(file);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(mapped);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            MappedTimeSeries copy = (MappedTimeSeries) in.readObject();
+            assertEquals(100, copy.getTickCount());
+            assertEquals(mapped.getClosePrice(42), copy.getClosePrice(42));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void readOnly() {
+        new MappedTimeSeries(file).addTick(series.getLastTick());
+    }
+
+    @Test
+    public void replaceLastTickIsNotSupported() {
+        MappedTimeSeries mapped = new MappedTimeSeries(file);
+        try {
+            mapped.replaceLastTick(series.getLastTick());
+            fail("Read-only series");
+        } catch (UnsupportedOperationException uoe) {
+            assertEquals(0, mapped.getReplacedTicksCount());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void outOfBounds() {
+        new MappedTimeSeries(file).getClosePrice(100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notATickFile() throws IOException {
+        Path other = folder.newFile("other.ticks").toPath();
+        Files.write(other, new byte[64]);
+        new MappedTimeSeries(other);
+    }
+
+    @Test
+    public void writer() throws IOException {
+        Path other = folder.getRoot().toPath().resolve("other.ticks");
+        try (TickFileWriter writer = new TickFileWriter(other, Duration.ofMinutes(1))) {
+            for (int i = 0; i < 10000; i++) {
+                writer.write(60_000L * (i + 1), i, i + 1, i - 1, i + 0.5, 10);
+            }
+            assertEquals(10000, writer.getTickCount());
+            try {
+                writer.write(60_000L, 1, 1, 1, 1, 1);
+                fail("End times must be increasing");
+            } catch (IllegalArgumentException iae) {
+                // Expected
+            }
+            try {
+                writer.write(series.getLastTick());
+                fail("Time periods must be the same");
+            } catch (IllegalArgumentException iae) {
+                // Expected
+            }
+        }
+        MappedTimeSeries mapped = new MappedTimeSeries(other);
+        assertEquals(10000, mapped.getTickCount());
+        assertDecimalEquals(mapped.getClosePrice(9999), 9999.5);
+        assertEquals(Duration.ofMinutes(1), mapped.getTick(5).getTimePeriod());
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import eu.verdelhan.ta4j.indicators.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MovingTimeSeriesTest {
+
+    private MovingTimeSeries series;
+
+    private ZonedDateTime time;
+
+    @Before
+    public void setUp() {
+        series = new MovingTimeSeries("moving", 3);
+        time = ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.systemDefault());
+    }
+
+    @Test
+    public void emptySeries() {
+        assertEquals("moving", series.getName());
+        assertTrue(series.isEmpty());
+        assertEquals(-1, series.getBeginIndex());
+        assertEquals(-1, series.getEndIndex());
+        assertEquals(3, series.getMaximumTickCount());
+        assertTrue(series.getTickData().isEmpty());
+    }
+
+    @Test
+    public void addTickEvictsOldestTick() {
+        Tick[] added = addTicks(5);
+        assertEquals(0, series.getBeginIndex());
+        assertEquals(4, series.getEndIndex());
+        assertEquals(3, series.getTickCount());
+        assertEquals(2, series.getRemovedTicksCount());
+        assertSame(added[2], series.getTick(2));
+        assertSame(added[3], series.getTick(3));
+        assertSame(added[4], series.getTick(4));
+        assertSame(added[2], series.getFirstTick());
+        assertSame(added[4], series.getLastTick());
+    }
+
+    @Test
+    public void getTickWithRemovedIndexShouldReturnFirstRemainingTick() {
+        Tick[] added = addTicks(7);
+        assertSame(added[4], series.getTick(0));
+        assertSame(added[4], series.getTick(3));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getTickWithNegativeIndexShouldThrowException() {
+        addTicks(2);
+        series.getTick(-1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getTickWithIndexGreaterThanEndIndexShouldThrowException() {
+        addTicks(5);
+        series.getTick(5);
+    }
+
+    @Test
+    public void getTickDataIsReadOnlyView() {
+        List<Tick> tickData = series.getTickData();
+        Tick[] added = addTicks(4);
+        assertEquals(3, tickData.size());
+        assertSame(added[1], tickData.get(0));
+        assertSame(added[3], tickData.get(2));
+        try {
+            tickData.add(added[0]);
+            fail("Tick data should not be modifiable");
+        } catch (UnsupportedOperationException uoe) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void setMaximumTickCount() {
+        Tick[] added = addTicks(3);
+        series.setMaximumTickCount(2);
+        assertEquals(2, series.getTickCount());
+        assertEquals(1, series.getRemovedTicksCount());
+        assertSame(added[1], series.getTick(1));
+
+        series.setMaximumTickCount(4);
+        series.addTick(new MockTick(time.plusDays(10), 10));
+        series.addTick(new MockTick(time.plusDays(11), 11));
+        assertEquals(4, series.getTickCount());
+        assertEquals(1, series.getRemovedTicksCount());
+        assertSame(added[1], series.getTick(1));
+        assertDecimalEquals(series.getTick(4).getClosePrice(), 11);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeMaximumTickCountShouldThrowException() {
+        new MovingTimeSeries(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addNullTickShouldThrowException() {
+        series.addTick(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addTickWithEndTimePriorToSeriesEndTimeShouldThrowException() {
+        addTicks(4);
+        series.addTick(new MockTick(time, 1));
+    }
+
+    @Test
+    public void indicatorOnMovingSeries() {
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 2);
+        for (int i = 0; i < 20; i++) {
+            series.addTick(new MockTick(time.plusDays(i), i));
+            if (i > 0) {
+                assertDecimalEquals(sma.getValue(i), i - 0.5);
+            }
+        }
+    }
+
+    @Test
+    public void replaceLastTickOfFullSeries() {
+        addTicks(5);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 2);
+        assertDecimalEquals(sma.getValue(4), 3.5);
+
+        series.replaceLastTick(new MockTick(time.plusDays(4), 10));
+        assertEquals(4, series.getEndIndex());
+        assertEquals(2, series.getRemovedTicksCount());
+        assertEquals(1, series.getReplacedTicksCount());
+        assertDecimalEquals(series.getTick(4).getClosePrice(), 10);
+        assertDecimalEquals(series.getTick(3).getClosePrice(), 3);
+        assertDecimalEquals(sma.getValue(4), 6.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void replaceLastTickWithEndTimePriorToPreviousTickShouldThrowException() {
+        addTicks(5);
+        series.replaceLastTick(new MockTick(time.plusDays(3), 10));
+    }
+
+    private Tick[] addTicks(int count) {
+        Tick[] added = new Tick[count];
+        for (int i = 0; i < count; i++) {
+            added[i] = new MockTick(time.plusDays(i), i);
+            series.addTick(added[i]);
+        }
+        return added;
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import eu.verdelhan.ta4j.indicators.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResampledTimeSeriesTest {
+
+    private BaseTimeSeries base;
+
+    private ResampledTimeSeries resampled;
+
+    private ZonedDateTime start;
+
+    @Before
+    public void setUp() {
+        base = new BaseTimeSeries("base");
+        resampled = new ResampledTimeSeries(base, Duration.ofMinutes(5));
+        start = ZonedDateTime.of(2017, 3, 20, 9, 0, 0, 0, ZoneId.of("UTC"));
+    }
+
+    @Test
+    public void emptySeries() {
+        assertTrue(resampled.isEmpty());
+        assertEquals(-1, resampled.getBeginIndex());
+        assertEquals(-1, resampled.getEndIndex());
+        assertSame(base, resampled.getBaseSeries());
+        assertEquals(Duration.ofMinutes(5), resampled.getTimePeriod());
+    }
+
+    @Test
+    public void aggregatesBaseTicksIntoAlignedBars() {
+        // 1-minute ticks ending from 09:01 to 09:12
+        for (int i = 1; i <= 12; i++) {
+            addMinuteTick(i, i);
+        }
+        assertEquals(3, resampled.getTickCount());
+        assertEquals(0, resampled.getBeginIndex());
+        assertEquals(2, resampled.getEndIndex());
+
+        Tick first = resampled.getTick(0);
+        assertEquals(start.plusMinutes(5), first.getEndTime());
+        assertEquals(start, first.getBeginTime());
+        assertDecimalEquals(first.getOpenPrice(), 0.5);
+        assertDecimalEquals(first.getMaxPrice(), 6);
+        assertDecimalEquals(first.getMinPrice(), 0);
+        assertDecimalEquals(first.getClosePrice(), 5);
+        assertDecimalEquals(first.getVolume(), 5);
+
+        Tick second = resampled.getTick(1);
+        assertEquals(start.plusMinutes(10), second.getEndTime());
+        assertDecimalEquals(second.getOpenPrice(), 5.5);
+        assertDecimalEquals(second.getClosePrice(), 10);
+
+        // Partial bar: ticks ending at 09:11 and 09:12
+        Tick partial = resampled.getTick(2);
+        assertEquals(start.plusMinutes(15), partial.getEndTime());
+        assertDecimalEquals(partial.getOpenPrice(), 10.5);
+        assertDecimalEquals(partial.getClosePrice(), 12);
+        assertDecimalEquals(partial.getVolume(), 2);
+    }
+
+    @Test
+    public void onlyTheLastBarIsUpdated() {
+        for (int i = 1; i <= 6; i++) {
+            addMinuteTick(i, i);
+        }
+        Tick completed = resampled.getTick(0);
+        assertEquals(1, resampled.getEndIndex());
+        assertEquals(0, resampled.getReplacedTicksCount());
+
+        // Updates the partial bar
+        addMinuteTick(7, 7);
+        assertEquals(1, resampled.getEndIndex());
+        assertEquals(1, resampled.getReplacedTicksCount());
+        assertDecimalEquals(resampled.getLastTick().getClosePrice(), 7);
+        assertDecimalEquals(resampled.getLastTick().getVolume(), 2);
+        assertSame(completed, resampled.getTick(0));
+
+        // Starts a new bar, after having completed the previous one
+        addMinuteTick(8, 8);
+        addMinuteTick(9, 9);
+        addMinuteTick(10, 10);
+        addMinuteTick(11, 11);
+        assertEquals(2, resampled.getEndIndex());
+        assertEquals(2, resampled.getReplacedTicksCount());
+        assertDecimalEquals(resampled.getTick(1).getClosePrice(), 10);
+        assertDecimalEquals(resampled.getTick(1).getVolume(), 5);
+        assertSame(completed, resampled.getTick(0));
+    }
+
+    @Test
+    public void replacedBaseTickUpdatesTheLastBar() {
+        for (int i = 1; i <= 7; i++) {
+            addMinuteTick(i, i);
+        }
+        assertDecimalEquals(resampled.getLastTick().getClosePrice(), 7);
+        long replacedTicksCount = resampled.getReplacedTicksCount();
+
+        base.replaceLastTick(minuteTick(7, 42));
+        assertEquals(1, resampled.getEndIndex());
+        assertEquals(replacedTicksCount + 1, resampled.getReplacedTicksCount());
+        assertDecimalEquals(resampled.getLastTick().getClosePrice(), 42);
+        assertDecimalEquals(resampled.getLastTick().getMaxPrice(), 43);
+        assertDecimalEquals(resampled.getLastTick().getVolume(), 2);
+    }
+
+    @Test
+    public void indicatorsFollowTheGrowingBaseSeries() {
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(resampled), 2);
+        for (int i = 1; i <= 40; i++) {
+            addMinuteTick(i, 100 + (i * 7) % 11);
+            // Reads the indicator at each base tick, as a live strategy would
+            sma.getValue(resampled.getEndIndex());
+        }
+
+        // Same bars built by hand
+        BaseTimeSeries expectedSeries = new BaseTimeSeries();
+        for (int bar = 0; bar < 8; bar++) {
+            Tick lastTick = base.getTick(bar * 5 + 4);
+            expectedSeries.addTick(new BaseTick(Duration.ofMinutes(5), lastTick.getEndTime(),
+                    base.getTick(bar * 5).getOpenPrice(), Decimal.ZERO, Decimal.ZERO, lastTick.getClosePrice(), Decimal.ZERO));
+        }
+        SMAIndicator expected = new SMAIndicator(new ClosePriceIndicator(expectedSeries), 2);
+        assertEquals(expectedSeries.getEndIndex(), resampled.getEndIndex());
+        for (int i = 0; i <= resampled.getEndIndex(); i++) {
+            assertDecimalEquals(sma.getValue(i), expected.getValue(i).toDouble());
+        }
+    }
+
+    @Test
+    public void completedBarIndex() {
+        for (int i = 1; i <= 12; i++) {
+            addMinuteTick(i, i);
+        }
+        // Ticks ending from 09:01 to 09:04: no completed bar
+        for (int i = 0; i < 4; i++) {
+            assertEquals(-1, resampled.getCompletedBarIndex(i));
+        }
+        // Tick ending at 09:05 completes the first bar
+        for (int i = 4; i < 9; i++) {
+            assertEquals(0, resampled.getCompletedBarIndex(i));
+        }
+        assertEquals(1, resampled.getCompletedBarIndex(9));
+        assertEquals(1, resampled.getCompletedBarIndex(11));
+    }
+
+    @Test
+    public void dailyBarsAreAlignedOnLocalDays() {
+        ZoneId paris = ZoneId.of("Europe/Paris");
+        ResampledTimeSeries daily = new ResampledTimeSeries(base, Duration.ofDays(1));
+        ZonedDateTime midnight = ZonedDateTime.of(2017, 3, 20, 0, 0, 0, 0, paris);
+        // Hourly ticks over two days
+        for (int i = 1; i <= 48; i++) {
+            base.addTick(new BaseTick(Duration.ofHours(1), midnight.plusHours(i), 1, 1, 1, i, 1, Decimal.Backend.DOUBLE));
+        }
+        assertEquals(2, daily.getTickCount());
+        assertEquals(midnight.plusDays(1), daily.getTick(0).getEndTime());
+        assertDecimalEquals(daily.getTick(0).getClosePrice(), 24);
+        assertDecimalEquals(daily.getTick(0).getVolume(), 24);
+        assertEquals(midnight.plusDays(2), daily.getTick(1).getEndTime());
+    }
+
+    @Test
+    public void maximumTickCount() {
+        resampled.setMaximumTickCount(2);
+        for (int i = 1; i <= 20; i++) {
+            addMinuteTick(i, i);
+        }
+        assertEquals(2, resampled.getTickCount());
+        assertEquals(2, resampled.getRemovedTicksCount());
+        assertEquals(3, resampled.getEndIndex());
+        assertDecimalEquals(resampled.getTick(2).getClosePrice(), 15);
+        assertEquals(3, resampled.getCompletedBarIndex(19));
+        assertEquals(-1, resampled.getCompletedBarIndex(3));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addTickIsNotSupported() {
+        resampled.addTick(minuteTick(1, 1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void replaceLastTickIsNotSupported() {
+        resampled.replaceLastTick(minuteTick(1, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void timePeriodMustBePositive() {
+        new ResampledTimeSeries(base, Duration.ZERO);
+    }
+
+    private void addMinuteTick(int minute, double close) {
+        base.addTick(minuteTick(minute, close));
+    }
+
+    private BaseTick minuteTick(int minute, double close) {
+        return new BaseTick(Duration.ofMinutes(1), start.plusMinutes(minute), close - 0.5, close + 1, close - 1, close, 1, Decimal.Backend.DOUBLE);
+    }
+}
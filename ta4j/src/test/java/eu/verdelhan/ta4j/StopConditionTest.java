@@ -0,0 +1,95 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.time.Duration;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StopConditionTest {
+
+    private TradingRecord tradingRecord;
+
+    private TradingMetrics metrics;
+
+    @Before
+    public void setUp() {
+        TimeSeries series = new MockTimeSeries(10, 20, 5, 10, 20, 30);
+        tradingRecord = new BaseTradingRecord();
+        metrics = new TradingMetrics(series, tradingRecord);
+        tradingRecord.enter(0);
+        metrics.update(0);
+        metrics.update(1);
+        tradingRecord.exit(2);
+        metrics.update(2);
+        // Equity: 1, 2, 0.5 (maximum drawdown: 0.75)
+    }
+
+    @Test
+    public void maximumDrawdown() {
+        assertTrue(StopCondition.maximumDrawdown(0.5).isSatisfied(2, metrics, 0));
+        assertFalse(StopCondition.maximumDrawdown(0.8).isSatisfied(2, metrics, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeMaximumDrawdown() {
+        StopCondition.maximumDrawdown(-0.1);
+    }
+
+    @Test
+    public void minimumTradeCount() {
+        assertFalse(StopCondition.minimumTradeCount(1, 2).isSatisfied(2, metrics, 0));
+        assertFalse(StopCondition.minimumTradeCount(2, 3).isSatisfied(2, metrics, 0));
+        assertTrue(StopCondition.minimumTradeCount(2, 2).isSatisfied(2, metrics, 0));
+    }
+
+    @Test
+    public void equityFloor() {
+        assertTrue(StopCondition.equityFloor(0.6).isSatisfied(2, metrics, 0));
+        assertFalse(StopCondition.equityFloor(0.5).isSatisfied(2, metrics, 0));
+    }
+
+    @Test
+    public void timeBudget() {
+        StopCondition timeBudget = StopCondition.timeBudget(Duration.ofMillis(10));
+        assertFalse(timeBudget.isSatisfied(2, metrics, 10000000));
+        assertTrue(timeBudget.isSatisfied(2, metrics, 10000001));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeTimeBudget() {
+        StopCondition.timeBudget(Duration.ofMillis(-1));
+    }
+
+    @Test
+    public void or() {
+        StopCondition never = (index, m, elapsedNanos) -> false;
+        StopCondition always = (index, m, elapsedNanos) -> true;
+        assertFalse(never.or(never).isSatisfied(2, metrics, 0));
+        assertTrue(never.or(always).isSatisfied(2, metrics, 0));
+        assertTrue(always.or(never).isSatisfied(2, metrics, 0));
+    }
+}
@@ -25,6 +25,8 @@ package eu.verdelhan.ta4j;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import eu.verdelhan.ta4j.Order.OrderType;
@@ -177,4 +179,38 @@ public class TimeSeriesManagerTest {
         trades = manager.run(aStrategy, 9, 9).getTrades();
         assertTrue(trades.isEmpty());
     }
+
+    @Test
+    public void runWithStopCondition() {
+        TimeSeries series = new MockTimeSeries(10d, 20d, 5d, 10d, 20d, 30d);
+        manager.setTimeSeries(series);
+        Strategy fixedStrategy = new BaseStrategy(new FixedRule(0, 3), new FixedRule(2, 5));
+        assertEquals(2, manager.run(fixedStrategy).getTradeCount());
+
+        // Equity: 1, 2, 0.5 (stop), 0.5, 1, 1.5
+        TradingRecord tradingRecord = manager.run(fixedStrategy, StopCondition.equityFloor(0.6));
+        assertEquals(1, tradingRecord.getTradeCount());
+        assertTrue(tradingRecord.isClosed());
+
+        // Less than 1 trade at index 1: the run is stopped with an opened trade
+        tradingRecord = manager.run(fixedStrategy, StopCondition.minimumTradeCount(1, 1));
+        assertEquals(0, tradingRecord.getTradeCount());
+        assertTrue(tradingRecord.getCurrentTrade().isOpened());
+    }
+
+    @Test
+    public void stopConditionNotEvaluatedOnTheLastTick() {
+        TimeSeries series = new MockTimeSeries(10d, 20d, 5d, 10d, 20d, 30d);
+        manager.setTimeSeries(series);
+        Strategy fixedStrategy = new BaseStrategy(new FixedRule(0, 3), new FixedRule(2, 5));
+        List<Integer> evaluatedIndexes = new ArrayList<>();
+        TradingRecord tradingRecord = manager.run(fixedStrategy, 1, 4, (index, metrics, elapsedNanos) -> {
+            evaluatedIndexes.add(index);
+            return false;
+        });
+        assertEquals(Arrays.asList(1, 2, 3), evaluatedIndexes);
+        // Not stopped: the opened trade is closed after the finish index
+        assertEquals(1, tradingRecord.getTradeCount());
+        assertEquals(5, tradingRecord.getLastExit().getIndex());
+    }
 }
@@ -22,6 +22,7 @@
  */
 package eu.verdelhan.ta4j;
 
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
 import eu.verdelhan.ta4j.mocks.MockTick;
 import eu.verdelhan.ta4j.trading.rules.FixedRule;
 import java.util.LinkedList;
@@ -228,4 +229,45 @@ public class TimeSeriesTest {
         assertEquals(0, defaultSeries.getBeginIndex());
         assertEquals(1, defaultSeries.getEndIndex());
     }
+
+    @Test
+    public void replaceLastTick() {
+        Tick revisedTick = new MockTick(ZonedDateTime.of(2014, 6, 30, 0, 0, 0, 0, ZoneId.systemDefault()), 7d);
+        defaultSeries.replaceLastTick(revisedTick);
+
+        assertEquals(6, defaultSeries.getTickCount());
+        assertEquals(5, defaultSeries.getEndIndex());
+        assertSame(revisedTick, defaultSeries.getLastTick());
+        assertEquals(1, defaultSeries.getReplacedTicksCount());
+    }
+
+    @Test
+    public void addTradeAmendsLastTick() {
+        defaultSeries.addTrade(Decimal.TEN, Decimal.valueOf(8));
+        defaultSeries.addTrade(Decimal.ONE, Decimal.valueOf(5.5));
+
+        Tick lastTick = defaultSeries.getLastTick();
+        assertEquals(6, defaultSeries.getTickCount());
+        assertEquals(ticks.get(5).getEndTime(), lastTick.getEndTime());
+        assertDecimalEquals(lastTick.getClosePrice(), 5.5);
+        assertDecimalEquals(lastTick.getMaxPrice(), 8);
+        assertDecimalEquals(lastTick.getVolume(), 11);
+        assertEquals(2, lastTick.getTrades());
+        assertEquals(2, defaultSeries.getReplacedTicksCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void replaceLastTickWithEndTimePriorToPreviousTickShouldThrowException() {
+        defaultSeries.replaceLastTick(new MockTick(ZonedDateTime.of(2014, 6, 25, 0, 0, 0, 0, ZoneId.systemDefault()), 99d));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void replaceLastTickOnConstrainedSeriesShouldThrowException() {
+        constrainedSeries.replaceLastTick(new MockTick(ZonedDateTime.of(2014, 6, 30, 0, 0, 0, 0, ZoneId.systemDefault()), 99d));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void replaceLastTickOnEmptySeriesShouldThrowException() {
+        emptySeries.replaceLastTick(new MockTick(ZonedDateTime.of(2014, 6, 30, 0, 0, 0, 0, ZoneId.systemDefault()), 99d));
+    }
 }
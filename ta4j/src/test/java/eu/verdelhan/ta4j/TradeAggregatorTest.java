@@ -0,0 +1,122 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class TradeAggregatorTest {
+
+    private static final long T0 = 1_500_000_000_000L;
+
+    @Test
+    public void timeBuckets() {
+        List<Tick> ticks = new ArrayList<>();
+        TradeAggregator aggregator = TradeAggregator.byTime(Duration.ofMinutes(5), ticks::add).withZone(ZoneOffset.UTC);
+        aggregator.addTrade(T0, 10, 1);
+        aggregator.addTrade(T0 + 60_000, 12, 2);
+        aggregator.addTrade(T0 + 299_999, 9, 1);
+        // Next bucket (begin time inclusive)
+        aggregator.addTrade(T0 + 300_000, 11, 3);
+        assertEquals(1, ticks.size());
+        // Empty buckets are skipped
+        aggregator.addTrade(T0 + 1_000_000, 15, 1);
+        aggregator.flush();
+        assertEquals(3, ticks.size());
+        assertEquals(3, aggregator.getEmittedTickCount());
+
+        Tick first = ticks.get(0);
+        assertDecimalEquals(first.getOpenPrice(), 10);
+        assertDecimalEquals(first.getMaxPrice(), 12);
+        assertDecimalEquals(first.getMinPrice(), 9);
+        assertDecimalEquals(first.getClosePrice(), 9);
+        assertDecimalEquals(first.getVolume(), 4);
+        assertDecimalEquals(first.getAmount(), 10 + 24 + 9);
+        assertEquals(3, first.getTrades());
+        assertEquals(Duration.ofMinutes(5), first.getTimePeriod());
+        assertEquals(T0 + 300_000, first.getEndTime().toInstant().toEpochMilli());
+        assertEquals(ZoneOffset.UTC, first.getEndTime().getZone());
+
+        assertEquals(T0 + 600_000, ticks.get(1).getEndTime().toInstant().toEpochMilli());
+        // Aligned on the first trade
+        assertEquals(T0 + 1_200_000, ticks.get(2).getEndTime().toInstant().toEpochMilli());
+        assertDecimalEquals(ticks.get(2).getClosePrice(), 15);
+    }
+
+    @Test
+    public void volumeBuckets() {
+        List<Tick> ticks = new ArrayList<>();
+        TradeAggregator aggregator = TradeAggregator.byVolume(5, ticks::add);
+        aggregator.addTrade(T0, 10, 2);
+        aggregator.addTrade(T0 + 1000, 11, 2);
+        aggregator.addTrade(T0 + 2000, 12, 2);
+        aggregator.addTrade(T0 + 2000, 13, 5);
+        aggregator.addTrade(T0 + 5000, 14, 1);
+        assertEquals(2, ticks.size());
+        aggregator.flush();
+        assertEquals(3, ticks.size());
+
+        assertDecimalEquals(ticks.get(0).getVolume(), 6);
+        assertEquals(3, ticks.get(0).getTrades());
+        assertDecimalEquals(ticks.get(0).getClosePrice(), 12);
+        assertEquals(Duration.ofSeconds(2), ticks.get(0).getTimePeriod());
+        // Completed within the same millisecond: end time shifted
+        assertEquals(T0 + 2001, ticks.get(1).getEndTime().toInstant().toEpochMilli());
+        assertDecimalEquals(ticks.get(2).getVolume(), 1);
+    }
+
+    @Test
+    public void tradeCountBucketsFeedingSeries() {
+        TimeSeries series = new BaseTimeSeries();
+        TradeAggregator aggregator = TradeAggregator.byTradeCount(2, series::addTick).withBackend(Decimal.Backend.DOUBLE);
+        for (int i = 0; i < 7; i++) {
+            aggregator.addTrade(T0, 100 + i, 1);
+        }
+        aggregator.flush();
+        assertEquals(4, series.getTickCount());
+        assertEquals(Decimal.Backend.DOUBLE, series.getTick(0).getClosePrice().getBackend());
+        assertDecimalEquals(series.getTick(1).getOpenPrice(), 102);
+        assertDecimalEquals(series.getTick(1).getClosePrice(), 103);
+        assertEquals(1, series.getLastTick().getTrades());
+        // Flushing again: nothing to emit
+        aggregator.flush();
+        assertEquals(4, series.getTickCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tradesOutOfOrder() {
+        TradeAggregator aggregator = TradeAggregator.byTradeCount(10, tick -> { });
+        aggregator.addTrade(T0, 10, 1);
+        aggregator.addTrade(T0 - 1, 10, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidVolume() {
+        TradeAggregator.byVolume(0, tick -> { });
+    }
+}
@@ -211,4 +211,34 @@ public class CashFlowTest {
         assertDecimalEquals(cashFlow.getValue(size - 1), 1);
     }
 
+    @Test
+    public void cashFlowOverAnIndexRange() {
+        TimeSeries sampleTimeSeries = new MockTimeSeries(5d, 6d, 3d, 7d, 8d, 6d, 10d, 15d, 6d);
+        TradingRecord tradingRecord = new BaseTradingRecord(
+                Order.buyAt(1), Order.sellAt(2),
+                Order.buyAt(4), Order.sellAt(5),
+                Order.buyAt(6), Order.sellAt(8));
+
+        CashFlow cashFlow = new CashFlow(sampleTimeSeries, tradingRecord, 3, 7);
+        assertEquals(3, cashFlow.getBeginIndex());
+        assertEquals(7, cashFlow.getEndIndex());
+        assertDecimalEquals(cashFlow.getValue(3), 1);
+        assertDecimalEquals(cashFlow.getValue(4), 1);
+        assertDecimalEquals(cashFlow.getValue(5), "0.75");
+        assertDecimalEquals(cashFlow.getValue(6), "0.75");
+        assertEquals(1.125, cashFlow.getDouble(7), TA_OFFSET);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void cashFlowValueOutOfTheIndexRange() {
+        TimeSeries sampleTimeSeries = new MockTimeSeries(5d, 6d, 3d, 7d, 8d);
+        new CashFlow(sampleTimeSeries, new BaseTradingRecord(), 2, 4).getDouble(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidIndexRange() {
+        TimeSeries sampleTimeSeries = new MockTimeSeries(5d, 6d, 3d, 7d, 8d);
+        new CashFlow(sampleTimeSeries, new BaseTradingRecord(), 3, 2);
+    }
+
 }
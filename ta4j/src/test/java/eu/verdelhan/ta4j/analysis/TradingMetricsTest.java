@@ -0,0 +1,195 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.BaseTradingRecord;
+import eu.verdelhan.ta4j.Order;
+import eu.verdelhan.ta4j.TATestsUtils;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.criteria.AverageProfitCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.AverageProfitableTradesCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.LinearTransactionCostCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.NumberOfTicksCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class TradingMetricsTest {
+
+    private final MockTimeSeries series = new MockTimeSeries(2, 1, 3, 5, 6, 3, 20, 18, 19, 15, 16);
+
+    @Test
+    public void tradeStatistics() {
+        TradingRecord tradingRecord = new BaseTradingRecord(
+                Order.buyAt(0), Order.sellAt(1),
+                Order.buyAt(3), Order.sellAt(4),
+                Order.sellAt(5), Order.buyAt(7),
+                Order.buyAt(8));
+        TradingMetrics metrics = TradingMetrics.of(series, tradingRecord);
+
+        assertEquals(3, metrics.getTradeCount());
+        assertEquals(1, metrics.getProfitableTradeCount());
+        assertEquals(0.5, metrics.getTradeProfit(0), TATestsUtils.TA_OFFSET);
+        assertEquals(1.2, metrics.getTradeProfit(1), TATestsUtils.TA_OFFSET);
+        assertEquals(3d / 18, metrics.getTradeProfit(2), TATestsUtils.TA_OFFSET);
+        assertTrue(metrics.isTradeOpened());
+
+        assertEquals(new TotalProfitCriterion().calculate(series, tradingRecord), metrics.getTotalProfit(), TATestsUtils.TA_OFFSET);
+        assertEquals(new NumberOfTicksCriterion().calculate(series, tradingRecord), metrics.getTickCount(), TATestsUtils.TA_OFFSET);
+        assertEquals(new AverageProfitCriterion().calculate(series, tradingRecord),
+                new AverageProfitCriterion().calculate(metrics), TATestsUtils.TA_OFFSET);
+        assertEquals(new AverageProfitableTradesCriterion().calculate(series, tradingRecord),
+                new AverageProfitableTradesCriterion().calculate(metrics), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void tradeProfitOfUnknownTrade() {
+        TradingMetrics.of(series, new BaseTradingRecord(Order.buyAt(0), Order.sellAt(1))).getTradeProfit(1);
+    }
+
+    @Test
+    public void equityAndDrawdownFollowTheCashFlow() {
+        TradingRecord tradingRecord = new BaseTradingRecord(
+                Order.buyAt(1), Order.sellAt(2),
+                Order.buyAt(4), Order.sellAt(5),
+                Order.sellAt(6), Order.buyAt(9),
+                Order.buyAt(9));
+        TradingMetrics metrics = TradingMetrics.of(series, tradingRecord);
+
+        CashFlow cashFlow = new CashFlow(series, tradingRecord);
+        assertEquals(cashFlow.getValue(series.getEndIndex()).toDouble(), metrics.getEquity(), TATestsUtils.TA_OFFSET);
+        assertEquals(maximumDrawdown(cashFlow), metrics.getMaximumDrawdown(), TATestsUtils.TA_OFFSET);
+        assertEquals(3, metrics.getPeak(), TATestsUtils.TA_OFFSET);
+        assertSame(metrics.getCashFlow(), metrics.getCashFlow());
+        assertEquals(cashFlow.getDouble(7), metrics.getCashFlow().getDouble(7), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void drawdownOverAShortenedSeries() {
+        TimeSeries shortenedSeries = new MockTimeSeries(2, 1, 3, 5, 6, 3, 20, 18, 19, 15, 16);
+        shortenedSeries.setMaximumTickCount(7);
+        TradingRecord tradingRecord = new BaseTradingRecord(
+                Order.buyAt(5), Order.sellAt(7),
+                Order.buyAt(9), Order.sellAt(10));
+        TradingMetrics metrics = TradingMetrics.of(shortenedSeries, tradingRecord);
+
+        assertEquals(maximumDrawdown(new CashFlow(shortenedSeries, tradingRecord)), metrics.getMaximumDrawdown(), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void emptyTradingRecord() {
+        TradingMetrics metrics = TradingMetrics.of(series, new BaseTradingRecord());
+        assertEquals(0, metrics.getTradeCount());
+        assertEquals(1, metrics.getTotalProfit(), TATestsUtils.TA_OFFSET);
+        assertEquals(1, metrics.getEquity(), TATestsUtils.TA_OFFSET);
+        assertEquals(0, metrics.getMaximumDrawdown(), TATestsUtils.TA_OFFSET);
+        assertFalse(metrics.isTradeOpened());
+
+        metrics = TradingMetrics.of(new MockTimeSeries(new double[] {}), new BaseTradingRecord());
+        assertEquals(0, metrics.getMaximumDrawdown(), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void linearTransactionCosts() {
+        TradingRecord tradingRecord = new BaseTradingRecord(
+                Order.buyAt(0), Order.sellAt(1),
+                Order.sellAt(5), Order.buyAt(7),
+                Order.buyAt(8));
+        TradingMetrics metrics = TradingMetrics.of(series, tradingRecord);
+
+        LinearTransactionCostCriterion transactionCost = new LinearTransactionCostCriterion(1000, 0.005, 0.2);
+        assertEquals(transactionCost.calculate(series, tradingRecord), metrics.getLinearTransactionCosts(1000, 0.005, 0.2), TATestsUtils.TA_OFFSET);
+        assertEquals(transactionCost.calculate(series, tradingRecord), transactionCost.calculate(metrics), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void liveMetricsMatchCompleteRecordMetrics() {
+        int[] orderIndexes = { 1, 2, 4, 5, 6, 9 };
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        TradingMetrics liveMetrics = new TradingMetrics(series, tradingRecord);
+        int nextOrder = 0;
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            if (nextOrder < orderIndexes.length && orderIndexes[nextOrder] == i) {
+                tradingRecord.operate(i);
+                nextOrder++;
+            }
+            liveMetrics.update(i);
+        }
+        TradingMetrics metrics = TradingMetrics.of(series, tradingRecord);
+
+        assertEquals(metrics.getTradeCount(), liveMetrics.getTradeCount());
+        assertEquals(metrics.getProfitableTradeCount(), liveMetrics.getProfitableTradeCount());
+        assertEquals(metrics.getTickCount(), liveMetrics.getTickCount());
+        assertEquals(metrics.getTotalProfit(), liveMetrics.getTotalProfit(), TATestsUtils.TA_OFFSET);
+        assertEquals(metrics.getEquity(), liveMetrics.getEquity(), TATestsUtils.TA_OFFSET);
+        assertEquals(metrics.getPeak(), liveMetrics.getPeak(), TATestsUtils.TA_OFFSET);
+        assertEquals(metrics.getMaximumDrawdown(), liveMetrics.getMaximumDrawdown(), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void liveMetricsMarkTheOpenedTradeToMarket() {
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        TradingMetrics metrics = new TradingMetrics(series, tradingRecord);
+        metrics.update(0);
+        tradingRecord.operate(1);
+        metrics.update(1);
+        assertTrue(metrics.isTradeOpened());
+        assertEquals(1, metrics.getEquity(), TATestsUtils.TA_OFFSET);
+
+        metrics.update(2);
+        assertEquals(3, metrics.getEquity(), TATestsUtils.TA_OFFSET);
+        metrics.update(3);
+        assertEquals(5, metrics.getEquity(), TATestsUtils.TA_OFFSET);
+        metrics.update(5);
+        assertEquals(3, metrics.getEquity(), TATestsUtils.TA_OFFSET);
+        assertEquals(5, metrics.getPeak(), TATestsUtils.TA_OFFSET);
+        assertEquals(0.4, metrics.getMaximumDrawdown(), TATestsUtils.TA_OFFSET);
+        // Opened trades are not part of the trade statistics
+        assertEquals(0, metrics.getTradeCount());
+        assertEquals(1, metrics.getTotalProfit(), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void completeRecordMetricsCannotBeUpdated() {
+        TradingMetrics.of(series, new BaseTradingRecord()).update(0);
+    }
+
+    /**
+     * Reference maximum drawdown calculation over the whole cash flow.
+     * @param cashFlow the cash flow
+     * @return the maximum drawdown
+     */
+    private static double maximumDrawdown(CashFlow cashFlow) {
+        TimeSeries cashFlowSeries = cashFlow.getTimeSeries();
+        double maximumDrawdown = 0;
+        double peak = 0;
+        for (int i = cashFlowSeries.getBeginIndex(); i <= cashFlowSeries.getEndIndex(); i++) {
+            double value = cashFlow.getValue(i).toDouble();
+            peak = Math.max(peak, value);
+            maximumDrawdown = Math.max(maximumDrawdown, (peak - value) / peak);
+        }
+        return maximumDrawdown;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis.criteria;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.BaseTradingRecord;
+import eu.verdelhan.ta4j.Order;
+import eu.verdelhan.ta4j.TATestsUtils;
+import eu.verdelhan.ta4j.Trade;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SharpeRatioCriterionTest {
+
+    @Test
+    public void calculateWithNoTrades() {
+        MockTimeSeries series = new MockTimeSeries(1, 2, 1, 2, 4);
+        AnalysisCriterion sharpeRatio = new SharpeRatioCriterion();
+        assertEquals(0d, sharpeRatio.calculate(series, new BaseTradingRecord()), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void calculateShouldWork() {
+        MockTimeSeries series = new MockTimeSeries(1, 2, 1, 2, 4);
+        AnalysisCriterion sharpeRatio = new SharpeRatioCriterion();
+        TradingRecord tradingRecord = new BaseTradingRecord(Order.buyAt(0), Order.sellAt(4));
+
+        // Returns: 1, -0.5, 1, 1
+        double standardDeviation = Math.sqrt((3 * 0.375 * 0.375 + 1.125 * 1.125) / 4);
+        assertEquals(0.625 / standardDeviation, sharpeRatio.calculate(series, tradingRecord), TATestsUtils.TA_OFFSET);
+        assertEquals(0.625 / standardDeviation, sharpeRatio.calculate(TradingMetrics.of(series, tradingRecord)), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void calculateOneTrade() {
+        MockTimeSeries series = new MockTimeSeries(1, 2, 1, 2, 4);
+        AnalysisCriterion sharpeRatio = new SharpeRatioCriterion();
+        Trade trade = new Trade(Order.buyAt(0), Order.sellAt(4));
+        TradingRecord tradingRecord = new BaseTradingRecord(Order.buyAt(0), Order.sellAt(4));
+        assertEquals(sharpeRatio.calculate(series, tradingRecord), sharpeRatio.calculate(series, trade), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void betterThan() {
+        AnalysisCriterion criterion = new SharpeRatioCriterion();
+        assertTrue(criterion.betterThan(1.5, 0.9));
+        assertFalse(criterion.betterThan(0.4, 1.2));
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis.criteria;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.BaseTradingRecord;
+import eu.verdelhan.ta4j.Order;
+import eu.verdelhan.ta4j.TATestsUtils;
+import eu.verdelhan.ta4j.Trade;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.TradingMetrics;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class UlcerIndexCriterionTest {
+
+    @Test
+    public void calculateWithNoTrades() {
+        MockTimeSeries series = new MockTimeSeries(1, 2, 1, 2, 4);
+        AnalysisCriterion ulcerIndex = new UlcerIndexCriterion();
+        assertEquals(0d, ulcerIndex.calculate(series, new BaseTradingRecord()), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void calculateShouldWork() {
+        MockTimeSeries series = new MockTimeSeries(1, 2, 1, 2, 4, 3);
+        AnalysisCriterion ulcerIndex = new UlcerIndexCriterion();
+        TradingRecord tradingRecord = new BaseTradingRecord(
+                Order.buyAt(0), Order.sellAt(4),
+                Order.buyAt(4), Order.sellAt(5));
+
+        // Drawdowns: 0, 0, 0.5, 0, 0, 0.25
+        double expected = Math.sqrt((0.5 * 0.5 + 0.25 * 0.25) / 6);
+        assertEquals(expected, ulcerIndex.calculate(series, tradingRecord), TATestsUtils.TA_OFFSET);
+        assertEquals(expected, ulcerIndex.calculate(TradingMetrics.of(series, tradingRecord)), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void calculateOneTrade() {
+        MockTimeSeries series = new MockTimeSeries(1, 2, 1, 2, 4);
+        AnalysisCriterion ulcerIndex = new UlcerIndexCriterion();
+        Trade trade = new Trade(Order.buyAt(0), Order.sellAt(4));
+        assertEquals(Math.sqrt(0.25 / 5), ulcerIndex.calculate(series, trade), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void calculateWithEmptySeries() {
+        MockTimeSeries series = new MockTimeSeries(new double[] {});
+        assertEquals(0d, new UlcerIndexCriterion().calculate(series, new BaseTradingRecord()), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void betterThan() {
+        AnalysisCriterion criterion = new UlcerIndexCriterion();
+        assertTrue(criterion.betterThan(0.1, 0.3));
+        assertFalse(criterion.betterThan(0.3, 0.1));
+    }
+}
@@ -23,18 +23,45 @@
 package eu.verdelhan.ta4j.indicators;
 
 import eu.verdelhan.ta4j.BaseStrategy;
+import eu.verdelhan.ta4j.BaseTick;
+import eu.verdelhan.ta4j.BaseTimeSeries;
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Strategy;
 import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.Tick;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.ConstantIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.HighestValueIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.LowestValueIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.MaxPriceIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.MinPriceIndicator;
 import eu.verdelhan.ta4j.indicators.SMAIndicator;
 import eu.verdelhan.ta4j.indicators.ZLEMAIndicator;
+import eu.verdelhan.ta4j.indicators.statistics.StandardDeviationIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
 import eu.verdelhan.ta4j.trading.rules.OverIndicatorRule;
 import eu.verdelhan.ta4j.trading.rules.UnderIndicatorRule;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
@@ -90,6 +117,22 @@ public class CachedIndicatorTest {
         assertDecimalEquals(sma.getValue(19), 1);
     }
 
+    @Test
+    public void getValueOnMovingTimeSeries() {
+        TimeSeries timeSeries = new MockTimeSeries(1, 2, 3, 4, 5);
+        timeSeries.setMaximumTickCount(5);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(timeSeries), 2);
+        assertDecimalEquals(sma.getValue(4), 4.5);
+        for (int i = 5; i < 50; i++) {
+            timeSeries.addTick(new MockTick(timeSeries.getLastTick().getEndTime().plusDays(1), i + 1));
+            // Consecutive values are still cached after the wrap-around of the results buffer
+            assertDecimalEquals(sma.getValue(i), i + 0.5);
+            assertDecimalEquals(sma.getValue(i - 1), i - 0.5);
+            assertDecimalEquals(sma.getValue(i - 3), i - 2.5);
+        }
+        assertEquals(45, timeSeries.getRemovedTicksCount());
+    }
+
     @Test
     public void strategyExecutionOnCachedIndicatorAndLimitedTimeSeries() {
         TimeSeries timeSeries = new MockTimeSeries(0, 1, 2, 3, 4, 5, 6, 7);
@@ -158,4 +201,274 @@ public class CachedIndicatorTest {
             fail(t.getMessage());
         }
     }
+
+    @Test
+    public void sharedIndicatorGraphAcrossThreads() throws Exception {
+        double[] data = new double[900];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 20d) + (i % 7);
+        }
+        TimeSeries timeSeries = new MockTimeSeries(data);
+        MACDIndicator expected = new MACDIndicator(new ClosePriceIndicator(timeSeries), 12, 26);
+        for (int i = 0; i < data.length; i++) {
+            expected.getValue(i);
+        }
+
+        // One graph shared by all the threads, each one reading the values in its own order
+        final MACDIndicator macd = new MACDIndicator(new ClosePriceIndicator(timeSeries), 12, 26);
+        final int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Callable<Decimal[]>> readers = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                final int offset = t * data.length / threadCount;
+                final boolean backward = t % 2 == 1;
+                readers.add(() -> {
+                    Decimal[] values = new Decimal[data.length];
+                    for (int i = 0; i < data.length; i++) {
+                        int index = (offset + (backward ? data.length - i : i)) % data.length;
+                        values[index] = macd.getValue(index);
+                    }
+                    return values;
+                });
+            }
+            for (Future<Decimal[]> values : executor.invokeAll(readers)) {
+                Decimal[] results = values.get();
+                for (int i = 0; i < data.length; i++) {
+                    assertEquals(expected.getValue(i), results[i]);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void sharedAroonIndicatorsAcrossThreads() throws Exception {
+        double[] data = new double[900];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 15d) + (i % 11);
+        }
+        TimeSeries timeSeries = new MockTimeSeries(data);
+        final int timeFrame = 25;
+        AroonUpIndicator expectedUp = new AroonUpIndicator(timeSeries, timeFrame);
+        AroonDownIndicator expectedDown = new AroonDownIndicator(timeSeries, timeFrame);
+        HighestValueIndicator expectedHighest = new HighestValueIndicator(new ClosePriceIndicator(timeSeries), timeFrame);
+        LowestValueIndicator expectedLowest = new LowestValueIndicator(new ClosePriceIndicator(timeSeries), timeFrame);
+        int[] expectedHighestIndexes = new int[data.length];
+        int[] expectedLowestIndexes = new int[data.length];
+        for (int i = 0; i < data.length; i++) {
+            expectedUp.getValue(i);
+            expectedDown.getValue(i);
+            expectedHighestIndexes[i] = expectedHighest.getHighestIndex(i);
+            expectedLowestIndexes[i] = expectedLowest.getLowestIndex(i);
+        }
+
+        // Indicators shared by all the threads, the extremum indexes being read directly and through the Aroon indicators
+        final AroonUpIndicator aroonUp = new AroonUpIndicator(timeSeries, timeFrame);
+        final AroonDownIndicator aroonDown = new AroonDownIndicator(timeSeries, timeFrame);
+        final ClosePriceIndicator closePrice = new ClosePriceIndicator(timeSeries);
+        final HighestValueIndicator highest = new HighestValueIndicator(closePrice, timeFrame);
+        final LowestValueIndicator lowest = new LowestValueIndicator(closePrice, timeFrame);
+        final int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Callable<Void>> readers = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                final int offset = t * data.length / threadCount;
+                final boolean backward = t % 2 == 1;
+                readers.add(() -> {
+                    for (int i = 0; i < data.length; i++) {
+                        int index = (offset + (backward ? data.length - i : i)) % data.length;
+                        assertEquals(expectedHighestIndexes[index], highest.getHighestIndex(index));
+                        assertEquals(expectedLowestIndexes[index], lowest.getLowestIndex(index));
+                        assertEquals(expectedUp.getValue(index), aroonUp.getValue(index));
+                        assertEquals(expectedDown.getValue(index), aroonDown.getValue(index));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> reader : executor.invokeAll(readers)) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void serializationRoundTrip() throws Exception {
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 3);
+        Decimal expected = sma.getValue(5);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(sma);
+        }
+        SMAIndicator deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (SMAIndicator) in.readObject();
+        }
+        assertEquals(expected, deserialized.getValue(5));
+        assertEquals(sma.getValue(8), deserialized.getValue(8));
+    }
+
+    @Test
+    public void calculatedValuesReadWhileAnotherValueIsCalculated() throws Exception {
+        final CountDownLatch calculating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CachedIndicator<Decimal> blocking = new CachedIndicator<Decimal>(series) {
+            @Override
+            protected Decimal calculate(int index) {
+                if (index == 5) {
+                    calculating.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return Decimal.valueOf(index);
+            }
+        };
+        for (int i = 0; i < 5; i++) {
+            blocking.getValue(i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Decimal> calculated = executor.submit(() -> blocking.getValue(5));
+            assertTrue(calculating.await(10, TimeUnit.SECONDS));
+            // The lock is held by the calculation of index 5: the cached values are still readable
+            Future<Decimal> cached = executor.submit(() -> blocking.getValue(3));
+            assertDecimalEquals(cached.get(10, TimeUnit.SECONDS), 3);
+            release.countDown();
+            assertDecimalEquals(calculated.get(10, TimeUnit.SECONDS), 5);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void sharedIndicatorValuesCalculatedOnce() throws Exception {
+        final AtomicInteger calculations = new AtomicInteger();
+        final CachedIndicator<Decimal> counting = new CachedIndicator<Decimal>(series) {
+            @Override
+            protected Decimal calculate(int index) {
+                calculations.incrementAndGet();
+                return series.getTick(index).getClosePrice();
+            }
+        };
+        final SMAIndicator sma = new SMAIndicator(counting, 3);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Void>> readers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                readers.add(() -> {
+                    for (int i = series.getEndIndex(); i >= 0; i--) {
+                        sma.getValue(i);
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> reader : executor.invokeAll(readers)) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(series.getTickCount(), calculations.get());
+    }
+
+    @Test
+    public void replacedLastTickInvalidatesDependentIndicators() {
+        List<Tick> ticks = new ArrayList<>();
+        ZonedDateTime time = ZonedDateTime.of(2017, 1, 2, 0, 0, 0, 0, ZoneId.systemDefault());
+        Random random = new Random(42);
+        double close = 100;
+        for (int i = 0; i < 100; i++) {
+            ticks.add(randomTick(time.plusDays(i), random, close));
+            close = ticks.get(i).getClosePrice().toDouble();
+        }
+        BaseTimeSeries liveSeries = new BaseTimeSeries(new ArrayList<>(ticks));
+        List<Function<TimeSeries, Indicator<Decimal>>> factories = Arrays.asList(
+                s -> new SMAIndicator(new ClosePriceIndicator(s), 10),
+                s -> new EMAIndicator(new ClosePriceIndicator(s), 10),
+                s -> new MACDIndicator(new ClosePriceIndicator(s), 12, 26),
+                s -> new RSIIndicator(new ClosePriceIndicator(s), 14),
+                s -> new WMAIndicator(new ClosePriceIndicator(s), 10),
+                s -> new HighestValueIndicator(new MaxPriceIndicator(s), 10),
+                s -> new LowestValueIndicator(new MinPriceIndicator(s), 10),
+                s -> new AroonUpIndicator(s, 10),
+                s -> new StandardDeviationIndicator(new ClosePriceIndicator(s), 10),
+                s -> new ParabolicSarIndicator(s, 10));
+        List<Indicator<Decimal>> liveIndicators = new ArrayList<>();
+        for (Function<TimeSeries, Indicator<Decimal>> factory : factories) {
+            Indicator<Decimal> indicator = factory.apply(liveSeries);
+            for (int i = 0; i <= liveSeries.getEndIndex(); i++) {
+                indicator.getValue(i);
+            }
+            liveIndicators.add(indicator);
+        }
+
+        for (int revision = 0; revision < 20; revision++) {
+            ZonedDateTime lastEndTime = ticks.get(ticks.size() - 1).getEndTime();
+            if (revision % 3 == 2) {
+                // Live feed: a new tick (revised by the next revisions)
+                Tick newTick = randomTick(lastEndTime.plusDays(1), random, close);
+                ticks.add(newTick);
+                liveSeries.addTick(newTick);
+            } else {
+                Tick revisedTick = randomTick(lastEndTime, random, close);
+                ticks.set(ticks.size() - 1, revisedTick);
+                liveSeries.replaceLastTick(revisedTick);
+            }
+            TimeSeries expectedSeries = new BaseTimeSeries(new ArrayList<>(ticks));
+            final int endIndex = liveSeries.getEndIndex();
+            for (int n = 0; n < factories.size(); n++) {
+                Indicator<Decimal> expected = factories.get(n).apply(expectedSeries);
+                Indicator<Decimal> live = liveIndicators.get(n);
+                for (int i = endIndex - 2; i <= endIndex; i++) {
+                    // Incremental calculations (e.g. rolling sums) may differ on the last digit
+                    double expectedValue = expected.getValue(i).toDouble();
+                    assertEquals(live.toString() + " at " + i, expectedValue, live.getValue(i).toDouble(),
+                            Math.abs(expectedValue) * 1e-4);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void replacedLastTickRecalculatesSingleValue() {
+        final AtomicInteger calculations = new AtomicInteger();
+        final CachedIndicator<Decimal> counting = new CachedIndicator<Decimal>(series) {
+            @Override
+            protected Decimal calculate(int index) {
+                calculations.incrementAndGet();
+                return series.getTick(index).getClosePrice();
+            }
+        };
+        final SMAIndicator sma = new SMAIndicator(counting, 3);
+        final int endIndex = series.getEndIndex();
+        for (int i = 0; i <= endIndex; i++) {
+            sma.getValue(i);
+        }
+        assertDecimalEquals(sma.getValue(endIndex), 3);
+        calculations.set(0);
+
+        series.replaceLastTick(new MockTick(series.getLastTick().getEndTime(), 8));
+        assertDecimalEquals(sma.getValue(endIndex), 5);
+        assertEquals(1, calculations.get());
+        assertDecimalEquals(sma.getValue(endIndex - 1), 3.333333);
+        assertEquals(1, calculations.get());
+    }
+
+    private static Tick randomTick(ZonedDateTime endTime, Random random, double previousClose) {
+        double close = previousClose * (1 + random.nextGaussian() * 0.02);
+        double high = Math.max(previousClose, close) * (1 + random.nextDouble() * 0.01);
+        double low = Math.min(previousClose, close) * (1 - random.nextDouble() * 0.01);
+        return new BaseTick(endTime, previousClose, high, low, close, 1000);
+    }
 }
@@ -0,0 +1,117 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Guard against indicators built while calculating values.
+ * <p>
+ * An indicator instantiated in a {@code calculate(int)} method is thrown away (with its cache) after each call,
+ * turning each value into a full (and often recursive) computation. Indicators have to be built once, in the
+ * constructor.
+ */
+public class IndicatorCalculationTest {
+
+    private static final Path INDICATORS_SOURCES = Paths.get("src", "main", "java", "eu", "verdelhan", "ta4j", "indicators");
+
+    private static final Pattern CALCULATE_METHOD = Pattern.compile("\\bcalculate\\s*\\(\\s*int\\s+\\w+\\s*\\)[^;{]*\\{");
+
+    private static final Pattern INDICATOR_INSTANTIATION = Pattern.compile("\\bnew\\s+([\\w.]*Indicator)\\s*(<[^>]*>)?\\s*\\(");
+
+    @Test
+    public void calculateMethodsDoNotInstantiateIndicators() throws IOException {
+        assertTrue("Indicator sources not found: " + INDICATORS_SOURCES.toAbsolutePath(), Files.isDirectory(INDICATORS_SOURCES));
+        List<String> violations = new ArrayList<>();
+        try (Stream<Path> sources = Files.walk(INDICATORS_SOURCES)) {
+            for (Path source : sources.filter(p -> p.toString().endsWith(".java")).collect(Collectors.toList())) {
+                String code = stripCommentsAndStrings(new String(Files.readAllBytes(source), StandardCharsets.UTF_8));
+                Matcher method = CALCULATE_METHOD.matcher(code);
+                while (method.find()) {
+                    String body = code.substring(method.end(), endOfBlock(code, method.end()));
+                    Matcher instantiation = INDICATOR_INSTANTIATION.matcher(body);
+                    while (instantiation.find()) {
+                        violations.add(source.getFileName() + ": new " + instantiation.group(1));
+                    }
+                }
+            }
+        }
+        assertTrue("Indicators instantiated in calculate(int): " + violations, violations.isEmpty());
+    }
+
+    @Test
+    public void guardDetectsInstantiations() {
+        String code = stripCommentsAndStrings("protected Decimal calculate(int index) {\n"
+                + "    // new SMAIndicator(indicator, 3)\n"
+                + "    if (index > 0) { return new EMAIndicator(indicator, 3).getValue(index); }\n"
+                + "    return \"new SMAIndicator(\";\n"
+                + "}");
+        Matcher method = CALCULATE_METHOD.matcher(code);
+        assertTrue(method.find());
+        Matcher instantiation = INDICATOR_INSTANTIATION.matcher(code.substring(method.end(), endOfBlock(code, method.end())));
+        assertTrue(instantiation.find());
+        assertEquals("EMAIndicator", instantiation.group(1));
+        assertFalse(instantiation.find());
+    }
+
+    /**
+     * @param code Java code
+     * @return the code without its comments and with empty string/char literals
+     */
+    private static String stripCommentsAndStrings(String code) {
+        return code.replaceAll("(?s)/\\*.*?\\*/", " ")
+                .replaceAll("//[^\\n]*", " ")
+                .replaceAll("\"(\\\\.|[^\"\\\\])*\"", "\"\"")
+                .replaceAll("'(\\\\.|[^'\\\\])*'", "''");
+    }
+
+    /**
+     * @param code Java code (without comments and literals)
+     * @param start the position just after the opening brace of a block
+     * @return the position of the closing brace of the block
+     */
+    private static int endOfBlock(String code, int start) {
+        int depth = 1;
+        for (int i = start; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return code.length();
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.MultiplierIndicator;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.util.stream.IntStream;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IndicatorRegistryTest {
+
+    private TimeSeries series;
+
+    private IndicatorRegistry registry;
+
+    @Before
+    public void setUp() {
+        series = new MockTimeSeries(1, 2, 3, 4, 3, 4, 5, 4, 3, 3, 4, 3, 2);
+        registry = new IndicatorRegistry(series);
+    }
+
+    @Test
+    public void canonicalInstances() {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class);
+        assertSame(closePrice, registry.get(ClosePriceIndicator.class));
+        assertSame(closePrice, registry.get(ClosePriceIndicator.class, series));
+        assertSame(series, closePrice.getTimeSeries());
+
+        SMAIndicator sma = registry.get(SMAIndicator.class, closePrice, 3);
+        assertSame(sma, registry.get(SMAIndicator.class, registry.get(ClosePriceIndicator.class), 3));
+        assertNotSame(sma, registry.get(SMAIndicator.class, closePrice, 4));
+        assertNotSame(sma, registry.get(EMAIndicator.class, closePrice, 3));
+
+        // Indicators are compared by identity
+        assertNotSame(sma, registry.get(SMAIndicator.class, new ClosePriceIndicator(series), 3));
+
+        // Other arguments are compared by equality
+        MultiplierIndicator multiplier = registry.get(MultiplierIndicator.class, closePrice, Decimal.TWO);
+        assertSame(multiplier, registry.get(MultiplierIndicator.class, closePrice, Decimal.valueOf(2)));
+
+        // Time series prepended when needed
+        CCIIndicator cci = registry.get(CCIIndicator.class, 5);
+        assertSame(cci, registry.get(CCIIndicator.class, series, 5));
+        assertEquals(7, registry.size());
+    }
+
+    @Test
+    public void sameValuesAsDirectIndicators() {
+        RSIIndicator rsi = registry.get(RSIIndicator.class, registry.get(ClosePriceIndicator.class), 5);
+        RSIIndicator directRsi = new RSIIndicator(new ClosePriceIndicator(series), 5);
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            assertEquals(directRsi.getValue(i), rsi.getValue(i));
+        }
+    }
+
+    @Test
+    public void metrics() {
+        assertEquals(0, registry.getHitRate(), 0);
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class);
+        registry.get(SMAIndicator.class, closePrice, 3);
+        registry.get(SMAIndicator.class, registry.get(ClosePriceIndicator.class), 3);
+        registry.get(SMAIndicator.class, closePrice, 3);
+
+        assertEquals(5, registry.getRequestCount());
+        assertEquals(3, registry.getHitCount());
+        assertEquals(0.6, registry.getHitRate(), 1e-9);
+        // 3 hits on cached indicators, 13 ticks
+        assertEquals(39, registry.getSavedResultCount());
+        assertEquals(2, registry.size());
+
+        registry.clear();
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.getRequestCount());
+        assertEquals(0, registry.getSavedResultCount());
+    }
+
+    @Test
+    public void concurrentBuilding() {
+        // 10k parameterized "strategies" built concurrently on 20 distinct time frames
+        IntStream.range(0, 10000).parallel().forEach(i -> {
+            ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class);
+            registry.get(EMAIndicator.class, registry.get(SMAIndicator.class, closePrice, 2 + i % 20), 3);
+        });
+        assertEquals(41, registry.size());
+        assertEquals(30000, registry.getRequestCount());
+        assertEquals(30000 - 41, registry.getHitCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noMatchingConstructor() {
+        registry.get(SMAIndicator.class, "close", 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void indicatorOfAnotherSeries() {
+        registry.get(SMAIndicator.class, new ClosePriceIndicator(new MockTimeSeries(1, 2, 3)), 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void anotherSeries() {
+        registry.get(ClosePriceIndicator.class, new MockTimeSeries(1, 2, 3));
+    }
+
+    @Test
+    public void mostSpecificConstructor() {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class);
+        assertEquals("close price", registry.get(OverloadedIndicator.class, closePrice, 3).constructor);
+        assertEquals("indicator", registry.get(OverloadedIndicator.class, registry.get(SMAIndicator.class, closePrice, 3), 3).constructor);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ambiguousConstructors() {
+        registry.get(AmbiguousIndicator.class, registry.get(ClosePriceIndicator.class), 3);
+    }
+
+    public static class OverloadedIndicator extends CachedIndicator<Decimal> {
+
+        final String constructor;
+
+        public OverloadedIndicator(Indicator<Decimal> indicator, int timeFrame) {
+            super(indicator);
+            constructor = "indicator";
+        }
+
+        public OverloadedIndicator(ClosePriceIndicator closePrice, int timeFrame) {
+            super(closePrice);
+            constructor = "close price";
+        }
+
+        public OverloadedIndicator(Object indicator, Object timeFrame) {
+            super((Indicator<?>) indicator);
+            constructor = "object";
+        }
+
+        @Override
+        protected Decimal calculate(int index) {
+            return Decimal.ZERO;
+        }
+    }
+
+    public static class AmbiguousIndicator extends CachedIndicator<Decimal> {
+
+        public AmbiguousIndicator(Indicator<Decimal> indicator, Integer timeFrame) {
+            super(indicator);
+        }
+
+        public AmbiguousIndicator(ClosePriceIndicator closePrice, Number timeFrame) {
+            super(closePrice);
+        }
+
+        @Override
+        protected Decimal calculate(int index) {
+            return Decimal.ZERO;
+        }
+    }
+}
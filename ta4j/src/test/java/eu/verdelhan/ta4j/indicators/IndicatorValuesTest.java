@@ -0,0 +1,188 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.ConstantIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.MaxPriceIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.MinPriceIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.OpenPriceIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IndicatorValuesTest {
+
+    private TimeSeries series;
+
+    @Before
+    public void setUp() {
+        double[] data = new double[300];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 50 + 10 * Math.sin(i / 10d) + (i % 5) * 0.37;
+        }
+        series = new MockTimeSeries(data);
+    }
+
+    @Test
+    public void tightLoopsMatchPerIndexValues() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        assertSameValues(closePrice, 0, 299);
+        assertSameValues(new OpenPriceIndicator(series), 10, 20);
+        assertSameValues(new MaxPriceIndicator(series), 0, 0);
+        assertSameValues(new MinPriceIndicator(series), 299, 299);
+        assertSameValues(new SMAIndicator(closePrice, 1), 0, 299);
+        assertSameValues(new SMAIndicator(closePrice, 20), 0, 299);
+        assertSameValues(new SMAIndicator(closePrice, 20), 150, 160);
+        assertSameValues(new SMAIndicator(closePrice, 500), 0, 299);
+        assertSameValues(new EMAIndicator(closePrice, 1), 0, 299);
+        assertSameValues(new EMAIndicator(closePrice, 26), 0, 299);
+        assertSameValues(new EMAIndicator(closePrice, 26), 200, 299);
+        assertSameValues(new MACDIndicator(closePrice, 12, 26), 0, 299);
+        assertSameValues(new MACDIndicator(closePrice, 12, 26), 42, 42);
+        // Chained tight loops
+        assertSameValues(new EMAIndicator(new SMAIndicator(closePrice, 5), 9), 0, 299);
+    }
+
+    @Test
+    public void emaSeededFromCachedValue() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        final int[] firstIndex = { -1 };
+        Indicator<Decimal> recordingClosePrice = new Indicator<Decimal>() {
+            @Override
+            public Decimal getValue(int index) {
+                return closePrice.getValue(index);
+            }
+
+            @Override
+            public TimeSeries getTimeSeries() {
+                return series;
+            }
+
+            @Override
+            public void getValues(int from, int to, double[] values) {
+                firstIndex[0] = from;
+                closePrice.getValues(from, to, values);
+            }
+        };
+        EMAIndicator ema = new EMAIndicator(recordingClosePrice, 26);
+        // Nothing cached: calculated from index 0
+        ema.getValues(200, 219);
+        assertEquals(0, firstIndex[0]);
+        // Seeded from the cached value at index 249
+        Decimal lastCached = ema.getValue(249);
+        double[] values = ema.getValues(250, 299);
+        assertEquals(250, firstIndex[0]);
+        double k = Decimal.TWO.dividedBy(Decimal.valueOf(27)).toDouble();
+        assertEquals((closePrice.getValue(250).toDouble() - lastCached.toDouble()) * k + lastCached.toDouble(), values[0], 1e-12);
+        assertSameValues(ema, 250, 299);
+    }
+
+    @Test
+    public void perIndexFallback() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        assertSameValues(new RSIIndicator(closePrice, 14), 0, 299);
+        assertSameValues(new SMAIndicator(new RSIIndicator(closePrice, 14), 5), 0, 299);
+
+        double[] values = new double[5];
+        new ConstantIndicator<Integer>(3).getValues(0, 2, values);
+        assertArrayEquals(new double[] { 3, 3, 3, 0, 0 }, values, 0);
+
+        boolean[] booleans = new boolean[3];
+        new ConstantIndicator<Boolean>(true).getValues(4, 6, booleans);
+        assertArrayEquals(new boolean[] { true, true, true }, booleans);
+    }
+
+    @Test
+    public void nanValues() {
+        Indicator<Decimal> withNaN = new CachedIndicator<Decimal>(series) {
+            @Override
+            protected Decimal calculate(int index) {
+                return index == 10 ? Decimal.NaN : series.getClosePrice(index);
+            }
+        };
+        SMAIndicator sma = new SMAIndicator(withNaN, 3);
+        double[] values = sma.getValues(8, 14);
+        assertFalse(Double.isNaN(values[1]));
+        assertTrue(Double.isNaN(values[2]));
+        assertTrue(Double.isNaN(values[4]));
+        assertFalse(Double.isNaN(values[5]));
+        assertSameValues(sma, 0, 299);
+    }
+
+    @Test
+    public void movingTimeSeries() {
+        TimeSeries movingSeries = new MockTimeSeries(1, 2, 3, 4, 5, 6);
+        movingSeries.setMaximumTickCount(3);
+        // Removed ticks: same (approximated) values as the per-index calculation
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(movingSeries), 2);
+        SMAIndicator perIndexSma = new SMAIndicator(new ClosePriceIndicator(movingSeries), 2);
+        double[] values = sma.getValues(3, 5);
+        for (int i = 3; i <= 5; i++) {
+            assertEquals(perIndexSma.getValue(i).toDouble(), values[i - 3], 0);
+        }
+        assertEquals(5.5, sma.getValues(5, 5)[0], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyRange() {
+        new ClosePriceIndicator(series).getValues(5, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arrayTooSmall() {
+        new SMAIndicator(new ClosePriceIndicator(series), 3).getValues(0, 10, new double[10]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notNumeric() {
+        new ConstantIndicator<Boolean>(true).getValues(0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notBoolean() {
+        new ClosePriceIndicator(series).getValues(0, 10, new boolean[11]);
+    }
+
+    private static void assertSameValues(Indicator<Decimal> indicator, int from, int to) {
+        double[] expected = new double[to - from + 1];
+        for (int i = from; i <= to; i++) {
+            expected[i - from] = indicator.getValue(i).toDouble();
+        }
+        double[] values = indicator.getValues(from, to);
+        assertEquals(expected.length, values.length);
+        for (int i = 0; i < expected.length; i++) {
+            if (Double.isNaN(expected[i])) {
+                assertTrue(Double.isNaN(values[i]));
+            } else {
+                // Decimal values are rounded to 6 significant digits
+                assertEquals(expected[i], values[i], Math.max(Math.abs(expected[i]) * 1e-4, 1e-3));
+            }
+        }
+    }
+}
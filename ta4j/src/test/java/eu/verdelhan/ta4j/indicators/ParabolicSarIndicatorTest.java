@@ -28,6 +28,7 @@ import eu.verdelhan.ta4j.mocks.MockTick;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
 import java.util.ArrayList;
 import java.util.List;
+import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
 public class ParabolicSarIndicatorTest {
@@ -105,4 +106,21 @@ public class ParabolicSarIndicatorTest {
         assertDecimalEquals(sar.getValue(4), 0.08 * (11 - value) + value);
         assertDecimalEquals(sar.getValue(5), 11);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void valuesDoNotDependOnRequestOrder() {
+        List<Tick> ticks = new ArrayList<Tick>();
+        for (int i = 0; i < 300; i++) {
+            double close = 50 + 10 * Math.sin(i / 8d);
+            ticks.add(new MockTick(close - 0.5, close, close + 1, close - 1));
+        }
+        ParabolicSarIndicator forward = new ParabolicSarIndicator(new MockTimeSeries(ticks), 5);
+        ParabolicSarIndicator backward = new ParabolicSarIndicator(new MockTimeSeries(ticks), 5);
+        for (int i = ticks.size() - 1; i >= 0; i--) {
+            backward.getValue(i);
+        }
+        for (int i = 0; i < ticks.size(); i++) {
+            assertEquals(forward.getValue(i), backward.getValue(i));
+        }
+    }
+}
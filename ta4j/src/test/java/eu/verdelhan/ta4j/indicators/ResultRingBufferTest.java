@@ -0,0 +1,122 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResultRingBufferTest {
+
+    private ResultRingBuffer<Integer> buffer;
+
+    @Before
+    public void setUp() {
+        buffer = new ResultRingBuffer<>();
+    }
+
+    @Test
+    public void appendEmpty() {
+        assertTrue(buffer.isEmpty());
+        buffer.appendEmpty(3, Integer.MAX_VALUE);
+        assertEquals(3, buffer.size());
+        assertNull(buffer.get(0));
+        assertNull(buffer.get(2));
+    }
+
+    @Test
+    public void setAndGet() {
+        buffer.appendEmpty(40, Integer.MAX_VALUE);
+        for (int i = 0; i < 40; i++) {
+            buffer.set(i, i);
+        }
+        for (int i = 0; i < 40; i++) {
+            assertEquals(Integer.valueOf(i), buffer.get(i));
+        }
+    }
+
+    @Test
+    public void evictsOldestResultsWhenWrappingAround() {
+        final int maxSize = 5;
+        for (int i = 0; i < 23; i++) {
+            buffer.appendEmpty(1, maxSize);
+            buffer.set(buffer.size() - 1, i);
+        }
+        assertEquals(maxSize, buffer.size());
+        for (int i = 0; i < maxSize; i++) {
+            assertEquals(Integer.valueOf(18 + i), buffer.get(i));
+        }
+
+        // Several results at once: new slots must not hold stale results
+        buffer.appendEmpty(3, maxSize);
+        assertEquals(maxSize, buffer.size());
+        assertEquals(Integer.valueOf(21), buffer.get(0));
+        assertEquals(Integer.valueOf(22), buffer.get(1));
+        assertNull(buffer.get(2));
+        assertNull(buffer.get(3));
+        assertNull(buffer.get(4));
+    }
+
+    @Test
+    public void appendMoreThanMaxSizeClearsBuffer() {
+        buffer.appendEmpty(4, 4);
+        buffer.set(3, 42);
+        buffer.appendEmpty(10, 4);
+        assertEquals(4, buffer.size());
+        for (int i = 0; i < 4; i++) {
+            assertNull(buffer.get(i));
+        }
+    }
+
+    @Test
+    public void shrinkMaxSize() {
+        buffer.appendEmpty(10, Integer.MAX_VALUE);
+        for (int i = 0; i < 10; i++) {
+            buffer.set(i, i);
+        }
+        buffer.appendEmpty(1, 4);
+        assertEquals(4, buffer.size());
+        assertEquals(Integer.valueOf(7), buffer.get(0));
+        assertEquals(Integer.valueOf(9), buffer.get(2));
+        assertNull(buffer.get(3));
+    }
+
+    @Test
+    public void peek() {
+        assertNull(buffer.peek(0));
+        for (int i = 0; i < 23; i++) {
+            buffer.appendEmpty(1, 5);
+            buffer.set(buffer.size() - 1, i);
+        }
+        assertEquals(Integer.valueOf(18), buffer.peek(0));
+        assertEquals(Integer.valueOf(22), buffer.peek(4));
+        assertNull(buffer.peek(-1));
+        assertNull(buffer.peek(5));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfBounds() {
+        buffer.appendEmpty(2, Integer.MAX_VALUE);
+        buffer.get(2);
+    }
+}
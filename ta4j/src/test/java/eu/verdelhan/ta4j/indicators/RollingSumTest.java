@@ -0,0 +1,256 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.CumulatedGainsIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.CumulatedLossesIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.VolumeIndicator;
+import eu.verdelhan.ta4j.indicators.volume.ChaikinMoneyFlowIndicator;
+import eu.verdelhan.ta4j.indicators.volume.VWAPIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RollingSumTest {
+
+    private Decimal[] terms;
+
+    private TimeSeries series;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        terms = new Decimal[200];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = Decimal.valueOf(random.nextInt(20000) / 1000d);
+        }
+        List<Tick> ticks = new ArrayList<>();
+        double price = 10;
+        for (int i = 0; i < 200; i++) {
+            double open = price;
+            price = Math.max(1, price + random.nextInt(200) / 100d - 1);
+            double max = Math.max(open, price) + random.nextInt(50) / 100d;
+            double min = Math.min(open, price) - random.nextInt(50) / 100d;
+            ticks.add(new MockTick(open, price, max, min, 1 + random.nextInt(1000)));
+        }
+        series = new MockTimeSeries(ticks);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void timeFrameMustBePositive() {
+        new RollingSum(0);
+    }
+
+    @Test
+    public void sequentialUpdates() {
+        RollingSum rollingSum = new RollingSum(7);
+        for (int i = 0; i < terms.length; i++) {
+            rollingSum.update(i, index -> terms[index]);
+            assertEquals(Math.min(7, i + 1), rollingSum.getCount());
+            assertRelativeEquals(directSum(i, 7, 0, false), rollingSum.getSum());
+            assertRelativeEquals(directSum(i, 7, 0, true), rollingSum.getWeightedSum());
+        }
+    }
+
+    @Test
+    public void revisedLastTerm() {
+        RollingSum rollingSum = new RollingSum(7);
+        for (int i = 0; i < terms.length; i++) {
+            // The last term is revised (finally back to its original value)
+            final Decimal term = terms[i];
+            for (Decimal revision : new Decimal[] { Decimal.valueOf(-3), Decimal.NaN, term }) {
+                terms[i] = revision;
+                rollingSum.update(i, index -> terms[index]);
+                assertEquals(Math.min(7, i + 1), rollingSum.getCount());
+                assertRelativeEquals(directSum(i, 7, 0, false), rollingSum.getSum());
+                assertRelativeEquals(directSum(i, 7, 0, true), rollingSum.getWeightedSum());
+            }
+        }
+    }
+
+    @Test
+    public void randomAccessUpdates() {
+        RollingSum rollingSum = new RollingSum(5);
+        Random random = new Random(7);
+        for (int n = 0; n < 100; n++) {
+            int i = random.nextInt(terms.length);
+            rollingSum.update(i, index -> terms[index]);
+            assertEquals(Math.min(5, i + 1), rollingSum.getCount());
+            assertRelativeEquals(directSum(i, 5, 0, false), rollingSum.getSum());
+            assertRelativeEquals(directSum(i, 5, 0, true), rollingSum.getWeightedSum());
+        }
+    }
+
+    @Test
+    public void firstIndex() {
+        RollingSum rollingSum = new RollingSum(3, 1);
+        rollingSum.update(0, index -> terms[index]);
+        assertEquals(0, rollingSum.getCount());
+        assertDecimalEquals(rollingSum.getSum(), 0);
+        for (int i = 1; i < 10; i++) {
+            rollingSum.update(i, index -> terms[index]);
+            assertEquals(Math.min(3, i), rollingSum.getCount());
+            assertRelativeEquals(directSum(i, 3, 1, false), rollingSum.getSum());
+        }
+    }
+
+    @Test
+    public void nanTerms() {
+        terms[3] = Decimal.NaN;
+        RollingSum rollingSum = new RollingSum(3);
+        for (int i = 0; i < 10; i++) {
+            rollingSum.update(i, index -> terms[index]);
+            if (i >= 3 && i <= 5) {
+                assertTrue(rollingSum.getSum().isNaN());
+                assertTrue(rollingSum.getWeightedSum().isNaN());
+            } else {
+                assertRelativeEquals(directSum(i, 3, 0, false), rollingSum.getSum());
+                assertRelativeEquals(directSum(i, 3, 0, true), rollingSum.getWeightedSum());
+            }
+        }
+    }
+
+    @Test
+    public void largeTermLeavingTheWindow() {
+        terms[50] = Decimal.valueOf(1234567890);
+        RollingSum rollingSum = new RollingSum(5);
+        for (int i = 0; i < 80; i++) {
+            rollingSum.update(i, index -> terms[index]);
+            if (i < 50 || i >= 55) {
+                // Exact sums (the terms have 3 decimals)
+                assertEquals(directSum(i, 5, 0, false), rollingSum.getSum());
+                assertEquals(directSum(i, 5, 0, true), rollingSum.getWeightedSum());
+            } else {
+                assertRelativeEquals(directSum(i, 5, 0, false), rollingSum.getSum());
+            }
+        }
+    }
+
+    @Test
+    public void rollingIndicatorsMatchDirectFormulas() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        assertRollingIndicatorMatches((s, tf) -> new SMAIndicator(new ClosePriceIndicator(s), tf), (index, tf) -> {
+            Decimal sum = Decimal.ZERO;
+            for (int i = Math.max(0, index - tf + 1); i <= index; i++) {
+                sum = sum.plus(closePrice.getValue(i));
+            }
+            return sum.dividedBy(Decimal.valueOf(Math.min(tf, index + 1)));
+        });
+        assertRollingIndicatorMatches((s, tf) -> new WMAIndicator(new ClosePriceIndicator(s), tf), (index, tf) -> {
+            Decimal sum = Decimal.ZERO;
+            int weight = Math.min(tf, index + 1);
+            for (int i = index; i >= Math.max(0, index - tf + 1); i--) {
+                sum = sum.plus(Decimal.valueOf(weight--).multipliedBy(closePrice.getValue(i)));
+            }
+            int realTimeFrame = Math.min(tf, index + 1);
+            return sum.dividedBy(Decimal.valueOf(realTimeFrame * (realTimeFrame + 1) / 2));
+        });
+        assertRollingIndicatorMatches(VolumeIndicator::new, (index, tf) -> {
+            Decimal sum = Decimal.ZERO;
+            for (int i = Math.max(0, index - tf + 1); i <= index; i++) {
+                sum = sum.plus(series.getVolume(i));
+            }
+            return sum;
+        });
+        assertRollingIndicatorMatches(VWAPIndicator::new, (index, tf) -> {
+            Decimal tpv = Decimal.ZERO;
+            Decimal volume = Decimal.ZERO;
+            for (int i = Math.max(0, index - tf + 1); i <= index; i++) {
+                Decimal typicalPrice = series.getMaxPrice(i).plus(series.getMinPrice(i)).plus(series.getClosePrice(i)).dividedBy(Decimal.THREE);
+                tpv = tpv.plus(typicalPrice.multipliedBy(series.getVolume(i)));
+                volume = volume.plus(series.getVolume(i));
+            }
+            return tpv.dividedBy(volume);
+        });
+        assertRollingIndicatorMatches(ChaikinMoneyFlowIndicator::new, (index, tf) -> {
+            Decimal moneyFlowVolume = Decimal.ZERO;
+            Decimal volume = Decimal.ZERO;
+            for (int i = Math.max(0, index - tf + 1); i <= index; i++) {
+                Decimal close = series.getClosePrice(i);
+                Decimal high = series.getMaxPrice(i);
+                Decimal low = series.getMinPrice(i);
+                Decimal clv = close.minus(low).minus(high.minus(close)).dividedBy(high.minus(low));
+                moneyFlowVolume = moneyFlowVolume.plus(clv.multipliedBy(series.getVolume(i)));
+                volume = volume.plus(series.getVolume(i));
+            }
+            return moneyFlowVolume.dividedBy(volume);
+        });
+        assertRollingIndicatorMatches((s, tf) -> new CumulatedGainsIndicator(new ClosePriceIndicator(s), tf), (index, tf) -> {
+            Decimal sum = Decimal.ZERO;
+            for (int i = Math.max(1, index - tf + 1); i <= index; i++) {
+                sum = sum.plus(closePrice.getValue(i).minus(closePrice.getValue(i - 1)).max(Decimal.ZERO));
+            }
+            return sum;
+        });
+        assertRollingIndicatorMatches((s, tf) -> new CumulatedLossesIndicator(new ClosePriceIndicator(s), tf), (index, tf) -> {
+            Decimal sum = Decimal.ZERO;
+            for (int i = Math.max(1, index - tf + 1); i <= index; i++) {
+                sum = sum.plus(closePrice.getValue(i - 1).minus(closePrice.getValue(i)).max(Decimal.ZERO));
+            }
+            return sum;
+        });
+    }
+
+    /**
+     * Checks that an indicator returns the values of its direct formula, whether evaluated
+     * sequentially (rolling updates) or backwards (random access).
+     */
+    private void assertRollingIndicatorMatches(BiFunction<TimeSeries, Integer, Indicator<Decimal>> factory,
+            BiFunction<Integer, Integer, Decimal> directFormula) {
+        for (int timeFrame : new int[] { 1, 3, 14 }) {
+            Indicator<Decimal> sequential = factory.apply(series, timeFrame);
+            for (int i = 0; i < series.getTickCount(); i++) {
+                assertRelativeEquals(directFormula.apply(i, timeFrame), sequential.getValue(i));
+            }
+            Indicator<Decimal> backwards = factory.apply(series, timeFrame);
+            for (int i = series.getTickCount() - 1; i >= 0; i--) {
+                assertRelativeEquals(directFormula.apply(i, timeFrame), backwards.getValue(i));
+            }
+        }
+    }
+
+    private Decimal directSum(int index, int timeFrame, int firstIndex, boolean weighted) {
+        Decimal sum = Decimal.ZERO;
+        int weight = 1;
+        for (int i = Math.max(firstIndex, index - timeFrame + 1); i <= index; i++) {
+            sum = sum.plus(weighted ? terms[i].multipliedBy(Decimal.valueOf(weight++)) : terms[i]);
+        }
+        return sum;
+    }
+
+    private static void assertRelativeEquals(Decimal expected, Decimal actual) {
+        assertEquals(expected.toDouble(), actual.toDouble(), Math.abs(expected.toDouble()) * 1e-4 + 1e-4);
+    }
+}
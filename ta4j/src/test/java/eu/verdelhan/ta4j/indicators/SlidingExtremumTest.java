@@ -0,0 +1,121 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SlidingExtremumTest {
+
+    private Decimal[] values;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        values = new Decimal[300];
+        for (int i = 0; i < values.length; i++) {
+            // Few distinct values, so that ties occur
+            values[i] = Decimal.valueOf(random.nextInt(10));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void timeFrameMustBePositive() {
+        new SlidingExtremum(0, true);
+    }
+
+    @Test
+    public void sequentialUpdates() {
+        for (int timeFrame : new int[] { 1, 2, 5, 40 }) {
+            SlidingExtremum highest = new SlidingExtremum(timeFrame, true);
+            SlidingExtremum lowest = new SlidingExtremum(timeFrame, false);
+            for (int i = 0; i < values.length; i++) {
+                assertExtremum(highest.update(i, index -> values[index]), i, timeFrame, true);
+                assertExtremum(lowest.update(i, index -> values[index]), i, timeFrame, false);
+            }
+        }
+    }
+
+    @Test
+    public void revisedLastValue() {
+        for (int timeFrame : new int[] { 1, 5, 40 }) {
+            SlidingExtremum highest = new SlidingExtremum(timeFrame, true);
+            SlidingExtremum lowest = new SlidingExtremum(timeFrame, false);
+            for (int i = 0; i < values.length; i++) {
+                // The last value is revised (finally back to its original value)
+                final Decimal value = values[i];
+                for (Decimal revision : new Decimal[] { Decimal.valueOf(-1), Decimal.valueOf(20), value }) {
+                    values[i] = revision;
+                    assertExtremum(highest.update(i, index -> values[index]), i, timeFrame, true);
+                    assertExtremum(lowest.update(i, index -> values[index]), i, timeFrame, false);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void randomAccessUpdates() {
+        Random random = new Random(7);
+        SlidingExtremum highest = new SlidingExtremum(20, true);
+        SlidingExtremum lowest = new SlidingExtremum(20, false);
+        for (int n = 0; n < 200; n++) {
+            int i = random.nextInt(values.length);
+            assertExtremum(highest.update(i, index -> values[index]), i, 20, true);
+            assertExtremum(lowest.update(i, index -> values[index]), i, 20, false);
+        }
+    }
+
+    @Test
+    public void nanValuesAreIgnored() {
+        values[3] = Decimal.NaN;
+        values[4] = Decimal.NaN;
+        SlidingExtremum highest = new SlidingExtremum(2, true);
+        highest.update(3, index -> values[index]);
+        assertDecimalEquals(highest.getValue(), values[2].toDouble());
+        assertEquals(2, highest.getIndex());
+        highest.update(4, index -> values[index]);
+        assertTrue(highest.getValue().isNaN());
+        assertEquals(-1, highest.getIndex());
+        highest.update(5, index -> values[index]);
+        assertEquals(5, highest.getIndex());
+    }
+
+    /**
+     * Checks an extremum against a scan of the whole window.
+     */
+    private void assertExtremum(SlidingExtremum extremum, int index, int timeFrame, boolean highest) {
+        int expectedIndex = Math.max(0, index - timeFrame + 1);
+        for (int i = expectedIndex + 1; i <= index; i++) {
+            int comparison = values[i].compareTo(values[expectedIndex]);
+            if (highest ? comparison >= 0 : comparison <= 0) {
+                expectedIndex = i;
+            }
+        }
+        assertEquals(expectedIndex, extremum.getIndex());
+        assertEquals(values[expectedIndex], extremum.getValue());
+    }
+}
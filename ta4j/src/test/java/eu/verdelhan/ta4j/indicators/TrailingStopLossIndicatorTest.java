@@ -79,5 +79,15 @@ public class TrailingStopLossIndicatorTest {
         assertDecimalEquals(tsl.getValue(12), 26);
         assertDecimalEquals(tsl.getValue(13), 26);
     }
-    
+
+    @Test
+    public void valuesDoNotDependOnRequestOrder() {
+        ClosePriceIndicator price = new ClosePriceIndicator(data);
+        TrailingStopLossIndicator tsl = new TrailingStopLossIndicator(price, Decimal.valueOf(4));
+
+        // Skipping ticks must not skip the limit raises (e.g. at index 11)
+        assertDecimalEquals(tsl.getValue(14), 25);
+        assertDecimalEquals(tsl.getValue(0), 14);
+        assertDecimalEquals(tsl.getValue(19), 25);
+    }
 }
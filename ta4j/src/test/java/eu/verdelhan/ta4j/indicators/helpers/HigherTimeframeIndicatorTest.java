@@ -0,0 +1,123 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators.helpers;
+
+import eu.verdelhan.ta4j.BaseTick;
+import eu.verdelhan.ta4j.BaseTimeSeries;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.ResampledTimeSeries;
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.SMAIndicator;
+import eu.verdelhan.ta4j.trading.rules.OverIndicatorRule;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HigherTimeframeIndicatorTest {
+
+    private BaseTimeSeries base;
+
+    private ResampledTimeSeries resampled;
+
+    private ZonedDateTime start;
+
+    @Before
+    public void setUp() {
+        base = new BaseTimeSeries("base");
+        resampled = new ResampledTimeSeries(base, Duration.ofMinutes(5));
+        start = ZonedDateTime.of(2017, 3, 20, 9, 0, 0, 0, ZoneId.of("UTC"));
+    }
+
+    @Test
+    public void readsTheLastCompletedBar() {
+        for (int i = 1; i <= 12; i++) {
+            addMinuteTick(i, i);
+        }
+        HigherTimeframeIndicator higherClose = new HigherTimeframeIndicator(new ClosePriceIndicator(resampled));
+        assertSame(base, higherClose.getTimeSeries());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(higherClose.getValue(i).isNaN());
+        }
+        for (int i = 4; i < 9; i++) {
+            assertDecimalEquals(higherClose.getValue(i), 5);
+        }
+        // The partial bar (ticks ending at 09:11 and 09:12) is never read
+        for (int i = 9; i < 12; i++) {
+            assertDecimalEquals(higherClose.getValue(i), 10);
+        }
+    }
+
+    @Test
+    public void noLookAheadOnGrowingSeries() {
+        SMAIndicator higherSma = new SMAIndicator(new ClosePriceIndicator(resampled), 3);
+        HigherTimeframeIndicator liveSma = new HigherTimeframeIndicator(higherSma);
+        Decimal[] liveValues = new Decimal[60];
+        for (int i = 0; i < liveValues.length; i++) {
+            addMinuteTick(i + 1, 100 + (i * 13) % 17);
+            base.replaceLastTick(minuteTick(i + 1, 100 + (i * 7) % 17));
+            liveValues[i] = liveSma.getValue(i);
+        }
+        // Values computed on the whole series are the ones seen live
+        HigherTimeframeIndicator backtestSma = new HigherTimeframeIndicator(
+                new SMAIndicator(new ClosePriceIndicator(new ResampledTimeSeries(base, Duration.ofMinutes(5))), 3));
+        for (int i = 0; i < liveValues.length; i++) {
+            if (i < 4) {
+                assertTrue(liveValues[i].isNaN());
+                assertTrue(backtestSma.getValue(i).isNaN());
+            } else {
+                assertDecimalEquals(backtestSma.getValue(i), liveValues[i].toDouble());
+            }
+        }
+    }
+
+    @Test
+    public void usableInBaseTimeframeRules() {
+        for (int i = 1; i <= 12; i++) {
+            addMinuteTick(i, i % 5 == 0 ? 1 : i);
+        }
+        HigherTimeframeIndicator higherClose = new HigherTimeframeIndicator(new ClosePriceIndicator(resampled));
+        OverIndicatorRule rule = new OverIndicatorRule(new ClosePriceIndicator(base), higherClose);
+        assertFalse(rule.isSatisfied(4));
+        assertTrue(rule.isSatisfied(5));
+        assertFalse(rule.isSatisfied(9));
+        assertTrue(rule.isSatisfied(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void indicatorMustBeBuiltOnAResampledSeries() {
+        TimeSeries series = new BaseTimeSeries();
+        new HigherTimeframeIndicator(new ClosePriceIndicator(series));
+    }
+
+    private void addMinuteTick(int minute, double close) {
+        base.addTick(minuteTick(minute, close));
+    }
+
+    private BaseTick minuteTick(int minute, double close) {
+        return new BaseTick(Duration.ofMinutes(1), start.plusMinutes(minute), close, close, close, close, 1, Decimal.Backend.DOUBLE);
+    }
+}
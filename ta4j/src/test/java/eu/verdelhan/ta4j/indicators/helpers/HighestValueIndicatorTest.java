@@ -26,6 +26,7 @@ import static eu.verdelhan.ta4j.TATestsUtils.*;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -64,4 +65,15 @@ public class HighestValueIndicatorTest {
         HighestValueIndicator highestValue = new HighestValueIndicator(new ClosePriceIndicator(data), 500);
         assertDecimalEquals(highestValue.getValue(12), "6");
     }
+
+    @Test
+    public void highestIndexIsTheMostRecentIndexOfTheHighestValue() {
+        HighestValueIndicator highestValue = new HighestValueIndicator(new ClosePriceIndicator(data), 5);
+        assertEquals(0, highestValue.getHighestIndex(0));
+        assertEquals(3, highestValue.getHighestIndex(4));
+        assertEquals(5, highestValue.getHighestIndex(5));
+        assertEquals(7, highestValue.getHighestIndex(11));
+        assertEquals(11, highestValue.getHighestIndex(12));
+        assertEquals(11, highestValue.getHighestIndex(13));
+    }
 }
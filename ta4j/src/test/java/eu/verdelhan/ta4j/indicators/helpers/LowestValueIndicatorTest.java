@@ -26,6 +26,7 @@ import static eu.verdelhan.ta4j.TATestsUtils.*;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -65,4 +66,14 @@ public class LowestValueIndicatorTest {
         LowestValueIndicator lowestValue = new LowestValueIndicator(new ClosePriceIndicator(data), 500);
         assertDecimalEquals(lowestValue.getValue(12), "1");
     }
+
+    @Test
+    public void lowestIndexIsTheMostRecentIndexOfTheLowestValue() {
+        LowestValueIndicator lowestValue = new LowestValueIndicator(new ClosePriceIndicator(data), 5);
+        assertEquals(0, lowestValue.getLowestIndex(4));
+        assertEquals(4, lowestValue.getLowestIndex(6));
+        assertEquals(9, lowestValue.getLowestIndex(9));
+        assertEquals(10, lowestValue.getLowestIndex(12));
+        assertEquals(13, lowestValue.getLowestIndex(13));
+    }
 }
@@ -63,4 +63,21 @@ public class VolumeIndicatorTest {
         assertDecimalEquals(volumeIndicator.getValue(5), 318);
         assertDecimalEquals(volumeIndicator.getValue(6), 465);
     }
+
+    @Test
+    public void sumOfVolumeAfterLargeVolumeLeft() {
+        List<Tick> ticks = new ArrayList<Tick>();
+        for (double volume : new double[] { 12.3, 1234567, 12.3, 14.1, 15.2, 16.7, 11.1 }) {
+            ticks.add(new MockTick(0, volume));
+        }
+        VolumeIndicator volumeIndicator = new VolumeIndicator(new MockTimeSeries(ticks), 3);
+
+        assertDecimalEquals(volumeIndicator.getValue(0), "12.3");
+        assertDecimalEquals(volumeIndicator.getValue(1), "1234580");
+        assertDecimalEquals(volumeIndicator.getValue(2), "1234590");
+        assertDecimalEquals(volumeIndicator.getValue(3), "1234600");
+        assertDecimalEquals(volumeIndicator.getValue(4), "41.6");
+        assertDecimalEquals(volumeIndicator.getValue(5), "46");
+        assertDecimalEquals(volumeIndicator.getValue(6), "43");
+    }
 }
@@ -0,0 +1,68 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators.statistics;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.util.Random;
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class RegressionLineIndicatorTest {
+
+    @Test
+    public void notEnoughObservations() {
+        Indicator<Decimal> closePrice = new ClosePriceIndicator(new MockTimeSeries(1, 2, 3));
+        assertSame(RegressionLine.NaN, new RegressionLineIndicator(closePrice, 1).getValue(2));
+        assertSame(RegressionLine.NaN, new RegressionLineIndicator(closePrice, 3).getValue(0));
+        assertTrue(RegressionLine.NaN.valueAt(0).isNaN());
+    }
+
+    @Test
+    public void rollingRegressionMatchesLeastSquares() {
+        Random random = new Random(42);
+        double[] data = new double[500];
+        double price = 100;
+        for (int i = 0; i < data.length; i++) {
+            price += random.nextInt(200) / 100d - 0.95;
+            data[i] = price;
+        }
+        RegressionLineIndicator regression = new RegressionLineIndicator(new ClosePriceIndicator(new MockTimeSeries(data)), 30);
+        for (int i = 1; i < data.length; i++) {
+            SimpleRegression origReg = new SimpleRegression();
+            for (int j = Math.max(0, i - 29); j <= i; j++) {
+                origReg.addData(j, data[j]);
+            }
+            RegressionLine line = regression.getValue(i);
+            assertEquals(origReg.getSlope(), line.getSlope().toDouble(), 1e-3);
+            assertEquals(origReg.predict(i), line.valueAt(i).toDouble(), 1e-2);
+            if (i > 2) {
+                assertEquals(origReg.getRSquare(), line.getRSquared().toDouble(), 1e-2);
+                assertEquals(Math.sqrt(origReg.getMeanSquareError()), line.getStandardError().toDouble(), 1e-2);
+            }
+        }
+    }
+}
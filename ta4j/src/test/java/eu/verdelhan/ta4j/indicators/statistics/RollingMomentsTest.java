@@ -0,0 +1,146 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators.statistics;
+
+import eu.verdelhan.ta4j.Decimal;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RollingMomentsTest {
+
+    private Decimal[] xs;
+
+    private Decimal[] ys;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        xs = new Decimal[300];
+        ys = new Decimal[300];
+        double x = 100;
+        double y = 50;
+        for (int i = 0; i < xs.length; i++) {
+            x += random.nextInt(200) / 100d - 1;
+            y += random.nextInt(100) / 100d - 0.5 + (random.nextBoolean() ? 0.2 : -0.2);
+            xs[i] = Decimal.valueOf(x);
+            ys[i] = Decimal.valueOf(y);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void timeFrameMustBePositive() {
+        new RollingMoments(0);
+    }
+
+    @Test
+    public void sequentialUpdates() {
+        for (int timeFrame : new int[] { 1, 3, 20 }) {
+            RollingMoments univariate = new RollingMoments(timeFrame);
+            RollingMoments bivariate = new RollingMoments(timeFrame);
+            for (int i = 0; i < xs.length; i++) {
+                assertMoments(univariate.update(i, index -> xs[index]), i, timeFrame, false);
+                assertMoments(bivariate.update(i, index -> xs[index], index -> ys[index]), i, timeFrame, true);
+            }
+        }
+    }
+
+    @Test
+    public void randomAccessUpdates() {
+        Random random = new Random(7);
+        RollingMoments bivariate = new RollingMoments(10);
+        for (int n = 0; n < 100; n++) {
+            int i = random.nextInt(xs.length);
+            assertMoments(bivariate.update(i, index -> xs[index], index -> ys[index]), i, 10, true);
+        }
+    }
+
+    @Test
+    public void nanTerms() {
+        ys[5] = Decimal.NaN;
+        RollingMoments bivariate = new RollingMoments(3);
+        for (int i = 0; i < 12; i++) {
+            bivariate.update(i, index -> xs[index], index -> ys[index]);
+            if (i >= 5 && i <= 7) {
+                assertTrue(bivariate.getCovariance().isNaN());
+                assertTrue(bivariate.getVariance().isNaN());
+            } else {
+                assertMoments(bivariate, i, 3, true);
+            }
+        }
+    }
+
+    @Test
+    public void outlierEnteringAndLeavingTheWindow() {
+        xs[100] = Decimal.valueOf(1e8);
+        ys[150] = Decimal.valueOf(-1e8);
+        for (int timeFrame : new int[] { 2, 4, 20 }) {
+            RollingMoments bivariate = new RollingMoments(timeFrame);
+            for (int i = 0; i < xs.length; i++) {
+                bivariate.update(i, index -> xs[index], index -> ys[index]);
+                assertTrue(bivariate.getVariance().isPositiveOrZero());
+                assertTrue(bivariate.getVarianceY().isPositiveOrZero());
+                if ((i < 100 || i >= 100 + timeFrame) && (i < 150 || i >= 150 + timeFrame)) {
+                    // The outliers have left the window
+                    assertMoments(bivariate, i, timeFrame, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks rolling moments against the two-pass formulas.
+     */
+    private void assertMoments(RollingMoments moments, int index, int timeFrame, boolean bivariate) {
+        int startIndex = Math.max(0, index - timeFrame + 1);
+        int n = index - startIndex + 1;
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = startIndex; i <= index; i++) {
+            meanX += xs[i].toDouble() / n;
+            meanY += ys[i].toDouble() / n;
+        }
+        double varianceX = 0;
+        double varianceY = 0;
+        double covariance = 0;
+        for (int i = startIndex; i <= index; i++) {
+            varianceX += Math.pow(xs[i].toDouble() - meanX, 2) / n;
+            varianceY += Math.pow(ys[i].toDouble() - meanY, 2) / n;
+            covariance += (xs[i].toDouble() - meanX) * (ys[i].toDouble() - meanY) / n;
+        }
+        assertEquals(n, moments.getCount());
+        assertEquals(meanX, moments.getMean().toDouble(), 1e-3);
+        assertEquals(varianceX, moments.getVariance().toDouble(), 1e-3);
+        if (bivariate) {
+            assertEquals(meanY, moments.getMeanY().toDouble(), 1e-3);
+            assertEquals(varianceY, moments.getVarianceY().toDouble(), 1e-3);
+            assertEquals(covariance, moments.getCovariance().toDouble(), 1e-3);
+            if (n > 2) {
+                assertEquals(covariance / Math.sqrt(varianceX * varianceY), moments.getCorrelation().toDouble(), 1e-2);
+            }
+        } else {
+            assertEquals(varianceX, moments.getCovariance().toDouble(), 1e-3);
+        }
+    }
+}
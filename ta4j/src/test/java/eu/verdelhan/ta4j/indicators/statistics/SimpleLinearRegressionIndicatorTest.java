@@ -100,6 +100,25 @@ public class SimpleLinearRegressionIndicatorTest {
         assertDecimalEquals(reg.getValue(4), origReg.predict(4));
     }
     
+    @Test
+    public void regressionOutputs() {
+        RegressionLineIndicator line = new RegressionLineIndicator(closePrice, 5);
+        SimpleLinearRegressionIndicator slope = new SimpleLinearRegressionIndicator(line, SimpleLinearRegressionIndicator.Output.SLOPE);
+        SimpleLinearRegressionIndicator intercept = new SimpleLinearRegressionIndicator(line, SimpleLinearRegressionIndicator.Output.INTERCEPT);
+        SimpleLinearRegressionIndicator rSquared = new SimpleLinearRegressionIndicator(line, SimpleLinearRegressionIndicator.Output.R_SQUARED);
+        SimpleLinearRegressionIndicator standardError = new SimpleLinearRegressionIndicator(line, SimpleLinearRegressionIndicator.Output.STANDARD_ERROR);
+        for (int i = 4; i < data.length; i++) {
+            SimpleRegression origReg = new SimpleRegression();
+            for (int j = i - 4; j <= i; j++) {
+                origReg.addData(j, data[j]);
+            }
+            assertDecimalEquals(slope.getValue(i), origReg.getSlope());
+            assertDecimalEquals(intercept.getValue(i), origReg.getIntercept());
+            assertDecimalEquals(rSquared.getValue(i), origReg.getRSquare());
+            assertDecimalEquals(standardError.getValue(i), Math.sqrt(origReg.getMeanSquareError()));
+        }
+    }
+
     /**
      * @param values values
      * @return a simple linear regression based on provided values
@@ -22,6 +22,7 @@
  */
 package eu.verdelhan.ta4j.indicators.statistics;
 
+import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.indicators.statistics.StandardDeviationIndicator;
 import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
 import eu.verdelhan.ta4j.TimeSeries;
@@ -61,4 +62,21 @@ public class StandardDeviationIndicatorTest {
         assertDecimalEquals(sdv.getValue(3), 0);
         assertDecimalEquals(sdv.getValue(8), 0);
     }
+
+    @Test
+    public void outlierEnteringAndLeavingTheWindow() {
+        TimeSeries series = new MockTimeSeries(10.5, 12.25, 11.0, 50000, 10.75, 11.5, 12.0, 10.25, 11.75, 12.5);
+        StandardDeviationIndicator sdv = new StandardDeviationIndicator(new ClosePriceIndicator(series), 4);
+
+        assertDecimalEquals(sdv.getValue(0), 0);
+        assertDecimalEquals(sdv.getValue(1), 0.875);
+        assertDecimalEquals(sdv.getValue(2), 0.73598);
+        assertDecimalEquals(sdv.getValue(3).dividedBy(Decimal.THOUSAND), 21.645764);
+        assertDecimalEquals(sdv.getValue(4).dividedBy(Decimal.THOUSAND), 21.645728);
+        assertDecimalEquals(sdv.getValue(5).dividedBy(Decimal.THOUSAND), 21.645836);
+        assertDecimalEquals(sdv.getValue(6).dividedBy(Decimal.THOUSAND), 21.645692);
+        assertDecimalEquals(sdv.getValue(7), 0.673146);
+        assertDecimalEquals(sdv.getValue(8), 0.673146);
+        assertDecimalEquals(sdv.getValue(9), 0.838525);
+    }
 }
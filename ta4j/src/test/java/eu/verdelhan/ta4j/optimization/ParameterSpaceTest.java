@@ -0,0 +1,99 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.optimization;
+
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ParameterSpaceTest {
+
+    @Test
+    public void grid() {
+        ParameterSpace space = new ParameterSpace()
+                .withRange("short", 2, 6, 2)
+                .withValues("long", 10, 20);
+        assertEquals(6, space.getCombinationCount());
+        List<Parameters> grid = space.grid();
+        assertEquals(6, grid.size());
+        assertEquals(2, grid.get(0).getInt("short"));
+        assertEquals(10, grid.get(0).getInt("long"));
+        assertEquals(2, grid.get(1).getInt("short"));
+        assertEquals(20, grid.get(1).getInt("long"));
+        assertEquals(6, grid.get(5).getInt("short"));
+        assertEquals(20, grid.get(5).getInt("long"));
+        assertEquals(Arrays.asList("short", "long"), Arrays.asList(grid.get(0).getNames().toArray()));
+    }
+
+    @Test
+    public void decimalRangesHaveExactValues() {
+        ParameterSpace space = new ParameterSpace().withRange("multiplier", 0.996, 1.004, 0.002);
+        assertEquals(Arrays.<Object>asList(0.996, 0.998, 1.0, 1.002, 1.004), space.getValues("multiplier"));
+        Parameters point = space.grid().get(4);
+        assertEquals(1.004, point.getDouble("multiplier"), 0);
+        assertDecimalEquals(point.getDecimal("multiplier"), "1.004");
+    }
+
+    @Test
+    public void constraints() {
+        ParameterSpace space = new ParameterSpace()
+                .withRange("short", 5, 30, 5)
+                .withRange("long", 10, 30, 10)
+                .withConstraint(p -> p.getInt("short") < p.getInt("long"));
+        List<Parameters> grid = space.grid();
+        assertEquals(1 + 3 + 5, grid.size());
+        for (Parameters point : grid) {
+            assertTrue(point.getInt("short") < point.getInt("long"));
+        }
+    }
+
+    @Test
+    public void sample() {
+        ParameterSpace space = new ParameterSpace()
+                .withRange("a", 1, 100, 1)
+                .withRange("b", 1, 100, 1);
+        List<Parameters> sample = space.sample(50, new Random(42));
+        assertEquals(50, sample.size());
+        assertEquals(50, new HashSet<>(sample).size());
+        assertEquals(sample, space.sample(50, new Random(42)));
+        for (Parameters point : sample) {
+            assertTrue(point.getInt("a") >= 1 && point.getInt("a") <= 100);
+        }
+        // Sampling more points than the space has
+        assertEquals(4, new ParameterSpace().withValues("a", 1, 2, 3, 4).sample(10, new Random(1)).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parametersMustBeUnique() {
+        new ParameterSpace().withValues("a", 1).withValues("a", 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownParameter() {
+        new ParameterSpace().withValues("a", 1).grid().get(0).get("b");
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.optimization;
+
+import eu.verdelhan.ta4j.BaseStrategy;
+import eu.verdelhan.ta4j.StopCondition;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TimeSeriesManager;
+import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
+import eu.verdelhan.ta4j.indicators.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import eu.verdelhan.ta4j.trading.rules.CrossedDownIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.CrossedUpIndicatorRule;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StrategyOptimizerTest {
+
+    private TimeSeries series;
+
+    private ParameterSpace space;
+
+    private AtomicInteger builtStrategies;
+
+    private StrategyTemplate smaCrossover;
+
+    private TotalProfitCriterion totalProfit;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        double[] data = new double[800];
+        double price = 100;
+        for (int i = 0; i < data.length; i++) {
+            price = Math.max(1, price + random.nextGaussian());
+            data[i] = price;
+        }
+        series = new MockTimeSeries(data);
+        space = new ParameterSpace()
+                .withRange("short", 2, 20, 2)
+                .withRange("long", 10, 60, 5)
+                .withConstraint(p -> p.getInt("short") < p.getInt("long"));
+        builtStrategies = new AtomicInteger();
+        smaCrossover = (registry, parameters) -> {
+            builtStrategies.incrementAndGet();
+            return buildStrategy(registry, parameters);
+        };
+        totalProfit = new TotalProfitCriterion();
+    }
+
+    @Test
+    public void gridReportsTheTopResults() {
+        StrategyOptimizer optimizer = new StrategyOptimizer(series, smaCrossover, totalProfit, 4);
+        List<Parameters> grid = space.grid();
+        List<OptimizationResult> top = optimizer.grid(space, 5);
+
+        assertEquals(5, top.size());
+        assertEquals(grid.size(), builtStrategies.get());
+        assertEquals(grid.size(), optimizer.getBacktestCount());
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).getCriterionValue() >= top.get(i).getCriterionValue());
+        }
+
+        // Same values as sequential backtests with independent indicators
+        TimeSeriesManager manager = new TimeSeriesManager(series);
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Parameters parameters : grid) {
+            Strategy strategy = buildStrategy(new IndicatorRegistry(series), parameters);
+            bestValue = Math.max(bestValue, totalProfit.calculate(series, manager.run(strategy)));
+        }
+        assertEquals(bestValue, top.get(0).getCriterionValue(), 1e-9);
+        for (OptimizationResult result : top) {
+            Strategy strategy = buildStrategy(new IndicatorRegistry(series), result.getParameters());
+            assertEquals(totalProfit.calculate(series, manager.run(strategy)), result.getCriterionValue(), 1e-9);
+        }
+    }
+
+    @Test
+    public void stoppedBacktestsAreRankedLast() {
+        StrategyOptimizer optimizer = new StrategyOptimizer(series, smaCrossover, totalProfit, 4);
+        optimizer.setStopCondition(StopCondition.maximumDrawdown(0.15));
+        List<Parameters> grid = space.grid();
+        List<OptimizationResult> results = optimizer.grid(space, grid.size());
+
+        assertEquals(grid.size(), results.size());
+        boolean stopped = false;
+        for (OptimizationResult result : results) {
+            if (stopped) {
+                // Stopped backtests are last
+                assertTrue(result.getBacktestResult().isStopped());
+            }
+            stopped = result.getBacktestResult().isStopped();
+            assertEquals(stopped, Double.isNaN(result.getCriterionValue()));
+        }
+        assertFalse(results.get(0).getBacktestResult().isStopped());
+        assertTrue(results.get(results.size() - 1).getBacktestResult().isStopped());
+    }
+
+    @Test
+    public void indicatorsAreBuiltOncePerParameterization() {
+        StrategyOptimizer optimizer = new StrategyOptimizer(series, smaCrossover, totalProfit, 4);
+        optimizer.grid(space, 1);
+        // Close price, 10 short SMAs and 11 long SMAs (short and long time frames 10 and 20 being shared)
+        assertEquals(1 + space.getValues("short").size() + space.getValues("long").size() - 2,
+                optimizer.getIndicatorRegistry().size());
+    }
+
+    @Test
+    public void randomSearch() {
+        StrategyOptimizer optimizer = new StrategyOptimizer(series, smaCrossover, totalProfit, 4);
+        List<OptimizationResult> top = optimizer.random(space, 20, 7, 3);
+        assertEquals(3, top.size());
+        assertEquals(20, optimizer.getBacktestCount());
+        List<Parameters> sample = space.sample(20, new Random(7));
+        for (OptimizationResult result : top) {
+            assertTrue(sample.contains(result.getParameters()));
+        }
+    }
+
+    @Test
+    public void successiveHalvingPrunesEarly() {
+        StrategyOptimizer gridOptimizer = new StrategyOptimizer(series, smaCrossover, totalProfit, 4);
+        List<OptimizationResult> gridTop = gridOptimizer.grid(space, 3);
+
+        StrategyOptimizer optimizer = new StrategyOptimizer(series, smaCrossover, totalProfit, 4);
+        List<OptimizationResult> top = optimizer.successiveHalving(space, 3, 50, 3);
+        assertEquals(3, top.size());
+        assertTrue(optimizer.getBacktestedTickCount() < gridOptimizer.getBacktestedTickCount() / 2);
+        // Final results are evaluated over the whole series
+        TimeSeriesManager manager = new TimeSeriesManager(series);
+        for (OptimizationResult result : top) {
+            assertTrue(result.getCriterionValue() <= gridTop.get(0).getCriterionValue());
+            Strategy strategy = buildStrategy(new IndicatorRegistry(series), result.getParameters());
+            assertEquals(totalProfit.calculate(series, manager.run(strategy)), result.getCriterionValue(), 1e-9);
+        }
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).getCriterionValue() >= top.get(i).getCriterionValue());
+        }
+    }
+
+    @Test
+    public void successiveHalvingWithFewCandidatesIsAGrid() {
+        StrategyOptimizer optimizer = new StrategyOptimizer(series, smaCrossover, totalProfit, 2);
+        List<Parameters> candidates = space.sample(3, new Random(1));
+        List<OptimizationResult> top = optimizer.successiveHalving(candidates, 2, 10, 5);
+        assertEquals(3, top.size());
+        assertEquals(3, optimizer.getBacktestCount());
+        assertEquals(3L * series.getTickCount(), optimizer.getBacktestedTickCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void topKMustBePositive() {
+        new StrategyOptimizer(series, smaCrossover, totalProfit).grid(space, 0);
+    }
+
+    private static Strategy buildStrategy(IndicatorRegistry registry, Parameters parameters) {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class);
+        SMAIndicator shortSma = registry.get(SMAIndicator.class, closePrice, parameters.getInt("short"));
+        SMAIndicator longSma = registry.get(SMAIndicator.class, closePrice, parameters.getInt("long"));
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma), new CrossedDownIndicatorRule(shortSma, longSma));
+    }
+}
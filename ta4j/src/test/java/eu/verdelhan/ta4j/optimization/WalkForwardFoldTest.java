@@ -0,0 +1,102 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.optimization;
+
+import eu.verdelhan.ta4j.BaseTick;
+import eu.verdelhan.ta4j.BaseTimeSeries;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WalkForwardFoldTest {
+
+    private TimeSeries series;
+
+    @Before
+    public void setUp() {
+        series = new BaseTimeSeries();
+        ZonedDateTime start = ZonedDateTime.of(2017, 1, 2, 0, 0, 0, 0, ZoneId.of("UTC"));
+        // 100 daily ticks, with a gap of 5 days after the 50th one
+        for (int i = 0; i < 100; i++) {
+            series.addTick(new BaseTick(start.plusDays(i < 50 ? i : i + 5), 1, 1, 1, 1, 1));
+        }
+    }
+
+    @Test
+    public void rollingFoldsFromTickCounts() {
+        List<WalkForwardFold> folds = WalkForwardFold.rolling(series, 30, 20);
+        assertEquals(4, folds.size());
+        assertFold(folds.get(0), 0, 29, 30, 49);
+        assertFold(folds.get(1), 20, 49, 50, 69);
+        assertFold(folds.get(3), 60, 89, 90, 99);
+    }
+
+    @Test
+    public void anchoredFoldsFromTickCounts() {
+        List<WalkForwardFold> folds = WalkForwardFold.anchored(series, 30, 20);
+        assertEquals(4, folds.size());
+        assertFold(folds.get(0), 0, 29, 30, 49);
+        assertFold(folds.get(2), 0, 69, 70, 89);
+    }
+
+    @Test
+    public void rollingFoldsFromDurations() {
+        List<WalkForwardFold> folds = WalkForwardFold.rolling(series, Duration.ofDays(30), Duration.ofDays(20));
+        // Out-of-sample windows: days [30, 50[, [50, 70[ (ticks 50 to 64), [70, 90[ and [90, 110[
+        assertEquals(4, folds.size());
+        assertFold(folds.get(0), 0, 29, 30, 49);
+        assertFold(folds.get(1), 20, 49, 50, 64);
+        assertFold(folds.get(2), 40, 64, 65, 84);
+        assertFold(folds.get(3), 55, 84, 85, 99);
+    }
+
+    @Test
+    public void anchoredFoldsFromDurations() {
+        List<WalkForwardFold> folds = WalkForwardFold.anchored(series, Duration.ofDays(30), Duration.ofDays(20));
+        assertEquals(4, folds.size());
+        assertFold(folds.get(3), 0, 84, 85, 99);
+    }
+
+    @Test
+    public void noFoldForShortSeries() {
+        assertTrue(WalkForwardFold.rolling(series, 100, 20).isEmpty());
+        assertTrue(WalkForwardFold.rolling(new BaseTimeSeries(), Duration.ofDays(1), Duration.ofDays(1)).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void outOfSampleMustFollowInSample() {
+        new WalkForwardFold(0, 10, 10, 20);
+    }
+
+    private static void assertFold(WalkForwardFold fold, int inSampleBegin, int inSampleEnd, int outOfSampleBegin, int outOfSampleEnd) {
+        assertEquals(inSampleBegin, fold.getInSampleBeginIndex());
+        assertEquals(inSampleEnd, fold.getInSampleEndIndex());
+        assertEquals(outOfSampleBegin, fold.getOutOfSampleBeginIndex());
+        assertEquals(outOfSampleEnd, fold.getOutOfSampleEndIndex());
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.optimization;
+
+import eu.verdelhan.ta4j.BaseStrategy;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TimeSeriesManager;
+import eu.verdelhan.ta4j.Trade;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
+import eu.verdelhan.ta4j.indicators.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.helpers.ClosePriceIndicator;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import eu.verdelhan.ta4j.trading.rules.CrossedDownIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.CrossedUpIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.FixedRule;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WalkForwardOptimizerTest {
+
+    private TimeSeries series;
+
+    private ParameterSpace space;
+
+    private TotalProfitCriterion totalProfit;
+
+    private List<WalkForwardFold> folds;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(7);
+        double[] data = new double[900];
+        double price = 100;
+        for (int i = 0; i < data.length; i++) {
+            price = Math.max(1, price + random.nextGaussian());
+            data[i] = price;
+        }
+        series = new MockTimeSeries(data);
+        space = new ParameterSpace()
+                .withRange("short", 2, 10, 2)
+                .withRange("long", 15, 40, 5);
+        totalProfit = new TotalProfitCriterion();
+        folds = WalkForwardFold.rolling(series, 200, 100);
+    }
+
+    @Test
+    public void optimizesInSampleAndEvaluatesOutOfSample() {
+        WalkForwardOptimizer optimizer = new WalkForwardOptimizer(series, WalkForwardOptimizerTest::buildStrategy, totalProfit, 4);
+        WalkForwardResult result = optimizer.run(space.grid(), folds, 3);
+        assertEquals(7, result.getFolds().size());
+        assertEquals(7 * space.grid().size() + 7, optimizer.getBacktestCount());
+
+        TimeSeriesManager manager = new TimeSeriesManager(series);
+        for (int f = 0; f < folds.size(); f++) {
+            WalkForwardFold fold = folds.get(f);
+            // Best in-sample parameters, from independent backtests
+            Parameters expectedBest = null;
+            double expectedBestValue = Double.NEGATIVE_INFINITY;
+            for (Parameters parameters : space.grid()) {
+                double value = totalProfit.calculate(series, runWindow(manager, parameters, fold.getInSampleBeginIndex(), fold.getInSampleEndIndex()));
+                if (value > expectedBestValue) {
+                    expectedBest = parameters;
+                    expectedBestValue = value;
+                }
+            }
+            assertEquals(3, result.getInSampleResults(f).size());
+            assertEquals(expectedBest, result.getBestParameters(f));
+            assertEquals(expectedBestValue, result.getInSampleResults(f).get(0).getCriterionValue(), 1e-9);
+
+            // Out-of-sample trades stay in the out-of-sample window
+            TradingRecord outOfSampleRecord = result.getOutOfSampleResult(f).getBacktestResult().getTradingRecord();
+            TradingRecord expectedRecord = runWindow(manager, expectedBest, fold.getOutOfSampleBeginIndex(), fold.getOutOfSampleEndIndex());
+            assertEquals(expectedRecord.getTradeCount(), outOfSampleRecord.getTradeCount());
+            for (Trade trade : outOfSampleRecord.getTrades()) {
+                assertTrue(trade.getEntry().getIndex() >= fold.getOutOfSampleBeginIndex());
+                assertTrue(trade.getExit().getIndex() <= fold.getOutOfSampleEndIndex());
+            }
+        }
+    }
+
+    @Test
+    public void aggregatesOutOfSampleEquity() {
+        WalkForwardResult result = new WalkForwardOptimizer(series, WalkForwardOptimizerTest::buildStrategy, totalProfit, 4)
+                .run(space, folds);
+        int tradeCount = 0;
+        double profit = 1;
+        for (int f = 0; f < folds.size(); f++) {
+            tradeCount += result.getOutOfSampleResult(f).getBacktestResult().getTradingRecord().getTradeCount();
+            profit *= result.getOutOfSampleResult(f).getCriterionValue();
+        }
+        assertEquals(tradeCount, result.getOutOfSampleTradingRecord().getTradeCount());
+        assertEquals(profit, result.getOutOfSampleCriterionValue(totalProfit), 1e-9);
+        assertEquals(profit, result.getOutOfSampleEquity().getValue(series.getEndIndex()).toDouble(), 1e-6);
+        // Flat equity before the first out-of-sample window
+        assertEquals(1, result.getOutOfSampleEquity().getValue(folds.get(0).getOutOfSampleBeginIndex()).toDouble(), 0);
+    }
+
+    @Test
+    public void parallelRunsMatchSequentialRuns() {
+        WalkForwardResult parallel = new WalkForwardOptimizer(series, WalkForwardOptimizerTest::buildStrategy, totalProfit, 4)
+                .run(space, folds);
+        WalkForwardResult sequential = new WalkForwardOptimizer(series, WalkForwardOptimizerTest::buildStrategy, totalProfit, 1)
+                .run(space, folds);
+        for (int f = 0; f < folds.size(); f++) {
+            assertEquals(sequential.getBestParameters(f), parallel.getBestParameters(f));
+            assertEquals(sequential.getOutOfSampleResult(f).getCriterionValue(), parallel.getOutOfSampleResult(f).getCriterionValue(), 0);
+        }
+    }
+
+    @Test
+    public void indicatorsAreSharedByTheFolds() {
+        WalkForwardOptimizer optimizer = new WalkForwardOptimizer(series, WalkForwardOptimizerTest::buildStrategy, totalProfit, 4);
+        optimizer.run(space, folds);
+        // Close price, 5 short SMAs and 6 long SMAs, whatever the number of folds
+        assertEquals(1 + 5 + 6, optimizer.getIndicatorRegistry().size());
+    }
+
+    /**
+     * Runs the strategy of parameters over a window, closing the trade at the end of the window.
+     */
+    private TradingRecord runWindow(TimeSeriesManager manager, Parameters parameters, int beginIndex, int endIndex) {
+        Strategy strategy = buildStrategy(new IndicatorRegistry(series), parameters);
+        Strategy windowStrategy = new BaseStrategy(strategy.getEntryRule().and(new FixedRule(endIndex).negation()),
+                strategy.getExitRule().or(new FixedRule(endIndex)));
+        return manager.run(windowStrategy, beginIndex, endIndex);
+    }
+
+    private static Strategy buildStrategy(IndicatorRegistry registry, Parameters parameters) {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class);
+        SMAIndicator shortSma = registry.get(SMAIndicator.class, closePrice, parameters.getInt("short"));
+        SMAIndicator longSma = registry.get(SMAIndicator.class, closePrice, parameters.getInt("long"));
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma), new CrossedDownIndicatorRule(shortSma, longSma));
+    }
+}